@@ -0,0 +1,42 @@
+package com.nexus.web.system;
+
+
+import com.nexus.common.core.domain.vo.LimitConcurrencyVo;
+import com.nexus.common.core.view.Result;
+import com.nexus.framework.limit.ConcurrencyLimiter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.Resource;
+import org.apache.shiro.authz.annotation.RequiresRoles;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 限流控制器
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Tag(name = "限流模块")
+@CrossOrigin
+@RestController
+@RequestMapping("/system/limit")
+public class SysLimitController {
+
+    @Resource
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    /**
+     * 获取本节点并发限流占用情况
+     *
+     * @param top 返回正在执行数量最多的 key 数量
+     * @return {@link Result }<{@link List }<{@link LimitConcurrencyVo }>>
+     */
+    @Operation(description = "获取并发限流占用情况接口")
+    @RequiresRoles("admin")
+    @GetMapping("/concurrency")
+    public Result<List<LimitConcurrencyVo>> concurrency(@RequestParam(defaultValue = "20") Integer top) {
+        return Result.success(concurrencyLimiter.metrics(Math.max(top, 0)));
+    }
+}
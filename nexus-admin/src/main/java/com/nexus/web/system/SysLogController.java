@@ -0,0 +1,44 @@
+package com.nexus.web.system;
+
+
+import com.nexus.common.core.domain.vo.AsyncLogWriterVo;
+import com.nexus.common.core.view.Result;
+import com.nexus.framework.log.AsyncLogWriters;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.Resource;
+import org.apache.shiro.authz.annotation.RequiresRoles;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 日志控制器
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Tag(name = "日志模块")
+@CrossOrigin
+@RestController
+@RequestMapping("/system/log")
+public class SysLogController {
+
+    @Resource
+    private AsyncLogWriters asyncLogWriters;
+
+    /**
+     * 获取操作日志和登录日志的异步写入统计
+     *
+     * @return {@link Result }<{@link List }<{@link AsyncLogWriterVo }>>
+     */
+    @Operation(description = "获取日志异步写入统计接口")
+    @RequiresRoles("admin")
+    @GetMapping("/writer")
+    public Result<List<AsyncLogWriterVo>> writer() {
+        return Result.success(asyncLogWriters.stats());
+    }
+}
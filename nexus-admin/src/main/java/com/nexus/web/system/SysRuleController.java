@@ -0,0 +1,121 @@
+package com.nexus.web.system;
+
+
+import com.nexus.common.annotation.OperationLog;
+import com.nexus.common.core.domain.vo.RuleExpressionCacheVo;
+import com.nexus.common.core.domain.vo.RuleRepositoryVo;
+import com.nexus.common.core.domain.vo.RuleSetMetricsVo;
+import com.nexus.common.core.helper.RuleHelper;
+import com.nexus.common.core.view.Result;
+import com.nexus.common.enums.OperationTypeEnum;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.apache.shiro.authz.annotation.RequiresRoles;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 规则引擎控制器
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Tag(name = "规则引擎模块")
+@CrossOrigin
+@RestController
+@RequestMapping("/system/rule")
+public class SysRuleController {
+
+    /**
+     * 获取所有规则集的执行统计
+     *
+     * @param top 每个规则集返回总耗时最多的规则数量
+     * @return {@link Result }<{@link List }<{@link RuleSetMetricsVo }>>
+     */
+    @Operation(description = "获取所有规则集执行统计接口")
+    @RequiresRoles("admin")
+    @GetMapping("/metrics")
+    public Result<List<RuleSetMetricsVo>> metrics(@RequestParam(defaultValue = "10") Integer top) {
+        return Result.success(RuleHelper.metrics(Math.max(top, 0)));
+    }
+
+    /**
+     * 获取规则集的执行统计
+     *
+     * @param name 规则集名称
+     * @param top  返回总耗时最多的规则数量
+     * @return {@link Result }<{@link RuleSetMetricsVo }>
+     */
+    @Operation(description = "获取规则集执行统计接口")
+    @RequiresRoles("admin")
+    @GetMapping("/metrics/detail")
+    public Result<RuleSetMetricsVo> metrics(@RequestParam String name, @RequestParam(defaultValue = "100") Integer top) {
+        RuleSetMetricsVo metrics = RuleHelper.metrics(name, Math.max(top, 0));
+        if (metrics == null) {
+            return Result.fail("规则集未开启执行统计：" + name);
+        }
+        return Result.success(metrics);
+    }
+
+    /**
+     * 重置规则集的执行统计
+     *
+     * @param name 规则集名称
+     * @return {@link Result }<{@link Void }>
+     */
+    @Operation(description = "重置规则集执行统计接口")
+    @OperationLog(operationDesc = "重置规则集执行统计", operationType = OperationTypeEnum.UPDATE)
+    @RequiresRoles("admin")
+    @PostMapping("/metrics/reset")
+    public Result<Void> resetMetrics(@RequestParam String name) {
+        if (RuleHelper.resetMetrics(name)) {
+            return Result.success();
+        }
+        return Result.fail("规则集未开启执行统计：" + name);
+    }
+
+    /**
+     * 获取规则表达式缓存统计
+     *
+     * @return {@link Result }<{@link RuleExpressionCacheVo }>
+     */
+    @Operation(description = "获取规则表达式缓存统计接口")
+    @RequiresRoles("admin")
+    @GetMapping("/expressionCache")
+    public Result<RuleExpressionCacheVo> expressionCache() {
+        return Result.success(RuleHelper.expressionCacheStats());
+    }
+
+    /**
+     * 获取规则仓库状态
+     *
+     * @return {@link Result }<{@link RuleRepositoryVo }>
+     */
+    @Operation(description = "获取规则仓库状态接口")
+    @RequiresRoles("admin")
+    @GetMapping("/repository")
+    public Result<RuleRepositoryVo> repository() {
+        if (!RuleHelper.ruleRepositoryEnabled()) {
+            return Result.fail("未配置规则仓库");
+        }
+        return Result.success(RuleHelper.ruleRepositoryStats());
+    }
+
+    /**
+     * 重新加载规则仓库
+     *
+     * @return {@link Result }<{@link RuleRepositoryVo }>
+     */
+    @Operation(description = "重新加载规则仓库接口")
+    @OperationLog(operationDesc = "重新加载规则仓库", operationType = OperationTypeEnum.UPDATE)
+    @RequiresRoles("admin")
+    @PostMapping("/repository/reload")
+    public Result<RuleRepositoryVo> reloadRepository() {
+        if (!RuleHelper.ruleRepositoryEnabled()) {
+            return Result.fail("未配置规则仓库");
+        }
+        RuleHelper.reloadRules().join();
+        return Result.success(RuleHelper.ruleRepositoryStats());
+    }
+}
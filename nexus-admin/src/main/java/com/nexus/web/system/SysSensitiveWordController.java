@@ -2,18 +2,31 @@ package com.nexus.web.system;
 
 
 import com.nexus.common.annotation.Limit;
+import com.nexus.common.annotation.OperationLog;
 import com.nexus.common.annotation.Pass;
+import com.nexus.common.core.domain.dto.SensitiveWordBatchDto;
+import com.nexus.common.core.domain.dto.SensitiveWordDto;
+import com.nexus.common.core.domain.vo.SensitiveWordCheckVo;
+import com.nexus.common.core.domain.vo.SensitiveWordDictionaryVo;
+import com.nexus.common.core.domain.vo.SensitiveWordHitCountVo;
+import com.nexus.common.core.domain.vo.SensitiveWordTelemetryVo;
 import com.nexus.common.core.helper.SensitiveWordHelper;
 import com.nexus.common.core.view.Result;
 import com.nexus.common.enums.LimitTypeEnum;
+import com.nexus.common.enums.OperationTypeEnum;
 import com.nexus.common.utils.StringUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.tags.Tags;
+import jakarta.annotation.Resource;
+import org.apache.shiro.authz.annotation.RequiresRoles;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * 敏感词控制器
@@ -26,6 +39,10 @@ import java.util.Set;
 @RestController
 @RequestMapping("/system/sensitive")
 public class SysSensitiveWordController {
+
+    @Resource(name = "sensitiveWordExecutor")
+    private Executor sensitiveWordExecutor;
+
     /**
      * 替换敏感词
      *
@@ -83,4 +100,110 @@ public class SysSensitiveWordController {
     public Result<Set<String>> findAll(@RequestParam(required = false) String text) {
         return Result.success(SensitiveWordHelper.findAll(text));
     }
+
+    /**
+     * 批量检测敏感词，整批共用一次限流计数
+     *
+     * @param sensitiveWordBatchDto 文本集合
+     * @return {@link Result }<{@link List }<{@link SensitiveWordCheckVo }>>
+     */
+    @Pass
+    @Limit(limitType = LimitTypeEnum.IP)
+    @Operation(description = "批量检测敏感词接口")
+    @PostMapping("/batch")
+    public Result<List<SensitiveWordCheckVo>> batch(@Validated @RequestBody SensitiveWordBatchDto sensitiveWordBatchDto) {
+        return Result.success(SensitiveWordHelper.check(sensitiveWordBatchDto.getTexts(), sensitiveWordBatchDto.getReplaceStr(), sensitiveWordExecutor));
+    }
+
+    /**
+     * 获取当前敏感词字典信息
+     *
+     * @return {@link Result }<{@link SensitiveWordDictionaryVo }>
+     */
+    @Operation(description = "获取当前敏感词字典信息接口")
+    @RequiresRoles("admin")
+    @GetMapping("/dictionary")
+    public Result<SensitiveWordDictionaryVo> dictionary() {
+        return Result.success(SensitiveWordDictionaryVo.of(SensitiveWordHelper.dictionary()));
+    }
+
+    /**
+     * 获取敏感词扫描统计
+     *
+     * @param top 返回命中次数最多的敏感词数量
+     * @return {@link Result }<{@link SensitiveWordTelemetryVo }>
+     */
+    @Operation(description = "获取敏感词扫描统计接口")
+    @RequiresRoles("admin")
+    @GetMapping("/telemetry")
+    public Result<SensitiveWordTelemetryVo> telemetry(@RequestParam(defaultValue = "20") Integer top) {
+        return Result.success(SensitiveWordHelper.telemetry(Math.max(top, 0)));
+    }
+
+    /**
+     * 获取敏感词扫描统计历史快照
+     *
+     * @return {@link Result }<{@link List }<{@link SensitiveWordTelemetryVo }>>
+     */
+    @Operation(description = "获取敏感词扫描统计历史快照接口")
+    @RequiresRoles("admin")
+    @GetMapping("/telemetry/history")
+    public Result<List<SensitiveWordTelemetryVo>> telemetryHistory() {
+        return Result.success(SensitiveWordHelper.telemetryHistory());
+    }
+
+    /**
+     * 获取从未命中的敏感词
+     *
+     * @param limit 最大返回数量
+     * @return {@link Result }<{@link List }<{@link SensitiveWordHitCountVo }>>
+     */
+    @Operation(description = "获取从未命中的敏感词接口")
+    @RequiresRoles("admin")
+    @GetMapping("/telemetry/dead")
+    public Result<List<SensitiveWordHitCountVo>> deadWords(@RequestParam(defaultValue = "1000") Integer limit) {
+        return Result.success(SensitiveWordHelper.deadWords(Math.max(limit, 0)));
+    }
+
+    /**
+     * 重新加载敏感词
+     *
+     * @return {@link Result }<{@link SensitiveWordDictionaryVo }>
+     */
+    @Operation(description = "重新加载敏感词接口")
+    @OperationLog(operationDesc = "重新加载敏感词", operationType = OperationTypeEnum.UPDATE)
+    @RequiresRoles("admin")
+    @PostMapping("/reload")
+    public Result<SensitiveWordDictionaryVo> reload() {
+        return Result.success(SensitiveWordDictionaryVo.of(SensitiveWordHelper.reload().join()));
+    }
+
+    /**
+     * 批量新增敏感词
+     *
+     * @param sensitiveWordDto 敏感词
+     * @return {@link Result }<{@link SensitiveWordDictionaryVo }>
+     */
+    @Operation(description = "批量新增敏感词接口")
+    @OperationLog(operationDesc = "批量新增敏感词", operationType = OperationTypeEnum.ADD)
+    @RequiresRoles("admin")
+    @PostMapping("/add")
+    public Result<SensitiveWordDictionaryVo> addWords(@Validated @RequestBody SensitiveWordDto sensitiveWordDto) {
+        return Result.success(SensitiveWordDictionaryVo.of(
+                SensitiveWordHelper.addWords(sensitiveWordDto.getWords(), sensitiveWordDto.getCategory()).join()));
+    }
+
+    /**
+     * 批量删除敏感词
+     *
+     * @param sensitiveWordDto 敏感词
+     * @return {@link Result }<{@link SensitiveWordDictionaryVo }>
+     */
+    @Operation(description = "批量删除敏感词接口")
+    @OperationLog(operationDesc = "批量删除敏感词", operationType = OperationTypeEnum.DELETE)
+    @RequiresRoles("admin")
+    @PostMapping("/remove")
+    public Result<SensitiveWordDictionaryVo> removeWords(@Validated @RequestBody SensitiveWordDto sensitiveWordDto) {
+        return Result.success(SensitiveWordDictionaryVo.of(SensitiveWordHelper.removeWords(sensitiveWordDto.getWords()).join()));
+    }
 }
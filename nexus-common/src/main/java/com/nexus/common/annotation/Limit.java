@@ -2,6 +2,8 @@ package com.nexus.common.annotation;
 
 
 
+import com.nexus.common.enums.LimitAlgorithmEnum;
+import com.nexus.common.enums.LimitModeEnum;
 import com.nexus.common.enums.LimitTypeEnum;
 
 import java.lang.annotation.*;
@@ -33,12 +35,12 @@ public @interface Limit {
     String suffix() default "";
 
     /**
-     * 给定的时间范围 单位(秒)
+     * 给定的时间范围 单位(秒)，集群并发限流模式下为租约有效期
      */
     int period() default 10;
 
     /**
-     * 给定时间内最多访问次数
+     * 给定时间内最多访问次数，并发限流模式下为同时执行的最大数量
      */
     int count() default 10;
 
@@ -46,4 +48,24 @@ public @interface Limit {
      * 限流的类型(用户自定义key 或者 请求ip)
      */
     LimitTypeEnum limitType() default LimitTypeEnum.DEFAULT;
+
+    /**
+     * 限流算法，默认固定窗口计数
+     */
+    LimitAlgorithmEnum algorithm() default LimitAlgorithmEnum.FIXED_WINDOW;
+
+    /**
+     * 限流模式，默认每次请求都访问 Redis。两级限流模式固定使用令牌桶算法，忽略 algorithm
+     */
+    LimitModeEnum mode() default LimitModeEnum.DISTRIBUTED;
+
+    /**
+     * 并发限流模式下名额已满时最多排队等待的请求数量，0 表示直接拒绝
+     */
+    int queueCapacity() default 0;
+
+    /**
+     * 并发限流模式下排队等待的最长时间（毫秒）
+     */
+    long queueTimeout() default 1000;
 }
@@ -0,0 +1,70 @@
+package com.nexus.common.core.base;
+
+import com.nexus.common.core.helper.LoginHelper;
+import com.nexus.common.utils.StringUtils;
+import lombok.Getter;
+
+/**
+ * 当前请求的登录主体
+ * <p>
+ * 由访问控制过滤器校验令牌后创建，只保存令牌中的用户 ID，登录用户在第一次使用时才从登录信息缓存中获取，
+ * 放行接口不使用登录用户时不会访问 Redis。只在请求线程中使用，请求结束时清除
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class LoginPrincipal {
+
+    /**
+     * 用户 ID
+     */
+    @Getter
+    private final Long userId;
+
+    /**
+     * 令 牌
+     */
+    @Getter
+    private final String token;
+
+    /**
+     * 登录用户，登录信息缓存中不存在时为 null
+     */
+    private LoginUser loginUser;
+
+    /**
+     * 是否已获取登录用户
+     */
+    private boolean loaded;
+
+    public LoginPrincipal(Long userId, String token) {
+        this.userId = userId;
+        this.token = token;
+    }
+
+    /**
+     * 获取登录用户，第一次调用时从登录信息缓存中获取
+     *
+     * @return {@link LoginUser } 登录信息缓存中不存在时为 null
+     */
+    public LoginUser getLoginUser() {
+        if (!loaded) {
+            loginUser = LoginHelper.getLoginUserByToken(token);
+            loaded = true;
+        }
+        return loginUser;
+    }
+
+    /**
+     * 获取显示的用户名，优先使用昵称
+     *
+     * @return {@link String }
+     */
+    public String getDisplayName() {
+        LoginUser user = getLoginUser();
+        if (user == null) {
+            return null;
+        }
+        return StringUtils.isNotBlank(user.getNickName()) ? user.getNickName() : user.getUsername();
+    }
+}
@@ -0,0 +1,74 @@
+package com.nexus.common.core.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 敏感词批量检测 DTO
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Schema(title = "敏感词批量检测DTO", description = "敏感词批量检测DTO")
+public class SensitiveWordBatchDto {
+
+    /**
+     * 单批最大文本数量
+     */
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    /**
+     * 单个文本最大长度
+     */
+    public static final int MAX_TEXT_LENGTH = 2000;
+
+    /**
+     * 单批文本最大总长度
+     */
+    public static final int MAX_TOTAL_LENGTH = 100000;
+
+    /**
+     * 文本集合
+     */
+    @NotEmpty(message = "文本不能为空")
+    @Size(max = MAX_BATCH_SIZE, message = "单批文本数量不能超过" + MAX_BATCH_SIZE)
+    @Schema(name = "文本集合")
+    private List<@Size(max = MAX_TEXT_LENGTH, message = "单个文本长度不能超过" + MAX_TEXT_LENGTH) String> texts;
+
+    /**
+     * 替换字符串，为空时按敏感词分类使用对应的替换策略
+     */
+    @Schema(name = "替换字符串")
+    private String replaceStr;
+
+    /**
+     * 文本总长度不超过 {@link #MAX_TOTAL_LENGTH}
+     *
+     * @return boolean
+     */
+    @JsonIgnore
+    @AssertTrue(message = "单批文本总长度不能超过" + MAX_TOTAL_LENGTH)
+    public boolean isTotalLengthValid() {
+        if (texts == null) {
+            return true;
+        }
+        long total = 0;
+        for (String text : texts) {
+            if (text != null) {
+                total += text.length();
+            }
+        }
+        return total <= MAX_TOTAL_LENGTH;
+    }
+}
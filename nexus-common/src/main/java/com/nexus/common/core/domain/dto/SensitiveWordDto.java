@@ -0,0 +1,35 @@
+package com.nexus.common.core.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 敏感词 DTO
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Schema(title = "敏感词DTO", description = "敏感词DTO")
+public class SensitiveWordDto {
+
+    /**
+     * 敏感词集合
+     */
+    @NotEmpty(message = "敏感词不能为空")
+    @Schema(name = "敏感词集合")
+    private List<String> words;
+
+    /**
+     * 敏感词分类
+     */
+    @Schema(name = "敏感词分类")
+    private String category;
+}
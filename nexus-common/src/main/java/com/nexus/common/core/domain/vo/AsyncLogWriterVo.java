@@ -0,0 +1,112 @@
+package com.nexus.common.core.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 异步日志写入统计vo
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class AsyncLogWriterVo {
+
+    /**
+     * 名称
+     */
+    private String name;
+
+    /**
+     * 溢出策略
+     */
+    private String overflowPolicy;
+
+    /**
+     * 队列容量
+     */
+    private Integer capacity;
+
+    /**
+     * 当前队列长度
+     */
+    private Integer queueDepth;
+
+    /**
+     * 队列长度峰值
+     */
+    private Integer peakQueueDepth;
+
+    /**
+     * 提交数量
+     */
+    private Long submittedCount;
+
+    /**
+     * 写入数据库的数量
+     */
+    private Long writtenCount;
+
+    /**
+     * 丢弃数量
+     */
+    private Long droppedCount;
+
+    /**
+     * 写入溢出文件的数量（开启预写文件时为队列满、只保存在预写文件中的数量）
+     */
+    private Long spilledCount;
+
+    /**
+     * 从溢出文件或预写文件重新读取的数量
+     */
+    private Long replayedCount;
+
+    /**
+     * 写入数据库失败的数量
+     */
+    private Long failedCount;
+
+    /**
+     * 批量写入次数
+     */
+    private Long flushCount;
+
+    /**
+     * 批量写入耗时平均值（毫秒）
+     */
+    private Double flushLatencyMean;
+
+    /**
+     * 批量写入耗时最大值（毫秒）
+     */
+    private Long flushLatencyMax;
+
+    /**
+     * 最近一次批量写入耗时（毫秒）
+     */
+    private Long flushLatencyLast;
+
+    /**
+     * 溢出文件中待重新写入的字节数
+     */
+    private Long spillPendingBytes;
+
+    /**
+     * 预写文件中未确认的日志数量，未开启预写文件时为 null
+     */
+    private Long journalPendingCount;
+
+    /**
+     * 预写文件分段数量，未开启预写文件时为 null
+     */
+    private Integer journalSegmentCount;
+
+    /**
+     * 预写文件达到大小上限后按溢出策略处理的日志数量，未开启预写文件时为 null
+     */
+    private Long journalRejectedCount;
+}
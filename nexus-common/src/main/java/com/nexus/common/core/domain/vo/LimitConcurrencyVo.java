@@ -0,0 +1,67 @@
+package com.nexus.common.core.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 并发限流占用情况vo
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class LimitConcurrencyVo {
+
+    /**
+     * 名称（限流注解的 name，未指定时为接口地址，按 IP 限流时附带 IP）
+     */
+    private String name;
+
+    /**
+     * 限流模式
+     */
+    private String mode;
+
+    /**
+     * 同时执行的最大数量
+     */
+    private Integer maxConcurrency;
+
+    /**
+     * 本节点正在执行的数量
+     */
+    private Integer inFlight;
+
+    /**
+     * 本节点排队等待的数量
+     */
+    private Integer waiting;
+
+    /**
+     * 本节点同时执行数量的峰值
+     */
+    private Integer peak;
+
+    /**
+     * 全部节点正在执行的数量，本地模式或 Redis 不可用时为 null
+     */
+    private Long clusterInFlight;
+
+    /**
+     * 获取名额次数
+     */
+    private Long acquiredCount;
+
+    /**
+     * 名额和队列已满被拒绝的次数
+     */
+    private Long rejectedCount;
+
+    /**
+     * 排队超时的次数
+     */
+    private Long timeoutCount;
+}
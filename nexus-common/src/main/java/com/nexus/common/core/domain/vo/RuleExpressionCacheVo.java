@@ -0,0 +1,52 @@
+package com.nexus.common.core.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 规则表达式缓存vo
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RuleExpressionCacheVo {
+
+    /**
+     * 缓存的表达式数量
+     */
+    private Integer size;
+
+    /**
+     * 缓存容量
+     */
+    private Integer maxSize;
+
+    /**
+     * SpEL 编译模式
+     */
+    private String spelCompilerMode;
+
+    /**
+     * 命中次数
+     */
+    private Long hitCount;
+
+    /**
+     * 未命中次数
+     */
+    private Long missCount;
+
+    /**
+     * 淘汰次数
+     */
+    private Long evictionCount;
+
+    /**
+     * 命中率
+     */
+    private Double hitRate;
+}
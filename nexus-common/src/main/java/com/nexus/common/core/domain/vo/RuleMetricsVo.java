@@ -0,0 +1,94 @@
+package com.nexus.common.core.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 规则执行统计vo
+ * <p>
+ * 耗时单位均为微秒，与 {@link RuleSetMetricsVo} 一致。单条规则的条件求值和动作执行通常不到 1 微秒，耗时分布使用小数保留纳秒精度
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RuleMetricsVo {
+
+    /**
+     * 规则名称
+     */
+    private String name;
+
+    /**
+     * 条件求值次数
+     */
+    private Long evaluationCount;
+
+    /**
+     * 条件满足次数
+     */
+    private Long triggeredCount;
+
+    /**
+     * 动作执行成功次数
+     */
+    private Long appliedCount;
+
+    /**
+     * 条件判断异常次数
+     */
+    private Long evaluationErrorCount;
+
+    /**
+     * 动作执行失败次数
+     */
+    private Long actionFailureCount;
+
+    /**
+     * 条件求值和动作执行的总耗时（微秒）
+     */
+    private Long totalTime;
+
+    /**
+     * 条件求值耗时平均值（微秒）
+     */
+    private Double conditionMean;
+
+    /**
+     * 条件求值耗时 P50（微秒）
+     */
+    private Double conditionP50;
+
+    /**
+     * 条件求值耗时 P99（微秒）
+     */
+    private Double conditionP99;
+
+    /**
+     * 条件求值耗时最大值（微秒）
+     */
+    private Double conditionMax;
+
+    /**
+     * 动作执行耗时平均值（微秒）
+     */
+    private Double actionMean;
+
+    /**
+     * 动作执行耗时 P50（微秒）
+     */
+    private Double actionP50;
+
+    /**
+     * 动作执行耗时 P99（微秒）
+     */
+    private Double actionP99;
+
+    /**
+     * 动作执行耗时最大值（微秒）
+     */
+    private Double actionMax;
+}
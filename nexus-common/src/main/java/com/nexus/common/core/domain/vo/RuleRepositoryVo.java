@@ -0,0 +1,85 @@
+package com.nexus.common.core.domain.vo;
+
+import com.nexus.common.core.rule.RuleRepository;
+import com.nexus.common.core.rule.RuleRepositorySnapshot;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 规则仓库vo
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RuleRepositoryVo {
+
+    /**
+     * 规则来源
+     */
+    private String source;
+
+    /**
+     * 版本号
+     */
+    private Long version;
+
+    /**
+     * 当前版本的加载时间
+     */
+    private LocalDateTime loadTime;
+
+    /**
+     * 规则集名称
+     */
+    private List<String> ruleSets;
+
+    /**
+     * 规则数量
+     */
+    private Integer ruleCount;
+
+    /**
+     * 当前版本重新构建的规则集数量
+     */
+    private Integer rebuiltRuleSets;
+
+    /**
+     * 当前版本重新构建的规则数量
+     */
+    private Integer rebuiltRules;
+
+    /**
+     * 当前版本复用的规则数量
+     */
+    private Integer reusedRules;
+
+    /**
+     * 最近一次加载时间
+     */
+    private LocalDateTime lastReloadTime;
+
+    /**
+     * 最近一次加载失败的原因
+     */
+    private String lastError;
+
+    /**
+     * 根据规则仓库创建
+     *
+     * @param repository 规则仓库
+     * @return {@link RuleRepositoryVo }
+     */
+    public static RuleRepositoryVo of(RuleRepository repository) {
+        RuleRepositorySnapshot snapshot = repository.snapshot();
+        return new RuleRepositoryVo(repository.source(), snapshot.version(), snapshot.loadTime(), List.copyOf(snapshot.names()),
+                snapshot.ruleCount(), snapshot.rebuiltRuleSets(), snapshot.rebuiltRules(), snapshot.reusedRules(),
+                repository.lastReloadTime(), repository.lastError());
+    }
+}
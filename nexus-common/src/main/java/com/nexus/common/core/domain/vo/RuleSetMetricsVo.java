@@ -0,0 +1,90 @@
+package com.nexus.common.core.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 规则集执行统计vo
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RuleSetMetricsVo {
+
+    /**
+     * 规则集名称
+     */
+    private String name;
+
+    /**
+     * 开始统计时间
+     */
+    private LocalDateTime since;
+
+    /**
+     * 触发次数
+     */
+    private Long fireCount;
+
+    /**
+     * 条件求值次数
+     */
+    private Long evaluationCount;
+
+    /**
+     * 条件满足次数
+     */
+    private Long triggeredCount;
+
+    /**
+     * 动作执行成功次数
+     */
+    private Long appliedCount;
+
+    /**
+     * 失败次数（条件判断异常和动作执行失败）
+     */
+    private Long failureCount;
+
+    /**
+     * 跳过次数（触发时未求值的规则，包括优先级阈值、跳过策略、监听器否决和缺少所需事实）
+     */
+    private Long skippedCount;
+
+    /**
+     * 触发耗时平均值（微秒）
+     */
+    private Double latencyMean;
+
+    /**
+     * 触发耗时 P50（微秒）
+     */
+    private Long latencyP50;
+
+    /**
+     * 触发耗时 P90（微秒）
+     */
+    private Long latencyP90;
+
+    /**
+     * 触发耗时 P99（微秒）
+     */
+    private Long latencyP99;
+
+    /**
+     * 触发耗时最大值（微秒）
+     */
+    private Long latencyMax;
+
+    /**
+     * 总耗时最多的规则
+     */
+    private List<RuleMetricsVo> rules;
+}
@@ -0,0 +1,44 @@
+package com.nexus.common.core.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 敏感词检测结果vo
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SensitiveWordCheckVo {
+
+    /**
+     * 文本在批次中的下标
+     */
+    private Integer index;
+
+    /**
+     * 是否包含敏感词
+     */
+    private Boolean contains;
+
+    /**
+     * 命中次数
+     */
+    private Integer count;
+
+    /**
+     * 命中的敏感词及位置，按命中结束位置排序
+     */
+    private List<SensitiveWordHitVo> hits;
+
+    /**
+     * 替换敏感词后的文本
+     */
+    private String replaced;
+}
@@ -0,0 +1,73 @@
+package com.nexus.common.core.domain.vo;
+
+import com.nexus.common.core.sensitive.WordDictionary;
+import com.nexus.common.core.sensitive.WordPrefilter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 敏感词字典vo
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SensitiveWordDictionaryVo {
+
+    /**
+     * 版本号
+     */
+    private Long version;
+
+    /**
+     * 敏感词数量
+     */
+    private Integer wordCount;
+
+    /**
+     * 状态数量
+     */
+    private Integer stateCount;
+
+    /**
+     * 构建时间
+     */
+    private LocalDateTime buildTime;
+
+    /**
+     * 预过滤检查的位置数量
+     */
+    private Long prefilterChecked;
+
+    /**
+     * 首字符位图过滤掉的位置数量
+     */
+    private Long firstCharRejected;
+
+    /**
+     * 二元组位图过滤掉的位置数量
+     */
+    private Long bigramRejected;
+
+    /**
+     * 预过滤过滤率
+     */
+    private Double prefilterRejectRate;
+
+    /**
+     * 根据字典快照创建
+     *
+     * @param dictionary 敏感词字典快照
+     * @return {@link SensitiveWordDictionaryVo }
+     */
+    public static SensitiveWordDictionaryVo of(WordDictionary dictionary) {
+        WordPrefilter prefilter = dictionary.prefilter();
+        return new SensitiveWordDictionaryVo(dictionary.version(), dictionary.wordCount(), dictionary.stateCount(), dictionary.buildTime(),
+                prefilter.checked(), prefilter.firstCharRejected(), prefilter.bigramRejected(), prefilter.rejectRate());
+    }
+}
@@ -0,0 +1,32 @@
+package com.nexus.common.core.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 敏感词命中次数vo
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SensitiveWordHitCountVo {
+
+    /**
+     * 敏感词
+     */
+    private String word;
+
+    /**
+     * 敏感词分类
+     */
+    private String category;
+
+    /**
+     * 命中次数
+     */
+    private Long hits;
+}
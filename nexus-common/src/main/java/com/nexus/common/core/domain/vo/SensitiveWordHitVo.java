@@ -0,0 +1,37 @@
+package com.nexus.common.core.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 敏感词命中vo
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SensitiveWordHitVo {
+
+    /**
+     * 敏感词
+     */
+    private String word;
+
+    /**
+     * 敏感词分类
+     */
+    private String category;
+
+    /**
+     * 命中的开始位置（包含）
+     */
+    private Integer start;
+
+    /**
+     * 命中的结束位置（不包含）
+     */
+    private Integer end;
+}
@@ -0,0 +1,110 @@
+package com.nexus.common.core.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 敏感词扫描统计vo
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SensitiveWordTelemetryVo {
+
+    /**
+     * 统计时间
+     */
+    private LocalDateTime time;
+
+    /**
+     * 字典版本号
+     */
+    private Long version;
+
+    /**
+     * 敏感词数量
+     */
+    private Integer wordCount;
+
+    /**
+     * 扫描次数
+     */
+    private Long scanCount;
+
+    /**
+     * 命中总次数
+     */
+    private Long hitCount;
+
+    /**
+     * 命中过的敏感词数量
+     */
+    private Integer hitWordCount;
+
+    /**
+     * 从未命中的敏感词数量
+     */
+    private Integer deadWordCount;
+
+    /**
+     * 扫描耗时平均值（微秒）
+     */
+    private Double latencyMean;
+
+    /**
+     * 扫描耗时 P50（微秒）
+     */
+    private Long latencyP50;
+
+    /**
+     * 扫描耗时 P90（微秒）
+     */
+    private Long latencyP90;
+
+    /**
+     * 扫描耗时 P99（微秒）
+     */
+    private Long latencyP99;
+
+    /**
+     * 扫描耗时最大值（微秒）
+     */
+    private Long latencyMax;
+
+    /**
+     * 文本长度平均值
+     */
+    private Double lengthMean;
+
+    /**
+     * 文本长度 P50
+     */
+    private Long lengthP50;
+
+    /**
+     * 文本长度 P90
+     */
+    private Long lengthP90;
+
+    /**
+     * 文本长度 P99
+     */
+    private Long lengthP99;
+
+    /**
+     * 文本长度最大值
+     */
+    private Long lengthMax;
+
+    /**
+     * 命中次数最多的敏感词
+     */
+    private List<SensitiveWordHitCountVo> topWords;
+}
@@ -0,0 +1,66 @@
+package com.nexus.common.core.helper;
+
+import com.nexus.common.core.base.LoginPrincipal;
+import com.nexus.common.core.base.LoginUser;
+
+/**
+ * 当前请求的登录主体
+ * <p>
+ * 访问控制过滤器校验令牌后设置，请求结束时清除。切面、服务和 {@link LoginHelper} 从这里获取当前用户，
+ * 同一请求中不再重复校验令牌和查询登录信息。请求线程之外（异步任务、定时任务）没有登录主体
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class LoginContextHolder {
+
+    private static final ThreadLocal<LoginPrincipal> PRINCIPAL = new ThreadLocal<>();
+
+    private LoginContextHolder() {
+    }
+
+    /**
+     * 设置当前请求的登录主体
+     *
+     * @param principal 登录主体
+     */
+    public static void set(LoginPrincipal principal) {
+        PRINCIPAL.set(principal);
+    }
+
+    /**
+     * 获取当前请求的登录主体
+     *
+     * @return {@link LoginPrincipal } 未登录时为 null
+     */
+    public static LoginPrincipal get() {
+        return PRINCIPAL.get();
+    }
+
+    /**
+     * 清除当前请求的登录主体
+     */
+    public static void clear() {
+        PRINCIPAL.remove();
+    }
+
+    /**
+     * 获取当前请求的登录用户 ID
+     *
+     * @return {@link Long }
+     */
+    public static Long getUserId() {
+        LoginPrincipal principal = PRINCIPAL.get();
+        return principal == null ? null : principal.getUserId();
+    }
+
+    /**
+     * 获取当前请求的登录用户
+     *
+     * @return {@link LoginUser }
+     */
+    public static LoginUser getLoginUser() {
+        LoginPrincipal principal = PRINCIPAL.get();
+        return principal == null ? null : principal.getLoginUser();
+    }
+}
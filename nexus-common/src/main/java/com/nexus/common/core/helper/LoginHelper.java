@@ -2,6 +2,7 @@ package com.nexus.common.core.helper;
 
 import com.alibaba.druid.support.json.JSONUtils;
 import com.alibaba.fastjson2.JSON;
+import com.nexus.common.core.base.LoginPrincipal;
 import com.nexus.common.core.base.LoginUser;
 import com.nexus.common.enums.AdminEnum;
 import com.nexus.common.utils.*;
@@ -154,11 +155,15 @@ public class LoginHelper {
     }
 
     /**
-     * 获取登录用户
+     * 获取登录用户，优先使用访问控制过滤器保存的当前请求登录主体
      *
      * @return {@link LoginUser}
      */
     public static LoginUser getLoginUser() {
+        LoginUser loginUser = LoginContextHolder.getLoginUser();
+        if (loginUser != null) {
+            return loginUser;
+        }
         return getLoginUserByToken(getTokenFromHeader());
     }
 
@@ -172,9 +177,13 @@ public class LoginHelper {
             log.error("====> 当前会话未登录，请重新登录");
             return null;
         }
+        // 1. 先从内存中获取，命中时不加锁
+        LoginUser cached = LoginHelper.loginUserMap.get(token);
+        if (cached != null) {
+            return cached;
+        }
         LOCK.lock();
         try {
-            // 1. 先从内存中获取
             LoginUser loginUser = LoginHelper.loginUserMap.get(token);
             if (loginUser == null) {
                 // 2. 内存中获取失败，尝试从 redis 中获取
@@ -223,6 +232,10 @@ public class LoginHelper {
         }
         LoginHelper.loginUserMap.remove(token);
         RedisUtils.hDelete(LOGIN_HELPER_KEY, token);
+        LoginPrincipal principal = LoginContextHolder.get();
+        if (principal != null && token.equals(principal.getToken())) {
+            LoginContextHolder.clear();
+        }
     }
 
     /**
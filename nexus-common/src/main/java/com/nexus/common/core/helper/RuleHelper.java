@@ -1,19 +1,28 @@
 package com.nexus.common.core.helper;
 
+import com.nexus.common.core.domain.vo.RuleExpressionCacheVo;
+import com.nexus.common.core.domain.vo.RuleRepositoryVo;
+import com.nexus.common.core.domain.vo.RuleSetMetricsVo;
 import com.nexus.common.core.rule.*;
 import com.nexus.common.enums.CompositeTypeEnum;
+import com.nexus.common.enums.RuleDialectEnum;
+import com.nexus.common.utils.SpringUtils;
+import com.nexus.common.utils.StringUtils;
 import org.jeasy.rules.api.Facts;
 import org.jeasy.rules.api.Rule;
 import org.jeasy.rules.api.Rules;
 import org.jeasy.rules.core.RuleBuilder;
-import org.jeasy.rules.mvel.MVELRule;
-import org.jeasy.rules.spel.SpELRule;
 import org.jeasy.rules.support.composite.CompositeRule;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * 规则引擎助手
@@ -27,40 +36,23 @@ public class RuleHelper {
     }
 
     /**
-     * 创建 SpEL 规则
+     * 创建 SpEL 规则，条件和动作的编译结果来自进程级表达式缓存
      *
      * @param ruleModel 规则模型
      * @return {@link Rule }
      */
     public static Rule createSpELRule(RuleModel ruleModel) {
-        SpELRule spELRule = SpELRules.defaults()
-                .name(ruleModel.getName())
-                .description(ruleModel.getDescription())
-                .priority(ruleModel.getPriority())
-                .when(ruleModel.getCondition())
-                .then(ruleModel.getActions().getFirst());
-        for (String action : ruleModel.getActions()) {
-            spELRule.then(action);
-        }
-        return spELRule;
+        return ExpressionRules.of(ruleModel, RuleDialectEnum.SPEL);
     }
 
     /**
-     * 创建 MVEL 规则
+     * 创建 MVEL 规则，条件和动作的编译结果来自进程级表达式缓存
      *
      * @param ruleModel 规则模型
      * @return {@link Rule }
      */
     public static Rule createMVELRule(RuleModel ruleModel) {
-        MVELRule mvelRule = MVELRules.defaults()
-                .name(ruleModel.getName())
-                .description(ruleModel.getDescription())
-                .priority(ruleModel.getPriority())
-                .when(ruleModel.getCondition());
-        for (String action : ruleModel.getActions()) {
-            mvelRule.then(action);
-        }
-        return mvelRule;
+        return ExpressionRules.of(ruleModel, RuleDialectEnum.MVEL);
     }
 
     /**
@@ -210,6 +202,87 @@ public class RuleHelper {
         return rules;
     }
 
+    /**
+     * 规则集生成器
+     *
+     * @param name 规则集名称
+     * @return {@link RuleSet.Builder }
+     */
+    public static RuleSet.Builder ruleSet(String name) {
+        return RuleSet.builder(name);
+    }
+
+    /**
+     * 获取已注册的规则集，不存在时构建并注册
+     *
+     * @param name    规则集名称
+     * @param builder 规则集构建方法
+     * @return {@link RuleSet }
+     */
+    public static RuleSet ruleSet(String name, Supplier<RuleSet> builder) {
+        return RuleSetRegistry.computeIfAbsent(name, builder);
+    }
+
+    /**
+     * 触发已注册的规则集
+     *
+     * @param name  规则集名称
+     * @param facts 事实
+     */
+    public static void fire(String name, Facts facts) {
+        RuleSetRegistry.require(name).fire(facts);
+    }
+
+    /**
+     * 规则批量求值
+     *
+     * @param ruleSet 规则集
+     * @return {@link RuleBatchEvaluator }
+     */
+    public static RuleBatchEvaluator batch(RuleSet ruleSet) {
+        return RuleBatchEvaluator.newInstance(ruleSet);
+    }
+
+    /**
+     * 规则表达式缓存统计
+     *
+     * @return {@link RuleExpressionCacheVo }
+     */
+    public static RuleExpressionCacheVo expressionCacheStats() {
+        return RuleExpressionCache.stats();
+    }
+
+    /**
+     * 规则集执行统计
+     *
+     * @param name 规则集名称
+     * @param top  返回总耗时最多的规则数量
+     * @return {@link RuleSetMetricsVo } 规则集未开启统计时返回 null
+     */
+    public static RuleSetMetricsVo metrics(String name, int top) {
+        return RuleMetrics.snapshot(name, top);
+    }
+
+    /**
+     * 所有规则集的执行统计
+     *
+     * @param top 每个规则集返回总耗时最多的规则数量
+     * @return {@link List }<{@link RuleSetMetricsVo }>
+     */
+    public static List<RuleSetMetricsVo> metrics(int top) {
+        return RuleMetrics.snapshots(top);
+    }
+
+    /**
+     * 重置规则集执行统计
+     *
+     * @param name 规则集名称
+     * @return boolean 规则集是否开启了统计
+     */
+    public static boolean resetMetrics(String name) {
+        return RuleMetrics.reset(name);
+    }
+
     /**
      * 规则执行器
      *
@@ -218,4 +291,76 @@ public class RuleHelper {
     public static RuleExecutor ruleExecutor() {
         return RuleExecutor.newInstance();
     }
+
+    /**
+     * 是否配置了规则仓库
+     *
+     * @return boolean
+     */
+    public static boolean ruleRepositoryEnabled() {
+        return StringUtils.isNotBlank(SpringUtils.getProperty("rule.repository.source"));
+    }
+
+    /**
+     * 规则仓库，首次访问时根据 rule.repository 配置创建并开始加载
+     *
+     * @return {@link RuleRepository }
+     */
+    public static RuleRepository ruleRepository() {
+        return RuleRepositoryHolder.REPOSITORY;
+    }
+
+    /**
+     * 重新加载规则仓库，只重新构建内容发生变化的规则和规则集
+     *
+     * @return {@link CompletableFuture }<{@link RuleRepositorySnapshot }> 新的快照，没有变化时返回当前快照
+     */
+    public static CompletableFuture<RuleRepositorySnapshot> reloadRules() {
+        return ruleRepository().reload();
+    }
+
+    /**
+     * 规则仓库状态
+     *
+     * @return {@link RuleRepositoryVo }
+     */
+    public static RuleRepositoryVo ruleRepositoryStats() {
+        return RuleRepositoryVo.of(ruleRepository());
+    }
+
+    /**
+     * 规则仓库延迟初始化
+     */
+    private static class RuleRepositoryHolder {
+
+        private static final RuleRepository REPOSITORY = init();
+
+        private static RuleRepository init() {
+            RuleRepository repository = RuleRepository.newInstance(ruleSource());
+            repository.reload();
+            return repository;
+        }
+
+        /**
+         * 根据 rule.repository 配置创建规则来源
+         *
+         * @return {@link RuleSource }
+         */
+        private static RuleSource ruleSource() {
+            String source = StringUtils.trimToEmpty(SpringUtils.getProperty("rule.repository.source"));
+            if ("yaml".equalsIgnoreCase(source)) {
+                String path = SpringUtils.getProperty("rule.repository.path");
+                if (StringUtils.isBlank(path)) {
+                    throw new IllegalStateException("未配置规则目录：rule.repository.path");
+                }
+                return new YamlRuleSource(Paths.get(path));
+            } else if ("jdbc".equalsIgnoreCase(source)) {
+                return new JdbcRuleSource(SpringUtils.getBean(JdbcTemplate.class),
+                        StringUtils.defaultIfBlank(SpringUtils.getProperty("rule.repository.table"), "sys_rule"),
+                        Boolean.parseBoolean(SpringUtils.getProperty("rule.repository.compile")),
+                        Boolean.parseBoolean(SpringUtils.getProperty("rule.repository.metrics")));
+            }
+            throw new IllegalStateException("未配置规则仓库或规则来源不支持：" + source);
+        }
+    }
 }
@@ -2,9 +2,23 @@ package com.nexus.common.core.helper;
 
 
 
+import com.nexus.common.core.domain.vo.SensitiveWordCheckVo;
+import com.nexus.common.core.domain.vo.SensitiveWordHitCountVo;
+import com.nexus.common.core.domain.vo.SensitiveWordTelemetryVo;
 import com.nexus.common.core.sensitive.SensitiveWord;
+import com.nexus.common.core.sensitive.SensitiveWordReloader;
+import com.nexus.common.core.sensitive.WordDictionary;
+import com.nexus.common.core.sensitive.WordStreamHandler;
+import com.nexus.common.utils.SpringUtils;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * 敏感词助手
@@ -19,6 +33,18 @@ public class SensitiveWordHelper {
      */
     private static final SensitiveWord sensitiveWord = SensitiveWord.newInstance().init();
 
+    /**
+     * 敏感词热更新
+     */
+    private static final SensitiveWordReloader reloader = SensitiveWordReloader.newInstance(sensitiveWord, SpringUtils.getProperty("sensitive.path"));
+
+    static {
+        // 开启敏感词文件监听，敏感词文件变化后自动重新加载
+        if (Boolean.parseBoolean(SpringUtils.getProperty("sensitive.watch"))) {
+            reloader.watch();
+        }
+    }
+
     /**
      * 替换敏感词
      *
@@ -70,4 +96,115 @@ public class SensitiveWordHelper {
         return sensitiveWord.findAll(text);
     }
 
+    /**
+     * 批量检测文本
+     *
+     * @param texts      文本集合
+     * @param replaceStr 替换字符串，为空时按敏感词分类使用对应的替换策略
+     * @param executor   执行扫描的线程池
+     * @return {@link List }<{@link SensitiveWordCheckVo }>
+     */
+    public static List<SensitiveWordCheckVo> check(List<String> texts, String replaceStr, Executor executor) {
+        return sensitiveWord.check(texts, replaceStr, executor);
+    }
+
+    /**
+     * 流式扫描输入中的敏感词，不关闭输入
+     *
+     * @param reader  输入
+     * @param handler 命中处理器，返回 false 时停止扫描
+     * @return long 已扫描的字符数量
+     * @throws IOException IOException
+     */
+    public static long scan(Reader reader, WordStreamHandler handler) throws IOException {
+        return sensitiveWord.scan(reader, handler);
+    }
+
+    /**
+     * 创建替换敏感词的输出流，写入完成后需要关闭
+     *
+     * @param out 目标输出流
+     * @return {@link Writer }
+     */
+    public static Writer maskingWriter(Writer out) {
+        return sensitiveWord.maskingWriter(out);
+    }
+
+    /**
+     * 获取当前敏感词字典快照
+     *
+     * @return {@link WordDictionary }
+     */
+    public static WordDictionary dictionary() {
+        return sensitiveWord.dictionary();
+    }
+
+    /**
+     * 获取敏感词扫描统计
+     *
+     * @param top 返回命中次数最多的敏感词数量
+     * @return {@link SensitiveWordTelemetryVo }
+     */
+    public static SensitiveWordTelemetryVo telemetry(int top) {
+        return sensitiveWord.telemetry().snapshot(sensitiveWord.dictionary(), top);
+    }
+
+    /**
+     * 生成敏感词扫描统计快照并放入历史队列
+     *
+     * @return {@link SensitiveWordTelemetryVo }
+     */
+    public static SensitiveWordTelemetryVo snapshotTelemetry() {
+        return sensitiveWord.telemetry().takeSnapshot(sensitiveWord.dictionary());
+    }
+
+    /**
+     * 获取敏感词扫描统计历史快照
+     *
+     * @return {@link List }<{@link SensitiveWordTelemetryVo }>
+     */
+    public static List<SensitiveWordTelemetryVo> telemetryHistory() {
+        return sensitiveWord.telemetry().history();
+    }
+
+    /**
+     * 获取从未命中的敏感词
+     *
+     * @param limit 最大返回数量
+     * @return {@link List }<{@link SensitiveWordHitCountVo }>
+     */
+    public static List<SensitiveWordHitCountVo> deadWords(int limit) {
+        return sensitiveWord.telemetry().deadWords(sensitiveWord.dictionary(), limit);
+    }
+
+    /**
+     * 重新加载全部敏感词，在后台构建完成后替换当前字典
+     *
+     * @return {@link CompletableFuture }<{@link WordDictionary }>
+     */
+    public static CompletableFuture<WordDictionary> reload() {
+        return reloader.reload();
+    }
+
+    /**
+     * 批量新增敏感词
+     *
+     * @param words    敏感词集合
+     * @param category 敏感词分类
+     * @return {@link CompletableFuture }<{@link WordDictionary }>
+     */
+    public static CompletableFuture<WordDictionary> addWords(Collection<String> words, String category) {
+        return reloader.addWords(words, category);
+    }
+
+    /**
+     * 批量删除敏感词
+     *
+     * @param words 敏感词集合
+     * @return {@link CompletableFuture }<{@link WordDictionary }>
+     */
+    public static CompletableFuture<WordDictionary> removeWords(Collection<String> words) {
+        return reloader.removeWords(words);
+    }
+
 }
@@ -187,4 +187,13 @@ public interface BaseMapperPlus<T, V> extends BaseMapper<T> {
         return (P) this.selectPage(page, wrapper).convert(t -> BeanUtils.toBean(t, voClass));
     }
 
+    /**
+     * 批量插入，生成一条多行 INSERT 语句（由 MyBatisPlusConfig 中的 SQL 注入器注册）。
+     * 所有字段都会写入，值为 null 的字段写入 NULL 而不是使用数据库默认值
+     *
+     * @param entityList 实体列表
+     * @return int 插入行数
+     */
+    int insertBatchSomeColumn(List<T> entityList);
+
 }
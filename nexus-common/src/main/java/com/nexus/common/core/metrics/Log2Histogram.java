@@ -0,0 +1,144 @@
+package com.nexus.common.core.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 以 2 的幂次分桶的直方图
+ * <p>
+ * 第 0 个桶记录 0，第 i 个桶记录 [2^(i-1), 2^i) 区间内的值，记录时只做一次位运算和一次 {@link LongAdder} 累加，
+ * 适合在热点路径上统计耗时、长度等分布；分位数取所在桶的上界，误差不超过一倍
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class Log2Histogram {
+
+    /**
+     * 桶数量
+     */
+    private static final int BUCKET_COUNT = Long.SIZE;
+
+    /**
+     * 各个桶的计数
+     */
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+    /**
+     * 总和
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * 最大值
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public Log2Histogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 记录一个值，负数按 0 记录
+     *
+     * @param value 值
+     */
+    public void record(long value) {
+        value = Math.max(value, 0);
+        buckets[Math.min(Long.SIZE - Long.numberOfLeadingZeros(value), BUCKET_COUNT - 1)].increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * 记录数量
+     *
+     * @return long
+     */
+    public long count() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * 总和
+     *
+     * @return long
+     */
+    public long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * 最大值
+     *
+     * @return long
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * 平均值
+     *
+     * @return double
+     */
+    public double mean() {
+        long count = count();
+        return count == 0 ? 0 : (double) sum() / count;
+    }
+
+    /**
+     * 分位数（所在桶的上界，不超过最大值）
+     *
+     * @param quantile 分位，取值 [0, 1]
+     * @return long
+     */
+    public long percentile(double quantile) {
+        long[] counts = buckets();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.min(Math.max(quantile, 0), 1) * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(rank, 1)) {
+                return Math.min(upperBound(i), max());
+            }
+        }
+        return max();
+    }
+
+    /**
+     * 各个桶的计数快照
+     *
+     * @return long[]
+     */
+    public long[] buckets() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * 桶的上界（包含）
+     *
+     * @param bucket 桶下标
+     * @return long
+     */
+    public static long upperBound(int bucket) {
+        return bucket == 0 ? 0 : bucket >= BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
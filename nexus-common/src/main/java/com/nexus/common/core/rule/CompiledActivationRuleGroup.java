@@ -0,0 +1,86 @@
+package com.nexus.common.core.rule;
+
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rule;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 激活规则组：按优先级执行第一个满足条件的规则
+ * <p>
+ * 语义与 easy-rules 的 ActivationRuleGroup 一致。easy-rules 把选中的规则保存在实例字段中，多线程同时触发时会互相覆盖；
+ * 这里改为保存在线程本地变量中，求值和执行在同一个线程内成对调用，执行后清除
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class CompiledActivationRuleGroup extends CompiledRuleGroup {
+
+    /**
+     * 当前线程求值时选中的规则
+     */
+    private final ThreadLocal<Rule> selectedRule = new ThreadLocal<>();
+
+    public CompiledActivationRuleGroup() {
+    }
+
+    public CompiledActivationRuleGroup(String name) {
+        super(name);
+    }
+
+    public CompiledActivationRuleGroup(String name, String description) {
+        super(name, description);
+    }
+
+    public CompiledActivationRuleGroup(String name, String description, int priority) {
+        super(name, description, priority);
+    }
+
+    @Override
+    protected CompiledActivationRuleGroup newGroup() {
+        return new CompiledActivationRuleGroup(name, description, priority);
+    }
+
+    @Override
+    public boolean evaluate(Facts facts, Map<String, Object> factMap) {
+        for (Rule rule : rules) {
+            if (CompiledRule.evaluate(rule, facts, factMap)) {
+                selectedRule.set(rule);
+                return true;
+            }
+        }
+        selectedRule.remove();
+        return false;
+    }
+
+    /**
+     * 所有规则都不满足时整体不满足，取所有规则所需事实的交集
+     *
+     * @return {@link Set }<{@link String }>
+     */
+    @Override
+    public Set<String> requiredFacts() {
+        Set<String> facts = null;
+        for (Rule rule : rules) {
+            Set<String> ruleFacts = CompiledRule.requiredFacts(rule);
+            if (facts == null) {
+                facts = new HashSet<>(ruleFacts);
+            } else {
+                facts.retainAll(ruleFacts);
+            }
+        }
+        return facts == null ? Set.of() : facts;
+    }
+
+    @Override
+    public void execute(Facts facts, Map<String, Object> factMap) throws Exception {
+        Rule rule = selectedRule.get();
+        if (rule == null) {
+            return;
+        }
+        selectedRule.remove();
+        CompiledRule.execute(rule, facts, factMap);
+    }
+}
@@ -0,0 +1,105 @@
+package com.nexus.common.core.rule;
+
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rule;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 条件规则组：优先级最高的规则作为条件，满足时执行它以及其余满足条件的规则
+ * <p>
+ * 语义与 easy-rules 的 ConditionalRuleGroup 一致。求值通过的规则保存在线程本地变量中，多线程同时触发互不影响，执行后清除
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class CompiledConditionalRuleGroup extends CompiledRuleGroup {
+
+    /**
+     * 当前线程求值通过的规则，第一个为条件规则，其余按优先级排列
+     */
+    private final ThreadLocal<List<Rule>> successfulRules = new ThreadLocal<>();
+
+    public CompiledConditionalRuleGroup() {
+    }
+
+    public CompiledConditionalRuleGroup(String name) {
+        super(name);
+    }
+
+    public CompiledConditionalRuleGroup(String name, String description) {
+        super(name, description);
+    }
+
+    public CompiledConditionalRuleGroup(String name, String description, int priority) {
+        super(name, description, priority);
+    }
+
+    @Override
+    protected CompiledConditionalRuleGroup newGroup() {
+        return new CompiledConditionalRuleGroup(name, description, priority);
+    }
+
+    @Override
+    public boolean evaluate(Facts facts, Map<String, Object> factMap) {
+        successfulRules.remove();
+        if (rules.isEmpty()) {
+            return false;
+        }
+        Iterator<Rule> iterator = rules.iterator();
+        Rule conditionalRule = iterator.next();
+        List<Rule> others = new ArrayList<>(rules.size() - 1);
+        while (iterator.hasNext()) {
+            others.add(iterator.next());
+        }
+        if (!others.isEmpty() && others.getFirst().getPriority() == conditionalRule.getPriority()) {
+            throw new IllegalArgumentException("Only one rule can have highest priority");
+        }
+        if (!CompiledRule.evaluate(conditionalRule, facts, factMap)) {
+            return false;
+        }
+        List<Rule> successful = new ArrayList<>(rules.size());
+        successful.add(conditionalRule);
+        for (Rule rule : others) {
+            if (CompiledRule.evaluate(rule, facts, factMap)) {
+                successful.add(rule);
+            }
+        }
+        successfulRules.set(successful);
+        return true;
+    }
+
+    /**
+     * 条件规则不满足时整体不满足，取条件规则所需的事实；优先级最高的规则不唯一时求值会抛出异常，不做裁剪
+     *
+     * @return {@link Set }<{@link String }>
+     */
+    @Override
+    public Set<String> requiredFacts() {
+        Iterator<Rule> iterator = rules.iterator();
+        if (!iterator.hasNext()) {
+            return Set.of();
+        }
+        Rule conditionalRule = iterator.next();
+        if (iterator.hasNext() && iterator.next().getPriority() == conditionalRule.getPriority()) {
+            return Set.of();
+        }
+        return CompiledRule.requiredFacts(conditionalRule);
+    }
+
+    @Override
+    public void execute(Facts facts, Map<String, Object> factMap) throws Exception {
+        List<Rule> successful = successfulRules.get();
+        if (successful == null) {
+            return;
+        }
+        successfulRules.remove();
+        for (int i = 0, size = successful.size(); i < size; i++) {
+            CompiledRule.execute(successful.get(i), facts, i == 0 ? factMap : facts.asMap());
+        }
+    }
+}
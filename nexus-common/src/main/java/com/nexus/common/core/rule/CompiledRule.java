@@ -0,0 +1,86 @@
+package com.nexus.common.core.rule;
+
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rule;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 可在事实映射快照上求值的规则
+ * <p>
+ * easy-rules 的表达式规则每次求值都通过 {@link Facts#asMap()} 复制一份事实映射。{@link RuleSet} 在一次触发中只生成一份快照，
+ * 供连续的条件求值共享，任何动作执行后快照作废并重新生成，因此与逐条复制的行为一致。
+ * 实现类不能持有跨调用的可变状态，同一个实例会被多个线程同时求值
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public interface CompiledRule extends Rule {
+
+    /**
+     * 求值条件
+     *
+     * @param facts   事实
+     * @param factMap 事实映射快照
+     * @return boolean
+     */
+    boolean evaluate(Facts facts, Map<String, Object> factMap);
+
+    /**
+     * 执行动作，执行后调用方持有的事实映射快照作废
+     *
+     * @param facts   事实
+     * @param factMap 事实映射快照
+     * @throws Exception Exception
+     */
+    void execute(Facts facts, Map<String, Object> factMap) throws Exception;
+
+    /**
+     * 获取缺少即不可能满足条件的事实，{@link RuleSet} 据此建立事实索引，事实映射中缺少其中任何一个事实时跳过该规则。
+     * 只能包含缺少时条件必定不满足或必定判断异常的事实，无法确定时返回空集合
+     *
+     * @return {@link Set }<{@link String }>
+     */
+    default Set<String> requiredFacts() {
+        return Set.of();
+    }
+
+    /**
+     * 求值规则条件，支持快照的规则使用快照，其余规则使用 easy-rules 的求值入口
+     *
+     * @param rule    规则
+     * @param facts   事实
+     * @param factMap 事实映射快照
+     * @return boolean
+     */
+    static boolean evaluate(Rule rule, Facts facts, Map<String, Object> factMap) {
+        return rule instanceof CompiledRule compiledRule ? compiledRule.evaluate(facts, factMap) : rule.evaluate(facts);
+    }
+
+    /**
+     * 获取规则缺少即不可能满足条件的事实，不支持快照的规则返回空集合
+     *
+     * @param rule 规则
+     * @return {@link Set }<{@link String }>
+     */
+    static Set<String> requiredFacts(Rule rule) {
+        return rule instanceof CompiledRule compiledRule ? compiledRule.requiredFacts() : Set.of();
+    }
+
+    /**
+     * 执行规则动作，支持快照的规则使用快照，其余规则使用 easy-rules 的执行入口
+     *
+     * @param rule    规则
+     * @param facts   事实
+     * @param factMap 事实映射快照
+     * @throws Exception Exception
+     */
+    static void execute(Rule rule, Facts facts, Map<String, Object> factMap) throws Exception {
+        if (rule instanceof CompiledRule compiledRule) {
+            compiledRule.execute(facts, factMap);
+        } else {
+            rule.execute(facts);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.nexus.common.core.rule;
+
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rule;
+import org.jeasy.rules.support.composite.CompositeRule;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * 支持事实映射快照的规则组
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public abstract class CompiledRuleGroup extends CompositeRule implements CompiledRule {
+
+    protected CompiledRuleGroup() {
+    }
+
+    protected CompiledRuleGroup(String name) {
+        super(name);
+    }
+
+    protected CompiledRuleGroup(String name, String description) {
+        super(name, description);
+    }
+
+    protected CompiledRuleGroup(String name, String description, int priority) {
+        super(name, description, priority);
+    }
+
+    @Override
+    public boolean evaluate(Facts facts) {
+        return evaluate(facts, facts.asMap());
+    }
+
+    @Override
+    public void execute(Facts facts) throws Exception {
+        execute(facts, facts.asMap());
+    }
+
+    /**
+     * 获取组内按优先级排列的规则
+     *
+     * @return {@link List }<{@link Rule }>
+     */
+    public List<Rule> rules() {
+        return List.copyOf(rules);
+    }
+
+    /**
+     * 创建同名、同类型的空规则组
+     *
+     * @return {@link CompiledRuleGroup }
+     */
+    protected abstract CompiledRuleGroup newGroup();
+
+    /**
+     * 复制规则组，组内的规则经过转换
+     *
+     * @param mapper 规则转换
+     * @return {@link CompiledRuleGroup }
+     */
+    public CompiledRuleGroup copy(UnaryOperator<Rule> mapper) {
+        CompiledRuleGroup group = newGroup();
+        for (Rule rule : rules) {
+            group.addRule(mapper.apply(rule));
+        }
+        return group;
+    }
+}
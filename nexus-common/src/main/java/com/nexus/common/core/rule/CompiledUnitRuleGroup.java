@@ -0,0 +1,75 @@
+package com.nexus.common.core.rule;
+
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rule;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 单元规则组：所有规则都满足时按优先级执行全部规则，否则都不执行
+ * <p>
+ * 语义与 easy-rules 的 UnitRuleGroup 一致，额外支持事实映射快照
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class CompiledUnitRuleGroup extends CompiledRuleGroup {
+
+    public CompiledUnitRuleGroup() {
+    }
+
+    public CompiledUnitRuleGroup(String name) {
+        super(name);
+    }
+
+    public CompiledUnitRuleGroup(String name, String description) {
+        super(name, description);
+    }
+
+    public CompiledUnitRuleGroup(String name, String description, int priority) {
+        super(name, description, priority);
+    }
+
+    @Override
+    protected CompiledUnitRuleGroup newGroup() {
+        return new CompiledUnitRuleGroup(name, description, priority);
+    }
+
+    @Override
+    public boolean evaluate(Facts facts, Map<String, Object> factMap) {
+        if (rules.isEmpty()) {
+            return false;
+        }
+        for (Rule rule : rules) {
+            if (!CompiledRule.evaluate(rule, facts, factMap)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 任何一个规则不满足时整体不满足，取所有规则所需事实的并集
+     *
+     * @return {@link Set }<{@link String }>
+     */
+    @Override
+    public Set<String> requiredFacts() {
+        Set<String> facts = new HashSet<>();
+        for (Rule rule : rules) {
+            facts.addAll(CompiledRule.requiredFacts(rule));
+        }
+        return facts;
+    }
+
+    @Override
+    public void execute(Facts facts, Map<String, Object> factMap) throws Exception {
+        boolean first = true;
+        for (Rule rule : rules) {
+            CompiledRule.execute(rule, facts, first ? factMap : facts.asMap());
+            first = false;
+        }
+    }
+}
@@ -1,13 +1,12 @@
 package com.nexus.common.core.rule;
 
 import com.nexus.common.enums.CompositeTypeEnum;
-import org.jeasy.rules.support.composite.ActivationRuleGroup;
 import org.jeasy.rules.support.composite.CompositeRule;
-import org.jeasy.rules.support.composite.ConditionalRuleGroup;
-import org.jeasy.rules.support.composite.UnitRuleGroup;
 
 /**
  * 复合规则实例
+ * <p>
+ * 返回支持事实映射快照、可在多个线程间共享的规则组，语义与 easy-rules 的同名规则组一致
  *
  * @author wk
  * @date 2025/07/31
@@ -25,11 +24,11 @@ public class CompositeRules {
      */
     public static CompositeRule defaults(CompositeTypeEnum compositeType) {
         if (CompositeTypeEnum.ACTIVATION.equals(compositeType)) {
-            return new ActivationRuleGroup();
+            return new CompiledActivationRuleGroup();
         } else if (CompositeTypeEnum.CONDITIONAL.equals(compositeType)) {
-            return new ConditionalRuleGroup();
+            return new CompiledConditionalRuleGroup();
         } else {
-            return new UnitRuleGroup();
+            return new CompiledUnitRuleGroup();
         }
 
     }
@@ -43,11 +42,11 @@ public class CompositeRules {
      */
     public static CompositeRule defaults(CompositeTypeEnum compositeType, String name) {
         if (CompositeTypeEnum.ACTIVATION.equals(compositeType)) {
-            return new ActivationRuleGroup(name);
+            return new CompiledActivationRuleGroup(name);
         } else if (CompositeTypeEnum.CONDITIONAL.equals(compositeType)) {
-            return new ConditionalRuleGroup(name);
+            return new CompiledConditionalRuleGroup(name);
         } else {
-            return new UnitRuleGroup(name);
+            return new CompiledUnitRuleGroup(name);
         }
     }
 
@@ -61,12 +60,31 @@ public class CompositeRules {
      */
     public static CompositeRule defaults(CompositeTypeEnum compositeType, String name, String description) {
         if (CompositeTypeEnum.ACTIVATION.equals(compositeType)) {
-            return new ActivationRuleGroup(name, description);
+            return new CompiledActivationRuleGroup(name, description);
         } else if (CompositeTypeEnum.CONDITIONAL.equals(compositeType)) {
-            return new ConditionalRuleGroup(name, description);
+            return new CompiledConditionalRuleGroup(name, description);
         } else {
-            return new UnitRuleGroup(name, description);
+            return new CompiledUnitRuleGroup(name, description);
         }
 
     }
+
+    /**
+     * 获取复合规则实例
+     *
+     * @param compositeType 复合类型
+     * @param name          规则名称
+     * @param description   规则描述
+     * @param priority      规则优先级
+     * @return {@link CompositeRule }
+     */
+    public static CompositeRule defaults(CompositeTypeEnum compositeType, String name, String description, int priority) {
+        if (CompositeTypeEnum.ACTIVATION.equals(compositeType)) {
+            return new CompiledActivationRuleGroup(name, description, priority);
+        } else if (CompositeTypeEnum.CONDITIONAL.equals(compositeType)) {
+            return new CompiledConditionalRuleGroup(name, description, priority);
+        } else {
+            return new CompiledUnitRuleGroup(name, description, priority);
+        }
+    }
 }
@@ -0,0 +1,81 @@
+package com.nexus.common.core.rule;
+
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.core.BasicRule;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 表达式规则
+ * <p>
+ * 条件和动作均为编译后的 {@link RuleExpression}，创建后不可修改，可在多个线程间共享
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class ExpressionRule extends BasicRule implements CompiledRule {
+
+    /**
+     * 条件
+     */
+    private final RuleExpression condition;
+
+    /**
+     * 动作
+     */
+    private final List<RuleExpression> actions;
+
+    public ExpressionRule(String name, String description, int priority, RuleExpression condition, List<RuleExpression> actions) {
+        super(name, description, priority);
+        this.condition = condition;
+        this.actions = List.copyOf(actions);
+    }
+
+    @Override
+    public boolean evaluate(Facts facts) {
+        return condition.evaluate(facts.asMap());
+    }
+
+    @Override
+    public void execute(Facts facts) {
+        execute(facts, facts.asMap());
+    }
+
+    @Override
+    public boolean evaluate(Facts facts, Map<String, Object> factMap) {
+        return condition.evaluate(factMap);
+    }
+
+    @Override
+    public void execute(Facts facts, Map<String, Object> factMap) {
+        for (int i = 0, size = actions.size(); i < size; i++) {
+            // 与 easy-rules 一致，每个动作使用一份新的事实映射，第一个动作之前事实未被修改，可以直接使用快照
+            actions.get(i).execute(i == 0 ? factMap : facts.asMap());
+        }
+    }
+
+    @Override
+    public Set<String> requiredFacts() {
+        return condition.requiredFacts();
+    }
+
+    /**
+     * 获取条件
+     *
+     * @return {@link RuleExpression }
+     */
+    public RuleExpression condition() {
+        return condition;
+    }
+
+    /**
+     * 获取动作
+     *
+     * @return {@link List }<{@link RuleExpression }>
+     */
+    public List<RuleExpression> actions() {
+        return actions;
+    }
+}
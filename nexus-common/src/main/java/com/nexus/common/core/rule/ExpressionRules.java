@@ -0,0 +1,46 @@
+package com.nexus.common.core.rule;
+
+import com.nexus.common.enums.RuleDialectEnum;
+import org.jeasy.rules.support.RuleDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 表达式规则实例
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class ExpressionRules {
+
+    private ExpressionRules() {
+    }
+
+    /**
+     * 根据规则定义创建表达式规则，条件和动作的编译结果来自进程级表达式缓存
+     *
+     * @param definition 规则定义
+     * @param dialect    表达式语言
+     * @return {@link ExpressionRule }
+     */
+    public static ExpressionRule of(RuleDefinition definition, RuleDialectEnum dialect) {
+        List<RuleExpression> actions = new ArrayList<>(definition.getActions().size());
+        for (String action : definition.getActions()) {
+            actions.add(expression(action, dialect));
+        }
+        return new ExpressionRule(definition.getName(), definition.getDescription(), definition.getPriority(),
+                expression(definition.getCondition(), dialect), actions);
+    }
+
+    /**
+     * 创建规则表达式
+     *
+     * @param expression 表达式
+     * @param dialect    表达式语言
+     * @return {@link RuleExpression }
+     */
+    public static RuleExpression expression(String expression, RuleDialectEnum dialect) {
+        return RuleDialectEnum.SPEL.equals(dialect) ? SpELExpression.of(expression) : MVELExpression.of(expression);
+    }
+}
@@ -0,0 +1,61 @@
+package com.nexus.common.core.rule;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * 编译为 Java 代码的规则条件
+ * <p>
+ * 条件由 {@link RuleSetCompiler} 生成的代码求值；生成代码无法确定结果（类型不支持、缺少事实、属性不存在等）时抛出异常，
+ * 此时回退到原表达式解释执行，由解释执行给出结果或抛出原有的异常。动作始终解释执行
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+final class GeneratedExpression implements RuleExpression {
+
+    /**
+     * 原表达式
+     */
+    private final RuleExpression interpreted;
+
+    /**
+     * 生成的条件
+     */
+    private final Predicate<Map<String, Object>> condition;
+
+    GeneratedExpression(RuleExpression interpreted, Predicate<Map<String, Object>> condition) {
+        this.interpreted = interpreted;
+        this.condition = condition;
+    }
+
+    @Override
+    public boolean evaluate(Map<String, Object> factMap) {
+        try {
+            return condition.test(factMap);
+        } catch (RuntimeException e) {
+            return interpreted.evaluate(factMap);
+        }
+    }
+
+    @Override
+    public void execute(Map<String, Object> factMap) {
+        interpreted.execute(factMap);
+    }
+
+    @Override
+    public String expression() {
+        return interpreted.expression();
+    }
+
+    @Override
+    public Set<String> requiredFacts() {
+        return interpreted.requiredFacts();
+    }
+
+    @Override
+    public String toString() {
+        return interpreted.toString();
+    }
+}
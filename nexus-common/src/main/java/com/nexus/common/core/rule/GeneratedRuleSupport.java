@@ -0,0 +1,327 @@
+package com.nexus.common.core.rule;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 生成的规则类的运行时支持，供 {@link RuleSetCompiler} 生成的代码调用
+ * <p>
+ * 只处理 MVEL 和 SpEL 语义完全一致的情况：Integer、Long、Double 之间的数值运算和比较，字符串、布尔值的比较，
+ * 事实和 Bean 属性的读取。其余情况（类型转换、空值比较、缺少事实、整数溢出等）抛出异常，由调用方回退到解释执行，
+ * 因此生成代码给出的结果与解释执行一致。公开方法的签名只使用 JDK 类型，生成代码编译时不依赖其他类
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public final class GeneratedRuleSupport {
+
+    /**
+     * 回退信号，预先创建，抛出时不再填充堆栈
+     */
+    private static final IllegalStateException FALLBACK = new IllegalStateException("需要回退到解释执行");
+
+    /**
+     * 不存在的属性
+     */
+    private static final Object NONE = new Object();
+
+    private static final int INT = 0;
+
+    private static final int LONG = 1;
+
+    private static final int DOUBLE = 2;
+
+    /**
+     * 属性读取方式缓存，值为 {@link Method}、{@link Field} 或 {@link #NONE}
+     */
+    private static final ClassValue<Map<String, Object>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Map<String, Object> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private GeneratedRuleSupport() {
+    }
+
+    /**
+     * 读取 MVEL 变量，事实不存在时 MVEL 抛出异常
+     *
+     * @param facts 事实映射
+     * @param name  事实名称
+     * @return {@link Object }
+     */
+    public static Object fact(Map<String, Object> facts, String name) {
+        Object value = facts.get(name);
+        if (value == null && !facts.containsKey(name)) {
+            throw FALLBACK;
+        }
+        return value;
+    }
+
+    /**
+     * 读取 SpEL 变量，事实不存在时为 null
+     *
+     * @param facts 事实映射
+     * @param name  事实名称
+     * @return {@link Object }
+     */
+    public static Object variable(Map<String, Object> facts, String name) {
+        return facts.get(name);
+    }
+
+    /**
+     * 读取属性：Map 的键（仅 MVEL，键不存在时 MVEL 抛出异常），或 Bean 的 getter、is 方法和公共字段
+     *
+     * @param target    目标对象
+     * @param name      属性名称
+     * @param mapAccess 是否按键读取 Map
+     * @return {@link Object }
+     */
+    public static Object property(Object target, String name, boolean mapAccess) {
+        if (target instanceof Map<?, ?> map) {
+            if (!mapAccess || !map.containsKey(name)) {
+                throw FALLBACK;
+            }
+            return map.get(name);
+        }
+        Object accessor = ACCESSORS.get(target.getClass()).computeIfAbsent(name, k -> accessor(target.getClass(), k));
+        try {
+            if (accessor instanceof Method method) {
+                return method.invoke(target);
+            }
+            if (accessor instanceof Field field) {
+                return field.get(target);
+            }
+        } catch (ReflectiveOperationException e) {
+            throw FALLBACK;
+        }
+        throw FALLBACK;
+    }
+
+    private static Object accessor(Class<?> type, String name) {
+        if (!Modifier.isPublic(type.getModifiers())) {
+            return NONE;
+        }
+        String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        try {
+            return type.getMethod("get" + suffix);
+        } catch (NoSuchMethodException ignored) {
+            // 继续查找 is 方法
+        }
+        try {
+            Method method = type.getMethod("is" + suffix);
+            if (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class) {
+                return method;
+            }
+        } catch (NoSuchMethodException ignored) {
+            // 继续查找公共字段
+        }
+        try {
+            return type.getField(name);
+        } catch (NoSuchFieldException e) {
+            return NONE;
+        }
+    }
+
+    /**
+     * 布尔值
+     *
+     * @param value 值
+     * @return boolean
+     */
+    public static boolean truth(Object value) {
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        throw FALLBACK;
+    }
+
+    /**
+     * 布尔值的 Object 形式
+     *
+     * @param value 值
+     * @return {@link Object }
+     */
+    public static Object box(boolean value) {
+        return value ? Boolean.TRUE : Boolean.FALSE;
+    }
+
+    /**
+     * 相等比较
+     *
+     * @param left  左操作数
+     * @param right 右操作数
+     * @return boolean
+     */
+    public static boolean equal(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        if (left instanceof String || left instanceof Boolean) {
+            if (left.getClass() != right.getClass()) {
+                throw FALLBACK;
+            }
+            return left.equals(right);
+        }
+        return compare(left, right) == 0;
+    }
+
+    /**
+     * 大小比较，只支持数值之间和字符串之间的比较
+     *
+     * @param left  左操作数
+     * @param right 右操作数
+     * @return int
+     */
+    public static int compare(Object left, Object right) {
+        if (left instanceof String l && right instanceof String r) {
+            return Integer.signum(l.compareTo(r));
+        }
+        int kind = kind(left, right);
+        if (kind != DOUBLE) {
+            return Long.compare(((Number) left).longValue(), ((Number) right).longValue());
+        }
+        if (left instanceof Double l && right instanceof Double r) {
+            double a = l;
+            double b = r;
+            if (Double.isNaN(a) || Double.isNaN(b)) {
+                throw FALLBACK;
+            }
+            return a < b ? -1 : a == b ? 0 : 1;
+        }
+        // 整数与浮点数精确比较
+        return exact((Number) left).compareTo(exact((Number) right));
+    }
+
+    private static BigDecimal exact(Number number) {
+        if (number instanceof Double d) {
+            if (d.isNaN() || d.isInfinite()) {
+                throw FALLBACK;
+            }
+            return new BigDecimal(d);
+        }
+        return BigDecimal.valueOf(number.longValue());
+    }
+
+    /**
+     * 加法，整数溢出时回退（MVEL 对常量提升为 Long、对变量截断，SpEL 截断）
+     *
+     * @param left  左操作数
+     * @param right 右操作数
+     * @return {@link Object }
+     */
+    public static Object add(Object left, Object right) {
+        return switch (kind(left, right)) {
+            case INT -> Math.addExact((Integer) left, (Integer) right);
+            case LONG -> Math.addExact(((Number) left).longValue(), ((Number) right).longValue());
+            default -> ((Number) left).doubleValue() + ((Number) right).doubleValue();
+        };
+    }
+
+    /**
+     * 减法，整数溢出时回退
+     *
+     * @param left  左操作数
+     * @param right 右操作数
+     * @return {@link Object }
+     */
+    public static Object subtract(Object left, Object right) {
+        return switch (kind(left, right)) {
+            case INT -> Math.subtractExact((Integer) left, (Integer) right);
+            case LONG -> Math.subtractExact(((Number) left).longValue(), ((Number) right).longValue());
+            default -> ((Number) left).doubleValue() - ((Number) right).doubleValue();
+        };
+    }
+
+    /**
+     * 乘法，整数溢出时回退
+     *
+     * @param left  左操作数
+     * @param right 右操作数
+     * @return {@link Object }
+     */
+    public static Object multiply(Object left, Object right) {
+        return switch (kind(left, right)) {
+            case INT -> Math.multiplyExact((Integer) left, (Integer) right);
+            case LONG -> Math.multiplyExact(((Number) left).longValue(), ((Number) right).longValue());
+            default -> ((Number) left).doubleValue() * ((Number) right).doubleValue();
+        };
+    }
+
+    /**
+     * 除法，只用于 SpEL（MVEL 的整数除法结果为浮点数，不生成代码）
+     *
+     * @param left  左操作数
+     * @param right 右操作数
+     * @return {@link Object }
+     */
+    public static Object divide(Object left, Object right) {
+        int kind = kind(left, right);
+        if (kind != DOUBLE && ((Number) right).longValue() == 0) {
+            throw FALLBACK;
+        }
+        return switch (kind) {
+            case INT -> Math.divideExact((Integer) left, (Integer) right);
+            case LONG -> Math.divideExact(((Number) left).longValue(), ((Number) right).longValue());
+            default -> ((Number) left).doubleValue() / ((Number) right).doubleValue();
+        };
+    }
+
+    /**
+     * 取余，整数除数为 0 时回退
+     *
+     * @param left  左操作数
+     * @param right 右操作数
+     * @return {@link Object }
+     */
+    public static Object remainder(Object left, Object right) {
+        int kind = kind(left, right);
+        if (kind != DOUBLE && ((Number) right).longValue() == 0) {
+            throw FALLBACK;
+        }
+        return switch (kind) {
+            case INT -> (Integer) left % (Integer) right;
+            case LONG -> ((Number) left).longValue() % ((Number) right).longValue();
+            default -> ((Number) left).doubleValue() % ((Number) right).doubleValue();
+        };
+    }
+
+    /**
+     * 取负，整数溢出时回退
+     *
+     * @param value 操作数
+     * @return {@link Object }
+     */
+    public static Object negate(Object value) {
+        return switch (kind(value, value)) {
+            case INT -> Math.negateExact((Integer) value);
+            case LONG -> Math.negateExact((Long) value);
+            default -> -(Double) value;
+        };
+    }
+
+    /**
+     * 两个操作数提升后的数值类型，存在不支持的类型时回退
+     */
+    private static int kind(Object left, Object right) {
+        return Math.max(kind(left), kind(right));
+    }
+
+    private static int kind(Object value) {
+        if (value instanceof Integer) {
+            return INT;
+        }
+        if (value instanceof Long) {
+            return LONG;
+        }
+        if (value instanceof Double) {
+            return DOUBLE;
+        }
+        throw FALLBACK;
+    }
+}
@@ -0,0 +1,131 @@
+package com.nexus.common.core.rule;
+
+import com.alibaba.fastjson2.JSON;
+import com.nexus.common.enums.RuleDialectEnum;
+import com.nexus.common.utils.StringUtils;
+import org.jeasy.rules.support.RuleDefinition;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.*;
+
+/**
+ * 数据库表规则来源
+ * <p>
+ * 每行一个规则，按 rule_set 分组为规则集，表结构：
+ * <pre>
+ * rule_set        varchar   规则集名称
+ * rule_name       varchar   规则名称，规则集内唯一
+ * description     varchar   规则描述
+ * priority        int       优先级，越小越先执行
+ * rule_condition  text      条件表达式，复合规则为空
+ * rule_actions    text      动作表达式，JSON 字符串数组或单个表达式
+ * composite_type  varchar   复合类型（UnitRuleGroup、ActivationRuleGroup、ConditionalRuleGroup），普通规则为空
+ * parent_rule     varchar   所属复合规则的名称，顶层规则为空
+ * dialect         varchar   表达式语言（mvel、spel），同一规则集内必须一致
+ * enabled         tinyint   是否启用，只对顶层规则生效
+ * </pre>
+ * 规则集的编译和统计选项由构造参数统一指定
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class JdbcRuleSource implements RuleSource {
+
+    /**
+     * 表名
+     */
+    private final String table;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 是否把规则条件编译为生成的 Java 代码
+     */
+    private final boolean compile;
+
+    /**
+     * 是否记录规则执行统计
+     */
+    private final boolean metrics;
+
+    public JdbcRuleSource(JdbcTemplate jdbcTemplate, String table, boolean compile, boolean metrics) {
+        if (table == null || !table.matches("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?")) {
+            throw new IllegalArgumentException("规则表名不合法：" + table);
+        }
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate, "JdbcTemplate 不能为空");
+        this.table = table;
+        this.compile = compile;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public List<RuleSetDefinition> load() {
+        String sql = "select rule_set, rule_name, description, priority, rule_condition, rule_actions, composite_type, parent_rule, "
+                + "dialect, enabled from " + table + " order by rule_set, priority, rule_name";
+        Map<String, RuleSetDefinition> definitions = new LinkedHashMap<>();
+        // 规则集名称 -> 规则名称 -> 规则定义
+        Map<String, Map<String, RuleDefinition>> rules = new HashMap<>();
+        // 规则集名称 -> 规则名称 -> 所属复合规则名称
+        Map<String, Map<String, String>> parents = new HashMap<>();
+        jdbcTemplate.query(sql, resultSet -> {
+            String ruleSet = resultSet.getString("rule_set");
+            String parent = resultSet.getString("parent_rule");
+            RuleDefinition rule = StringUtils.isBlank(parent) ? new RuleModel() : new RuleDefinition();
+            rule.setName(resultSet.getString("rule_name"));
+            rule.setDescription(StringUtils.defaultIfBlank(resultSet.getString("description"), rule.getDescription()));
+            rule.setPriority(resultSet.getInt("priority"));
+            rule.setCondition(resultSet.getString("rule_condition"));
+            rule.setActions(actions(resultSet.getString("rule_actions")));
+            rule.setCompositeRuleType(StringUtils.trimToNull(resultSet.getString("composite_type")));
+            RuleSetDefinition definition = definitions.computeIfAbsent(ruleSet, this::newDefinition);
+            RuleDialectEnum dialect = RuleDialectEnum.valueOf(
+                    StringUtils.defaultIfBlank(resultSet.getString("dialect"), RuleDialectEnum.MVEL.name()).trim().toUpperCase(Locale.ROOT));
+            if (rules.get(ruleSet) == null) {
+                definition.setDialect(dialect);
+            } else if (definition.getDialect() != dialect) {
+                throw new IllegalStateException("规则集 " + ruleSet + " 中的规则表达式语言不一致");
+            }
+            if (rules.computeIfAbsent(ruleSet, k -> new HashMap<>()).put(rule.getName(), rule) != null) {
+                throw new IllegalStateException("规则集 " + ruleSet + " 中的规则名称重复：" + rule.getName());
+            }
+            if (rule instanceof RuleModel ruleModel) {
+                ruleModel.setEnabled(resultSet.getBoolean("enabled"));
+                definition.getRules().add(ruleModel);
+            } else {
+                parents.computeIfAbsent(ruleSet, k -> new LinkedHashMap<>()).put(rule.getName(), parent);
+            }
+        });
+        // 把子规则挂到所属的复合规则下
+        parents.forEach((ruleSet, children) -> children.forEach((name, parent) -> {
+            RuleDefinition composite = rules.get(ruleSet).get(parent);
+            if (composite == null || !composite.isCompositeRule()) {
+                throw new IllegalStateException("规则集 " + ruleSet + " 中规则 " + name + " 所属的复合规则不存在：" + parent);
+            }
+            composite.getComposingRules().add(rules.get(ruleSet).get(name));
+        }));
+        return new ArrayList<>(definitions.values());
+    }
+
+    @Override
+    public String describe() {
+        return "jdbc:" + table;
+    }
+
+    private RuleSetDefinition newDefinition(String name) {
+        RuleSetDefinition definition = new RuleSetDefinition();
+        definition.setName(name);
+        definition.setCompile(compile);
+        definition.setMetrics(metrics);
+        return definition;
+    }
+
+    private static List<String> actions(String actions) {
+        if (StringUtils.isBlank(actions)) {
+            return new ArrayList<>();
+        }
+        if (actions.trim().startsWith("[")) {
+            return new ArrayList<>(JSON.parseArray(actions, String.class));
+        }
+        return new ArrayList<>(List.of(actions));
+    }
+}
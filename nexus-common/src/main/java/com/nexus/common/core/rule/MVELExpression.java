@@ -0,0 +1,81 @@
+package com.nexus.common.core.rule;
+
+import lombok.extern.slf4j.Slf4j;
+import org.mvel2.MVEL;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * MVEL 表达式，可作为规则条件或规则动作
+ * <p>
+ * 实例由 {@link RuleExpressionCache} 缓存，无状态，可在多个规则和多个线程间共享
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Slf4j
+public class MVELExpression implements RuleExpression {
+
+    /**
+     * 表达式
+     */
+    private final String expression;
+
+    /**
+     * 编译后的表达式
+     */
+    private final Serializable compiledExpression;
+
+    /**
+     * 缺少即不可能满足的事实
+     */
+    private final Set<String> requiredFacts;
+
+    MVELExpression(String expression, Serializable compiledExpression) {
+        this.expression = expression;
+        this.compiledExpression = compiledExpression;
+        this.requiredFacts = RuleFactAnalyzer.mvel(expression);
+    }
+
+    /**
+     * 获取 MVEL 表达式，相同的表达式共享缓存中的同一个实例
+     *
+     * @param expression 表达式
+     * @return {@link MVELExpression }
+     */
+    public static MVELExpression of(String expression) {
+        return RuleExpressionCache.mvel(expression);
+    }
+
+    @Override
+    public boolean evaluate(Map<String, Object> factMap) {
+        return Boolean.TRUE.equals(MVEL.executeExpression(compiledExpression, factMap));
+    }
+
+    @Override
+    public void execute(Map<String, Object> factMap) {
+        try {
+            MVEL.executeExpression(compiledExpression, factMap);
+        } catch (Exception e) {
+            log.error("MVEL 表达式执行失败：'{}'，事实：{}", expression, factMap);
+            throw e;
+        }
+    }
+
+    @Override
+    public String expression() {
+        return expression;
+    }
+
+    @Override
+    public Set<String> requiredFacts() {
+        return requiredFacts;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
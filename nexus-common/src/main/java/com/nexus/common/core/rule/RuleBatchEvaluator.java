@@ -0,0 +1,357 @@
+package com.nexus.common.core.rule;
+
+import com.nexus.common.enums.RuleBatchModeEnum;
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rule;
+import org.jeasy.rules.api.RulesEngineParameters;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 规则批量求值
+ * <p>
+ * 用同一个 {@link RuleSet} 对大量事实对象求值：调用线程按分片读取输入并提交到线程池，分片内顺序求值，
+ * 同时在途的分片数量有上限，输入为流时不会一次性读入全部记录。每条记录触发和失败的规则按列汇总到 {@link RuleBatchResult}。
+ * <p>
+ * 单条记录内的跳过规则由规则集的引擎参数决定，也可以通过 {@link #parameters} 为本次批量求值单独指定；
+ * 整批的提前终止通过 {@link #stopOnFirstAppliedRecord} 和 {@link #stopOnFirstFailedRecord} 开启，终止边界由 {@link RuleBatchModeEnum} 决定
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class RuleBatchEvaluator {
+
+    /**
+     * 默认分片大小
+     */
+    private static final int DEFAULT_PARTITION_SIZE = 256;
+
+    /**
+     * 未终止标识
+     */
+    private static final int NOT_STOPPED = Integer.MAX_VALUE;
+
+    /**
+     * 规则集
+     */
+    private RuleSet ruleSet;
+
+    /**
+     * 求值模式
+     */
+    private RuleBatchModeEnum mode = RuleBatchModeEnum.ORDERED;
+
+    /**
+     * 分片大小
+     */
+    private int partitionSize = DEFAULT_PARTITION_SIZE;
+
+    /**
+     * 执行分片的线程池，默认使用公共 ForkJoinPool，也可以传入虚拟线程执行器
+     */
+    private Executor executor = ForkJoinPool.commonPool();
+
+    /**
+     * 同时在途的分片数量上限
+     */
+    private int maxInFlight = ForkJoinPool.getCommonPoolParallelism() * 2;
+
+    /**
+     * 任意记录有规则成功应用时终止整批求值
+     */
+    private boolean stopOnFirstAppliedRecord;
+
+    /**
+     * 任意记录有规则失败时终止整批求值
+     */
+    private boolean stopOnFirstFailedRecord;
+
+    private RuleBatchEvaluator(RuleSet ruleSet) {
+        this.ruleSet = ruleSet;
+    }
+
+    /**
+     * 创建实例
+     *
+     * @param ruleSet 规则集
+     * @return {@link RuleBatchEvaluator }
+     */
+    public static RuleBatchEvaluator newInstance(RuleSet ruleSet) {
+        return new RuleBatchEvaluator(ruleSet);
+    }
+
+    public RuleBatchEvaluator mode(RuleBatchModeEnum mode) {
+        this.mode = mode;
+        return this;
+    }
+
+    public RuleBatchEvaluator partitionSize(int partitionSize) {
+        if (partitionSize <= 0) {
+            throw new IllegalArgumentException("分片大小必须大于 0");
+        }
+        this.partitionSize = partitionSize;
+        return this;
+    }
+
+    /**
+     * 指定执行分片的线程池
+     *
+     * @param executor    线程池
+     * @param maxInFlight 同时在途的分片数量上限
+     * @return {@link RuleBatchEvaluator }
+     */
+    public RuleBatchEvaluator executor(Executor executor, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("在途分片数量上限必须大于 0");
+        }
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    /**
+     * 为本次批量求值指定单条记录的规则引擎参数（skipOnFirstAppliedRule 等），不影响原规则集
+     *
+     * @param parameters 规则引擎参数
+     * @return {@link RuleBatchEvaluator }
+     */
+    public RuleBatchEvaluator parameters(RulesEngineParameters parameters) {
+        this.ruleSet = ruleSet.withParameters(parameters);
+        return this;
+    }
+
+    public RuleBatchEvaluator stopOnFirstAppliedRecord(boolean stopOnFirstAppliedRecord) {
+        this.stopOnFirstAppliedRecord = stopOnFirstAppliedRecord;
+        return this;
+    }
+
+    public RuleBatchEvaluator stopOnFirstFailedRecord(boolean stopOnFirstFailedRecord) {
+        this.stopOnFirstFailedRecord = stopOnFirstFailedRecord;
+        return this;
+    }
+
+    /**
+     * 批量求值
+     *
+     * @param records 事实对象流，求值完成后不会关闭
+     * @return {@link RuleBatchResult }
+     */
+    public RuleBatchResult evaluate(Stream<Facts> records) {
+        return evaluate(records.iterator());
+    }
+
+    /**
+     * 批量求值
+     *
+     * @param records 事实对象集合
+     * @return {@link RuleBatchResult }
+     */
+    public RuleBatchResult evaluate(Iterable<Facts> records) {
+        return evaluate(records.iterator());
+    }
+
+    private RuleBatchResult evaluate(Iterator<Facts> iterator) {
+        long start = System.nanoTime();
+        RuleSet currentRuleSet = ruleSet;
+        int words = (currentRuleSet.size() + Long.SIZE - 1) >>> 6;
+        AtomicInteger stopIndex = new AtomicInteger(NOT_STOPPED);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        List<Partition> partitions = new ArrayList<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        int next = 0;
+        try {
+            while (iterator.hasNext() && next <= stopIndex.get()) {
+                Facts[] chunk = new Facts[partitionSize];
+                int count = 0;
+                while (count < partitionSize && iterator.hasNext()) {
+                    chunk[count++] = iterator.next();
+                }
+                Partition partition = new Partition(next, chunk, count, words);
+                next = Math.addExact(next, count);
+                inFlight.acquire();
+                partitions.add(partition);
+                futures.add(CompletableFuture.runAsync(() -> partition.run(currentRuleSet, stopIndex), executor)
+                        .whenComplete((result, e) -> inFlight.release()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopIndex.set(-1);
+            throw new CancellationException("规则批量求值被中断");
+        } finally {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        }
+        return merge(currentRuleSet, partitions, stopIndex.get(), System.nanoTime() - start);
+    }
+
+    /**
+     * 合并分片结果，有序模式下丢弃终止位置之后的记录
+     *
+     * @param currentRuleSet 规则集
+     * @param partitions     分片
+     * @param stop           终止位置
+     * @param elapsedNanos   耗时
+     * @return {@link RuleBatchResult }
+     */
+    private RuleBatchResult merge(RuleSet currentRuleSet, List<Partition> partitions, int stop, long elapsedNanos) {
+        List<Rule> rules = currentRuleSet.rules();
+        List<String> ruleNames = new ArrayList<>(rules.size());
+        for (Rule rule : rules) {
+            ruleNames.add(rule.getName());
+        }
+        BitSet evaluated = new BitSet();
+        BitSet[] fired = new BitSet[rules.size()];
+        BitSet[] failed = new BitSet[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            fired[i] = new BitSet();
+            failed[i] = new BitSet();
+        }
+        long evaluationCount = 0;
+        long prunedCount = 0;
+        int limit = RuleBatchModeEnum.ORDERED.equals(mode) ? stop : NOT_STOPPED;
+        for (Partition partition : partitions) {
+            for (int i = 0; i < partition.evaluated; i++) {
+                int record = partition.start + i;
+                if (record > limit) {
+                    break;
+                }
+                evaluated.set(record);
+                evaluationCount += partition.evaluations[i];
+                prunedCount += partition.prunedEvaluations[i];
+                copy(partition.fired, i * partition.words, partition.words, fired, record);
+                copy(partition.failed, i * partition.words, partition.words, failed, record);
+            }
+        }
+        return new RuleBatchResult(List.copyOf(ruleNames), evaluated, fired, failed, evaluationCount, prunedCount,
+                stop != NOT_STOPPED, elapsedNanos);
+    }
+
+    private static void copy(long[] bits, int offset, int words, BitSet[] columns, int record) {
+        for (int w = 0; w < words; w++) {
+            long word = bits[offset + w];
+            while (word != 0) {
+                columns[(w << 6) + Long.numberOfTrailingZeros(word)].set(record);
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * 分片
+     */
+    private final class Partition implements RuleFireObserver {
+
+        /**
+         * 第一条记录在输入中的位置
+         */
+        private final int start;
+
+        /**
+         * 记录，求值后释放引用
+         */
+        private final Facts[] records;
+
+        /**
+         * 记录数量
+         */
+        private final int count;
+
+        /**
+         * 每条记录占用的位图长度
+         */
+        private final int words;
+
+        /**
+         * 逐条记录的触发位图
+         */
+        private final long[] fired;
+
+        /**
+         * 逐条记录的失败位图
+         */
+        private final long[] failed;
+
+        /**
+         * 逐条记录条件求值的规则数量
+         */
+        private final int[] evaluations;
+
+        /**
+         * 逐条记录因缺少所需事实跳过的规则数量
+         */
+        private final int[] prunedEvaluations;
+
+        /**
+         * 已求值的记录数量
+         */
+        private int evaluated;
+
+        /**
+         * 当前记录在分片中的位置
+         */
+        private int index;
+
+        /**
+         * 当前记录的位图偏移
+         */
+        private int offset;
+
+        private Partition(int start, Facts[] records, int count, int words) {
+            this.start = start;
+            this.records = records;
+            this.count = count;
+            this.words = words;
+            this.fired = new long[count * words];
+            this.failed = new long[count * words];
+            this.evaluations = new int[count];
+            this.prunedEvaluations = new int[count];
+        }
+
+        private void run(RuleSet currentRuleSet, AtomicInteger stopIndex) {
+            boolean ordered = RuleBatchModeEnum.ORDERED.equals(mode);
+            for (int i = 0; i < count; i++) {
+                int record = start + i;
+                if (record > stopIndex.get()) {
+                    break;
+                }
+                index = i;
+                offset = i * words;
+                currentRuleSet.fire(records[i], this);
+                records[i] = null;
+                evaluated = i + 1;
+                if ((stopOnFirstAppliedRecord && any(fired)) || (stopOnFirstFailedRecord && any(failed))) {
+                    // 有序模式记录最靠前的终止位置，之前的记录继续求值；无序模式所有分片立即停止
+                    stopIndex.accumulateAndGet(ordered ? record : -1, Math::min);
+                    break;
+                }
+            }
+        }
+
+        private boolean any(long[] bits) {
+            for (int w = 0; w < words; w++) {
+                if (bits[offset + w] != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void applied(int ruleIndex) {
+            fired[offset + (ruleIndex >>> 6)] |= 1L << ruleIndex;
+        }
+
+        @Override
+        public void failed(int ruleIndex) {
+            failed[offset + (ruleIndex >>> 6)] |= 1L << ruleIndex;
+        }
+
+        @Override
+        public void evaluated(int evaluatedCount, int prunedCount) {
+            evaluations[index] = evaluatedCount;
+            prunedEvaluations[index] = prunedCount;
+        }
+    }
+}
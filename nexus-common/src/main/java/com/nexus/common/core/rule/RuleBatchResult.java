@@ -0,0 +1,273 @@
+package com.nexus.common.core.rule;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 批量求值结果
+ * <p>
+ * 按列存储：每个规则一列触发位图和一列失败位图，位下标为记录在输入中的位置；
+ * 统计某个规则命中了哪些记录只需要读取一列，不需要遍历逐条记录的结果对象
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class RuleBatchResult {
+
+    /**
+     * 规则名称，顺序与 {@link RuleSet#rules()} 一致
+     */
+    private final List<String> ruleNames;
+
+    /**
+     * 已求值的记录
+     */
+    private final BitSet evaluated;
+
+    /**
+     * 每个规则触发的记录
+     */
+    private final BitSet[] fired;
+
+    /**
+     * 每个规则失败（条件判断异常或动作执行失败）的记录
+     */
+    private final BitSet[] failed;
+
+    /**
+     * 条件求值次数
+     */
+    private final long evaluationCount;
+
+    /**
+     * 因缺少所需事实跳过的求值次数
+     */
+    private final long prunedCount;
+
+    /**
+     * 是否提前终止
+     */
+    private final boolean terminated;
+
+    /**
+     * 耗时（纳秒）
+     */
+    private final long elapsedNanos;
+
+    RuleBatchResult(List<String> ruleNames, BitSet evaluated, BitSet[] fired, BitSet[] failed, long evaluationCount, long prunedCount,
+                    boolean terminated, long elapsedNanos) {
+        this.ruleNames = ruleNames;
+        this.evaluated = evaluated;
+        this.fired = fired;
+        this.failed = failed;
+        this.evaluationCount = evaluationCount;
+        this.prunedCount = prunedCount;
+        this.terminated = terminated;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * 规则名称
+     *
+     * @return {@link List }<{@link String }>
+     */
+    public List<String> ruleNames() {
+        return ruleNames;
+    }
+
+    /**
+     * 已求值的记录数量
+     *
+     * @return int
+     */
+    public int size() {
+        return evaluated.cardinality();
+    }
+
+    /**
+     * 记录是否已求值，提前终止时之后的记录不会被求值
+     *
+     * @param record 记录在输入中的位置
+     * @return boolean
+     */
+    public boolean evaluated(int record) {
+        return evaluated.get(record);
+    }
+
+    /**
+     * 规则触发的记录
+     *
+     * @param ruleIndex 规则下标
+     * @return {@link BitSet } 副本
+     */
+    public BitSet fired(int ruleIndex) {
+        return (BitSet) fired[ruleIndex].clone();
+    }
+
+    /**
+     * 规则触发的记录
+     *
+     * @param ruleName 规则名称
+     * @return {@link BitSet } 副本
+     */
+    public BitSet fired(String ruleName) {
+        return fired(ruleIndex(ruleName));
+    }
+
+    /**
+     * 规则失败的记录
+     *
+     * @param ruleIndex 规则下标
+     * @return {@link BitSet } 副本
+     */
+    public BitSet failed(int ruleIndex) {
+        return (BitSet) failed[ruleIndex].clone();
+    }
+
+    /**
+     * 规则失败的记录
+     *
+     * @param ruleName 规则名称
+     * @return {@link BitSet } 副本
+     */
+    public BitSet failed(String ruleName) {
+        return failed(ruleIndex(ruleName));
+    }
+
+    /**
+     * 规则触发的记录数量
+     *
+     * @param ruleIndex 规则下标
+     * @return int
+     */
+    public int firedCount(int ruleIndex) {
+        return fired[ruleIndex].cardinality();
+    }
+
+    /**
+     * 规则失败的记录数量
+     *
+     * @param ruleIndex 规则下标
+     * @return int
+     */
+    public int failedCount(int ruleIndex) {
+        return failed[ruleIndex].cardinality();
+    }
+
+    /**
+     * 至少触发一个规则的记录
+     *
+     * @return {@link BitSet }
+     */
+    public BitSet anyFired() {
+        return union(fired);
+    }
+
+    /**
+     * 至少一个规则失败的记录
+     *
+     * @return {@link BitSet }
+     */
+    public BitSet anyFailed() {
+        return union(failed);
+    }
+
+    /**
+     * 记录触发的规则
+     *
+     * @param record 记录在输入中的位置
+     * @return {@link List }<{@link String }>
+     */
+    public List<String> firedRules(int record) {
+        return rules(fired, record);
+    }
+
+    /**
+     * 记录失败的规则
+     *
+     * @param record 记录在输入中的位置
+     * @return {@link List }<{@link String }>
+     */
+    public List<String> failedRules(int record) {
+        return rules(failed, record);
+    }
+
+    /**
+     * 条件求值次数
+     *
+     * @return long
+     */
+    public long evaluationCount() {
+        return evaluationCount;
+    }
+
+    /**
+     * 因缺少所需事实跳过的求值次数
+     *
+     * @return long
+     */
+    public long prunedCount() {
+        return prunedCount;
+    }
+
+    /**
+     * 裁剪率，即跳过的求值次数占全部候选求值次数的比例
+     *
+     * @return double
+     */
+    public double pruneRate() {
+        long total = evaluationCount + prunedCount;
+        return total == 0 ? 0 : (double) prunedCount / total;
+    }
+
+    /**
+     * 是否提前终止
+     *
+     * @return boolean
+     */
+    public boolean terminated() {
+        return terminated;
+    }
+
+    /**
+     * 耗时（纳秒）
+     *
+     * @return long
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    private int ruleIndex(String ruleName) {
+        int ruleIndex = ruleNames.indexOf(ruleName);
+        if (ruleIndex < 0) {
+            throw new IllegalArgumentException("规则不存在：" + ruleName);
+        }
+        return ruleIndex;
+    }
+
+    private List<String> rules(BitSet[] columns, int record) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].get(record)) {
+                names.add(ruleNames.get(i));
+            }
+        }
+        return names;
+    }
+
+    private static BitSet union(BitSet[] columns) {
+        BitSet union = new BitSet();
+        for (BitSet column : columns) {
+            union.or(column);
+        }
+        return union;
+    }
+
+    @Override
+    public String toString() {
+        return "RuleBatchResult{size=" + size() + ", rules=" + ruleNames.size() + ", pruned=" + prunedCount + "/" + (evaluationCount + prunedCount) + ", terminated=" + terminated
+                + ", elapsed=" + elapsedNanos / 1_000_000 + "ms}";
+    }
+}
@@ -7,6 +7,8 @@ import java.util.List;
 
 /**
  * 规则执行器
+ * <p>
+ * 持有可变的规则和事实，不能在多个线程间共享；需要并发触发时通过 {@link #toRuleSet} 构建不可变的 {@link RuleSet}
  *
  * @author wk
  * @date 2025/09/15
@@ -217,6 +219,35 @@ public class RuleExecutor {
         return this;
     }
 
+    /**
+     * 记录规则执行统计，注册 {@link RuleMetrics#listener(String)} 返回的统计监听器，
+     * 统计数据按名称与同名规则集合并
+     *
+     * @param name 统计名称，通常为规则集名称
+     * @return {@link RuleExecutor }
+     */
+    public RuleExecutor enableMetrics(String name) {
+        RuleMetricsListener listener = RuleMetrics.listener(name);
+        this.rulesEngine.registerRuleListener(listener);
+        this.rulesEngine.registerRulesEngineListener(listener);
+        return this;
+    }
+
+    /**
+     * 根据当前的规则、规则引擎参数和监听器构建不可变规则集，之后对执行器的修改不影响规则集
+     *
+     * @param name 规则集名称
+     * @return {@link RuleSet }
+     */
+    public RuleSet toRuleSet(String name) {
+        RuleSet.Builder builder = RuleSet.builder(name)
+                .rules(rules)
+                .parameters(rulesEngine.getParameters());
+        rulesEngine.getRuleListeners().forEach(builder::ruleListener);
+        rulesEngine.getRulesEngineListeners().forEach(builder::rulesEngineListener);
+        return builder.build();
+    }
+
     /**
      * 运行规则
      */
@@ -0,0 +1,59 @@
+package com.nexus.common.core.rule;
+
+import org.jeasy.rules.api.Action;
+import org.jeasy.rules.api.Condition;
+import org.jeasy.rules.api.Facts;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 编译后的规则表达式，可作为规则条件或规则动作
+ * <p>
+ * 除了 easy-rules 的 {@link Facts} 入口外，还可以直接在事实映射上求值，
+ * 由 {@link RuleSet} 在一次触发中复用同一份事实映射，避免每个表达式都调用一次 {@link Facts#asMap()}
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public interface RuleExpression extends Condition, Action {
+
+    /**
+     * 获取表达式
+     *
+     * @return {@link String }
+     */
+    String expression();
+
+    /**
+     * 获取缺少即不可能满足的事实，在编译期静态分析得到，无法确定时为空集合
+     *
+     * @return {@link Set }<{@link String }>
+     */
+    Set<String> requiredFacts();
+
+    /**
+     * 在事实映射上求值条件
+     *
+     * @param factMap 事实映射
+     * @return boolean
+     */
+    boolean evaluate(Map<String, Object> factMap);
+
+    /**
+     * 在事实映射上执行动作
+     *
+     * @param factMap 事实映射
+     */
+    void execute(Map<String, Object> factMap);
+
+    @Override
+    default boolean evaluate(Facts facts) {
+        return evaluate(facts.asMap());
+    }
+
+    @Override
+    default void execute(Facts facts) {
+        execute(facts.asMap());
+    }
+}
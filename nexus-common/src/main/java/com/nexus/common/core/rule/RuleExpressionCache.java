@@ -0,0 +1,218 @@
+package com.nexus.common.core.rule;
+
+import com.nexus.common.core.domain.vo.RuleExpressionCacheVo;
+import com.nexus.common.enums.RuleDialectEnum;
+import com.nexus.common.utils.SpringUtils;
+import com.nexus.common.utils.StringUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.mvel2.MVEL;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 规则表达式编译缓存
+ * <p>
+ * 进程级缓存，按表达式语言和表达式文本缓存编译后的表达式（包括编译结果和 {@link RuleExpression#requiredFacts()} 的分析结果），
+ * 相同的条件和动作在不同规则、不同规则集之间只编译和分析一次。
+ * MVEL 使用 {@link MVEL#compileExpression} 编译，SpEL 使用开启编译模式的解析器解析（默认 MIXED，解释执行若干次后编译为字节码）。
+ * 缓存容量可通过 rule.expression-cache-size 配置，超出容量时淘汰最久未访问的表达式
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Slf4j
+public class RuleExpressionCache {
+
+    /**
+     * 默认缓存容量
+     */
+    private static final int DEFAULT_MAX_SIZE = 2048;
+
+    /**
+     * 访问时间的更新间隔（纳秒），间隔内重复访问不更新，避免热点表达式在多线程间频繁写同一个缓存行
+     */
+    private static final long TOUCH_INTERVAL = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * 缓存容量
+     */
+    private static final int MAX_SIZE = parseMaxSize(SpringUtils.getProperty("rule.expression-cache-size"));
+
+    /**
+     * SpEL 编译模式，可通过 rule.spel-compiler-mode 配置为 IMMEDIATE、MIXED 或 OFF
+     */
+    private static final SpelCompilerMode SPEL_COMPILER_MODE = parseCompilerMode(SpringUtils.getProperty("rule.spel-compiler-mode"));
+
+    /**
+     * SpEL 解析器，线程安全；类加载器为空时编译使用线程上下文类加载器
+     */
+    private static final ExpressionParser SPEL_PARSER = new SpelExpressionParser(new SpelParserConfiguration(SPEL_COMPILER_MODE, null));
+
+    /**
+     * 缓存
+     */
+    private static final Map<Key, Entry> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 命中次数
+     */
+    private static final LongAdder HIT_COUNT = new LongAdder();
+
+    /**
+     * 未命中次数
+     */
+    private static final LongAdder MISS_COUNT = new LongAdder();
+
+    /**
+     * 淘汰次数
+     */
+    private static final LongAdder EVICTION_COUNT = new LongAdder();
+
+    private RuleExpressionCache() {
+    }
+
+    /**
+     * 获取编译后的 MVEL 表达式
+     *
+     * @param expression 表达式
+     * @return {@link MVELExpression }
+     */
+    public static MVELExpression mvel(String expression) {
+        return (MVELExpression) get(RuleDialectEnum.MVEL, expression, e -> new MVELExpression(e, MVEL.compileExpression(e)));
+    }
+
+    /**
+     * 获取编译后的 SpEL 表达式
+     *
+     * @param expression 表达式
+     * @return {@link SpELExpression }
+     */
+    public static SpELExpression spel(String expression) {
+        return (SpELExpression) get(RuleDialectEnum.SPEL, expression, e -> new SpELExpression(e, SPEL_PARSER.parseExpression(e)));
+    }
+
+    /**
+     * 获取编译后的表达式，未命中时编译并放入缓存，编译失败的表达式不会被缓存
+     *
+     * @param dialect    表达式语言
+     * @param expression 表达式
+     * @param compiler   编译器
+     * @return {@link RuleExpression }
+     */
+    private static RuleExpression get(RuleDialectEnum dialect, String expression, Function<String, RuleExpression> compiler) {
+        Key key = new Key(dialect, expression);
+        Entry entry = CACHE.get(key);
+        if (entry != null) {
+            HIT_COUNT.increment();
+            entry.touch();
+            return entry.compiled;
+        }
+        MISS_COUNT.increment();
+        // 同一个表达式并发未命中时只编译一次
+        entry = CACHE.computeIfAbsent(key, k -> new Entry(compiler.apply(k.expression())));
+        entry.touch();
+        if (CACHE.size() > MAX_SIZE) {
+            evict();
+        }
+        return entry.compiled;
+    }
+
+    /**
+     * 淘汰最久未访问的表达式，一次淘汰到容量的 7/8，避免每次未命中都排序
+     */
+    private static synchronized void evict() {
+        if (CACHE.size() <= MAX_SIZE) {
+            return;
+        }
+        int excess = CACHE.size() - (MAX_SIZE - (MAX_SIZE >>> 3));
+        CACHE.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                .limit(excess)
+                .toList()
+                .forEach(e -> {
+                    if (CACHE.remove(e.getKey(), e.getValue())) {
+                        EVICTION_COUNT.increment();
+                    }
+                });
+        log.debug("规则表达式缓存超出容量 {}，淘汰 {} 个最久未访问的表达式", MAX_SIZE, excess);
+    }
+
+    /**
+     * 清空缓存，统计数据保留
+     */
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    /**
+     * 缓存统计
+     *
+     * @return {@link RuleExpressionCacheVo }
+     */
+    public static RuleExpressionCacheVo stats() {
+        long hitCount = HIT_COUNT.sum();
+        long missCount = MISS_COUNT.sum();
+        long requestCount = hitCount + missCount;
+        return new RuleExpressionCacheVo(CACHE.size(), MAX_SIZE, SPEL_COMPILER_MODE.name(), hitCount, missCount, EVICTION_COUNT.sum(),
+                requestCount == 0 ? 0 : (double) hitCount / requestCount);
+    }
+
+    private static int parseMaxSize(String maxSize) {
+        if (StringUtils.isBlank(maxSize)) {
+            return DEFAULT_MAX_SIZE;
+        }
+        return Math.max(Integer.parseInt(maxSize.trim()), 1);
+    }
+
+    private static SpelCompilerMode parseCompilerMode(String compilerMode) {
+        if (StringUtils.isBlank(compilerMode)) {
+            return SpelCompilerMode.MIXED;
+        }
+        return SpelCompilerMode.valueOf(compilerMode.trim().toUpperCase());
+    }
+
+    /**
+     * 缓存键
+     *
+     * @param dialect    表达式语言
+     * @param expression 表达式
+     */
+    private record Key(RuleDialectEnum dialect, String expression) {
+    }
+
+    /**
+     * 缓存项
+     */
+    private static final class Entry {
+
+        /**
+         * 编译后的表达式
+         */
+        private final RuleExpression compiled;
+
+        /**
+         * 最近访问时间
+         */
+        private volatile long lastAccess;
+
+        private Entry(RuleExpression compiled) {
+            this.compiled = compiled;
+        }
+
+        private void touch() {
+            long now = System.nanoTime();
+            if (now - lastAccess > TOUCH_INTERVAL) {
+                lastAccess = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package com.nexus.common.core.rule;
+
+import com.nexus.common.enums.RuleDialectEnum;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 规则条件翻译为 Java 代码
+ * <p>
+ * 支持 MVEL 和 SpEL 的公共子集：整数和小数字面量、不含转义的字符串字面量、true/false/null、事实及其属性路径、
+ * 算术运算、比较运算、逻辑运算和括号。方法调用、下标、三元运算、集合选择等其他语法返回 null，该条件继续解释执行。
+ * 两种语言的差异在翻译时处理：MVEL 的 &amp;&amp; 和 || 优先级相同，混用时不翻译；MVEL 的整数除法结果为浮点数，除法不翻译；
+ * MVEL 的逻辑运算直接连接算术运算、比较运算右侧为算术运算、连续取反或对取反结果比较时解析结果与常规优先级不同，
+ * 这些写法需要加括号才翻译；MVEL 的取负只翻译数字字面量；
+ * 比较运算不能连写，自增自减不翻译。运行时的类型差异由 {@link GeneratedRuleSupport} 处理
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+final class RuleExpressionTranslator {
+
+    /**
+     * MVEL 关键字，作为变量名时不翻译
+     */
+    private static final Set<String> MVEL_KEYWORDS = Set.of("empty", "nil", "null", "true", "false", "isdef", "new", "instanceof",
+            "is", "contains", "in", "this", "def", "function", "foreach", "for", "if", "else", "while", "do", "until", "return", "var",
+            "with", "assert", "import", "soundslike", "strsim", "convertable_to", "and", "or");
+
+    /**
+     * 生成代码中运行时支持类的简单名称
+     */
+    private static final String SUPPORT = GeneratedRuleSupport.class.getSimpleName();
+
+    /**
+     * 常量字段初始化代码，所有条件共享
+     */
+    private final List<String> constants = new ArrayList<>();
+
+    private RuleDialectEnum dialect;
+
+    private List<String> tokens;
+
+    private int position;
+
+    /**
+     * 翻译条件表达式
+     *
+     * @param expression 表达式
+     * @param dialect    表达式语言
+     * @return {@link String } 类型为 boolean 的 Java 表达式，不支持时返回 null
+     */
+    String translate(String expression, RuleDialectEnum dialect) {
+        this.dialect = dialect;
+        this.tokens = tokenize(expression);
+        this.position = 0;
+        if (tokens == null || tokens.isEmpty()) {
+            return null;
+        }
+        int constantCount = constants.size();
+        Node node = parseLogical();
+        if (node == null || position != tokens.size()) {
+            // 翻译失败时丢弃本次新增的常量
+            constants.subList(constantCount, constants.size()).clear();
+            return null;
+        }
+        return node.bool();
+    }
+
+    /**
+     * 常量字段初始化代码，下标对应字段 K{下标}
+     *
+     * @return {@link List }<{@link String }>
+     */
+    List<String> constants() {
+        return constants;
+    }
+
+    private Node parseLogical() {
+        return spel() ? parseOr() : parseMvelLogical();
+    }
+
+    /**
+     * MVEL 的 &amp;&amp; 和 || 优先级相同，只翻译使用同一种运算符的连续运算
+     */
+    private Node parseMvelLogical() {
+        Node left = parseComparison();
+        String operator = null;
+        while (left != null && (peek("&&") || peek("||"))) {
+            String next = next();
+            if (operator != null && !operator.equals(next)) {
+                return null;
+            }
+            operator = next;
+            Node right = parseComparison();
+            if (right == null || left.arithmetic() || right.arithmetic()) {
+                return null;
+            }
+            left = Node.bool("(" + left.bool() + " " + operator + " " + right.bool() + ")");
+        }
+        return left;
+    }
+
+    private Node parseOr() {
+        Node left = parseAnd();
+        while (left != null && (peek("||") || peekKeyword("or"))) {
+            next();
+            Node right = parseAnd();
+            if (right == null) {
+                return null;
+            }
+            left = Node.bool("(" + left.bool() + " || " + right.bool() + ")");
+        }
+        return left;
+    }
+
+    private Node parseAnd() {
+        Node left = parseComparison();
+        while (left != null && (peek("&&") || peekKeyword("and"))) {
+            next();
+            Node right = parseComparison();
+            if (right == null) {
+                return null;
+            }
+            left = Node.bool("(" + left.bool() + " && " + right.bool() + ")");
+        }
+        return left;
+    }
+
+    /**
+     * 比较运算不能连写
+     */
+    private Node parseComparison() {
+        Node left = parseAdditive();
+        String operator = left == null ? null : comparisonOperator();
+        if (operator == null) {
+            return left;
+        }
+        next();
+        Node right = parseAdditive();
+        if (right == null || comparisonOperator() != null) {
+            return null;
+        }
+        if (!spel() && (right.arithmetic() || left.negation() || right.negation())) {
+            return null;
+        }
+        return switch (operator) {
+            case "==" -> Node.bool(SUPPORT + ".equal(" + left.object() + ", " + right.object() + ")");
+            case "!=" -> Node.bool("!" + SUPPORT + ".equal(" + left.object() + ", " + right.object() + ")");
+            default -> Node.bool("(" + SUPPORT + ".compare(" + left.object() + ", " + right.object() + ") " + operator + " 0)");
+        };
+    }
+
+    private String comparisonOperator() {
+        if (position >= tokens.size()) {
+            return null;
+        }
+        String token = tokens.get(position);
+        if (spel()) {
+            switch (token.toLowerCase(Locale.ROOT)) {
+                case "eq" -> token = "==";
+                case "ne" -> token = "!=";
+                case "lt" -> token = "<";
+                case "le" -> token = "<=";
+                case "gt" -> token = ">";
+                case "ge" -> token = ">=";
+                default -> {
+                }
+            }
+        }
+        return switch (token) {
+            case "==", "!=", "<", "<=", ">", ">=" -> token;
+            default -> null;
+        };
+    }
+
+    private Node parseAdditive() {
+        Node left = parseMultiplicative();
+        while (left != null && (peek("+") || peek("-"))) {
+            String method = next().equals("+") ? "add" : "subtract";
+            Node right = parseMultiplicative();
+            if (right == null) {
+                return null;
+            }
+            left = Node.arithmetic(SUPPORT + "." + method + "(" + left.object() + ", " + right.object() + ")");
+        }
+        return left;
+    }
+
+    private Node parseMultiplicative() {
+        Node left = parseUnary();
+        while (left != null) {
+            String method;
+            if (peek("*")) {
+                method = "multiply";
+            } else if (peek("%") || (spel() && peekKeyword("mod"))) {
+                method = "remainder";
+            } else if (spel() && (peek("/") || peekKeyword("div"))) {
+                method = "divide";
+            } else {
+                break;
+            }
+            next();
+            Node right = parseUnary();
+            if (right == null) {
+                return null;
+            }
+            left = Node.arithmetic(SUPPORT + "." + method + "(" + left.object() + ", " + right.object() + ")");
+        }
+        return left;
+    }
+
+    private Node parseUnary() {
+        if (peek("!") || (spel() && peekKeyword("not"))) {
+            next();
+            Node operand = parseUnary();
+            if (operand == null || (!spel() && operand.negation())) {
+                return null;
+            }
+            return new Node("!" + operand.bool(), true, false, true);
+        }
+        if (peek("-")) {
+            next();
+            if (!spel()) {
+                int start = position - 1;
+                return position < tokens.size() && Character.isDigit(tokens.get(position).charAt(0)) ? literal(start, number("-" + next())) : null;
+            }
+            Node operand = parseUnary();
+            return operand == null ? null : Node.arithmetic(SUPPORT + ".negate(" + operand.object() + ")");
+        }
+        return parsePrimary();
+    }
+
+    private Node parsePrimary() {
+        if (position >= tokens.size()) {
+            return null;
+        }
+        String token = next();
+        if (token.equals("(")) {
+            Node node = parseLogical();
+            if (node == null || !peek(")")) {
+                return null;
+            }
+            next();
+            return new Node(node.code(), node.isBoolean(), false, false);
+        }
+        int start = position - 1;
+        if (token.equals("true") || token.equals("false")) {
+            return literal(start, Node.bool(token));
+        }
+        if (token.equals("null")) {
+            return literal(start, Node.object("null"));
+        }
+        char first = token.charAt(0);
+        if (Character.isDigit(first)) {
+            return literal(start, number(token));
+        }
+        if (first == '\'' || first == '"') {
+            String value = token.substring(1, token.length() - 1);
+            return literal(start, constant("\"" + value.replace("\"", "\\\"") + "\""));
+        }
+        String code;
+        if (spel()) {
+            // SpEL 只翻译 #变量，根对象属性和 #this、#root 不翻译
+            if (first != '#' || token.equals("#this") || token.equals("#root")) {
+                return null;
+            }
+            code = SUPPORT + ".variable(f, \"" + token.substring(1) + "\")";
+        } else {
+            if (!Character.isJavaIdentifierStart(first) || MVEL_KEYWORDS.contains(token)) {
+                return null;
+            }
+            code = SUPPORT + ".fact(f, \"" + token + "\")";
+        }
+        while (peek(".")) {
+            next();
+            if (position >= tokens.size() || !Character.isJavaIdentifierStart(tokens.get(position).charAt(0))) {
+                return null;
+            }
+            code = SUPPORT + ".property(" + code + ", \"" + next() + "\", " + !spel() + ")";
+        }
+        // 方法调用和下标不翻译
+        if (peek("(") || peek("[")) {
+            return null;
+        }
+        return Node.object(code);
+    }
+
+    /**
+     * MVEL 在运算符之后的字面量再接算术或比较运算时会提前归约，结果与常规优先级不同，
+     * 这种字面量只在表达式开头或左括号之后翻译
+     *
+     * @param start 字面量的起始位置
+     * @param node  字面量
+     * @return {@link Node }
+     */
+    private Node literal(int start, Node node) {
+        if (spel() || node == null || start == 0 || tokens.get(start - 1).equals("(") || position >= tokens.size()) {
+            return node;
+        }
+        return switch (tokens.get(position)) {
+            case "+", "-", "*", "/", "%", "==", "!=", "<", "<=", ">", ">=" -> null;
+            default -> node;
+        };
+    }
+
+    private Node number(String token) {
+        try {
+            if (token.indexOf('.') >= 0) {
+                return constant("Double.valueOf(" + Double.parseDouble(token) + "d)");
+            }
+            // 前导零可能被解析为八进制，不翻译
+            String digits = token.startsWith("-") ? token.substring(1) : token;
+            if (digits.length() > 1 && digits.charAt(0) == '0') {
+                return null;
+            }
+            return constant("Integer.valueOf(" + Integer.parseInt(token) + ")");
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Node constant(String initializer) {
+        int index = constants.indexOf(initializer);
+        if (index < 0) {
+            index = constants.size();
+            constants.add(initializer);
+        }
+        return Node.object("K" + index);
+    }
+
+    private boolean spel() {
+        return RuleDialectEnum.SPEL.equals(dialect);
+    }
+
+    private boolean peek(String token) {
+        return position < tokens.size() && tokens.get(position).equals(token);
+    }
+
+    private boolean peekKeyword(String keyword) {
+        return position < tokens.size() && tokens.get(position).equalsIgnoreCase(keyword);
+    }
+
+    private String next() {
+        return tokens.get(position++);
+    }
+
+    /**
+     * 拆分词法单元
+     *
+     * @param expression 表达式
+     * @return {@link List }<{@link String }> 存在不支持的字符时返回 null
+     */
+    private static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        int length = expression.length();
+        int i = 0;
+        while (i < length) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            int start = i;
+            if (Character.isDigit(c)) {
+                while (i < length && Character.isDigit(expression.charAt(i))) {
+                    i++;
+                }
+                if (i + 1 < length && expression.charAt(i) == '.' && Character.isDigit(expression.charAt(i + 1))) {
+                    i++;
+                    while (i < length && Character.isDigit(expression.charAt(i))) {
+                        i++;
+                    }
+                }
+                // 带后缀、指数或十六进制的数字不翻译
+                if (i < length && Character.isJavaIdentifierPart(expression.charAt(i))) {
+                    return null;
+                }
+            } else if (c == '#' || (Character.isJavaIdentifierStart(c) && c != '$')) {
+                i++;
+                while (i < length && Character.isJavaIdentifierPart(expression.charAt(i)) && expression.charAt(i) != '$') {
+                    i++;
+                }
+                if (c == '#' && i == start + 1) {
+                    return null;
+                }
+            } else if (c == '\'' || c == '"') {
+                int end = expression.indexOf(c, i + 1);
+                if (end < 0) {
+                    return null;
+                }
+                // 两种语言的转义规则不同，含转义或控制字符的字符串不翻译
+                for (int j = i + 1; j < end; j++) {
+                    char ch = expression.charAt(j);
+                    if (ch == '\\' || Character.isISOControl(ch) || Character.getType(ch) == Character.LINE_SEPARATOR
+                            || Character.getType(ch) == Character.PARAGRAPH_SEPARATOR) {
+                        return null;
+                    }
+                }
+                i = end + 1;
+                if (i < length && expression.charAt(i) == c) {
+                    return null;
+                }
+            } else if (i + 1 < length && isDoubleOperator(expression.substring(i, i + 2))) {
+                // 自增自减不翻译
+                if (c == '-' || c == '+') {
+                    return null;
+                }
+                i += 2;
+            } else if ("()+-*/%<>!.".indexOf(c) >= 0) {
+                i++;
+            } else {
+                return null;
+            }
+            tokens.add(expression.substring(start, i));
+        }
+        return tokens;
+    }
+
+    private static boolean isDoubleOperator(String operator) {
+        return switch (operator) {
+            case "&&", "||", "==", "!=", "<=", ">=", "--", "++" -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * 翻译结果
+     *
+     * @param code       Java 代码
+     * @param isBoolean  代码类型是否为 boolean，否则为 Object
+     * @param arithmetic 是否为未加括号的算术运算
+     * @param negation   是否为未加括号的取反
+     */
+    private record Node(String code, boolean isBoolean, boolean arithmetic, boolean negation) {
+
+        static Node bool(String code) {
+            return new Node(code, true, false, false);
+        }
+
+        static Node object(String code) {
+            return new Node(code, false, false, false);
+        }
+
+        static Node arithmetic(String code) {
+            return new Node(code, false, true, false);
+        }
+
+        String bool() {
+            return isBoolean ? code : SUPPORT + ".truth(" + code + ")";
+        }
+
+        String object() {
+            return isBoolean ? SUPPORT + ".box(" + code + ")" : code;
+        }
+    }
+}
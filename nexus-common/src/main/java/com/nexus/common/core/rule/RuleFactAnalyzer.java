@@ -0,0 +1,225 @@
+package com.nexus.common.core.rule;
+
+import org.mvel2.MVEL;
+import org.mvel2.ParserContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.ast.*;
+import org.springframework.expression.spel.standard.SpelExpression;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * 规则条件的事实依赖分析
+ * <p>
+ * 在编译期静态分析条件表达式，找出“缺少即不可能满足”的事实名称，供 {@link RuleSet} 建立事实到规则的索引，
+ * 事实映射中缺少其中任何一个事实时直接跳过该规则，不再求值。分析是保守的，无法确定的部分不产生依赖，只会少裁剪、不会误裁剪：
+ * <ul>
+ *     <li>MVEL 引用不存在的变量时必定抛出异常，但短路求值可能跳过引用。表达式按顶层的 &amp;&amp; 拆分，
+ *     只取不含短路运算、三元运算、赋值、循环和函数定义的子句中引用的变量</li>
+ *     <li>SpEL 引用不存在的变量得到 null，只有在非空安全地访问其属性、方法或下标时才会抛出异常。
+ *     只取一定会被求值的位置上、紧跟非空安全访问的变量</li>
+ * </ul>
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+final class RuleFactAnalyzer {
+
+    /**
+     * 字符串字面量
+     */
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.)*'|\"(?:[^\"\\\\]|\\\\.)*\"");
+
+    /**
+     * 存在时整个 MVEL 表达式不做分析：多条语句、代码块、赋值、流程控制和函数定义
+     */
+    private static final Pattern MVEL_UNSUPPORTED = Pattern.compile(
+            "[;{}]|(?<![=!<>~])=(?![=~])|\\b(if|else|foreach|for|while|do|until|def|function|with|new)\\b");
+
+    /**
+     * 存在时 MVEL 子句不做分析：短路运算、三元运算和投影
+     */
+    private static final Pattern MVEL_CONDITIONAL = Pattern.compile("&&|\\|\\||\\?|\\b(and|or|in)\\b");
+
+    private RuleFactAnalyzer() {
+    }
+
+    /**
+     * 分析 MVEL 条件依赖的事实
+     *
+     * @param expression 表达式
+     * @return {@link Set }<{@link String }> 缺少即不可能满足的事实名称
+     */
+    static Set<String> mvel(String expression) {
+        // 替换字符串字面量，避免其中的符号和关键字干扰分析，长度不变以保留位置
+        String stripped = STRING_LITERAL.matcher(expression).replaceAll(m -> "_".repeat(m.group().length()));
+        if (MVEL_UNSUPPORTED.matcher(stripped).find()) {
+            return Set.of();
+        }
+        List<int[]> clauses = new ArrayList<>();
+        if (!splitConjunction(stripped, 0, stripped.length(), clauses)) {
+            return Set.of();
+        }
+        Set<String> facts = new HashSet<>();
+        for (int[] clause : clauses) {
+            if (MVEL_CONDITIONAL.matcher(stripped).region(clause[0], clause[1]).find()) {
+                continue;
+            }
+            ParserContext context = new ParserContext();
+            try {
+                MVEL.compileExpression(expression.substring(clause[0], clause[1]), context);
+            } catch (RuntimeException e) {
+                // 子句无法单独编译时不产生依赖
+                continue;
+            }
+            facts.addAll(context.getInputs().keySet());
+        }
+        return Set.copyOf(facts);
+    }
+
+    /**
+     * 按顶层的 &amp;&amp; 拆分子句，整体被括号包围的子句继续拆分
+     *
+     * @param text    去掉字符串字面量后的表达式
+     * @param from    开始位置
+     * @param to      结束位置
+     * @param clauses 子句区间
+     * @return boolean 顶层存在 || 或三元运算时返回 false，此时整个表达式的结果不由子句共同决定
+     */
+    private static boolean splitConjunction(String text, int from, int to, List<int[]> clauses) {
+        while (from < to && Character.isWhitespace(text.charAt(from))) {
+            from++;
+        }
+        while (to > from && Character.isWhitespace(text.charAt(to - 1))) {
+            to--;
+        }
+        if (from < to && text.charAt(from) == '(' && closingParen(text, from) == to - 1) {
+            return splitConjunction(text, from + 1, to - 1, clauses);
+        }
+        List<int[]> parts = new ArrayList<>();
+        int depth = 0;
+        int start = from;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c == '(' || c == '[') {
+                depth++;
+            } else if (c == ')' || c == ']') {
+                depth--;
+            } else if (depth == 0) {
+                if (c == '?' || text.startsWith("||", i) || keyword(text, i, to, "or")) {
+                    return false;
+                }
+                if (text.startsWith("&&", i) || keyword(text, i, to, "and")) {
+                    parts.add(new int[]{start, i});
+                    i += c == '&' ? 1 : 2;
+                    start = i + 1;
+                }
+            }
+        }
+        if (parts.isEmpty()) {
+            clauses.add(new int[]{from, to});
+            return true;
+        }
+        parts.add(new int[]{start, to});
+        for (int[] part : parts) {
+            // 子句中的 || 只影响该子句自身，不影响其他子句
+            if (!splitConjunction(text, part[0], part[1], clauses)) {
+                clauses.add(part);
+            }
+        }
+        return true;
+    }
+
+    private static int closingParen(String text, int open) {
+        int depth = 0;
+        for (int i = open; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean keyword(String text, int index, int to, String keyword) {
+        int end = index + keyword.length();
+        return end <= to && text.startsWith(keyword, index)
+                && (index == 0 || !Character.isJavaIdentifierPart(text.charAt(index - 1)))
+                && (end == text.length() || !Character.isJavaIdentifierPart(text.charAt(end)));
+    }
+
+    /**
+     * 分析 SpEL 条件依赖的事实
+     *
+     * @param expression 编译后的表达式
+     * @return {@link Set }<{@link String }> 缺少即不可能满足的事实名称
+     */
+    static Set<String> spel(Expression expression) {
+        if (!(expression instanceof SpelExpression spelExpression)) {
+            return Set.of();
+        }
+        Set<String> facts = new HashSet<>();
+        conjunction(spelExpression.getAST(), facts);
+        return Set.copyOf(facts);
+    }
+
+    /**
+     * 条件结果位置：&amp;&amp; 的左右两侧都不满足时整体不满足
+     */
+    private static void conjunction(SpelNode node, Set<String> facts) {
+        if (node instanceof OpAnd) {
+            conjunction(node.getChild(0), facts);
+            conjunction(node.getChild(1), facts);
+        } else {
+            strict(node, facts);
+        }
+    }
+
+    /**
+     * 一定会被求值的位置：收集缺少时必定抛出异常的变量
+     */
+    private static void strict(SpelNode node, Set<String> facts) {
+        if (node instanceof CompoundExpression) {
+            SpelNode head = node.getChild(0);
+            boolean nullSafe = false;
+            for (int i = 1; i < node.getChildCount(); i++) {
+                nullSafe |= nullSafe(node.getChild(i));
+            }
+            if (head instanceof VariableReference && !nullSafe(node.getChild(1))) {
+                String name = head.toStringAST().substring(1);
+                if (!"this".equals(name) && !"root".equals(name)) {
+                    facts.add(name);
+                }
+            }
+            // 存在空安全访问时后续节点可能不被求值
+            if (!nullSafe) {
+                for (int i = 0; i < node.getChildCount(); i++) {
+                    strict(node.getChild(i), facts);
+                }
+            }
+        } else if (node instanceof OpAnd || node instanceof OpOr || node instanceof Ternary || node instanceof Elvis) {
+            // 只有第一个操作数一定会被求值
+            strict(node.getChild(0), facts);
+        } else if (node instanceof Operator || node instanceof OperatorNot
+                || node instanceof MethodReference || node instanceof FunctionReference) {
+            for (int i = 0; i < node.getChildCount(); i++) {
+                strict(node.getChild(i), facts);
+            }
+        }
+    }
+
+    private static boolean nullSafe(SpelNode node) {
+        return switch (node) {
+            case PropertyOrFieldReference reference -> reference.isNullSafe();
+            case MethodReference reference -> reference.isNullSafe();
+            case Indexer indexer -> indexer.isNullSafe();
+            case Selection selection -> selection.isNullSafe();
+            case Projection projection -> projection.isNullSafe();
+            default -> true;
+        };
+    }
+}
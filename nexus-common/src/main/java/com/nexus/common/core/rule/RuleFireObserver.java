@@ -0,0 +1,32 @@
+package com.nexus.common.core.rule;
+
+/**
+ * 规则结果观察者，由 {@link RuleSet} 在触发过程中回调，规则下标对应 {@link RuleSet#rules()} 中的位置
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+interface RuleFireObserver {
+
+    /**
+     * 规则条件满足且动作执行成功
+     *
+     * @param ruleIndex 规则下标
+     */
+    void applied(int ruleIndex);
+
+    /**
+     * 规则条件判断异常或动作执行失败
+     *
+     * @param ruleIndex 规则下标
+     */
+    void failed(int ruleIndex);
+
+    /**
+     * 一次触发结束
+     *
+     * @param evaluatedCount 条件求值的规则数量
+     * @param prunedCount    因缺少所需事实跳过的规则数量
+     */
+    void evaluated(int evaluatedCount, int prunedCount);
+}
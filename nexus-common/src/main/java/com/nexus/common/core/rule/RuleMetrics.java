@@ -0,0 +1,78 @@
+package com.nexus.common.core.rule;
+
+import com.nexus.common.core.domain.vo.RuleSetMetricsVo;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 规则执行统计
+ * <p>
+ * 进程级注册表，按规则集名称保存 {@link RuleMetricsListener}，同名规则集重新构建后继续累计到同一个监听器。
+ * {@link RuleSet.Builder#metrics(boolean)} 和 {@link RuleExecutor#enableMetrics(String)} 通过这里获取监听器
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class RuleMetrics {
+
+    /**
+     * 规则集名称和统计监听器
+     */
+    private static final Map<String, RuleMetricsListener> LISTENERS = new ConcurrentHashMap<>();
+
+    private RuleMetrics() {
+    }
+
+    /**
+     * 获取规则集的统计监听器，不存在时创建
+     *
+     * @param name 规则集名称
+     * @return {@link RuleMetricsListener }
+     */
+    public static RuleMetricsListener listener(String name) {
+        return LISTENERS.computeIfAbsent(name, RuleMetricsListener::new);
+    }
+
+    /**
+     * 规则集统计快照
+     *
+     * @param name 规则集名称
+     * @param top  返回总耗时最多的规则数量
+     * @return {@link RuleSetMetricsVo } 规则集未开启统计时返回 null
+     */
+    public static RuleSetMetricsVo snapshot(String name, int top) {
+        RuleMetricsListener listener = LISTENERS.get(name);
+        return listener == null ? null : listener.snapshot(top);
+    }
+
+    /**
+     * 所有规则集的统计快照，按触发次数降序
+     *
+     * @param top 每个规则集返回总耗时最多的规则数量
+     * @return {@link List }<{@link RuleSetMetricsVo }>
+     */
+    public static List<RuleSetMetricsVo> snapshots(int top) {
+        return LISTENERS.values().stream()
+                .map(listener -> listener.snapshot(top))
+                .sorted(Comparator.comparingLong(RuleSetMetricsVo::getFireCount).reversed())
+                .toList();
+    }
+
+    /**
+     * 重置规则集的统计数据
+     *
+     * @param name 规则集名称
+     * @return boolean 规则集是否开启了统计
+     */
+    public static boolean reset(String name) {
+        RuleMetricsListener listener = LISTENERS.get(name);
+        if (listener == null) {
+            return false;
+        }
+        listener.reset();
+        return true;
+    }
+}
@@ -0,0 +1,256 @@
+package com.nexus.common.core.rule;
+
+import com.nexus.common.core.domain.vo.RuleMetricsVo;
+import com.nexus.common.core.domain.vo.RuleSetMetricsVo;
+import com.nexus.common.core.metrics.Log2Histogram;
+import org.jeasy.rules.api.*;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 规则执行统计监听器
+ * <p>
+ * 同时作为规则监听器和规则引擎监听器注册到同一个规则集，记录每个规则的条件求值耗时、动作执行耗时和结果计数，
+ * 以及规则集的触发次数、触发耗时和跳过次数。耗时分布使用 {@link Log2Histogram}，记录时只有计数累加，没有锁和分配。
+ * 一次触发内的计时状态保存在线程本地变量中，同一个实例可以被多个线程同时使用。
+ * 通过 {@link RuleMetrics#listener(String)} 按规则集名称获取，不需要直接创建
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public final class RuleMetricsListener implements RuleListener, RulesEngineListener {
+
+    /**
+     * 规则集名称
+     */
+    private final String name;
+
+    /**
+     * 触发中的计时状态
+     */
+    private final ThreadLocal<FireState> state = ThreadLocal.withInitial(FireState::new);
+
+    /**
+     * 统计数据，重置时整体替换
+     */
+    private volatile Stats stats = new Stats();
+
+    RuleMetricsListener(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public void beforeEvaluate(Rules rules, Facts facts) {
+        FireState fire = state.get();
+        fire.ruleCount = rules.size();
+        fire.evaluated = 0;
+        fire.failedRule = null;
+        fire.start = System.nanoTime();
+    }
+
+    @Override
+    public void afterExecute(Rules rules, Facts facts) {
+        FireState fire = state.get();
+        if (fire.failedRule != null) {
+            // 条件判断异常后因 skipOnFirstNonTriggeredRule 直接结束，没有 afterEvaluate
+            evaluated(fire.failedRule);
+            fire.failedRule = null;
+        }
+        Stats current = stats;
+        current.fireCount.increment();
+        current.latency.record(System.nanoTime() - fire.start);
+        if (fire.ruleCount > fire.evaluated) {
+            current.skippedCount.add(fire.ruleCount - fire.evaluated);
+        }
+    }
+
+    @Override
+    public boolean beforeEvaluate(Rule rule, Facts facts) {
+        state.get().evaluateStart = System.nanoTime();
+        return true;
+    }
+
+    @Override
+    public void afterEvaluate(Rule rule, Facts facts, boolean evaluationResult) {
+        state.get().failedRule = null;
+        RuleStats ruleStats = evaluated(rule);
+        if (evaluationResult) {
+            ruleStats.triggeredCount.increment();
+        }
+    }
+
+    @Override
+    public void onEvaluationError(Rule rule, Facts facts, Exception exception) {
+        // 求值次数和耗时由随后的 afterEvaluate 记录，避免重复计数
+        stats.rule(rule).evaluationErrorCount.increment();
+        state.get().failedRule = rule;
+    }
+
+    @Override
+    public void beforeExecute(Rule rule, Facts facts) {
+        state.get().executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void onSuccess(Rule rule, Facts facts) {
+        executed(rule).appliedCount.increment();
+    }
+
+    @Override
+    public void onFailure(Rule rule, Facts facts, Exception exception) {
+        executed(rule).actionFailureCount.increment();
+    }
+
+    private RuleStats evaluated(Rule rule) {
+        FireState fire = state.get();
+        fire.evaluated++;
+        RuleStats ruleStats = stats.rule(rule);
+        ruleStats.condition.record(System.nanoTime() - fire.evaluateStart);
+        return ruleStats;
+    }
+
+    private RuleStats executed(Rule rule) {
+        RuleStats ruleStats = stats.rule(rule);
+        ruleStats.action.record(System.nanoTime() - state.get().executeStart);
+        return ruleStats;
+    }
+
+    /**
+     * 规则集名称
+     *
+     * @return {@link String }
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * 重置统计数据
+     */
+    public void reset() {
+        stats = new Stats();
+    }
+
+    /**
+     * 生成统计快照
+     *
+     * @param top 返回总耗时最多的规则数量
+     * @return {@link RuleSetMetricsVo }
+     */
+    public RuleSetMetricsVo snapshot(int top) {
+        Stats current = stats;
+        long evaluationCount = 0;
+        long triggeredCount = 0;
+        long appliedCount = 0;
+        long failureCount = 0;
+        for (RuleStats ruleStats : current.rules.values()) {
+            evaluationCount += ruleStats.condition.count();
+            triggeredCount += ruleStats.triggeredCount.sum();
+            appliedCount += ruleStats.appliedCount.sum();
+            failureCount += ruleStats.evaluationErrorCount.sum() + ruleStats.actionFailureCount.sum();
+        }
+        List<RuleMetricsVo> rules = current.rules.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingLong(RuleMetricsVo::getTotalTime).reversed())
+                .limit(top)
+                .toList();
+        Log2Histogram latency = current.latency;
+        return new RuleSetMetricsVo(name, current.since, current.fireCount.sum(), evaluationCount, triggeredCount, appliedCount,
+                failureCount, current.skippedCount.sum(), latency.mean() / 1000, micros(latency.percentile(0.5)),
+                micros(latency.percentile(0.9)), micros(latency.percentile(0.99)), micros(latency.max()), rules);
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static double fractionalMicros(long nanos) {
+        return nanos / 1000.0;
+    }
+
+    /**
+     * 一次触发的计时状态
+     */
+    private static final class FireState {
+
+        private long start;
+
+        private long evaluateStart;
+
+        private long executeStart;
+
+        private int ruleCount;
+
+        private int evaluated;
+
+        /**
+         * 条件判断异常、尚未记录求值的规则
+         */
+        private Rule failedRule;
+    }
+
+    /**
+     * 规则集统计数据
+     */
+    private static final class Stats {
+
+        private final LocalDateTime since = LocalDateTime.now();
+
+        private final LongAdder fireCount = new LongAdder();
+
+        private final LongAdder skippedCount = new LongAdder();
+
+        /**
+         * 触发耗时分布（纳秒）
+         */
+        private final Log2Histogram latency = new Log2Histogram();
+
+        /**
+         * 规则名称和规则统计数据，规则集内的规则名称唯一
+         */
+        private final Map<String, RuleStats> rules = new ConcurrentHashMap<>();
+
+        private RuleStats rule(Rule rule) {
+            RuleStats ruleStats = rules.get(rule.getName());
+            return ruleStats != null ? ruleStats : rules.computeIfAbsent(rule.getName(), k -> new RuleStats());
+        }
+    }
+
+    /**
+     * 规则统计数据
+     */
+    private static final class RuleStats {
+
+        private final LongAdder triggeredCount = new LongAdder();
+
+        private final LongAdder appliedCount = new LongAdder();
+
+        private final LongAdder evaluationErrorCount = new LongAdder();
+
+        private final LongAdder actionFailureCount = new LongAdder();
+
+        /**
+         * 条件求值耗时分布（纳秒），记录数量即求值次数
+         */
+        private final Log2Histogram condition = new Log2Histogram();
+
+        /**
+         * 动作执行耗时分布（纳秒）
+         */
+        private final Log2Histogram action = new Log2Histogram();
+
+        private RuleMetricsVo snapshot(String name) {
+            return new RuleMetricsVo(name, condition.count(), triggeredCount.sum(), appliedCount.sum(), evaluationErrorCount.sum(),
+                    actionFailureCount.sum(), micros(condition.sum() + action.sum()),
+                    condition.mean() / 1000, fractionalMicros(condition.percentile(0.5)), fractionalMicros(condition.percentile(0.99)),
+                    fractionalMicros(condition.max()), action.mean() / 1000, fractionalMicros(action.percentile(0.5)),
+                    fractionalMicros(action.percentile(0.99)), fractionalMicros(action.max()));
+        }
+    }
+}
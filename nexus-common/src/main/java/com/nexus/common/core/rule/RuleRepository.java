@@ -0,0 +1,310 @@
+package com.nexus.common.core.rule;
+
+import com.nexus.common.enums.CompositeTypeEnum;
+import com.nexus.common.enums.RuleDialectEnum;
+import com.nexus.common.utils.StringUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.jeasy.rules.api.Rule;
+import org.jeasy.rules.support.RuleDefinition;
+import org.jeasy.rules.support.composite.CompositeRule;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 规则仓库
+ * <p>
+ * 从 {@link RuleSource}（数据库表或 YAML 目录）加载规则定义，构建为版本化的不可变快照 {@link RuleRepositorySnapshot}。
+ * 重新加载在同一个后台线程串行执行，构建完成后原子替换快照并同步到 {@link RuleSetRegistry}，触发规则的线程不会被阻塞。
+ * <p>
+ * 每个规则按表达式语言和定义内容计算 SHA-256 摘要，摘要未变化的规则直接复用上一版本的规则实例；
+ * 规则集的摘要由引擎参数和规则摘要组成，未变化的规则集直接复用，没有任何变化时版本号不变
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Slf4j
+public class RuleRepository {
+
+    /**
+     * 规则来源
+     */
+    private final RuleSource source;
+
+    /**
+     * 当前快照
+     */
+    private volatile RuleRepositorySnapshot snapshot = RuleRepositorySnapshot.EMPTY;
+
+    /**
+     * 最近一次加载时间
+     */
+    private volatile LocalDateTime lastReloadTime;
+
+    /**
+     * 最近一次加载失败的原因，加载成功后清空
+     */
+    private volatile String lastError;
+
+    /**
+     * 尚未完成的加载任务，加载期间再次请求加载时直接返回
+     */
+    private CompletableFuture<RuleRepositorySnapshot> pending;
+
+    /**
+     * 规则集构建线程
+     */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rule-repository-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private RuleRepository(RuleSource source) {
+        this.source = Objects.requireNonNull(source, "规则来源不能为空");
+    }
+
+    /**
+     * 创建实例
+     *
+     * @param source 规则来源
+     * @return {@link RuleRepository }
+     */
+    public static RuleRepository newInstance(RuleSource source) {
+        return new RuleRepository(source);
+    }
+
+    /**
+     * 重新加载规则，只重新构建内容发生变化的规则和规则集
+     *
+     * @return {@link CompletableFuture }<{@link RuleRepositorySnapshot }> 新的快照，没有变化时返回当前快照
+     */
+    public synchronized CompletableFuture<RuleRepositorySnapshot> reload() {
+        if (pending != null && !pending.isDone()) {
+            return pending;
+        }
+        pending = CompletableFuture.supplyAsync(this::load, executor).whenComplete((newSnapshot, e) -> {
+            lastReloadTime = LocalDateTime.now();
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                lastError = cause.getMessage();
+                log.error("规则加载失败，继续使用当前版本：{}", cause.getMessage(), cause);
+            } else {
+                lastError = null;
+            }
+        });
+        return pending;
+    }
+
+    /**
+     * 加载规则并发布新的快照
+     *
+     * @return {@link RuleRepositorySnapshot }
+     */
+    private RuleRepositorySnapshot load() {
+        RuleRepositorySnapshot current = snapshot;
+        List<RuleSetDefinition> definitions = source.load();
+        // 来源被清空或正在替换时不发布空快照，避免规则整体失效
+        if (definitions.isEmpty() && !current.names().isEmpty()) {
+            throw new IllegalStateException("未读取到任何规则集：" + source.describe());
+        }
+        Map<String, RuleSet> ruleSets = new LinkedHashMap<>();
+        Map<String, String> ruleSetDigests = new HashMap<>();
+        Map<String, Rule> rules = new HashMap<>();
+        List<RuleSet> changed = new ArrayList<>();
+        int rebuiltRules = 0;
+        int reusedRules = 0;
+        for (RuleSetDefinition definition : definitions) {
+            String name = definition.getName();
+            if (StringUtils.isBlank(name)) {
+                throw new IllegalArgumentException("规则集名称不能为空：" + source.describe());
+            }
+            if (ruleSets.containsKey(name)) {
+                throw new IllegalArgumentException("规则集名称重复：" + name);
+            }
+            RuleDialectEnum dialect = definition.getDialect() == null ? RuleDialectEnum.MVEL : definition.getDialect();
+            List<Rule> ruleSetRules = new ArrayList<>(definition.getRules().size());
+            StringBuilder content = new StringBuilder()
+                    .append(definition.isCompile()).append(',')
+                    .append(definition.isMetrics()).append(',')
+                    .append(definition.isSkipOnFirstAppliedRule()).append(',')
+                    .append(definition.isSkipOnFirstFailedRule()).append(',')
+                    .append(definition.isSkipOnFirstNonTriggeredRule()).append(',')
+                    .append(definition.getPriorityThreshold());
+            for (RuleModel ruleModel : definition.getRules()) {
+                if (!ruleModel.isEnabled()) {
+                    continue;
+                }
+                String digest = digest(dialect, ruleModel);
+                Rule rule = rules.get(digest);
+                if (rule == null) {
+                    rule = current.rule(digest);
+                    if (rule == null) {
+                        rule = build(ruleModel, dialect);
+                        rebuiltRules++;
+                    } else {
+                        reusedRules++;
+                    }
+                    rules.put(digest, rule);
+                }
+                ruleSetRules.add(rule);
+                content.append(',').append(digest);
+            }
+            String ruleSetDigest = sha256(content.toString());
+            RuleSet ruleSet = current.ruleSet(name);
+            if (ruleSet == null || !ruleSetDigest.equals(current.digest(name))) {
+                ruleSet = RuleSet.builder(name)
+                        .rules(ruleSetRules)
+                        .skipOnFirstAppliedRule(definition.isSkipOnFirstAppliedRule())
+                        .skipOnFirstFailedRule(definition.isSkipOnFirstFailedRule())
+                        .skipOnFirstNonTriggeredRule(definition.isSkipOnFirstNonTriggeredRule())
+                        .priorityThreshold(definition.getPriorityThreshold())
+                        .compile(definition.isCompile())
+                        .metrics(definition.isMetrics())
+                        .build();
+                changed.add(ruleSet);
+            }
+            ruleSets.put(name, ruleSet);
+            ruleSetDigests.put(name, ruleSetDigest);
+        }
+        List<String> removed = current.names().stream().filter(name -> !ruleSets.containsKey(name)).toList();
+        if (changed.isEmpty() && removed.isEmpty()) {
+            log.debug("规则没有变化，当前版本：{}", current.version());
+            return current;
+        }
+        RuleRepositorySnapshot newSnapshot = new RuleRepositorySnapshot(current.version() + 1, ruleSets, ruleSetDigests, rules,
+                rebuiltRules, reusedRules, changed.size());
+        snapshot = newSnapshot;
+        changed.forEach(RuleSetRegistry::register);
+        removed.forEach(RuleSetRegistry::remove);
+        log.info("规则加载完成：{}，版本：{}，规则集：{}，重新构建规则集：{}，移除规则集：{}，重新构建规则：{}，复用规则：{}",
+                source.describe(), newSnapshot.version(), ruleSets.size(), changed.size(), removed, rebuiltRules, reusedRules);
+        return newSnapshot;
+    }
+
+    /**
+     * 根据规则定义构建规则，复合规则递归构建子规则
+     *
+     * @param definition 规则定义
+     * @param dialect    表达式语言
+     * @return {@link Rule }
+     */
+    private static Rule build(RuleDefinition definition, RuleDialectEnum dialect) {
+        if (!definition.isCompositeRule()) {
+            return ExpressionRules.of(definition, dialect);
+        }
+        CompositeRule compositeRule = CompositeRules.defaults(CompositeTypeEnum.of(definition.getCompositeRuleType()),
+                definition.getName(), definition.getDescription(), definition.getPriority());
+        for (RuleDefinition composingRule : definition.getComposingRules()) {
+            compositeRule.addRule(build(composingRule, dialect));
+        }
+        return compositeRule;
+    }
+
+    /**
+     * 计算规则内容摘要
+     *
+     * @param dialect    表达式语言
+     * @param definition 规则定义
+     * @return {@link String }
+     */
+    private static String digest(RuleDialectEnum dialect, RuleDefinition definition) {
+        StringBuilder content = new StringBuilder(dialect.name());
+        append(content, definition);
+        return sha256(content.toString());
+    }
+
+    private static void append(StringBuilder content, RuleDefinition definition) {
+        field(content, definition.getName());
+        field(content, definition.getDescription());
+        field(content, String.valueOf(definition.getPriority()));
+        field(content, definition.getCondition());
+        content.append('[');
+        definition.getActions().forEach(action -> field(content, action));
+        content.append(']');
+        field(content, definition.getCompositeRuleType());
+        content.append('[');
+        definition.getComposingRules().forEach(composingRule -> append(content, composingRule));
+        content.append(']');
+    }
+
+    /**
+     * 追加带长度前缀的字段，避免不同字段拼接后内容相同
+     */
+    private static void field(StringBuilder content, String value) {
+        if (value == null) {
+            content.append("-1:");
+        } else {
+            content.append(value.length()).append(':').append(value);
+        }
+    }
+
+    private static String sha256(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 获取当前快照
+     *
+     * @return {@link RuleRepositorySnapshot }
+     */
+    public RuleRepositorySnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 获取规则集
+     *
+     * @param name 规则集名称
+     * @return {@link RuleSet } 不存在时返回 null
+     */
+    public RuleSet get(String name) {
+        return snapshot.ruleSet(name);
+    }
+
+    /**
+     * 规则来源描述
+     *
+     * @return {@link String }
+     */
+    public String source() {
+        return source.describe();
+    }
+
+    /**
+     * 最近一次加载时间
+     *
+     * @return {@link LocalDateTime } 尚未加载时返回 null
+     */
+    public LocalDateTime lastReloadTime() {
+        return lastReloadTime;
+    }
+
+    /**
+     * 最近一次加载失败的原因
+     *
+     * @return {@link String } 最近一次加载成功时返回 null
+     */
+    public String lastError() {
+        return lastError;
+    }
+
+    /**
+     * 关闭
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,160 @@
+package com.nexus.common.core.rule;
+
+import org.jeasy.rules.api.Rule;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 规则仓库快照
+ * <p>
+ * 一次加载得到的全部规则集，构建完成后不可变。热更新时在后台构建新的快照后整体替换，读取方每次只读取一次快照引用，
+ * 不会看到加载到一半的规则集。快照同时保存规则和规则集的内容摘要，下次加载时内容未变化的规则和规则集直接复用
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public final class RuleRepositorySnapshot {
+
+    /**
+     * 空快照
+     */
+    static final RuleRepositorySnapshot EMPTY = new RuleRepositorySnapshot(0, Map.of(), Map.of(), Map.of(), 0, 0, 0);
+
+    /**
+     * 版本号，规则集有变化时递增
+     */
+    private final long version;
+
+    /**
+     * 加载时间
+     */
+    private final LocalDateTime loadTime;
+
+    /**
+     * 规则集名称和规则集
+     */
+    private final Map<String, RuleSet> ruleSets;
+
+    /**
+     * 规则集名称和规则集内容摘要
+     */
+    private final Map<String, String> ruleSetDigests;
+
+    /**
+     * 规则内容摘要和规则
+     */
+    private final Map<String, Rule> rules;
+
+    /**
+     * 本次重新构建的规则数量
+     */
+    private final int rebuiltRules;
+
+    /**
+     * 本次复用的规则数量
+     */
+    private final int reusedRules;
+
+    /**
+     * 本次重新构建的规则集数量
+     */
+    private final int rebuiltRuleSets;
+
+    RuleRepositorySnapshot(long version, Map<String, RuleSet> ruleSets, Map<String, String> ruleSetDigests, Map<String, Rule> rules,
+                           int rebuiltRules, int reusedRules, int rebuiltRuleSets) {
+        this.version = version;
+        this.loadTime = LocalDateTime.now();
+        this.ruleSets = Collections.unmodifiableMap(new LinkedHashMap<>(ruleSets));
+        this.ruleSetDigests = Map.copyOf(ruleSetDigests);
+        this.rules = Map.copyOf(rules);
+        this.rebuiltRules = rebuiltRules;
+        this.reusedRules = reusedRules;
+        this.rebuiltRuleSets = rebuiltRuleSets;
+    }
+
+    /**
+     * 获取规则集
+     *
+     * @param name 规则集名称
+     * @return {@link RuleSet } 不存在时返回 null
+     */
+    public RuleSet ruleSet(String name) {
+        return ruleSets.get(name);
+    }
+
+    /**
+     * 获取全部规则集
+     *
+     * @return {@link Map }<{@link String }, {@link RuleSet }>
+     */
+    public Map<String, RuleSet> ruleSets() {
+        return ruleSets;
+    }
+
+    /**
+     * 获取全部规则集名称
+     *
+     * @return {@link Set }<{@link String }>
+     */
+    public Set<String> names() {
+        return ruleSets.keySet();
+    }
+
+    /**
+     * 规则集内容摘要
+     *
+     * @param name 规则集名称
+     * @return {@link String } 不存在时返回 null
+     */
+    String digest(String name) {
+        return ruleSetDigests.get(name);
+    }
+
+    /**
+     * 根据内容摘要获取已构建的规则
+     *
+     * @param digest 规则内容摘要
+     * @return {@link Rule } 不存在时返回 null
+     */
+    Rule rule(String digest) {
+        return rules.get(digest);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public LocalDateTime loadTime() {
+        return loadTime;
+    }
+
+    /**
+     * 规则数量，多个规则集中内容相同的规则只计算一次
+     *
+     * @return int
+     */
+    public int ruleCount() {
+        return rules.size();
+    }
+
+    public int rebuiltRules() {
+        return rebuiltRules;
+    }
+
+    public int reusedRules() {
+        return reusedRules;
+    }
+
+    public int rebuiltRuleSets() {
+        return rebuiltRuleSets;
+    }
+
+    @Override
+    public String toString() {
+        return "RuleRepositorySnapshot{version=" + version + ", ruleSets=" + ruleSets.keySet() + "}";
+    }
+}
@@ -0,0 +1,607 @@
+package com.nexus.common.core.rule;
+
+import com.nexus.common.enums.RuleDialectEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.jeasy.rules.api.*;
+import org.jeasy.rules.support.composite.ActivationRuleGroup;
+import org.jeasy.rules.support.composite.ConditionalRuleGroup;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 编译后的不可变规则集
+ * <p>
+ * 规则、引擎参数和监听器在构建时确定，之后不再修改，同一个实例可以被多个线程同时触发，每次触发只需要传入各自的事实对象。
+ * 触发语义与 easy-rules 的 DefaultRulesEngine 一致；规则按优先级存放在数组中，表达式规则在一次触发中共享同一份事实映射快照，
+ * 动作执行后重新生成，除事实映射外不产生额外的分配。监听器可以观察事实，但不应在监听回调中增删事实。
+ * <p>
+ * 构建时根据 {@link CompiledRule#requiredFacts()} 建立事实到规则的索引，每次生成事实映射快照时找出缺少所需事实的规则，
+ * 这些规则不再求值条件、也不回调规则监听器，按未触发处理（与缺少事实时条件判断异常的结果一致，但不再记录异常）。
+ * 所需事实全部存在时不产生额外的分配，可通过 {@link Builder#factIndex(boolean)} 关闭
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Slf4j
+public final class RuleSet {
+
+    /**
+     * 规则集名称
+     */
+    private final String name;
+
+    /**
+     * 按优先级排列的规则
+     */
+    private final Rule[] rules;
+
+    /**
+     * 规则集合，仅用于回调规则引擎监听器
+     */
+    private final Rules ruleView;
+
+    /**
+     * 当一个规则成功应用时，跳过余下的规则
+     */
+    private final boolean skipOnFirstAppliedRule;
+
+    /**
+     * 当一个规则失败时，跳过余下的规则
+     */
+    private final boolean skipOnFirstFailedRule;
+
+    /**
+     * 当一个规则未触发时，跳过余下的规则
+     */
+    private final boolean skipOnFirstNonTriggeredRule;
+
+    /**
+     * 当优先级超过指定的阈值时，跳过余下的规则
+     */
+    private final int priorityThreshold;
+
+    /**
+     * 规则监听器
+     */
+    private final RuleListener[] ruleListeners;
+
+    /**
+     * 规则引擎监听器
+     */
+    private final RulesEngineListener[] rulesEngineListeners;
+
+    /**
+     * 事实索引中的事实名称
+     */
+    private final String[] indexedFacts;
+
+    /**
+     * 依赖对应事实的规则位图，位下标为规则下标
+     */
+    private final long[][] factRules;
+
+    /**
+     * 条件求值次数
+     */
+    private final LongAdder evaluationCount;
+
+    /**
+     * 因缺少所需事实跳过的求值次数
+     */
+    private final LongAdder prunedCount;
+
+    private RuleSet(RuleSet ruleSet, RulesEngineParameters parameters) {
+        this.name = ruleSet.name;
+        this.rules = ruleSet.rules;
+        this.ruleView = ruleSet.ruleView;
+        this.skipOnFirstAppliedRule = parameters.isSkipOnFirstAppliedRule();
+        this.skipOnFirstFailedRule = parameters.isSkipOnFirstFailedRule();
+        this.skipOnFirstNonTriggeredRule = parameters.isSkipOnFirstNonTriggeredRule();
+        this.priorityThreshold = parameters.getPriorityThreshold();
+        this.ruleListeners = ruleSet.ruleListeners;
+        this.rulesEngineListeners = ruleSet.rulesEngineListeners;
+        this.indexedFacts = ruleSet.indexedFacts;
+        this.factRules = ruleSet.factRules;
+        this.evaluationCount = ruleSet.evaluationCount;
+        this.prunedCount = ruleSet.prunedCount;
+    }
+
+    private RuleSet(Builder builder) {
+        this.name = builder.name;
+        // 与 easy-rules 的 Rules 一致，按优先级和名称排序，优先级和名称都相同的规则只保留一个
+        TreeSet<Rule> sortedRules = new TreeSet<>(builder.compile ? RuleSetCompiler.compile(builder.name, builder.rules) : builder.rules);
+        this.rules = sortedRules.toArray(new Rule[0]);
+        this.ruleView = new Rules(sortedRules);
+        this.skipOnFirstAppliedRule = builder.skipOnFirstAppliedRule;
+        this.skipOnFirstFailedRule = builder.skipOnFirstFailedRule;
+        this.skipOnFirstNonTriggeredRule = builder.skipOnFirstNonTriggeredRule;
+        this.priorityThreshold = builder.priorityThreshold;
+        this.ruleListeners = builder.ruleListeners.toArray(new RuleListener[0]);
+        this.rulesEngineListeners = builder.rulesEngineListeners.toArray(new RulesEngineListener[0]);
+        Map<String, long[]> factIndex = new LinkedHashMap<>();
+        if (builder.factIndex) {
+            for (int ruleIndex = 0; ruleIndex < rules.length; ruleIndex++) {
+                for (String fact : CompiledRule.requiredFacts(rules[ruleIndex])) {
+                    factIndex.computeIfAbsent(fact, k -> new long[(rules.length + 63) >>> 6])[ruleIndex >>> 6] |= 1L << ruleIndex;
+                }
+            }
+        }
+        this.indexedFacts = factIndex.keySet().toArray(new String[0]);
+        this.factRules = factIndex.values().toArray(new long[0][]);
+        this.evaluationCount = new LongAdder();
+        this.prunedCount = new LongAdder();
+    }
+
+    /**
+     * 创建规则集生成器
+     *
+     * @param name 规则集名称
+     * @return {@link Builder }
+     */
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * 触发规则
+     *
+     * @param facts 事实
+     */
+    public void fire(Facts facts) {
+        fire(facts, null);
+    }
+
+    /**
+     * 触发规则并回调每个规则的结果
+     *
+     * @param facts    事实
+     * @param observer 规则结果观察者，可为空
+     */
+    void fire(Facts facts, RuleFireObserver observer) {
+        for (RulesEngineListener listener : rulesEngineListeners) {
+            listener.beforeEvaluate(ruleView, facts);
+        }
+        doFire(facts, observer);
+        for (RulesEngineListener listener : rulesEngineListeners) {
+            listener.afterExecute(ruleView, facts);
+        }
+    }
+
+    private void doFire(Facts facts, RuleFireObserver observer) {
+        Map<String, Object> factMap = null;
+        long[] pruned = null;
+        int evaluated = 0;
+        int prunedRules = 0;
+        for (int ruleIndex = 0; ruleIndex < rules.length; ruleIndex++) {
+            Rule rule = rules[ruleIndex];
+            if (rule.getPriority() > priorityThreshold) {
+                break;
+            }
+            if (factMap == null) {
+                factMap = facts.asMap();
+                pruned = prune(factMap);
+            }
+            if (pruned(pruned, ruleIndex)) {
+                prunedRules++;
+                // 缺少所需事实，条件不可能满足
+                if (skipOnFirstNonTriggeredRule) {
+                    break;
+                }
+                continue;
+            }
+            if (!shouldBeEvaluated(rule, facts)) {
+                continue;
+            }
+            evaluated++;
+            boolean evaluationResult = false;
+            try {
+                evaluationResult = CompiledRule.evaluate(rule, facts, factMap);
+            } catch (RuntimeException e) {
+                log.error("规则集 {} 中的规则 {} 条件判断异常", name, rule.getName(), e);
+                for (RuleListener listener : ruleListeners) {
+                    listener.onEvaluationError(rule, facts, e);
+                }
+                if (observer != null) {
+                    observer.failed(ruleIndex);
+                }
+                // 条件判断异常视为未触发
+                if (skipOnFirstNonTriggeredRule) {
+                    break;
+                }
+            }
+            if (evaluationResult) {
+                for (RuleListener listener : ruleListeners) {
+                    listener.afterEvaluate(rule, facts, true);
+                }
+                try {
+                    for (RuleListener listener : ruleListeners) {
+                        listener.beforeExecute(rule, facts);
+                    }
+                    Map<String, Object> snapshot = factMap;
+                    // 动作可能修改事实，之后的规则重新生成快照
+                    factMap = null;
+                    CompiledRule.execute(rule, facts, snapshot);
+                    for (RuleListener listener : ruleListeners) {
+                        listener.onSuccess(rule, facts);
+                    }
+                    if (observer != null) {
+                        observer.applied(ruleIndex);
+                    }
+                    if (skipOnFirstAppliedRule) {
+                        break;
+                    }
+                } catch (Exception e) {
+                    for (RuleListener listener : ruleListeners) {
+                        listener.onFailure(rule, facts, e);
+                    }
+                    if (observer != null) {
+                        observer.failed(ruleIndex);
+                    }
+                    if (skipOnFirstFailedRule) {
+                        break;
+                    }
+                }
+            } else {
+                for (RuleListener listener : ruleListeners) {
+                    listener.afterEvaluate(rule, facts, false);
+                }
+                if (skipOnFirstNonTriggeredRule) {
+                    break;
+                }
+            }
+        }
+        evaluationCount.add(evaluated);
+        if (prunedRules > 0) {
+            prunedCount.add(prunedRules);
+        }
+        if (observer != null) {
+            observer.evaluated(evaluated, prunedRules);
+        }
+    }
+
+    /**
+     * 找出缺少所需事实的规则
+     *
+     * @param factMap 事实映射快照
+     * @return long[] 规则位图，所需事实全部存在时返回 null
+     */
+    private long[] prune(Map<String, Object> factMap) {
+        long[] pruned = null;
+        for (int i = 0; i < indexedFacts.length; i++) {
+            if (factMap.containsKey(indexedFacts[i])) {
+                continue;
+            }
+            long[] ruleBits = factRules[i];
+            if (pruned == null) {
+                pruned = new long[ruleBits.length];
+            }
+            for (int w = 0; w < ruleBits.length; w++) {
+                pruned[w] |= ruleBits[w];
+            }
+        }
+        return pruned;
+    }
+
+    private static boolean pruned(long[] pruned, int ruleIndex) {
+        return pruned != null && (pruned[ruleIndex >>> 6] & (1L << ruleIndex)) != 0;
+    }
+
+    /**
+     * 只求值条件，不执行动作，缺少所需事实的规则结果为 false
+     *
+     * @param facts 事实
+     * @return {@link Map }<{@link Rule }, {@link Boolean }> 规则和条件判断结果
+     */
+    public Map<Rule, Boolean> check(Facts facts) {
+        for (RulesEngineListener listener : rulesEngineListeners) {
+            listener.beforeEvaluate(ruleView, facts);
+        }
+        Map<Rule, Boolean> result = new LinkedHashMap<>();
+        Map<String, Object> factMap = facts.asMap();
+        long[] pruned = prune(factMap);
+        for (int ruleIndex = 0; ruleIndex < rules.length; ruleIndex++) {
+            Rule rule = rules[ruleIndex];
+            if (shouldBeEvaluated(rule, facts)) {
+                result.put(rule, !pruned(pruned, ruleIndex) && CompiledRule.evaluate(rule, facts, factMap));
+            }
+        }
+        for (RulesEngineListener listener : rulesEngineListeners) {
+            listener.afterExecute(ruleView, facts);
+        }
+        return result;
+    }
+
+    private boolean shouldBeEvaluated(Rule rule, Facts facts) {
+        for (RuleListener listener : ruleListeners) {
+            if (!listener.beforeEvaluate(rule, facts)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 获取规则集名称
+     *
+     * @return {@link String }
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * 获取按优先级排列的规则
+     *
+     * @return {@link List }<{@link Rule }>
+     */
+    public List<Rule> rules() {
+        return List.of(rules);
+    }
+
+    /**
+     * 规则数量
+     *
+     * @return int
+     */
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * 获取规则引擎参数副本
+     *
+     * @return {@link RulesEngineParameters }
+     */
+    public RulesEngineParameters parameters() {
+        return new RulesEngineParameters(skipOnFirstAppliedRule, skipOnFirstFailedRule, skipOnFirstNonTriggeredRule, priorityThreshold);
+    }
+
+    /**
+     * 获取事实索引
+     *
+     * @return {@link Map }<{@link String }, {@link List }<{@link String }>> 事实名称和依赖该事实的规则名称
+     */
+    public Map<String, List<String>> factIndex() {
+        Map<String, List<String>> factIndex = new LinkedHashMap<>();
+        for (int i = 0; i < indexedFacts.length; i++) {
+            List<String> ruleNames = new ArrayList<>();
+            for (int ruleIndex = 0; ruleIndex < rules.length; ruleIndex++) {
+                if (pruned(factRules[i], ruleIndex)) {
+                    ruleNames.add(rules[ruleIndex].getName());
+                }
+            }
+            factIndex.put(indexedFacts[i], ruleNames);
+        }
+        return factIndex;
+    }
+
+    /**
+     * 条件求值次数
+     *
+     * @return long
+     */
+    public long evaluationCount() {
+        return evaluationCount.sum();
+    }
+
+    /**
+     * 因缺少所需事实跳过的求值次数
+     *
+     * @return long
+     */
+    public long prunedCount() {
+        return prunedCount.sum();
+    }
+
+    /**
+     * 使用新的规则引擎参数创建规则集，规则、监听器、事实索引和统计数据与当前规则集共享
+     *
+     * @param parameters 规则引擎参数
+     * @return {@link RuleSet }
+     */
+    public RuleSet withParameters(RulesEngineParameters parameters) {
+        return new RuleSet(this, parameters);
+    }
+
+    @Override
+    public String toString() {
+        return "RuleSet{name='" + name + "', rules=" + rules.length + "}";
+    }
+
+    /**
+     * 规则集生成器
+     */
+    public static final class Builder {
+
+        private final String name;
+
+        private final List<Rule> rules = new ArrayList<>();
+
+        private boolean skipOnFirstAppliedRule;
+
+        private boolean skipOnFirstFailedRule;
+
+        private boolean skipOnFirstNonTriggeredRule;
+
+        private int priorityThreshold = RulesEngineParameters.DEFAULT_RULE_PRIORITY_THRESHOLD;
+
+        private final List<RuleListener> ruleListeners = new ArrayList<>();
+
+        private final List<RulesEngineListener> rulesEngineListeners = new ArrayList<>();
+
+        private boolean factIndex = true;
+
+        private boolean compile;
+
+        private boolean metrics;
+
+        private Builder(String name) {
+            this.name = Objects.requireNonNull(name, "规则集名称不能为空");
+        }
+
+        /**
+         * 添加规则。easy-rules 的 ActivationRuleGroup 和 ConditionalRuleGroup 在实例字段中保存求值状态，不能并发触发，
+         * 请使用 {@link CompositeRules} 创建对应的规则组
+         *
+         * @param rule 规则
+         * @return {@link Builder }
+         */
+        public Builder rule(Rule rule) {
+            if (rule instanceof ActivationRuleGroup || rule instanceof ConditionalRuleGroup) {
+                throw new IllegalArgumentException("规则 " + rule.getName() + " 不支持并发触发，请使用 CompositeRules 创建规则组");
+            }
+            rules.add(rule);
+            return this;
+        }
+
+        /**
+         * 添加规则
+         *
+         * @param rules 规则
+         * @return {@link Builder }
+         */
+        public Builder rules(Iterable<Rule> rules) {
+            for (Rule rule : rules) {
+                rule(rule);
+            }
+            return this;
+        }
+
+        /**
+         * 根据规则模型添加 MVEL 规则，未启用的规则被忽略
+         *
+         * @param ruleModels 规则模型
+         * @return {@link Builder }
+         */
+        public Builder ruleModels(Collection<RuleModel> ruleModels) {
+            return ruleModels(ruleModels, RuleDialectEnum.MVEL);
+        }
+
+        /**
+         * 根据规则模型添加规则，未启用的规则被忽略
+         *
+         * @param ruleModels 规则模型
+         * @param dialect    表达式语言
+         * @return {@link Builder }
+         */
+        public Builder ruleModels(Collection<RuleModel> ruleModels, RuleDialectEnum dialect) {
+            for (RuleModel ruleModel : ruleModels) {
+                if (ruleModel.isEnabled()) {
+                    rule(ExpressionRules.of(ruleModel, dialect));
+                }
+            }
+            return this;
+        }
+
+        public Builder skipOnFirstAppliedRule(boolean skipOnFirstAppliedRule) {
+            this.skipOnFirstAppliedRule = skipOnFirstAppliedRule;
+            return this;
+        }
+
+        public Builder skipOnFirstFailedRule(boolean skipOnFirstFailedRule) {
+            this.skipOnFirstFailedRule = skipOnFirstFailedRule;
+            return this;
+        }
+
+        public Builder skipOnFirstNonTriggeredRule(boolean skipOnFirstNonTriggeredRule) {
+            this.skipOnFirstNonTriggeredRule = skipOnFirstNonTriggeredRule;
+            return this;
+        }
+
+        public Builder priorityThreshold(int priorityThreshold) {
+            this.priorityThreshold = priorityThreshold;
+            return this;
+        }
+
+        /**
+         * 使用规则引擎参数
+         *
+         * @param parameters 规则引擎参数
+         * @return {@link Builder }
+         */
+        public Builder parameters(RulesEngineParameters parameters) {
+            this.skipOnFirstAppliedRule = parameters.isSkipOnFirstAppliedRule();
+            this.skipOnFirstFailedRule = parameters.isSkipOnFirstFailedRule();
+            this.skipOnFirstNonTriggeredRule = parameters.isSkipOnFirstNonTriggeredRule();
+            this.priorityThreshold = parameters.getPriorityThreshold();
+            return this;
+        }
+
+        /**
+         * 注册规则监听器，监听器会被多个线程同时回调
+         *
+         * @param ruleListener 规则监听器
+         * @return {@link Builder }
+         */
+        public Builder ruleListener(RuleListener ruleListener) {
+            ruleListeners.add(ruleListener);
+            return this;
+        }
+
+        /**
+         * 注册规则引擎监听器，监听器会被多个线程同时回调
+         *
+         * @param rulesEngineListener 规则引擎监听器
+         * @return {@link Builder }
+         */
+        public Builder rulesEngineListener(RulesEngineListener rulesEngineListener) {
+            rulesEngineListeners.add(rulesEngineListener);
+            return this;
+        }
+
+        /**
+         * 是否根据规则所需的事实跳过不可能满足的规则，默认开启。
+         * 关闭后所有规则都会求值，缺少事实时的条件判断异常与 easy-rules 一致地记录并回调监听器
+         *
+         * @param factIndex 是否开启事实索引
+         * @return {@link Builder }
+         */
+        public Builder factIndex(boolean factIndex) {
+            this.factIndex = factIndex;
+            return this;
+        }
+
+        /**
+         * 是否把规则条件编译为生成的 Java 代码，默认关闭，适用于调用频繁的规则集。
+         * 编译在构建时进行，无法编译的条件继续解释执行，详见 {@link RuleSetCompiler}
+         *
+         * @param compile 是否编译
+         * @return {@link Builder }
+         */
+        public Builder compile(boolean compile) {
+            this.compile = compile;
+            return this;
+        }
+
+        /**
+         * 是否记录规则执行统计，默认关闭。开启后注册 {@link RuleMetrics#listener(String)} 返回的同名统计监听器，
+         * 记录每个规则的耗时分布和结果计数
+         *
+         * @param metrics 是否记录统计
+         * @return {@link Builder }
+         */
+        public Builder metrics(boolean metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * 构建规则集
+         *
+         * @return {@link RuleSet }
+         */
+        public RuleSet build() {
+            if (metrics) {
+                RuleMetricsListener listener = RuleMetrics.listener(name);
+                if (!ruleListeners.contains(listener)) {
+                    ruleListeners.add(listener);
+                }
+                if (!rulesEngineListeners.contains(listener)) {
+                    rulesEngineListeners.add(listener);
+                }
+            }
+            return new RuleSet(this);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.nexus.common.core.rule;
+
+import com.nexus.common.enums.RuleDialectEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.jeasy.rules.api.Rule;
+
+import javax.tools.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * 规则集编译器
+ * <p>
+ * 把一组规则（包括 {@link CompositeRules} 创建的规则组）中的条件翻译为 Java 代码，生成一个类并通过 JDK 编译器在内存中编译，
+ * 每个条件对应一个静态方法，生成类的实例按序号分派到条件方法，求值时直接执行生成的代码，不再经过表达式解释器。
+ * 无法翻译的条件、运行时无法确定结果的求值，以及当前运行环境没有 JDK 编译器或编译失败时，都回退到解释执行，结果与解释执行一致。
+ * 生成的类只依赖 JDK 和 {@link GeneratedRuleSupport}，由独立的类加载器加载，规则集不再使用后可以被回收
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Slf4j
+public class RuleSetCompiler {
+
+    /**
+     * 生成类的包名
+     */
+    private static final String PACKAGE = RuleSetCompiler.class.getPackageName() + ".generated";
+
+    /**
+     * 生成类的序号
+     */
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private RuleSetCompiler() {
+    }
+
+    /**
+     * 当前运行环境是否可以编译规则集
+     *
+     * @return boolean
+     */
+    public static boolean available() {
+        return ToolProvider.getSystemJavaCompiler() != null;
+    }
+
+    /**
+     * 编译规则
+     *
+     * @param name  规则集名称，用于日志
+     * @param rules 规则
+     * @return {@link List }<{@link Rule }> 条件替换为生成代码的规则，无法编译时返回原规则
+     */
+    public static List<Rule> compile(String name, Iterable<Rule> rules) {
+        List<Rule> source = new ArrayList<>();
+        rules.forEach(source::add);
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            log.warn("当前运行环境没有 JDK 编译器，规则集 {} 使用解释执行", name);
+            return source;
+        }
+        long start = System.currentTimeMillis();
+        RuleExpressionTranslator translator = new RuleExpressionTranslator();
+        Map<RuleExpression, String> conditions = new LinkedHashMap<>();
+        int total = collect(source, translator, conditions, new HashSet<>());
+        if (conditions.isEmpty()) {
+            log.info("规则集 {} 没有可以生成代码的条件，使用解释执行", name);
+            return source;
+        }
+        String className = "RuleSet" + SEQUENCE.incrementAndGet();
+        String code = generate(name, className, translator.constants(), conditions);
+        Class<?> type;
+        try {
+            type = compile(compiler, className, code);
+        } catch (Exception e) {
+            log.warn("规则集 {} 编译失败，使用解释执行：{}", name, e.getMessage());
+            log.debug("规则集 {} 生成的代码：\n{}", name, code);
+            return source;
+        }
+        Map<RuleExpression, GeneratedExpression> generated = new IdentityHashMap<>();
+        int index = 0;
+        for (RuleExpression condition : conditions.keySet()) {
+            try {
+                @SuppressWarnings("unchecked")
+                Predicate<Map<String, Object>> predicate = (Predicate<Map<String, Object>>) type.getConstructor(int.class).newInstance(index++);
+                generated.put(condition, new GeneratedExpression(condition, predicate));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("无法创建生成的规则类：" + type.getName(), e);
+            }
+        }
+        List<Rule> compiled = new ArrayList<>(source.size());
+        for (Rule rule : source) {
+            compiled.add(rewrite(rule, generated));
+        }
+        log.info("规则集 {} 编译完成，{} 个条件中 {} 个生成代码，耗时 {} ms", name, total, conditions.size(), System.currentTimeMillis() - start);
+        return compiled;
+    }
+
+    /**
+     * 收集并翻译规则条件，相同的表达式实例只翻译一次
+     *
+     * @param rules      规则
+     * @param translator 翻译器
+     * @param conditions 条件和翻译结果
+     * @param visited    已处理的条件
+     * @return int 条件数量
+     */
+    private static int collect(Collection<Rule> rules, RuleExpressionTranslator translator, Map<RuleExpression, String> conditions,
+                               Set<RuleExpression> visited) {
+        int total = 0;
+        for (Rule rule : rules) {
+            if (rule instanceof CompiledRuleGroup group) {
+                total += collect(group.rules(), translator, conditions, visited);
+            } else if (rule instanceof ExpressionRule expressionRule) {
+                total++;
+                RuleExpression condition = expressionRule.condition();
+                if (!visited.add(condition)) {
+                    continue;
+                }
+                RuleDialectEnum dialect = condition instanceof MVELExpression ? RuleDialectEnum.MVEL
+                        : condition instanceof SpELExpression ? RuleDialectEnum.SPEL : null;
+                String code = dialect == null ? null : translator.translate(condition.expression(), dialect);
+                if (code != null) {
+                    conditions.put(condition, code);
+                } else {
+                    log.debug("规则 {} 的条件不支持生成代码，使用解释执行：{}", rule.getName(), condition.expression());
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 替换规则条件
+     *
+     * @param rule      规则
+     * @param generated 原条件和生成代码的条件
+     * @return {@link Rule }
+     */
+    private static Rule rewrite(Rule rule, Map<RuleExpression, GeneratedExpression> generated) {
+        if (rule instanceof CompiledRuleGroup group) {
+            return group.copy(child -> rewrite(child, generated));
+        }
+        if (rule instanceof ExpressionRule expressionRule) {
+            GeneratedExpression condition = generated.get(expressionRule.condition());
+            if (condition != null) {
+                return new ExpressionRule(rule.getName(), rule.getDescription(), rule.getPriority(), condition, expressionRule.actions());
+            }
+        }
+        return rule;
+    }
+
+    /**
+     * 生成源代码
+     *
+     * @param name       规则集名称
+     * @param className  类名
+     * @param constants  常量字段初始化代码
+     * @param conditions 条件和翻译结果
+     * @return {@link String }
+     */
+    private static String generate(String name, String className, List<String> constants, Map<RuleExpression, String> conditions) {
+        StringBuilder code = new StringBuilder()
+                .append("package ").append(PACKAGE).append(";\n\n")
+                .append("import ").append(GeneratedRuleSupport.class.getName()).append(";\n\n")
+                .append("import java.util.Map;\n")
+                .append("import java.util.function.Predicate;\n\n")
+                .append("// ").append(oneLine(name)).append('\n')
+                .append("public final class ").append(className).append(" implements Predicate<Map<String, Object>> {\n");
+        for (int i = 0; i < constants.size(); i++) {
+            code.append("\n    private static final Object K").append(i).append(" = ").append(constants.get(i)).append(';');
+        }
+        code.append("\n\n    private final int index;\n\n    public ").append(className).append("(int index) {\n        this.index = index;\n    }")
+                .append("\n\n    @Override\n    public boolean test(Map<String, Object> f) {\n        return switch (index) {");
+        for (int i = 0; i < conditions.size(); i++) {
+            code.append("\n            case ").append(i).append(" -> c").append(i).append("(f);");
+        }
+        code.append("\n            default -> throw new IllegalStateException();\n        };\n    }");
+        int index = 0;
+        for (Map.Entry<RuleExpression, String> entry : conditions.entrySet()) {
+            code.append("\n\n    // ").append(oneLine(entry.getKey().expression()))
+                    .append("\n    private static boolean c").append(index++).append("(Map<String, Object> f) {\n        return ")
+                    .append(entry.getValue()).append(";\n    }");
+        }
+        return code.append("\n}\n").toString();
+    }
+
+    /**
+     * 注释内容，去掉换行和可能被解析为 Unicode 转义的反斜杠
+     */
+    private static String oneLine(String text) {
+        return text.replace('\\', '/').replaceAll("\\s+", " ");
+    }
+
+    /**
+     * 在内存中编译并加载
+     *
+     * @param compiler  编译器
+     * @param className 类名
+     * @param code      源代码
+     * @return {@link Class }
+     * @throws IOException            IOException
+     * @throws ClassNotFoundException ClassNotFoundException
+     */
+    private static Class<?> compile(JavaCompiler compiler, String className, String code) throws IOException, ClassNotFoundException {
+        String qualifiedName = PACKAGE + "." + className;
+        JavaFileObject sourceFile = new SimpleJavaFileObject(URI.create("string:///" + qualifiedName.replace('.', '/') + ".java"),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Map<String, byte[]> classes = new HashMap<>();
+        try (MemoryFileManager fileManager = new MemoryFileManager(compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8), classes)) {
+            boolean success = compiler.getTask(null, fileManager, diagnostics, List.of("-proc:none", "-g:none"), null, List.of(sourceFile)).call();
+            if (!success) {
+                throw new IllegalStateException(diagnostics.getDiagnostics().toString());
+            }
+        }
+        return new GeneratedClassLoader(GeneratedRuleSupport.class.getClassLoader(), classes).loadClass(qualifiedName);
+    }
+
+    /**
+     * 内存文件管理器：编译结果写入内存；{@link GeneratedRuleSupport} 从类加载器读取，打包为可执行 jar 时也能被编译器找到
+     */
+    private static final class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+        private final Map<String, byte[]> classes;
+
+        private final JavaFileObject supportClass;
+
+        private MemoryFileManager(StandardJavaFileManager fileManager, Map<String, byte[]> classes) {
+            super(fileManager);
+            this.classes = classes;
+            String resource = GeneratedRuleSupport.class.getName().replace('.', '/') + ".class";
+            this.supportClass = new SimpleJavaFileObject(URI.create("classpath:///" + resource), JavaFileObject.Kind.CLASS) {
+                @Override
+                public InputStream openInputStream() throws IOException {
+                    InputStream in = GeneratedRuleSupport.class.getClassLoader().getResourceAsStream(resource);
+                    if (in == null) {
+                        throw new IOException("找不到 " + resource);
+                    }
+                    return in;
+                }
+            };
+        }
+
+        @Override
+        public Iterable<JavaFileObject> list(Location location, String packageName, Set<JavaFileObject.Kind> kinds, boolean recurse) throws IOException {
+            if (location == StandardLocation.CLASS_PATH && packageName.equals(GeneratedRuleSupport.class.getPackageName())) {
+                return kinds.contains(JavaFileObject.Kind.CLASS) ? List.of(supportClass) : List.of();
+            }
+            return super.list(location, packageName, kinds, recurse);
+        }
+
+        @Override
+        public String inferBinaryName(Location location, JavaFileObject file) {
+            return file == supportClass ? GeneratedRuleSupport.class.getName() : super.inferBinaryName(location, file);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+            return new SimpleJavaFileObject(URI.create("memory:///" + className.replace('.', '/') + kind.extension), kind) {
+                @Override
+                public OutputStream openOutputStream() {
+                    return new ByteArrayOutputStream() {
+                        @Override
+                        public void close() {
+                            classes.put(className, toByteArray());
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    /**
+     * 生成类的类加载器，每个规则集一个
+     */
+    private static final class GeneratedClassLoader extends ClassLoader {
+
+        private final Map<String, byte[]> classes;
+
+        private GeneratedClassLoader(ClassLoader parent, Map<String, byte[]> classes) {
+            super(parent);
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.nexus.common.core.rule;
+
+import com.nexus.common.enums.RuleDialectEnum;
+import lombok.Data;
+import org.jeasy.rules.api.RulesEngineParameters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 规则集定义，由 {@link RuleSource} 加载，{@link RuleRepository} 据此构建 {@link RuleSet}
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Data
+public class RuleSetDefinition {
+
+    /**
+     * 规则集名称
+     */
+    private String name;
+
+    /**
+     * 表达式语言
+     */
+    private RuleDialectEnum dialect = RuleDialectEnum.MVEL;
+
+    /**
+     * 是否把规则条件编译为生成的 Java 代码
+     */
+    private boolean compile;
+
+    /**
+     * 是否记录规则执行统计
+     */
+    private boolean metrics;
+
+    /**
+     * 当一个规则成功应用时，跳过余下的规则
+     */
+    private boolean skipOnFirstAppliedRule;
+
+    /**
+     * 当一个规则失败时，跳过余下的规则
+     */
+    private boolean skipOnFirstFailedRule;
+
+    /**
+     * 当一个规则未触发时，跳过余下的规则
+     */
+    private boolean skipOnFirstNonTriggeredRule;
+
+    /**
+     * 当优先级超过指定的阈值时，跳过余下的规则
+     */
+    private int priorityThreshold = RulesEngineParameters.DEFAULT_RULE_PRIORITY_THRESHOLD;
+
+    /**
+     * 规则模型，复合规则通过 compositeRuleType 和 composingRules 定义
+     */
+    private List<RuleModel> rules = new ArrayList<>();
+}
@@ -0,0 +1,103 @@
+package com.nexus.common.core.rule;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 规则集注册中心
+ * <p>
+ * 按名称保存构建好的 {@link RuleSet}，规则集只构建一次，之后所有请求共享同一个实例；重新注册同名规则集时原子替换，
+ * 正在使用旧规则集的线程不受影响
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Slf4j
+public class RuleSetRegistry {
+
+    /**
+     * 规则集
+     */
+    private static final Map<String, RuleSet> RULE_SETS = new ConcurrentHashMap<>();
+
+    private RuleSetRegistry() {
+    }
+
+    /**
+     * 注册规则集，已存在同名规则集时替换
+     *
+     * @param ruleSet 规则集
+     * @return {@link RuleSet } 被替换的规则集，不存在时返回 null
+     */
+    public static RuleSet register(RuleSet ruleSet) {
+        RuleSet previous = RULE_SETS.put(ruleSet.name(), ruleSet);
+        log.info("注册规则集：{}，规则数量：{}", ruleSet.name(), ruleSet.size());
+        return previous;
+    }
+
+    /**
+     * 获取规则集，不存在时构建并注册，并发获取时只构建一次
+     *
+     * @param name    规则集名称
+     * @param builder 规则集构建方法
+     * @return {@link RuleSet }
+     */
+    public static RuleSet computeIfAbsent(String name, Supplier<RuleSet> builder) {
+        return RULE_SETS.computeIfAbsent(name, key -> {
+            RuleSet ruleSet = builder.get();
+            if (!key.equals(ruleSet.name())) {
+                throw new IllegalArgumentException("规则集名称不一致：" + key + "，" + ruleSet.name());
+            }
+            log.info("注册规则集：{}，规则数量：{}", ruleSet.name(), ruleSet.size());
+            return ruleSet;
+        });
+    }
+
+    /**
+     * 获取规则集
+     *
+     * @param name 规则集名称
+     * @return {@link RuleSet } 不存在时返回 null
+     */
+    public static RuleSet get(String name) {
+        return RULE_SETS.get(name);
+    }
+
+    /**
+     * 获取规则集，不存在时抛出异常
+     *
+     * @param name 规则集名称
+     * @return {@link RuleSet }
+     */
+    public static RuleSet require(String name) {
+        RuleSet ruleSet = RULE_SETS.get(name);
+        if (ruleSet == null) {
+            throw new IllegalArgumentException("规则集不存在：" + name);
+        }
+        return ruleSet;
+    }
+
+    /**
+     * 移除规则集
+     *
+     * @param name 规则集名称
+     * @return {@link RuleSet } 被移除的规则集，不存在时返回 null
+     */
+    public static RuleSet remove(String name) {
+        return RULE_SETS.remove(name);
+    }
+
+    /**
+     * 获取全部规则集名称
+     *
+     * @return {@link Set }<{@link String }>
+     */
+    public static Set<String> names() {
+        return new TreeSet<>(RULE_SETS.keySet());
+    }
+}
@@ -0,0 +1,26 @@
+package com.nexus.common.core.rule;
+
+import java.util.List;
+
+/**
+ * 规则定义来源
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public interface RuleSource {
+
+    /**
+     * 加载全部规则集定义，每次调用都读取最新内容；读取失败时抛出异常，{@link RuleRepository} 继续使用当前版本
+     *
+     * @return {@link List }<{@link RuleSetDefinition }>
+     */
+    List<RuleSetDefinition> load();
+
+    /**
+     * 来源描述，用于日志
+     *
+     * @return {@link String }
+     */
+    String describe();
+}
@@ -0,0 +1,102 @@
+package com.nexus.common.core.rule;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SpEL 表达式，可作为规则条件或规则动作
+ * <p>
+ * 实例由 {@link RuleExpressionCache} 缓存，与 easy-rules 的 SpEL 规则一致：事实既是根对象也是变量，表达式中通过 #名称 引用事实
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Slf4j
+public class SpELExpression implements RuleExpression {
+
+    /**
+     * 表达式
+     */
+    private final String expression;
+
+    /**
+     * 编译后的表达式
+     */
+    private final Expression compiledExpression;
+
+    /**
+     * 缺少即不可能满足的事实
+     */
+    private final Set<String> requiredFacts;
+
+    SpELExpression(String expression, Expression compiledExpression) {
+        this.expression = expression;
+        this.compiledExpression = compiledExpression;
+        this.requiredFacts = RuleFactAnalyzer.spel(compiledExpression);
+    }
+
+    /**
+     * 获取 SpEL 表达式，相同的表达式共享缓存中的同一个实例
+     *
+     * @param expression 表达式
+     * @return {@link SpELExpression }
+     */
+    public static SpELExpression of(String expression) {
+        return RuleExpressionCache.spel(expression);
+    }
+
+    @Override
+    public boolean evaluate(Map<String, Object> factMap) {
+        return Boolean.TRUE.equals(compiledExpression.getValue(context(factMap), Boolean.class));
+    }
+
+    @Override
+    public void execute(Map<String, Object> factMap) {
+        try {
+            compiledExpression.getValue(context(factMap));
+        } catch (Exception e) {
+            log.error("SpEL 表达式执行失败：'{}'，事实：{}", expression, factMap);
+            throw e;
+        }
+    }
+
+    /**
+     * 创建求值上下文，上下文不是线程安全的，每次求值单独创建
+     *
+     * @param factMap 事实映射
+     * @return {@link StandardEvaluationContext }
+     */
+    private static StandardEvaluationContext context(Map<String, Object> factMap) {
+        StandardEvaluationContext context = new StandardEvaluationContext(factMap);
+        context.setVariables(factMap);
+        return context;
+    }
+
+    @Override
+    public String expression() {
+        return expression;
+    }
+
+    /**
+     * 获取编译后的表达式，可使用自定义的求值上下文求值
+     *
+     * @return {@link Expression }
+     */
+    public Expression compiledExpression() {
+        return compiledExpression;
+    }
+
+    @Override
+    public Set<String> requiredFacts() {
+        return requiredFacts;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -0,0 +1,177 @@
+package com.nexus.common.core.rule;
+
+import com.nexus.common.enums.RuleDialectEnum;
+import com.nexus.common.utils.StringUtils;
+import org.jeasy.rules.support.RuleDefinition;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * YAML 目录规则来源
+ * <p>
+ * 目录（包括子目录）中的每个 .yml / .yaml 文件定义一个规则集，只解析基本类型，不创建任意对象：
+ * <pre>
+ * name: order-discount          # 规则集名称，默认为文件名
+ * dialect: mvel                 # mvel 或 spel，默认 mvel
+ * compile: false
+ * metrics: true
+ * skipOnFirstAppliedRule: false
+ * rules:
+ *   - name: vip
+ *     priority: 1
+ *     condition: "user.vip == true"
+ *     actions:
+ *       - "order.discount = 0.9"
+ *   - name: holiday
+ *     compositeRuleType: ActivationRuleGroup
+ *     composingRules:
+ *       - name: ...
+ * </pre>
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class YamlRuleSource implements RuleSource {
+
+    /**
+     * 规则目录
+     */
+    private final Path directory;
+
+    public YamlRuleSource(Path directory) {
+        this.directory = Objects.requireNonNull(directory, "规则目录不能为空");
+    }
+
+    @Override
+    public List<RuleSetDefinition> load() {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            files = paths.filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().matches("(?i).+\\.ya?ml"))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取规则目录失败：" + directory, e);
+        }
+        List<RuleSetDefinition> definitions = new ArrayList<>(files.size());
+        for (Path file : files) {
+            definitions.add(read(file));
+        }
+        return definitions;
+    }
+
+    @Override
+    public String describe() {
+        return "yaml:" + directory;
+    }
+
+    /**
+     * 读取规则集文件
+     *
+     * @param file 文件
+     * @return {@link RuleSetDefinition }
+     */
+    private static RuleSetDefinition read(Path file) {
+        Object document;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            document = new Yaml(new SafeConstructor(new LoaderOptions())).load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取规则文件失败：" + file, e);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("规则文件格式错误：" + file + "，" + e.getMessage(), e);
+        }
+        if (!(document instanceof Map<?, ?> map)) {
+            throw new IllegalArgumentException("规则文件格式错误：" + file + "，根节点必须是对象");
+        }
+        String fileName = file.getFileName().toString();
+        RuleSetDefinition definition = new RuleSetDefinition();
+        definition.setName(StringUtils.defaultIfBlank(string(map, "name"), fileName.substring(0, fileName.lastIndexOf('.'))));
+        String dialect = string(map, "dialect");
+        if (StringUtils.isNotBlank(dialect)) {
+            definition.setDialect(RuleDialectEnum.valueOf(dialect.trim().toUpperCase(Locale.ROOT)));
+        }
+        definition.setCompile(bool(map, "compile", false));
+        definition.setMetrics(bool(map, "metrics", false));
+        definition.setSkipOnFirstAppliedRule(bool(map, "skipOnFirstAppliedRule", false));
+        definition.setSkipOnFirstFailedRule(bool(map, "skipOnFirstFailedRule", false));
+        definition.setSkipOnFirstNonTriggeredRule(bool(map, "skipOnFirstNonTriggeredRule", false));
+        definition.setPriorityThreshold(integer(map, "priorityThreshold", definition.getPriorityThreshold()));
+        try {
+            for (Map<?, ?> rule : maps(map, "rules")) {
+                RuleModel ruleModel = new RuleModel();
+                fill(ruleModel, rule);
+                ruleModel.setEnabled(bool(rule, "enabled", true));
+                definition.getRules().add(ruleModel);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("规则文件格式错误：" + file + "，" + e.getMessage(), e);
+        }
+        return definition;
+    }
+
+    private static void fill(RuleDefinition definition, Map<?, ?> map) {
+        String name = string(map, "name");
+        if (StringUtils.isBlank(name)) {
+            throw new IllegalArgumentException("规则名称不能为空");
+        }
+        definition.setName(name);
+        definition.setDescription(StringUtils.defaultIfBlank(string(map, "description"), definition.getDescription()));
+        definition.setPriority(integer(map, "priority", definition.getPriority()));
+        definition.setCondition(string(map, "condition"));
+        Object actions = map.get("actions");
+        if (actions instanceof List<?> list) {
+            list.forEach(action -> definition.getActions().add(String.valueOf(action)));
+        } else if (actions != null) {
+            definition.getActions().add(String.valueOf(actions));
+        }
+        definition.setCompositeRuleType(string(map, "compositeRuleType"));
+        for (Map<?, ?> child : maps(map, "composingRules")) {
+            RuleDefinition composingRule = new RuleDefinition();
+            fill(composingRule, child);
+            definition.getComposingRules().add(composingRule);
+        }
+    }
+
+    private static String string(Map<?, ?> map, String key) {
+        Object value = map.get(key);
+        return value == null ? null : String.valueOf(value);
+    }
+
+    private static boolean bool(Map<?, ?> map, String key, boolean defaultValue) {
+        Object value = map.get(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(String.valueOf(value));
+    }
+
+    private static int integer(Map<?, ?> map, String key, int defaultValue) {
+        Object value = map.get(key);
+        return value == null ? defaultValue : Integer.parseInt(String.valueOf(value).trim());
+    }
+
+    private static List<Map<?, ?>> maps(Map<?, ?> map, String key) {
+        Object value = map.get(key);
+        if (value == null) {
+            return List.of();
+        }
+        if (!(value instanceof List<?> list)) {
+            throw new IllegalArgumentException(key + " 必须是列表");
+        }
+        List<Map<?, ?>> maps = new ArrayList<>(list.size());
+        for (Object item : list) {
+            if (!(item instanceof Map<?, ?> itemMap)) {
+                throw new IllegalArgumentException(key + " 的元素必须是对象");
+            }
+            maps.add(itemMap);
+        }
+        return maps;
+    }
+}
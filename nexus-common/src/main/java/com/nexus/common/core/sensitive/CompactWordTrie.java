@@ -0,0 +1,591 @@
+package com.nexus.common.core.sensitive;
+
+import com.nexus.common.utils.CollectionUtils;
+import com.nexus.common.utils.StringUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.util.*;
+
+/**
+ * 紧凑敏感词字典树
+ * <p>
+ * 以原始 char 作为键，所有状态的子节点按层序平铺在 char[] / int[] 数组中（CSR 结构），
+ * 每个状态的子节点区间为 [edgeStart[state], edgeStart[state + 1])，区间内字符升序排列。
+ * 数据保存在 {@link IntBuffer} / {@link CharBuffer} 中：构建时包装堆内数组，从二进制快照加载时直接使用内存映射文件的视图，
+ * 两种方式共用同一套查找逻辑。敏感词在构建时经过 {@link WordNormalizer} 归一化，查找时传入的字符也应先归一化。
+ * 构建完成后不可变，查找过程不产生任何对象分配，可被多个线程同时使用
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class CompactWordTrie {
+
+    /**
+     * 根状态
+     */
+    public static final int ROOT = 0;
+
+    /**
+     * 不存在标识
+     */
+    public static final int NONE = -1;
+
+    /**
+     * 默认敏感词分类
+     */
+    public static final String DEFAULT_CATEGORY = "default";
+
+    /**
+     * 子节点数量不超过该值时使用顺序查找，否则使用二分查找
+     */
+    private static final int LINEAR_SCAN_THRESHOLD = 8;
+
+    /**
+     * 对象头大小（字节）
+     */
+    private static final int OBJECT_HEADER = 16;
+
+    /**
+     * 每个状态子节点区间的起始下标，长度为状态数量 + 1
+     */
+    private final IntBuffer edgeStart;
+
+    /**
+     * 子节点字符
+     */
+    private final CharBuffer edgeChars;
+
+    /**
+     * 子节点状态
+     */
+    private final IntBuffer edgeTargets;
+
+    /**
+     * 状态对应的敏感词下标，非结束状态为 -1
+     */
+    private final IntBuffer wordIndex;
+
+    /**
+     * 状态深度
+     */
+    private final IntBuffer depth;
+
+    /**
+     * 敏感词对应的分类下标
+     */
+    private final IntBuffer wordCategory;
+
+    /**
+     * 敏感词分类
+     */
+    private final String[] categories;
+
+    /**
+     * 最大状态深度，即最长敏感词的长度
+     */
+    private final int maxDepth;
+
+    /**
+     * 敏感词（升序），从快照加载时按需由 {@link #wordChars} 还原后缓存
+     */
+    private final String[] words;
+
+    /**
+     * 敏感词字符，仅从快照加载时存在，第 i 个敏感词为 [wordOffset[i], wordOffset[i + 1])
+     */
+    private final CharBuffer wordChars;
+
+    /**
+     * 敏感词字符的起始下标，仅从快照加载时存在，长度为敏感词数量 + 1
+     */
+    private final IntBuffer wordOffset;
+
+    private CompactWordTrie(IntBuffer edgeStart, CharBuffer edgeChars, IntBuffer edgeTargets, IntBuffer wordIndex,
+                            IntBuffer depth, IntBuffer wordCategory, String[] categories, String[] words,
+                            CharBuffer wordChars, IntBuffer wordOffset) {
+        this.edgeStart = edgeStart;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.wordIndex = wordIndex;
+        this.depth = depth;
+        this.wordCategory = wordCategory;
+        this.categories = categories;
+        this.words = words;
+        this.wordChars = wordChars;
+        this.wordOffset = wordOffset;
+        int max = 0;
+        for (int state = 0, size = depth.capacity(); state < size; state++) {
+            max = Math.max(max, depth.get(state));
+        }
+        this.maxDepth = max;
+    }
+
+    /**
+     * 根据敏感词集合构建字典树，所有敏感词归入默认分类
+     *
+     * @param words 敏感词集合
+     * @return {@link CompactWordTrie }
+     */
+    public static CompactWordTrie build(Collection<String> words) {
+        Map<String, String> wordCategories = new HashMap<>(CollectionUtils.getInitialCapacity(words.size()));
+        for (String word : words) {
+            wordCategories.put(word, DEFAULT_CATEGORY);
+        }
+        return build(wordCategories);
+    }
+
+    /**
+     * 根据敏感词及其分类构建字典树，敏感词归一化后相同的只保留其中一个
+     *
+     * @param wordCategories 敏感词和分类映射
+     * @return {@link CompactWordTrie }
+     */
+    public static CompactWordTrie build(Map<String, String> wordCategories) {
+        Map<String, String> normalized = new HashMap<>(CollectionUtils.getInitialCapacity(wordCategories.size()));
+        wordCategories.forEach((word, category) -> {
+            String key = word == null ? "" : WordNormalizer.normalize(word);
+            if (!key.isEmpty()) {
+                normalized.putIfAbsent(key, category);
+            }
+        });
+        String[] sorted = normalized.keySet().stream()
+                .sorted()
+                .toArray(String[]::new);
+        // 分类去重并为每个敏感词记录分类下标
+        Map<String, Integer> categoryIndex = new LinkedHashMap<>();
+        int[] wordCategory = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            String category = StringUtils.defaultIfBlank(normalized.get(sorted[i]), DEFAULT_CATEGORY);
+            wordCategory[i] = categoryIndex.computeIfAbsent(category, key -> categoryIndex.size());
+        }
+        int capacity = 1;
+        for (String word : sorted) {
+            capacity += word.length();
+        }
+        // 每个状态对应有序敏感词数组中共享同一前缀的区间 [rangeFrom, rangeTo)
+        int[] rangeFrom = new int[capacity];
+        int[] rangeTo = new int[capacity];
+        int[] depth = new int[capacity];
+        int[] wordIndex = new int[capacity];
+        int[] edgeStart = new int[capacity + 1];
+        char[] edgeChars = new char[capacity];
+        int[] edgeTargets = new int[capacity];
+        rangeTo[ROOT] = sorted.length;
+        int stateCount = 1;
+        int edgeCount = 0;
+        // 按层序分配状态编号，保证父状态编号总是小于子状态
+        for (int state = 0; state < stateCount; state++) {
+            int from = rangeFrom[state];
+            int to = rangeTo[state];
+            int d = depth[state];
+            wordIndex[state] = NONE;
+            // 有序且去重后，区间内长度等于深度的敏感词最多一个且位于区间开头
+            if (from < to && sorted[from].length() == d) {
+                wordIndex[state] = from++;
+            }
+            edgeStart[state] = edgeCount;
+            while (from < to) {
+                char c = sorted[from].charAt(d);
+                int end = from + 1;
+                while (end < to && sorted[end].charAt(d) == c) {
+                    end++;
+                }
+                int child = stateCount++;
+                rangeFrom[child] = from;
+                rangeTo[child] = end;
+                depth[child] = d + 1;
+                edgeChars[edgeCount] = c;
+                edgeTargets[edgeCount] = child;
+                edgeCount++;
+                from = end;
+            }
+        }
+        edgeStart[stateCount] = edgeCount;
+        return new CompactWordTrie(
+                IntBuffer.wrap(Arrays.copyOf(edgeStart, stateCount + 1)),
+                CharBuffer.wrap(Arrays.copyOf(edgeChars, edgeCount)),
+                IntBuffer.wrap(Arrays.copyOf(edgeTargets, edgeCount)),
+                IntBuffer.wrap(Arrays.copyOf(wordIndex, stateCount)),
+                IntBuffer.wrap(Arrays.copyOf(depth, stateCount)),
+                IntBuffer.wrap(wordCategory),
+                categoryIndex.keySet().toArray(new String[0]),
+                sorted,
+                null,
+                null);
+    }
+
+    /**
+     * 写入二进制快照所需的字节数
+     *
+     * @return int
+     */
+    int serializedSize() {
+        int stateCount = stateCount();
+        int edgeCount = edgeChars.capacity();
+        int wordCount = wordCount();
+        long size = 6L * Integer.BYTES
+                + (long) Integer.BYTES * ((stateCount + 1) + edgeCount + stateCount * 2L + wordCount + (wordCount + 1) + (categories.length + 1))
+                + (long) Character.BYTES * (edgeCount + wordCharCount() + categoryCharCount());
+        return Math.toIntExact(align4(size));
+    }
+
+    /**
+     * 写入二进制快照，整型区段在前、字符区段在后，保证每个区段按自身宽度对齐
+     *
+     * @param out 输出缓冲区，字节序与读取时一致
+     */
+    void write(ByteBuffer out) {
+        int wordCount = wordCount();
+        out.putInt(stateCount()).putInt(edgeChars.capacity()).putInt(wordCount).putInt(categories.length)
+                .putInt(wordCharCount()).putInt(categoryCharCount());
+        putInts(out, edgeStart);
+        putInts(out, edgeTargets);
+        putInts(out, wordIndex);
+        putInts(out, depth);
+        putInts(out, wordCategory);
+        int offset = 0;
+        out.putInt(offset);
+        for (int i = 0; i < wordCount; i++) {
+            offset += word(i).length();
+            out.putInt(offset);
+        }
+        offset = 0;
+        out.putInt(offset);
+        for (String category : categories) {
+            offset += category.length();
+            out.putInt(offset);
+        }
+        out.asCharBuffer().put(edgeChars.duplicate().rewind());
+        out.position(out.position() + edgeChars.capacity() * Character.BYTES);
+        for (int i = 0; i < wordCount; i++) {
+            putChars(out, word(i));
+        }
+        for (String category : categories) {
+            putChars(out, category);
+        }
+        out.position(Math.toIntExact(align4(out.position())));
+    }
+
+    /**
+     * 以二进制快照的内存视图创建字典树，查找时直接读取缓冲区，不复制数据
+     *
+     * @param in 输入缓冲区，读取后位置移动到字典树区段之后
+     * @return {@link CompactWordTrie }
+     */
+    static CompactWordTrie map(ByteBuffer in) {
+        int stateCount = in.getInt();
+        int edgeCount = in.getInt();
+        int wordCount = in.getInt();
+        int categoryCount = in.getInt();
+        int wordCharCount = in.getInt();
+        int categoryCharCount = in.getInt();
+        IntBuffer edgeStart = intSection(in, stateCount + 1);
+        IntBuffer edgeTargets = intSection(in, edgeCount);
+        IntBuffer wordIndex = intSection(in, stateCount);
+        IntBuffer depth = intSection(in, stateCount);
+        IntBuffer wordCategory = intSection(in, wordCount);
+        IntBuffer wordOffset = intSection(in, wordCount + 1);
+        IntBuffer categoryOffset = intSection(in, categoryCount + 1);
+        CharBuffer edgeChars = charSection(in, edgeCount);
+        CharBuffer wordChars = charSection(in, wordCharCount);
+        CharBuffer categoryChars = charSection(in, categoryCharCount);
+        in.position(Math.toIntExact(align4(in.position())));
+        // 分类数量很少，直接还原为字符串
+        String[] categories = new String[categoryCount];
+        for (int i = 0; i < categoryCount; i++) {
+            categories[i] = substring(categoryChars, categoryOffset.get(i), categoryOffset.get(i + 1));
+        }
+        return new CompactWordTrie(edgeStart, edgeChars, edgeTargets, wordIndex, depth, wordCategory, categories,
+                new String[wordCount], wordChars, wordOffset);
+    }
+
+    private int wordCharCount() {
+        if (wordChars != null) {
+            return wordChars.capacity();
+        }
+        int count = 0;
+        for (String word : words) {
+            count += word.length();
+        }
+        return count;
+    }
+
+    private int categoryCharCount() {
+        int count = 0;
+        for (String category : categories) {
+            count += category.length();
+        }
+        return count;
+    }
+
+    private static void putInts(ByteBuffer out, IntBuffer src) {
+        int length = src.capacity();
+        out.asIntBuffer().put(src.duplicate().rewind());
+        out.position(out.position() + length * Integer.BYTES);
+    }
+
+    private static void putChars(ByteBuffer out, String str) {
+        out.asCharBuffer().put(str);
+        out.position(out.position() + str.length() * Character.BYTES);
+    }
+
+    private static IntBuffer intSection(ByteBuffer in, int count) {
+        int position = in.position();
+        in.position(position + count * Integer.BYTES);
+        return in.slice(position, count * Integer.BYTES).order(in.order()).asIntBuffer();
+    }
+
+    private static CharBuffer charSection(ByteBuffer in, int count) {
+        int position = in.position();
+        in.position(position + count * Character.BYTES);
+        return in.slice(position, count * Character.BYTES).order(in.order()).asCharBuffer();
+    }
+
+    private static String substring(CharBuffer chars, int from, int to) {
+        char[] value = new char[to - from];
+        chars.get(from, value);
+        return new String(value);
+    }
+
+    private static long align4(long size) {
+        return (size + 3) & ~3L;
+    }
+
+    /**
+     * 获取子状态
+     *
+     * @param state 当前状态
+     * @param c     归一化后的字符
+     * @return int 子状态，不存在返回 -1
+     */
+    public int child(int state, char c) {
+        int from = edgeStart.get(state);
+        int to = edgeStart.get(state + 1);
+        if (to - from <= LINEAR_SCAN_THRESHOLD) {
+            for (int e = from; e < to; e++) {
+                char key = edgeChars.get(e);
+                if (key == c) {
+                    return edgeTargets.get(e);
+                }
+                if (key > c) {
+                    return NONE;
+                }
+            }
+            return NONE;
+        }
+        int low = from;
+        int high = to - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char key = edgeChars.get(mid);
+            if (key < c) {
+                low = mid + 1;
+            } else if (key > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets.get(mid);
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * 查找敏感词下标
+     *
+     * @param word 归一化后的敏感词
+     * @return int 敏感词下标，不存在返回 -1
+     */
+    public int indexOf(String word) {
+        int state = ROOT;
+        for (int i = 0, length = word.length(); i < length && state != NONE; i++) {
+            state = child(state, word.charAt(i));
+        }
+        return state == NONE ? NONE : wordIndex(state);
+    }
+
+    /**
+     * 子节点区间的起始下标
+     *
+     * @param state 状态
+     * @return int
+     */
+    int edgeFrom(int state) {
+        return edgeStart.get(state);
+    }
+
+    /**
+     * 子节点区间的结束下标（不包含）
+     *
+     * @param state 状态
+     * @return int
+     */
+    int edgeTo(int state) {
+        return edgeStart.get(state + 1);
+    }
+
+    /**
+     * 子节点字符
+     *
+     * @param edge 子节点下标
+     * @return char
+     */
+    char edgeChar(int edge) {
+        return edgeChars.get(edge);
+    }
+
+    /**
+     * 子节点状态
+     *
+     * @param edge 子节点下标
+     * @return int
+     */
+    int edgeTarget(int edge) {
+        return edgeTargets.get(edge);
+    }
+
+    /**
+     * 状态对应的敏感词下标
+     *
+     * @param state 状态
+     * @return int 敏感词下标，非结束状态返回 -1
+     */
+    public int wordIndex(int state) {
+        return wordIndex.get(state);
+    }
+
+    /**
+     * 状态深度
+     *
+     * @param state 状态
+     * @return int
+     */
+    public int depth(int state) {
+        return depth.get(state);
+    }
+
+    /**
+     * 获取敏感词
+     *
+     * @param index 敏感词下标
+     * @return {@link String }
+     */
+    public String word(int index) {
+        String word = words[index];
+        if (word == null) {
+            // 并发还原得到的是相同内容的字符串，重复写入不影响结果
+            word = substring(wordChars, wordOffset.get(index), wordOffset.get(index + 1));
+            words[index] = word;
+        }
+        return word;
+    }
+
+    /**
+     * 获取敏感词分类
+     *
+     * @param index 敏感词下标
+     * @return {@link String }
+     */
+    public String category(int index) {
+        return categories[wordCategory.get(index)];
+    }
+
+    /**
+     * 最大状态深度，即最长敏感词的长度
+     *
+     * @return int
+     */
+    public int maxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * 状态数量
+     *
+     * @return int
+     */
+    public int stateCount() {
+        return wordIndex.capacity();
+    }
+
+    /**
+     * 敏感词数量
+     *
+     * @return int
+     */
+    public int wordCount() {
+        return words.length;
+    }
+
+    /**
+     * 是否直接使用内存映射文件中的数据
+     *
+     * @return boolean
+     */
+    public boolean mapped() {
+        return edgeStart.isDirect();
+    }
+
+    /**
+     * 估算当前结构的内存占用（字节，不含敏感词字符串本身），从快照加载时该部分位于内存映射文件中，不占用堆内存
+     *
+     * @return long
+     */
+    public long footprint() {
+        return intArray(edgeStart.capacity()) + charArray(edgeChars.capacity()) + intArray(edgeTargets.capacity())
+                + intArray(wordIndex.capacity()) + intArray(depth.capacity()) + intArray(wordCategory.capacity());
+    }
+
+    /**
+     * 估算相同敏感词构建为 {@link WordDataTree}（每个节点一个 HashMap&lt;String, WordDataTreeNode&gt;）时的内存占用（字节）
+     *
+     * @return long
+     */
+    public long hashTreeFootprint() {
+        // WordDataTreeNode 对象头 + isEnd + subNodeMap 两个引用
+        long nodeSize = align(OBJECT_HEADER + 8);
+        // HashMap 对象
+        long mapSize = align(OBJECT_HEADER + 32);
+        // HashMap.Node 对象：hash + key + value + next
+        long entrySize = align(OBJECT_HEADER + 16);
+        // 单字符 String 对象及其 byte[]
+        long keySize = align(OBJECT_HEADER + 8) + align(OBJECT_HEADER + 2);
+        int stateCount = stateCount();
+        long total = (long) stateCount * nodeSize;
+        for (int state = 0; state < stateCount; state++) {
+            int size = edgeTo(state) - edgeFrom(state);
+            if (size == 0) {
+                continue;
+            }
+            total += mapSize + intArray(tableSize(size)) + (long) size * (entrySize + keySize);
+        }
+        return total;
+    }
+
+    /**
+     * HashMap 默认负载因子下的桶数组大小
+     *
+     * @param size 元素数量
+     * @return int
+     */
+    private static int tableSize(int size) {
+        int capacity = 16;
+        while (capacity * 0.75 < size) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static long intArray(int length) {
+        return align(OBJECT_HEADER + 4L * length);
+    }
+
+    private static long charArray(int length) {
+        return align(OBJECT_HEADER + 2L * length);
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -1,14 +1,27 @@
 package com.nexus.common.core.sensitive;
 
+import com.nexus.common.core.domain.vo.SensitiveWordCheckVo;
+import com.nexus.common.core.domain.vo.SensitiveWordHitVo;
+import com.nexus.common.enums.SensitiveMatchModeEnum;
+import com.nexus.common.utils.CollectionUtils;
 import com.nexus.common.utils.FileUtils;
 import com.nexus.common.utils.SpringUtils;
 import com.nexus.common.utils.StringUtils;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32;
 
 /**
  * 敏感词
@@ -21,9 +34,14 @@ import java.util.stream.Collectors;
 public class SensitiveWord {
 
     /**
-     * 敏感词数据
+     * 敏感词字典快照，热更新时整体替换
      */
-    private WordDataTree wordData = WordDataTree.newInstance();
+    private final AtomicReference<WordDictionary> dictionary = new AtomicReference<>(WordDictionary.build(0, Collections.emptyMap()));
+
+    /**
+     * 匹配模式，默认使用 AC 自动机，可通过 sensitive.match-mode 切换为字典树
+     */
+    private SensitiveMatchModeEnum matchMode = SensitiveMatchModeEnum.of(SpringUtils.getProperty("sensitive.match-mode"));
 
     /**
      * 默认敏感词文件读取目录
@@ -35,6 +53,11 @@ public class SensitiveWord {
      */
     private final String CUSTOM_PATH = SpringUtils.getProperty("sensitive.path");
 
+    /**
+     * 敏感词二进制快照文件路径，配置后启动时优先加载快照，快照不存在或已过期时从敏感词文件构建并重新导出
+     */
+    private String snapshotPath = SpringUtils.getProperty("sensitive.snapshot-path");
+
     /**
      * 默认替换字符串
      */
@@ -46,9 +69,20 @@ public class SensitiveWord {
     private final String isEnd = "isEnd";
 
     /**
-     * 忽略特殊字符的正则表达式
+     * 默认替换策略，逐字符替换为 sensitive.default-replace-str
+     */
+    private WordReplaceStrategy defaultReplaceStrategy = WordReplaceStrategies.mask(
+            StringUtils.defaultIfEmpty(SpringUtils.getProperty("sensitive.default-replace-str"), DEFAULT_REPLACE_STR));
+
+    /**
+     * 按敏感词分类（敏感词文件名，不含后缀）配置的替换策略
      */
-    private final String IGNORE_SPECIAL_CHAR_REGEX = "[`~!@#$%^&*()+=|{}':;',\\\\\\\\[\\\\\\\\].<>/?~！@#￥%……&*（）——+|{}【】‘；：”“’。，、？]|\\\\s*";
+    private final Map<String, WordReplaceStrategy> categoryReplaceStrategies = new ConcurrentHashMap<>();
+
+    /**
+     * 扫描统计
+     */
+    private final WordTelemetry telemetry = new WordTelemetry();
 
     /**
      * 私有化构造器
@@ -71,8 +105,7 @@ public class SensitiveWord {
      * @return {@link SensitiveWord }
      */
     public SensitiveWord init() {
-        wordData.initWordData(this.loadWord());
-        return this;
+        return this.load(CUSTOM_PATH);
     }
 
     /**
@@ -82,8 +115,7 @@ public class SensitiveWord {
      * @return {@link SensitiveWord }
      */
     public SensitiveWord init(String wordPath) {
-        wordData.initWordData(this.loadWord(wordPath));
-        return this;
+        return this.load(wordPath);
     }
 
     /**
@@ -92,134 +124,314 @@ public class SensitiveWord {
      * @return {@link SensitiveWord }
      */
     public SensitiveWord init(Collection<String> words) {
-        wordData.initWordData(words);
+        Map<String, String> wordCategories = new HashMap<>(CollectionUtils.getInitialCapacity(words.size()));
+        for (String word : words) {
+            wordCategories.put(word, CompactWordTrie.DEFAULT_CATEGORY);
+        }
+        return this.build(wordCategories);
+    }
+
+    /**
+     * 初始化
+     * @param wordCategories 敏感词和分类映射
+     * @return {@link SensitiveWord }
+     */
+    public SensitiveWord init(Map<String, String> wordCategories) {
+        return this.build(wordCategories);
+    }
+
+    /**
+     * 设置匹配模式
+     *
+     * @param matchMode 匹配模式
+     * @return {@link SensitiveWord }
+     */
+    public SensitiveWord matchMode(SensitiveMatchModeEnum matchMode) {
+        this.matchMode = matchMode;
         return this;
     }
 
     /**
-     * 加载敏感词
+     * 设置二进制快照文件路径，需在 {@link #init()} 之前调用
+     *
+     * @param snapshotPath 快照文件路径，为空时不使用快照
+     * @return {@link SensitiveWord }
      */
-    private Set<String> loadWord() {
-        if (StringUtils.isNotBlank(CUSTOM_PATH)) {
-            return readWord(FileUtils.getFilePathListDeep(CUSTOM_PATH));
-        }else {
-            try {
-                return readWordFromByte(FileUtils.getResourceFileBytes(DEFAULT_DIRECTORY, "txt"));
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+    public SensitiveWord snapshotPath(String snapshotPath) {
+        this.snapshotPath = snapshotPath;
+        return this;
+    }
+
+    /**
+     * 设置默认替换策略
+     *
+     * @param replaceStrategy 替换策略
+     * @return {@link SensitiveWord }
+     */
+    public SensitiveWord replaceStrategy(WordReplaceStrategy replaceStrategy) {
+        this.defaultReplaceStrategy = replaceStrategy;
+        return this;
+    }
+
+    /**
+     * 设置指定分类的替换策略
+     *
+     * @param category        敏感词分类
+     * @param replaceStrategy 替换策略
+     * @return {@link SensitiveWord }
+     */
+    public SensitiveWord replaceStrategy(String category, WordReplaceStrategy replaceStrategy) {
+        this.categoryReplaceStrategies.put(category, replaceStrategy);
+        return this;
+    }
+
+    /**
+     * 获取当前敏感词字典快照
+     *
+     * @return {@link WordDictionary }
+     */
+    public WordDictionary dictionary() {
+        return dictionary.get();
+    }
+
+    /**
+     * 获取扫描统计
+     *
+     * @return {@link WordTelemetry }
+     */
+    public WordTelemetry telemetry() {
+        return telemetry;
+    }
+
+    /**
+     * 加载敏感词文件并发布字典快照，配置了二进制快照时优先使用未过期的快照
+     *
+     * @param wordPath 敏感词文件目录或敏感词文件路径，为空时从 classpath 加载
+     * @return {@link SensitiveWord }
+     */
+    private SensitiveWord load(String wordPath) {
+        long version = dictionary().version() + 1;
+        if (StringUtils.isBlank(snapshotPath)) {
+            return this.build(this.loadWord(wordPath));
+        }
+        long fingerprint = sourceFingerprint(wordPath);
+        WordDictionary snapshot = WordDictionarySnapshot.load(Paths.get(snapshotPath), fingerprint, version);
+        if (snapshot != null) {
+            publish(snapshot);
+            return this;
+        }
+        WordDictionary newDictionary = WordDictionary.build(version, this.loadWord(wordPath));
+        publish(newDictionary);
+        saveSnapshot(newDictionary, fingerprint);
+        return this;
+    }
+
+    /**
+     * 是否配置了二进制快照
+     *
+     * @return boolean
+     */
+    boolean snapshotEnabled() {
+        return StringUtils.isNotBlank(snapshotPath);
+    }
+
+    /**
+     * 导出二进制快照，导出失败不影响当前字典的使用
+     *
+     * @param newDictionary 字典快照
+     * @param fingerprint   构建该快照前计算的敏感词源文件指纹
+     */
+    void saveSnapshot(WordDictionary newDictionary, long fingerprint) {
+        if (!snapshotEnabled()) {
+            return;
+        }
+        try {
+            WordDictionarySnapshot.write(newDictionary, fingerprint, Paths.get(snapshotPath));
+        } catch (IOException | RuntimeException e) {
+            log.warn("敏感词快照导出失败：{}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 计算敏感词源文件指纹，由每个文件的分类（文件名）和内容计算，与文件所在的绝对路径和读取顺序无关，
+     * 导出的快照可以复制到其他部署环境使用
+     *
+     * @param wordPath 敏感词文件目录或敏感词文件路径，为空时从 classpath 加载
+     * @return long
+     */
+    long sourceFingerprint(String wordPath) {
+        List<Long> fileFingerprints = new ArrayList<>();
+        try {
+            if (StringUtils.isNotBlank(wordPath)) {
+                for (String path : FileUtils.getFilePathListDeep(wordPath)) {
+                    fileFingerprints.add(fileFingerprint(FileUtils.mainName(path), Files.readAllBytes(Paths.get(path))));
+                }
+            } else {
+                for (Resource resource : FileUtils.getResources(DEFAULT_DIRECTORY, "txt")) {
+                    try (InputStream inputStream = resource.getInputStream()) {
+                        fileFingerprints.add(fileFingerprint(FileUtils.mainName(resource.getFilename()), inputStream.readAllBytes()));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Collections.sort(fileFingerprints);
+        CRC32 crc32 = new CRC32();
+        for (long fileFingerprint : fileFingerprints) {
+            for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+                crc32.update((int) (fileFingerprint >>> shift));
             }
         }
+        return ((long) fileFingerprints.size() << 32) | crc32.getValue();
+    }
+
+    /**
+     * 计算单个敏感词文件的指纹
+     *
+     * @param category 敏感词分类
+     * @param content  文件内容
+     * @return long
+     */
+    private static long fileFingerprint(String category, byte[] content) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(category.getBytes(StandardCharsets.UTF_8));
+        long nameCrc = crc32.getValue();
+        crc32.reset();
+        crc32.update(content);
+        return (nameCrc << 32) | crc32.getValue();
+    }
+
+    /**
+     * 构建并发布敏感词字典快照
+     *
+     * @param wordCategories 敏感词和分类映射
+     * @return {@link SensitiveWord }
+     */
+    private SensitiveWord build(Map<String, String> wordCategories) {
+        publish(WordDictionary.build(dictionary().version() + 1, wordCategories));
+        return this;
+    }
+
+    /**
+     * 发布敏感词字典快照，读取方在下一次匹配时使用新快照
+     *
+     * @param newDictionary 新的敏感词字典快照
+     */
+    void publish(WordDictionary newDictionary) {
+        WordDictionary oldDictionary = dictionary.getAndSet(newDictionary);
+        // 替换后再迁移，替换前在旧快照上产生的命中不会丢失
+        newDictionary.hitCounters().inherit(oldDictionary, newDictionary);
+        CompactWordTrie trie = newDictionary.trie();
+        log.info("敏感词加载完成，版本：{}，敏感词数量：{}，状态数量：{}，匹配模式：{}，紧凑字典树约 {} KB，AC 自动机约 {} KB，HashMap 字典树约 {} KB",
+                newDictionary.version(), trie.wordCount(), trie.stateCount(), matchMode.getCode(),
+                trie.footprint() / 1024, newDictionary.automaton().footprint() / 1024, trie.hashTreeFootprint() / 1024);
     }
 
     /**
      * 加载敏感词
      *
-     * @param wordPath 敏感词文件目录或敏感词文件路径
-     * @return {@link Set }<{@link String }>
+     * @param wordPath 敏感词文件目录或敏感词文件路径，为空时从 classpath 加载
+     * @return {@link Map }<{@link String }, {@link String }> 敏感词和分类映射
      */
-    private Set<String> loadWord(String wordPath) {
-        return readWord(FileUtils.getFilePathListDeep(wordPath));
+    Map<String, String> loadWord(String wordPath) {
+        if (StringUtils.isNotBlank(wordPath)) {
+            return readWord(FileUtils.getFilePathListDeep(wordPath));
+        }else {
+            try {
+                return readWordFromResource(FileUtils.getResources(DEFAULT_DIRECTORY, "txt"));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
     }
 
     /**
      * 读取敏感词
      *
      * @param pathList 敏感词文件路径集合
-     * @return {@link Set}<{@link String}>
+     * @return {@link Map }<{@link String }, {@link String }> 敏感词和分类映射
      */
-    private Set<String> readWord(List<String> pathList) {
-        // 创建一个HashSet来存储敏感词
-        Set<String> wordSet = new HashSet<>();
-        // 遍历敏感词文件路径集合
+    private Map<String, String> readWord(List<String> pathList) {
+        Map<String, String> wordMap = new HashMap<>();
+        // 遍历敏感词文件路径集合，以文件名作为敏感词分类
         for (String path : pathList) {
             try (BufferedReader bufferedReader = new BufferedReader(new FileReader(path))) {
-                // 读取敏感词
-                String sensitiveWord;
-                while ((sensitiveWord = bufferedReader.readLine()) != null) {
-                    // 如果敏感词包含逗号，则将其拆分为多个敏感词
-                    if (sensitiveWord.contains(",")) {
-                        String[] sensitiveWordArr = sensitiveWord.split(",");
-                        // 将拆分后的敏感词添加到HashSet中
-                        wordSet.addAll(Arrays.asList(sensitiveWordArr));
-                    } else {
-                        // 如果敏感词不包含逗号，则直接添加到HashSet中
-                        wordSet.add(sensitiveWord);
-                    }
-                }
+                readWord(bufferedReader, FileUtils.mainName(path), wordMap);
             } catch (IOException e) {
                 e.printStackTrace();
             }
         }
-        // 返回HashSet
-        return wordSet.stream().map(String::trim).filter(StringUtils::isNotBlank).collect(Collectors.toSet());
+        return wordMap;
     }
 
     /**
      * 读取敏感词
-     * @param contents 敏感词字节数组集合
-     * @return {@link Set }<{@link String }>
+     * @param resources 敏感词文件资源集合
+     * @return {@link Map }<{@link String }, {@link String }> 敏感词和分类映射
      */
-    private Set<String> readWordFromByte(List<byte[]> contents) {
-        // 创建一个HashSet来存储敏感词
-        Set<String> wordSet = new HashSet<>();
-        // 遍历敏感词文件路径集合
-        for (byte[] content : contents) {
-            try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content)))) {
-                // 读取敏感词
-                String sensitiveWord;
-                while ((sensitiveWord = bufferedReader.readLine()) != null) {
-                    // 如果敏感词包含逗号，则将其拆分为多个敏感词
-                    if (sensitiveWord.contains(",")) {
-                        String[] sensitiveWordArr = sensitiveWord.split(",");
-                        // 将拆分后的敏感词添加到HashSet中
-                        wordSet.addAll(Arrays.asList(sensitiveWordArr));
-                    } else {
-                        // 如果敏感词不包含逗号，则直接添加到HashSet中
-                        wordSet.add(sensitiveWord);
-                    }
-                }
+    private Map<String, String> readWordFromResource(List<Resource> resources) {
+        Map<String, String> wordMap = new HashMap<>();
+        // 遍历敏感词文件资源集合，以文件名作为敏感词分类
+        for (Resource resource : resources) {
+            try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(resource.getInputStream()))) {
+                readWord(bufferedReader, FileUtils.mainName(resource.getFilename()), wordMap);
             } catch (IOException e) {
                 e.printStackTrace();
             }
         }
-        // 返回HashSet
-        return wordSet.stream().map(String::trim).filter(StringUtils::isNotBlank).collect(Collectors.toSet());
+        return wordMap;
     }
 
     /**
-     * 检查文本中某个文字是否匹配关键词
+     * 逐行读取敏感词
      *
-     * @param text       文本
-     * @param beginIndex 开始索引位置
-     * @return int
+     * @param bufferedReader 读取器
+     * @param category       敏感词分类
+     * @param wordMap        敏感词和分类映射，同一个敏感词以最先读取到的分类为准
+     * @throws IOException IOException
      */
-    private int checkWord(String text, int beginIndex) {
-        if(StringUtils.isBlank(text)){
-            return 0;
-        }
-        boolean is_End = false;
-        int wordLength = 0;
-        WordDataTreeNode currentWordDataNode = wordData.root();
-        int length = text.length();
-        // 从文本的第beginIndex开始匹配
-        for (int i = beginIndex; i < length; i++) {
-            String key = String.valueOf(text.charAt(i));
-            // 获取当前key的下一个节点
-            currentWordDataNode = currentWordDataNode.getSubNode(key);
-            if (currentWordDataNode == null) {
-                break;
-            } else {
-                wordLength++;
-                if (currentWordDataNode.end()) {
-                    is_End = true;
+    private void readWord(BufferedReader bufferedReader, String category, Map<String, String> wordMap) throws IOException {
+        String line;
+        while ((line = bufferedReader.readLine()) != null) {
+            // 如果敏感词包含逗号，则将其拆分为多个敏感词
+            for (String sensitiveWord : line.split(",")) {
+                sensitiveWord = sensitiveWord.trim();
+                if (StringUtils.isNotBlank(sensitiveWord)) {
+                    wordMap.putIfAbsent(sensitiveWord, category);
                 }
             }
         }
-        // 长度必须大于等于1，才是一个词
-        if (wordLength < 1 || !is_End) {
-            wordLength = 0;
+    }
+
+    /**
+     * 扫描文本，回调命中的敏感词，敏感词下标对应扫描时的字典快照
+     * 需要根据下标获取敏感词时，请先通过 {@link #dictionary()} 获取快照，再使用 {@link WordDictionary#match} 扫描
+     *
+     * @param text    文本
+     * @param handler 命中处理器，返回 false 时停止扫描
+     */
+    public void match(String text, WordMatchHandler handler) {
+        match(dictionary(), text, handler);
+    }
+
+    /**
+     * 使用指定的字典快照扫描文本，并记录扫描耗时和文本长度
+     *
+     * @param dict    敏感词字典快照
+     * @param text    文本
+     * @param handler 命中处理器，返回 false 时停止扫描
+     */
+    private void match(WordDictionary dict, String text, WordMatchHandler handler) {
+        if (StringUtils.isBlank(text)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            dict.match(text, matchMode, handler);
+        } finally {
+            telemetry.record(text.length(), System.nanoTime() - start);
         }
-        return wordLength;
     }
 
     /**
@@ -230,24 +442,12 @@ public class SensitiveWord {
      */
     public Map<String, Integer> getMatchedCount(String text) {
         Map<String, Integer> wordMap = new LinkedHashMap<>();
-        if(StringUtils.isBlank(text)){
-            return wordMap;
-        }
-        int length = text.length();
-        for (int i = 0; i < length; i++) {
-            int wordLength = checkWord(text, i);
-            if (wordLength > 0) {
-                String word = text.substring(i, i + wordLength);
-                // 添加关键词匹配次数
-                if (wordMap.containsKey(word)) {
-                    wordMap.put(word, wordMap.get(word) + 1);
-                } else {
-                    wordMap.put(word, 1);
-                }
-                i += wordLength - 1;
-            }
-
-        }
+        WordDictionary dict = dictionary();
+        // 添加关键词匹配次数
+        match(dict, text, (wordIndex, start, end) -> {
+            wordMap.merge(dict.word(wordIndex), 1, Integer::sum);
+            return true;
+        });
         return wordMap;
     }
 
@@ -255,17 +455,39 @@ public class SensitiveWord {
      * 获取匹配的敏感词集合
      *
      * @param text 文本
-     * @return {@link Map}<{@link String}, {@link Integer}> 敏感词和命中次数映射
+     * @return {@link Set}<{@link String}> 敏感词集合
      */
     private Set<String> getMatchedWords(String text) {
         if(StringUtils.isBlank(text)){
             return Collections.emptySet();
         }
-        return getMatchedCount(text).keySet();
+        Set<String> wordSet = new LinkedHashSet<>();
+        WordDictionary dict = dictionary();
+        match(dict, text, (wordIndex, start, end) -> {
+            wordSet.add(dict.word(wordIndex));
+            return true;
+        });
+        return wordSet;
     }
 
     /**
-     * 替换敏感词
+     * 获取匹配到的第一个敏感词
+     *
+     * @param text 文本
+     * @return {@link String }
+     */
+    private String getFirstMatchedWord(String text) {
+        String[] first = new String[1];
+        WordDictionary dict = dictionary();
+        match(dict, text, (wordIndex, start, end) -> {
+            first[0] = dict.word(wordIndex);
+            return false;
+        });
+        return first[0];
+    }
+
+    /**
+     * 替换敏感词，按敏感词分类使用对应的替换策略，未配置的分类使用默认替换策略
      *
      * @param text 文本
      * @return {@link String }
@@ -274,17 +496,8 @@ public class SensitiveWord {
         if (StringUtils.isBlank(text)) {
             return null;
         }
-        // 获取敏感词
-        Set<String> sensitiveWordSet = this.getMatchedWords(text);
-        // 替换敏感词
-        for (String sensitiveWord : sensitiveWordSet) {
-            String str = "";
-            for (int i = 0; i < sensitiveWord.length(); i++) {
-                str += DEFAULT_REPLACE_STR;
-            }
-            text = text.replaceAll(sensitiveWord, str);
-        }
-        return text;
+        WordDictionary dict = dictionary();
+        return replace(dict, text, wordIndex -> categoryReplaceStrategies.getOrDefault(dict.category(wordIndex), defaultReplaceStrategy));
     }
 
     /**
@@ -298,17 +511,139 @@ public class SensitiveWord {
         if (StringUtils.isBlank(text)) {
             return null;
         }
-        // 获取敏感词
-        Set<String> sensitiveWordSet = this.getMatchedWords(text);
-        // 替换敏感词
-        for (String sensitiveWord : sensitiveWordSet) {
-            String str = "";
-            for (int i = 0; i < sensitiveWord.length(); i++) {
-                str += replaceStr;
-            }
-            text = text.replaceAll(sensitiveWord, str);
+        return replace(text, WordReplaceStrategies.mask(replaceStr));
+    }
+
+    /**
+     * 替换敏感词
+     *
+     * @param text            文本
+     * @param replaceStrategy 替换策略
+     * @return {@link String }
+     */
+    public String replace(String text, WordReplaceStrategy replaceStrategy) {
+        if (StringUtils.isBlank(text)) {
+            return null;
+        }
+        return replace(dictionary(), text, wordIndex -> replaceStrategy);
+    }
+
+    /**
+     * 替换敏感词，在匹配过程中直接写入替换结果
+     *
+     * @param dict             敏感词字典快照
+     * @param text             文本
+     * @param strategyResolver 根据敏感词下标获取替换策略
+     * @return {@link String }
+     */
+    private String replace(WordDictionary dict, String text, IntFunction<WordReplaceStrategy> strategyResolver) {
+        WordReplacer replacer = new WordReplacer(text, strategyResolver);
+        match(dict, text, replacer);
+        return replacer.result();
+    }
+
+    /**
+     * 批量检测文本，整批使用同一个字典快照，按 CPU 核数切分为连续的分片后在线程池中并行扫描，
+     * 每个文本只扫描一次，同时得到命中位置和替换结果
+     *
+     * @param texts      文本集合
+     * @param replaceStr 替换字符串，为空时按敏感词分类使用对应的替换策略
+     * @param executor   执行扫描的线程池
+     * @return {@link List }<{@link SensitiveWordCheckVo }> 与文本集合一一对应的检测结果
+     */
+    public List<SensitiveWordCheckVo> check(List<String> texts, String replaceStr, Executor executor) {
+        WordDictionary dict = dictionary();
+        IntFunction<WordReplaceStrategy> strategyResolver;
+        if (StringUtils.isEmpty(replaceStr)) {
+            strategyResolver = wordIndex -> categoryReplaceStrategies.getOrDefault(dict.category(wordIndex), defaultReplaceStrategy);
+        } else {
+            WordReplaceStrategy replaceStrategy = WordReplaceStrategies.mask(replaceStr);
+            strategyResolver = wordIndex -> replaceStrategy;
+        }
+        int size = texts.size();
+        SensitiveWordCheckVo[] results = new SensitiveWordCheckVo[size];
+        int sliceCount = Math.min(size, Runtime.getRuntime().availableProcessors());
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[sliceCount];
+        for (int slice = 0; slice < sliceCount; slice++) {
+            int from = (int) ((long) size * slice / sliceCount);
+            int to = (int) ((long) size * (slice + 1) / sliceCount);
+            futures[slice] = CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    results[i] = check(dict, i, texts.get(i), strategyResolver);
+                }
+            }, executor);
+        }
+        CompletableFuture.allOf(futures).join();
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 检测单个文本
+     *
+     * @param dict             敏感词字典快照
+     * @param index            文本在批次中的下标
+     * @param text             文本
+     * @param strategyResolver 根据敏感词下标获取替换策略
+     * @return {@link SensitiveWordCheckVo }
+     */
+    private SensitiveWordCheckVo check(WordDictionary dict, int index, String text, IntFunction<WordReplaceStrategy> strategyResolver) {
+        if (StringUtils.isBlank(text)) {
+            return new SensitiveWordCheckVo(index, false, 0, Collections.emptyList(), text);
         }
-        return text;
+        List<SensitiveWordHitVo> hits = new ArrayList<>();
+        WordReplacer replacer = new WordReplacer(text, strategyResolver);
+        match(dict, text, (wordIndex, start, end) -> {
+            hits.add(new SensitiveWordHitVo(dict.word(wordIndex), dict.category(wordIndex), start, end));
+            return replacer.hit(wordIndex, start, end);
+        });
+        return new SensitiveWordCheckVo(index, !hits.isEmpty(), hits.size(), hits, replacer.result());
+    }
+
+    /**
+     * 创建流式扫描器，扫描器绑定当前字典快照，始终使用 AC 自动机匹配
+     *
+     * @param handler 命中处理器
+     * @return {@link WordStreamScanner }
+     */
+    public WordStreamScanner scanner(WordStreamHandler handler) {
+        return new WordStreamScanner(dictionary(), handler);
+    }
+
+    /**
+     * 流式扫描输入中的敏感词，不关闭输入
+     *
+     * @param reader  输入
+     * @param handler 命中处理器，返回 false 时停止扫描
+     * @return long 已扫描的字符数量
+     * @throws IOException IOException
+     */
+    public long scan(Reader reader, WordStreamHandler handler) throws IOException {
+        long start = System.nanoTime();
+        long length = scanner(handler).scan(reader);
+        telemetry.record(length, System.nanoTime() - start);
+        return length;
+    }
+
+    /**
+     * 创建替换敏感词的输出流，按敏感词分类使用对应的替换策略，未配置的分类使用默认替换策略
+     *
+     * @param out 目标输出流
+     * @return {@link Writer }
+     */
+    public Writer maskingWriter(Writer out) {
+        WordDictionary dict = dictionary();
+        return new WordMaskingWriter(out, dict, wordIndex -> categoryReplaceStrategies.getOrDefault(dict.category(wordIndex), defaultReplaceStrategy));
+    }
+
+    /**
+     * 创建替换敏感词的输出流
+     *
+     * @param out             目标输出流
+     * @param replaceStrategy 替换策略
+     * @return {@link Writer }
+     */
+    public Writer maskingWriter(Writer out, WordReplaceStrategy replaceStrategy) {
+        return new WordMaskingWriter(out, dictionary(), wordIndex -> replaceStrategy);
     }
 
     /**
@@ -321,7 +656,7 @@ public class SensitiveWord {
         if(StringUtils.isBlank(text)){
             return false;
         }
-        return getMatchedWords(text).size() > 0;
+        return getFirstMatchedWord(text) != null;
     }
 
     /**
@@ -334,7 +669,7 @@ public class SensitiveWord {
         if (StringUtils.isBlank(text)) {
             return null;
         }
-        return findAll(text).stream().findFirst().orElse(null);
+        return getFirstMatchedWord(text);
     }
 
     /**
@@ -0,0 +1,248 @@
+package com.nexus.common.core.sensitive;
+
+import com.nexus.common.utils.StringUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 敏感词热更新
+ * <p>
+ * 所有更新（全量重新加载、增量新增、增量删除）都提交到同一个后台线程串行执行：在当前快照的基础上构建新的字典快照，
+ * 构建完成后通过 {@link SensitiveWord#publish} 原子替换，匹配线程不会被阻塞。全量重新加载时同步更新二进制快照文件。
+ * 配置了敏感词目录时可开启文件监听，目录中的文件发生变化后自动重新加载
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Slf4j
+public class SensitiveWordReloader {
+
+    /**
+     * 文件变化合并等待时间（毫秒），避免批量复制文件时频繁重建
+     */
+    private static final long DEBOUNCE_MILLIS = 500;
+
+    /**
+     * 敏感词
+     */
+    private final SensitiveWord sensitiveWord;
+
+    /**
+     * 敏感词文件目录或敏感词文件路径，为空时从 classpath 加载
+     */
+    private final String wordPath;
+
+    /**
+     * 字典构建线程
+     */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sensitive-word-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 文件监听线程
+     */
+    private Thread watchThread;
+
+    private SensitiveWordReloader(SensitiveWord sensitiveWord, String wordPath) {
+        this.sensitiveWord = sensitiveWord;
+        this.wordPath = wordPath;
+    }
+
+    /**
+     * 创建实例
+     *
+     * @param sensitiveWord 敏感词
+     * @param wordPath      敏感词文件目录或敏感词文件路径，为空时从 classpath 加载
+     * @return {@link SensitiveWordReloader }
+     */
+    public static SensitiveWordReloader newInstance(SensitiveWord sensitiveWord, String wordPath) {
+        return new SensitiveWordReloader(sensitiveWord, wordPath);
+    }
+
+    /**
+     * 重新加载全部敏感词
+     *
+     * @return {@link CompletableFuture }<{@link WordDictionary }> 新的字典快照
+     */
+    public CompletableFuture<WordDictionary> reload() {
+        return submit(current -> {
+            // 先计算指纹再读取敏感词，读取期间文件变化时导出的快照会在下次启动时被判定为过期
+            long fingerprint = sensitiveWord.snapshotEnabled() ? sensitiveWord.sourceFingerprint(wordPath) : 0L;
+            Map<String, String> wordCategories = sensitiveWord.loadWord(wordPath);
+            // 文件被清空或正在替换时不发布空字典，避免敏感词过滤整体失效
+            if (wordCategories.isEmpty() && current.wordCount() > 0) {
+                throw new IllegalStateException("未读取到任何敏感词：" + StringUtils.defaultIfBlank(wordPath, "classpath"));
+            }
+            WordDictionary newDictionary = WordDictionary.build(current.version() + 1, wordCategories);
+            sensitiveWord.saveSnapshot(newDictionary, fingerprint);
+            return newDictionary;
+        });
+    }
+
+    /**
+     * 批量新增敏感词
+     *
+     * @param words    敏感词集合
+     * @param category 敏感词分类
+     * @return {@link CompletableFuture }<{@link WordDictionary }> 新的字典快照
+     */
+    public CompletableFuture<WordDictionary> addWords(Collection<String> words, String category) {
+        return submit(current -> {
+            Map<String, String> wordCategories = current.wordCategories();
+            for (String word : words) {
+                if (StringUtils.isNotBlank(word)) {
+                    wordCategories.put(WordNormalizer.normalize(word), StringUtils.defaultIfBlank(category, CompactWordTrie.DEFAULT_CATEGORY));
+                }
+            }
+            return WordDictionary.build(current.version() + 1, wordCategories);
+        });
+    }
+
+    /**
+     * 批量删除敏感词
+     *
+     * @param words 敏感词集合
+     * @return {@link CompletableFuture }<{@link WordDictionary }> 新的字典快照
+     */
+    public CompletableFuture<WordDictionary> removeWords(Collection<String> words) {
+        return submit(current -> {
+            Map<String, String> wordCategories = current.wordCategories();
+            for (String word : words) {
+                if (StringUtils.isNotBlank(word)) {
+                    wordCategories.remove(WordNormalizer.normalize(word));
+                }
+            }
+            return WordDictionary.build(current.version() + 1, wordCategories);
+        });
+    }
+
+    /**
+     * 提交字典构建任务
+     *
+     * @param builder 根据当前快照构建新的字典快照
+     * @return {@link CompletableFuture }<{@link WordDictionary }>
+     */
+    private CompletableFuture<WordDictionary> submit(Function<WordDictionary, WordDictionary> builder) {
+        return CompletableFuture.supplyAsync(() -> {
+            WordDictionary newDictionary = builder.apply(sensitiveWord.dictionary());
+            sensitiveWord.publish(newDictionary);
+            return newDictionary;
+        }, executor).whenComplete((dictionary, e) -> {
+            if (e != null) {
+                log.error("敏感词字典构建失败，继续使用当前版本：{}", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * 开启敏感词文件监听
+     */
+    public synchronized void watch() {
+        if (watchThread != null) {
+            return;
+        }
+        if (StringUtils.isBlank(wordPath) || !Files.exists(Paths.get(wordPath))) {
+            log.warn("未配置有效的敏感词目录，无法开启敏感词文件监听：{}", wordPath);
+            return;
+        }
+        watchThread = new Thread(this::watchLoop, "sensitive-word-watch");
+        watchThread.setDaemon(true);
+        watchThread.start();
+        log.info("开启敏感词文件监听：{}", wordPath);
+    }
+
+    /**
+     * 监听文件变化并重新加载
+     */
+    private void watchLoop() {
+        Path path = Paths.get(wordPath);
+        Path root = Files.isDirectory(path) ? path : path.getParent();
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            register(watchService, root);
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                // 合并短时间内的多次变化
+                TimeUnit.MILLISECONDS.sleep(DEBOUNCE_MILLIS);
+                boolean changed = drain(key, path);
+                WatchKey next;
+                while ((next = watchService.poll()) != null) {
+                    changed |= drain(next, path);
+                }
+                if (changed) {
+                    register(watchService, root);
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("敏感词文件监听异常：{}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 读取并重置监听事件
+     *
+     * @param key  监听 key
+     * @param path 敏感词文件目录或敏感词文件路径
+     * @return boolean 是否有相关文件变化
+     */
+    private boolean drain(WatchKey key, Path path) {
+        boolean changed = false;
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed = true;
+                continue;
+            }
+            Path changedPath = directory.resolve((Path) event.context());
+            // 监听单个文件时只关心该文件本身
+            changed |= Files.isDirectory(path) || changedPath.equals(path);
+        }
+        key.reset();
+        return changed;
+    }
+
+    /**
+     * 注册目录及其子目录，监听单个文件时只注册文件所在目录
+     *
+     * @param watchService 监听服务
+     * @param root         根目录
+     * @throws IOException IOException
+     */
+    private void register(WatchService watchService, Path root) throws IOException {
+        int maxDepth = Files.isDirectory(Paths.get(wordPath)) ? Integer.MAX_VALUE : 0;
+        try (Stream<Path> paths = Files.walk(root, maxDepth)) {
+            for (Path directory : paths.filter(Files::isDirectory).toList()) {
+                directory.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        }
+    }
+
+    /**
+     * 关闭
+     */
+    public synchronized void shutdown() {
+        if (watchThread != null) {
+            watchThread.interrupt();
+            watchThread = null;
+        }
+        executor.shutdown();
+    }
+}
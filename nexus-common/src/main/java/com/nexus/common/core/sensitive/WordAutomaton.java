@@ -0,0 +1,378 @@
+package com.nexus.common.core.sensitive;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+import static com.nexus.common.core.sensitive.CompactWordTrie.NONE;
+import static com.nexus.common.core.sensitive.CompactWordTrie.ROOT;
+
+/**
+ * 敏感词 AC 自动机（Aho-Corasick）
+ * <p>
+ * 以 {@link CompactWordTrie} 作为 goto 表，附加失败指针和输出链，对文本只做一次线性扫描即可找出所有敏感词，
+ * 构建完成后不可变，可被多个线程同时使用。失败指针和输出链与字典树一样保存在 {@link IntBuffer} 中，可直接使用二进制快照的内存映射视图
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class WordAutomaton {
+
+    /**
+     * 字典树（goto 表）
+     */
+    private final CompactWordTrie trie;
+
+    /**
+     * 失败指针
+     */
+    private final IntBuffer fail;
+
+    /**
+     * 输出链，沿失败指针找到的最近一个结束状态，不存在为 -1
+     */
+    private final IntBuffer outputLink;
+
+    private WordAutomaton(CompactWordTrie trie, IntBuffer fail, IntBuffer outputLink) {
+        this.trie = trie;
+        this.fail = fail;
+        this.outputLink = outputLink;
+    }
+
+    /**
+     * 根据紧凑字典树构建自动机
+     *
+     * @param trie 紧凑字典树
+     * @return {@link WordAutomaton }
+     */
+    public static WordAutomaton build(CompactWordTrie trie) {
+        int size = trie.stateCount();
+        int[] fail = new int[size];
+        int[] outputLink = new int[size];
+        outputLink[ROOT] = NONE;
+        // 字典树状态按层序编号，顺序遍历即可保证父状态的失败指针先于子状态计算
+        for (int state = 0; state < size; state++) {
+            for (int e = trie.edgeFrom(state), to = trie.edgeTo(state); e < to; e++) {
+                int child = trie.edgeTarget(e);
+                if (state == ROOT) {
+                    fail[child] = ROOT;
+                } else {
+                    char c = trie.edgeChar(e);
+                    int f = fail[state];
+                    int target = trie.child(f, c);
+                    while (target == NONE && f != ROOT) {
+                        f = fail[f];
+                        target = trie.child(f, c);
+                    }
+                    fail[child] = target == NONE ? ROOT : target;
+                }
+                int f = fail[child];
+                outputLink[child] = trie.wordIndex(f) != NONE ? f : outputLink[f];
+            }
+        }
+        return new WordAutomaton(trie, IntBuffer.wrap(fail), IntBuffer.wrap(outputLink));
+    }
+
+    /**
+     * 写入二进制快照所需的字节数
+     *
+     * @return int
+     */
+    int serializedSize() {
+        return Math.multiplyExact(fail.capacity(), Integer.BYTES * 2);
+    }
+
+    /**
+     * 写入二进制快照
+     *
+     * @param out 输出缓冲区
+     */
+    void write(ByteBuffer out) {
+        out.asIntBuffer().put(fail.duplicate().rewind()).put(outputLink.duplicate().rewind());
+        out.position(out.position() + serializedSize());
+    }
+
+    /**
+     * 以二进制快照的内存视图创建自动机
+     *
+     * @param trie 紧凑字典树
+     * @param in   输入缓冲区，读取后位置移动到自动机区段之后
+     * @return {@link WordAutomaton }
+     */
+    static WordAutomaton map(CompactWordTrie trie, ByteBuffer in) {
+        int length = trie.stateCount() * Integer.BYTES;
+        int position = in.position();
+        in.position(position + length * 2);
+        return new WordAutomaton(trie,
+                in.slice(position, length).order(in.order()).asIntBuffer(),
+                in.slice(position + length, length).order(in.order()).asIntBuffer());
+    }
+
+    /**
+     * 状态转移
+     *
+     * @param state 当前状态
+     * @param c     字符
+     * @return int 下一个状态
+     */
+    int transition(int state, char c) {
+        while (true) {
+            int target = trie.child(state, c);
+            if (target != NONE) {
+                return target;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = fail.get(state);
+        }
+    }
+
+    /**
+     * 扫描文本，按命中结束位置的顺序回调所有命中的敏感词（包含重叠命中）
+     * <p>
+     * 字符经 {@link WordNormalizer} 查表归一化后再转移状态，跳过字符不推进状态；命中位置为原文中的位置，
+     * 出现跳过字符后用环形缓冲区记录最近 {@link CompactWordTrie#maxDepth()} 个有效字符在原文中的下标，用于还原命中起始位置。
+     * 处于根状态时先经过预过滤器，不可能作为敏感词开头的字符直接跳过
+     *
+     * @param text      文本
+     * @param prefilter 预过滤器
+     * @param handler   命中处理器
+     */
+    public void match(String text, WordPrefilter prefilter, WordMatchHandler handler) {
+        match(text, prefilter, handler, false);
+    }
+
+    /**
+     * 扫描文本，从左到右回调不重叠的最长命中，与字典树逐位置回溯的结果一致
+     * <p>
+     * 仍然只扫描一次文本。每个起始位置只保留最长的命中，当前状态对应的后缀已经越过某个起始位置时，
+     * 之后不会再出现从该位置开始或更靠左的命中，此时按起始位置从左到右确定命中，并丢弃与其重叠的命中
+     *
+     * @param text      文本
+     * @param prefilter 预过滤器
+     * @param handler   命中处理器
+     */
+    public void matchLongest(String text, WordPrefilter prefilter, WordMatchHandler handler) {
+        match(text, prefilter, handler, true);
+    }
+
+    /**
+     * 扫描文本
+     *
+     * @param text      文本
+     * @param prefilter 预过滤器
+     * @param handler   命中处理器
+     * @param longest   是否只回调不重叠的最长命中
+     */
+    private void match(String text, WordPrefilter prefilter, WordMatchHandler handler, boolean longest) {
+        int state = ROOT;
+        int length = text.length();
+        // 有效字符在原文中的下标，未出现跳过字符前有效字符下标与原文下标一致，无需记录
+        int[] positions = null;
+        int mask = 0;
+        int count = 0;
+        // 不重叠模式下尚未确定的命中，出现第一个命中时才创建
+        LongestMatches pending = null;
+        int checked = 0;
+        int firstCharRejected = 0;
+        int bigramRejected = 0;
+        try {
+            for (int i = 0; i < length; i++) {
+                char c = WordNormalizer.fold(text.charAt(i));
+                if (c == WordNormalizer.SKIP) {
+                    if (positions == null) {
+                        positions = new int[Integer.highestOneBit(Math.max(trie.maxDepth(), 1)) << 1];
+                        mask = positions.length - 1;
+                        for (int k = Math.max(0, count - positions.length); k < count; k++) {
+                            positions[k & mask] = k;
+                        }
+                    }
+                    continue;
+                }
+                if (positions != null) {
+                    positions[count & mask] = i;
+                }
+                count++;
+                boolean candidate = true;
+                if (state == ROOT) {
+                    checked++;
+                    if (!prefilter.mayStart(c)) {
+                        firstCharRejected++;
+                        candidate = false;
+                    } else if (i + 1 < length ? !prefilter.mayStart(c, WordNormalizer.fold(text.charAt(i + 1))) : !prefilter.singleChar(c)) {
+                        bigramRejected++;
+                        candidate = false;
+                    }
+                }
+                if (candidate) {
+                    state = transition(state, c);
+                    int hit = trie.wordIndex(state) != NONE ? state : outputLink.get(state);
+                    for (; hit != NONE; hit = outputLink.get(hit)) {
+                        int end = i + 1;
+                        int depth = trie.depth(hit);
+                        int start = positions == null ? end - depth : positions[(count - depth) & mask];
+                        if (!longest) {
+                            if (!handler.hit(trie.wordIndex(hit), start, end)) {
+                                return;
+                            }
+                            continue;
+                        }
+                        if (pending == null) {
+                            pending = new LongestMatches(trie.maxDepth(),
+                                    (wordIndex, hitStart, hitEnd) -> handler.hit(wordIndex, (int) hitStart, (int) hitEnd));
+                        }
+                        pending.offer(count - depth, count, trie.wordIndex(hit), start, end);
+                    }
+                }
+                // 之后的命中只能从当前状态对应的后缀开始，在此之前的起始位置已经确定
+                if (pending != null && !pending.settle(count - trie.depth(state))) {
+                    return;
+                }
+            }
+            if (pending != null) {
+                pending.settle(count);
+            }
+        } finally {
+            prefilter.record(checked, firstCharRejected, bigramRejected);
+        }
+    }
+
+    /**
+     * 不重叠模式下尚未确定的命中
+     * <p>
+     * 按有效字符起始下标保存在环形缓冲区中，每个起始位置只保留最长的命中。尚未确定的起始位置不会早于当前状态对应的后缀，
+     * 与最新的有效字符相距不超过 {@link CompactWordTrie#maxDepth()}，缓冲区不会覆盖尚未确定的命中。
+     * 下标和位置使用 long，{@link WordStreamScanner} 在输入块之间延续同一个实例
+     */
+    static final class LongestMatches {
+
+        private final int mask;
+
+        /**
+         * 命中的有效字符起始下标，用于识别缓冲区中过期的槽位
+         */
+        private final long[] from;
+
+        /**
+         * 命中的有效字符结束下标
+         */
+        private final long[] to;
+
+        private final int[] wordIndex;
+
+        private final long[] start;
+
+        private final long[] end;
+
+        /**
+         * 命中处理器
+         */
+        private final WordStreamScanner.SpanHandler handler;
+
+        /**
+         * 下一个待确定的有效字符起始下标
+         */
+        private long scan;
+
+        LongestMatches(int maxDepth, WordStreamScanner.SpanHandler handler) {
+            int size = Integer.highestOneBit(Math.max(maxDepth, 1)) << 1;
+            this.mask = size - 1;
+            this.from = new long[size];
+            this.to = new long[size];
+            this.wordIndex = new int[size];
+            this.start = new long[size];
+            this.end = new long[size];
+            this.handler = handler;
+            Arrays.fill(from, -1);
+        }
+
+        /**
+         * 记录一个命中，同一起始位置后到的命中结束得更晚，直接覆盖
+         *
+         * @param from      有效字符起始下标
+         * @param to        有效字符结束下标
+         * @param wordIndex 敏感词下标
+         * @param start     原文开始位置
+         * @param end       原文结束位置
+         */
+        void offer(long from, long to, int wordIndex, long start, long end) {
+            if (from < scan) {
+                return;
+            }
+            int slot = (int) (from & mask);
+            this.from[slot] = from;
+            this.to[slot] = to;
+            this.wordIndex[slot] = wordIndex;
+            this.start[slot] = start;
+            this.end[slot] = end;
+        }
+
+        /**
+         * 从左到右回调起始下标小于 settled 的命中，跳过与已回调命中重叠的部分
+         *
+         * @param settled 之后不会再出现起始下标小于该值的命中
+         * @return boolean 处理器返回 false 时返回 false
+         */
+        boolean settle(long settled) {
+            while (scan < settled) {
+                int slot = (int) (scan & mask);
+                if (from[slot] != scan) {
+                    scan++;
+                    continue;
+                }
+                if (!handler.hit(wordIndex[slot], start[slot], end[slot])) {
+                    return false;
+                }
+                scan = to[slot];
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 输出链
+     *
+     * @param state 状态
+     * @return int 沿失败指针找到的最近一个结束状态，不存在返回 -1
+     */
+    int outputLink(int state) {
+        return outputLink.get(state);
+    }
+
+    /**
+     * 获取字典树
+     *
+     * @return {@link CompactWordTrie }
+     */
+    public CompactWordTrie trie() {
+        return trie;
+    }
+
+    /**
+     * 状态数量
+     *
+     * @return int
+     */
+    public int stateCount() {
+        return trie.stateCount();
+    }
+
+    /**
+     * 敏感词数量
+     *
+     * @return int
+     */
+    public int wordCount() {
+        return trie.wordCount();
+    }
+
+    /**
+     * 估算内存占用（字节，不含敏感词字符串本身）
+     *
+     * @return long
+     */
+    public long footprint() {
+        return trie.footprint() + ((16 + 4L * fail.capacity() + 7) & ~7L) * 2;
+    }
+}
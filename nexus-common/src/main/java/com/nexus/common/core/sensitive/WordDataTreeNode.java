@@ -44,7 +44,7 @@ public class WordDataTreeNode {
      * @return boolean
      */
     public boolean end() {
-        return isEnd;
+        return Boolean.TRUE.equals(isEnd);
     }
 
     /**
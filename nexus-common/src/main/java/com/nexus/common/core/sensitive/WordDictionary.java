@@ -0,0 +1,220 @@
+package com.nexus.common.core.sensitive;
+
+import com.nexus.common.enums.SensitiveMatchModeEnum;
+import com.nexus.common.utils.CollectionUtils;
+import com.nexus.common.utils.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 敏感词字典快照
+ * <p>
+ * 由紧凑字典树和 AC 自动机组成，构建完成后不可变。热更新时在后台构建新的快照后整体替换，
+ * 读取方每次匹配只读取一次快照引用，不会阻塞，也不会看到构建到一半的数据
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class WordDictionary {
+
+    /**
+     * 版本号
+     */
+    private final long version;
+
+    /**
+     * 构建时间
+     */
+    private final LocalDateTime buildTime;
+
+    /**
+     * 紧凑字典树
+     */
+    private final CompactWordTrie trie;
+
+    /**
+     * AC 自动机
+     */
+    private final WordAutomaton automaton;
+
+    /**
+     * 预过滤器
+     */
+    private final WordPrefilter prefilter;
+
+    /**
+     * 敏感词命中计数
+     */
+    private final WordHitCounters hitCounters;
+
+    private WordDictionary(long version, CompactWordTrie trie, WordAutomaton automaton) {
+        this.version = version;
+        this.buildTime = LocalDateTime.now();
+        this.trie = trie;
+        this.automaton = automaton;
+        this.prefilter = WordPrefilter.build(trie);
+        this.hitCounters = new WordHitCounters(trie.wordCount());
+    }
+
+    /**
+     * 构建字典快照
+     *
+     * @param version        版本号
+     * @param wordCategories 敏感词和分类映射
+     * @return {@link WordDictionary }
+     */
+    public static WordDictionary build(long version, Map<String, String> wordCategories) {
+        CompactWordTrie trie = CompactWordTrie.build(wordCategories);
+        return new WordDictionary(version, trie, WordAutomaton.build(trie));
+    }
+
+    /**
+     * 使用已构建好的字典树和自动机创建字典快照
+     *
+     * @param version   版本号
+     * @param trie      紧凑字典树
+     * @param automaton AC 自动机
+     * @return {@link WordDictionary }
+     */
+    static WordDictionary of(long version, CompactWordTrie trie, WordAutomaton automaton) {
+        return new WordDictionary(version, trie, automaton);
+    }
+
+    /**
+     * 扫描文本，回调命中的敏感词
+     * 两种模式都从左到右返回不重叠的最长命中，结果一致：AC 自动机模式只扫描一次文本，字典树模式从每个位置回溯。
+     * 需要包含重叠命中的所有命中时使用 {@link WordAutomaton#match}。两种模式都忽略大小写、全角半角差异和敏感词中间夹杂的特殊字符，命中位置为原文中的位置
+     *
+     * @param text         文本
+     * @param matchMode    匹配模式
+     * @param matchHandler 命中处理器，返回 false 时停止扫描
+     */
+    public void match(String text, SensitiveMatchModeEnum matchMode, WordMatchHandler matchHandler) {
+        if (StringUtils.isBlank(text)) {
+            return;
+        }
+        WordMatchHandler handler = (wordIndex, start, end) -> {
+            hitCounters.increment(wordIndex);
+            return matchHandler.hit(wordIndex, start, end);
+        };
+        if (SensitiveMatchModeEnum.AC.equals(matchMode)) {
+            automaton.matchLongest(text, prefilter, handler);
+            return;
+        }
+        int length = text.length();
+        int checked = 0;
+        int firstCharRejected = 0;
+        int bigramRejected = 0;
+        try {
+            for (int i = 0; i < length; i++) {
+                // 命中只从有效字符开始，不可能作为敏感词开头的位置不进入字典树
+                char first = WordNormalizer.fold(text.charAt(i));
+                if (first == WordNormalizer.SKIP) {
+                    continue;
+                }
+                checked++;
+                if (!prefilter.mayStart(first)) {
+                    firstCharRejected++;
+                    continue;
+                }
+                if (i + 1 < length ? !prefilter.mayStart(first, WordNormalizer.fold(text.charAt(i + 1))) : !prefilter.singleChar(first)) {
+                    bigramRejected++;
+                    continue;
+                }
+                int state = CompactWordTrie.ROOT;
+                int matched = CompactWordTrie.NONE;
+                int matchedEnd = i;
+                for (int j = i; j < length; j++) {
+                    char c = WordNormalizer.fold(text.charAt(j));
+                    if (c == WordNormalizer.SKIP) {
+                        continue;
+                    }
+                    state = trie.child(state, c);
+                    if (state == CompactWordTrie.NONE) {
+                        break;
+                    }
+                    if (trie.wordIndex(state) != CompactWordTrie.NONE) {
+                        matched = state;
+                        matchedEnd = j + 1;
+                    }
+                }
+                if (matched != CompactWordTrie.NONE) {
+                    if (!handler.hit(trie.wordIndex(matched), i, matchedEnd)) {
+                        return;
+                    }
+                    i = matchedEnd - 1;
+                }
+            }
+        } finally {
+            prefilter.record(checked, firstCharRejected, bigramRejected);
+        }
+    }
+
+    /**
+     * 导出敏感词和分类映射，用于在当前快照基础上增量构建新快照
+     *
+     * @return {@link Map }<{@link String }, {@link String }>
+     */
+    public Map<String, String> wordCategories() {
+        int wordCount = trie.wordCount();
+        Map<String, String> wordCategories = new HashMap<>(CollectionUtils.getInitialCapacity(wordCount));
+        for (int i = 0; i < wordCount; i++) {
+            wordCategories.put(trie.word(i), trie.category(i));
+        }
+        return wordCategories;
+    }
+
+    /**
+     * 获取敏感词
+     *
+     * @param wordIndex 敏感词下标
+     * @return {@link String }
+     */
+    public String word(int wordIndex) {
+        return trie.word(wordIndex);
+    }
+
+    /**
+     * 获取敏感词分类
+     *
+     * @param wordIndex 敏感词下标
+     * @return {@link String }
+     */
+    public String category(int wordIndex) {
+        return trie.category(wordIndex);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public LocalDateTime buildTime() {
+        return buildTime;
+    }
+
+    public CompactWordTrie trie() {
+        return trie;
+    }
+
+    public WordAutomaton automaton() {
+        return automaton;
+    }
+
+    public WordPrefilter prefilter() {
+        return prefilter;
+    }
+
+    public WordHitCounters hitCounters() {
+        return hitCounters;
+    }
+
+    public int wordCount() {
+        return trie.wordCount();
+    }
+
+    public int stateCount() {
+        return trie.stateCount();
+    }
+}
@@ -0,0 +1,157 @@
+package com.nexus.common.core.sensitive;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.zip.CRC32;
+
+/**
+ * 敏感词字典二进制快照
+ * <p>
+ * 将构建好的紧凑字典树和 AC 自动机按原始数组布局写入文件，启动时通过 {@link FileChannel#map} 映射为只读缓冲区，
+ * 字典树和自动机直接在映射缓冲区上查找，无需读取敏感词文本和重新构建。
+ * 快照头记录敏感词源文件的指纹，源文件发生变化后快照视为过期，由调用方回退到文本加载并重新导出。
+ * <p>
+ * 文件结构（小端序）：魔数、格式版本、源文件指纹、数据区校验和、数据区长度，之后依次为字典树区段和自动机区段
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Slf4j
+public class WordDictionarySnapshot {
+
+    /**
+     * 魔数 NXSW
+     */
+    private static final int MAGIC = 0x4E585357;
+
+    /**
+     * 格式版本，文件结构或字典构建规则变化时递增，旧快照自动失效
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * 文件头长度（字节）
+     */
+    private static final int HEADER_SIZE = 32;
+
+    /**
+     * 字节序
+     */
+    private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private WordDictionarySnapshot() {
+    }
+
+    /**
+     * 加载二进制快照
+     *
+     * @param path        快照文件路径
+     * @param fingerprint 当前敏感词源文件指纹
+     * @param version     字典版本号
+     * @return {@link WordDictionary } 快照不存在、已过期或已损坏时返回 null
+     */
+    public static WordDictionary load(Path path, long fingerprint, long version) {
+        if (!Files.isRegularFile(path)) {
+            log.info("敏感词快照不存在，从敏感词文件加载：{}", path);
+            return null;
+        }
+        long start = System.currentTimeMillis();
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // 映射建立后与通道无关，关闭通道不影响读取
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            log.warn("敏感词快照读取失败，从敏感词文件加载：{}", e.getMessage());
+            return null;
+        }
+        buffer.order(BYTE_ORDER);
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            log.warn("敏感词快照格式不匹配，从敏感词文件加载：{}", path);
+            return null;
+        }
+        if (buffer.getLong() != fingerprint) {
+            log.info("敏感词文件已变化，快照已过期，从敏感词文件加载：{}", path);
+            return null;
+        }
+        long checksum = buffer.getLong();
+        long length = buffer.getLong();
+        if (length != buffer.capacity() - HEADER_SIZE || checksum(buffer.slice(HEADER_SIZE, (int) length)) != checksum) {
+            log.warn("敏感词快照已损坏，从敏感词文件加载：{}", path);
+            return null;
+        }
+        try {
+            CompactWordTrie trie = CompactWordTrie.map(buffer);
+            WordDictionary dictionary = WordDictionary.of(version, trie, WordAutomaton.map(trie, buffer));
+            log.info("敏感词快照加载完成，耗时 {} ms，文件大小 {} KB：{}", System.currentTimeMillis() - start, buffer.capacity() / 1024, path);
+            return dictionary;
+        } catch (RuntimeException e) {
+            log.warn("敏感词快照解析失败，从敏感词文件加载：{}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 导出二进制快照，先写入临时文件再原子替换，正在使用旧快照的映射不受影响
+     *
+     * @param dictionary  字典快照
+     * @param fingerprint 敏感词源文件指纹
+     * @param path        快照文件路径
+     * @throws IOException IOException
+     */
+    public static void write(WordDictionary dictionary, long fingerprint, Path path) throws IOException {
+        CompactWordTrie trie = dictionary.trie();
+        WordAutomaton automaton = dictionary.automaton();
+        int length = Math.addExact(trie.serializedSize(), automaton.serializedSize());
+        ByteBuffer body = ByteBuffer.allocate(length).order(BYTE_ORDER);
+        trie.write(body);
+        automaton.write(body);
+        body.flip();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER)
+                .putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putLong(fingerprint)
+                .putLong(checksum(body.duplicate()))
+                .putLong(length)
+                .flip();
+        Path absolutePath = path.toAbsolutePath();
+        Files.createDirectories(absolutePath.getParent());
+        Path tempPath = Files.createTempFile(absolutePath.getParent(), absolutePath.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                while (body.hasRemaining()) {
+                    channel.write(body);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(tempPath, absolutePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, absolutePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+        log.info("敏感词快照导出完成，敏感词数量：{}，文件大小 {} KB：{}", trie.wordCount(), (HEADER_SIZE + length) / 1024, absolutePath);
+    }
+
+    /**
+     * 计算校验和
+     *
+     * @param buffer 缓冲区
+     * @return long
+     */
+    private static long checksum(ByteBuffer buffer) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(buffer);
+        return crc32.getValue();
+    }
+}
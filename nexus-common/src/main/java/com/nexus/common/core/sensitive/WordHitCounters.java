@@ -0,0 +1,85 @@
+package com.nexus.common.core.sensitive;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 敏感词命中计数
+ * <p>
+ * 按敏感词下标计数，每个敏感词在首次命中时才创建 {@link LongAdder}，从未命中的敏感词只占用一个空引用。
+ * 计数器属于某一个字典快照，替换快照时按敏感词把计数迁移到新快照
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class WordHitCounters {
+
+    /**
+     * 计数器
+     */
+    private final AtomicReferenceArray<LongAdder> counters;
+
+    WordHitCounters(int wordCount) {
+        this.counters = new AtomicReferenceArray<>(wordCount);
+    }
+
+    /**
+     * 命中次数加一
+     *
+     * @param wordIndex 敏感词下标
+     */
+    void increment(int wordIndex) {
+        counter(wordIndex).increment();
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @param wordIndex 敏感词下标
+     * @return long
+     */
+    public long get(int wordIndex) {
+        LongAdder counter = counters.get(wordIndex);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * 敏感词数量
+     *
+     * @return int
+     */
+    public int size() {
+        return counters.length();
+    }
+
+    /**
+     * 从旧快照迁移命中次数，旧快照中已删除的敏感词计数被丢弃
+     *
+     * @param oldDictionary 旧字典快照
+     * @param newDictionary 当前计数器所属的字典快照
+     */
+    void inherit(WordDictionary oldDictionary, WordDictionary newDictionary) {
+        WordHitCounters oldCounters = oldDictionary.hitCounters();
+        for (int i = 0, size = oldCounters.size(); i < size; i++) {
+            long count = oldCounters.get(i);
+            if (count == 0) {
+                continue;
+            }
+            int wordIndex = newDictionary.trie().indexOf(oldDictionary.word(i));
+            if (wordIndex != CompactWordTrie.NONE) {
+                counter(wordIndex).add(count);
+            }
+        }
+    }
+
+    private LongAdder counter(int wordIndex) {
+        LongAdder counter = counters.get(wordIndex);
+        if (counter == null) {
+            counter = new LongAdder();
+            if (!counters.compareAndSet(wordIndex, null, counter)) {
+                counter = counters.get(wordIndex);
+            }
+        }
+        return counter;
+    }
+}
@@ -0,0 +1,199 @@
+package com.nexus.common.core.sensitive;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.function.IntFunction;
+
+/**
+ * 敏感词替换输出流
+ * <p>
+ * 写入的内容经 {@link WordStreamScanner} 扫描后替换敏感词再写入目标输出流，与 {@link SensitiveWord#replace} 一样只替换从左到右不重叠的最长命中，
+ * 同一文本流式替换和一次性替换的结果相同。
+ * 只暂存仍可能成为敏感词一部分的字符（从当前部分匹配的开始位置到末尾），其余字符立即写出，内存占用与输入大小无关。
+ * {@link #flush()} 不会写出暂存的字符，全部写入完成后需要调用 {@link #close()}
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class WordMaskingWriter extends Writer {
+
+    /**
+     * 目标输出流
+     */
+    private final Writer out;
+
+    /**
+     * 根据敏感词下标获取替换策略
+     */
+    private final IntFunction<WordReplaceStrategy> strategyResolver;
+
+    /**
+     * 流式扫描器
+     */
+    private final WordStreamScanner scanner;
+
+    /**
+     * 暂存的字符
+     */
+    private final StringBuilder pending = new StringBuilder();
+
+    /**
+     * 替换结果缓冲区
+     */
+    private final StringBuilder replaced = new StringBuilder();
+
+    /**
+     * 暂存的第一个字符在整个输入中的位置，之前的内容都已写出
+     */
+    private long base;
+
+    /**
+     * 待写入的命中区间开始位置，-1 表示没有待写入的区间
+     */
+    private long spanStart = -1;
+
+    /**
+     * 待写入的命中区间结束位置
+     */
+    private long spanEnd;
+
+    /**
+     * 待写入的命中区间中最长的敏感词下标，用于决定替换策略
+     */
+    private int spanWord;
+
+    /**
+     * 是否已关闭
+     */
+    private boolean closed;
+
+    WordMaskingWriter(Writer out, WordDictionary dictionary, IntFunction<WordReplaceStrategy> strategyResolver) {
+        this.out = out;
+        this.strategyResolver = strategyResolver;
+        this.scanner = new WordStreamScanner(dictionary, this::hit);
+    }
+
+    @Override
+    public void write(char[] chars, int off, int len) throws IOException {
+        ensureOpen();
+        pending.append(chars, off, len);
+        scanner.feed(chars, off, len);
+        drain();
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        ensureOpen();
+        pending.append(str, off, off + len);
+        scanner.feed(str.subSequence(off, off + len));
+        drain();
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        write(new char[]{(char) c}, 0, 1);
+    }
+
+    /**
+     * 命中敏感词
+     *
+     * @param wordIndex 敏感词下标
+     * @param start     开始位置
+     * @param end       结束位置
+     * @return boolean
+     */
+    private boolean hit(int wordIndex, long start, long end) {
+        if (spanStart >= 0 && start < spanEnd) {
+            // 与待写入区间重叠，合并区间
+            if (end - start > spanEnd - spanStart) {
+                spanWord = wordIndex;
+            }
+            spanStart = Math.max(Math.min(spanStart, start), base);
+            spanEnd = Math.max(spanEnd, end);
+            return true;
+        }
+        // 命中开始位置不会早于扫描器报告的最早开始位置，上一个区间已经确定
+        writeSpan();
+        spanStart = Math.max(start, base);
+        spanEnd = end;
+        spanWord = wordIndex;
+        return true;
+    }
+
+    /**
+     * 写出已确定不会再变化的部分
+     *
+     * @throws IOException IOException
+     */
+    private void drain() throws IOException {
+        long safe = scanner.pendingStart();
+        // 后续命中的开始位置不早于 safe，结束于 safe 之前的区间不会再被合并
+        if (spanStart >= 0 && spanEnd <= safe) {
+            writeSpan();
+        }
+        if (!replaced.isEmpty()) {
+            out.append(replaced);
+            replaced.setLength(0);
+        }
+        long plainEnd = spanStart >= 0 ? Math.min(spanStart, safe) : safe;
+        if (plainEnd > base) {
+            int length = (int) (plainEnd - base);
+            out.append(pending, 0, length);
+            pending.delete(0, length);
+            base = plainEnd;
+        }
+    }
+
+    /**
+     * 把区间之前的暂存字符和区间的替换结果按顺序放入替换结果缓冲区
+     */
+    private void writeSpan() {
+        if (spanStart < 0) {
+            return;
+        }
+        int from = (int) (spanStart - base);
+        int to = (int) (spanEnd - base);
+        replaced.append(pending, 0, from);
+        strategyResolver.apply(spanWord).replace(replaced, pending, from, to);
+        pending.delete(0, to);
+        base = spanEnd;
+        spanStart = -1;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /**
+     * 写出已确定的部分，暂存的字符在后续写入或关闭时写出
+     *
+     * @throws IOException IOException
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        out.flush();
+    }
+
+    /**
+     * 写出全部暂存的字符后关闭目标输出流
+     *
+     * @throws IOException IOException
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (out) {
+            scanner.finish();
+            writeSpan();
+            out.append(replaced).append(pending);
+            replaced.setLength(0);
+            pending.setLength(0);
+        }
+    }
+}
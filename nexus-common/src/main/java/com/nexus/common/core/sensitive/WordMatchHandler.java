@@ -0,0 +1,21 @@
+package com.nexus.common.core.sensitive;
+
+/**
+ * 敏感词命中处理器
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@FunctionalInterface
+public interface WordMatchHandler {
+
+    /**
+     * 命中敏感词
+     *
+     * @param wordIndex 敏感词下标
+     * @param start     命中的开始位置（包含）
+     * @param end       命中的结束位置（不包含）
+     * @return boolean 是否继续匹配
+     */
+    boolean hit(int wordIndex, int start, int end);
+}
@@ -0,0 +1,111 @@
+package com.nexus.common.core.sensitive;
+
+/**
+ * 敏感词字符归一化
+ * <p>
+ * 预先计算全部 65536 个 char 的归一化结果：全角转半角、大写转小写，特殊符号、空白和零宽字符归为跳过字符。
+ * 匹配时逐字符查表，跳过字符不推进自动机状态，从而在不修改原文、不额外扫描一遍文本的情况下识别
+ * “敏*感”“ＡＢＣ”“aBc” 等变体；构建字典时对敏感词做同样的归一化
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class WordNormalizer {
+
+    /**
+     * 跳过字符标识（U+FFFF 为非字符码位，不会出现在归一化后的敏感词中）
+     */
+    public static final char SKIP = '\uFFFF';
+
+    /**
+     * 需要跳过的特殊字符
+     */
+    private static final String SKIP_CHARS = "`~!@#$%^&*()+=|{}':;,\\[].<>/?！@#￥%…&*（）—+|{}【】‘；：”“’。，、？·《》「」『』〈〉〔〕";
+
+    /**
+     * 全角字符与对应半角字符的差值
+     */
+    private static final int FULL_WIDTH_OFFSET = 0xFEE0;
+
+    /**
+     * 归一化表
+     */
+    private static final char[] TABLE = new char[Character.MAX_VALUE + 1];
+
+    static {
+        for (int i = 0; i <= Character.MAX_VALUE; i++) {
+            char c = (char) i;
+            char folded = Character.toLowerCase(toHalfWidth(c));
+            TABLE[i] = skip(c) || skip(folded) ? SKIP : folded;
+        }
+    }
+
+    private WordNormalizer() {
+    }
+
+    /**
+     * 全角转半角
+     *
+     * @param c 字符
+     * @return char
+     */
+    private static char toHalfWidth(char c) {
+        if (c == '\u3000') {
+            return ' ';
+        }
+        if (c >= '！' && c <= '～') {
+            return (char) (c - FULL_WIDTH_OFFSET);
+        }
+        return c;
+    }
+
+    /**
+     * 是否为跳过字符
+     *
+     * @param c 字符
+     * @return boolean
+     */
+    private static boolean skip(char c) {
+        return c == SKIP
+                || SKIP_CHARS.indexOf(c) >= 0
+                || Character.isWhitespace(c)
+                || Character.isSpaceChar(c)
+                || Character.isISOControl(c)
+                || Character.getType(c) == Character.FORMAT;
+    }
+
+    /**
+     * 字符归一化
+     *
+     * @param c 字符
+     * @return char 归一化后的字符，跳过字符返回 {@link #SKIP}
+     */
+    public static char fold(char c) {
+        return TABLE[c];
+    }
+
+    /**
+     * 敏感词归一化，去掉跳过字符
+     *
+     * @param word 敏感词
+     * @return {@link String } 归一化后的敏感词，没有变化时返回原字符串
+     */
+    public static String normalize(String word) {
+        int length = word.length();
+        StringBuilder builder = null;
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            char folded = TABLE[c];
+            if (builder == null) {
+                if (folded == c) {
+                    continue;
+                }
+                builder = new StringBuilder(length).append(word, 0, i);
+            }
+            if (folded != SKIP) {
+                builder.append(folded);
+            }
+        }
+        return builder == null ? word : builder.toString();
+    }
+}
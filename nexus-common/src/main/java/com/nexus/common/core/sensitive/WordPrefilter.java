@@ -0,0 +1,175 @@
+package com.nexus.common.core.sensitive;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.nexus.common.core.sensitive.CompactWordTrie.NONE;
+import static com.nexus.common.core.sensitive.CompactWordTrie.ROOT;
+
+/**
+ * 敏感词预过滤器
+ * <p>
+ * 由字典树前两层构建：65536 位的首字符位图，以及前两个字符组成的二元组哈希位图。
+ * 扫描处于根状态时先查位图，不可能作为敏感词开头的位置直接跳过，不进入字典树查找。
+ * 位图只会误判为“可能”，不会漏掉命中；统计数据在每次扫描结束时汇总一次，不影响逐字符的扫描开销
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class WordPrefilter {
+
+    /**
+     * 二元组位图的位数（2 的幂次）
+     */
+    private static final int BIGRAM_BITS = 20;
+
+    /**
+     * 敏感词首字符位图
+     */
+    private final long[] firstChars = new long[(Character.MAX_VALUE + 1) >>> 6];
+
+    /**
+     * 单字符敏感词位图
+     */
+    private final long[] singleChars = new long[(Character.MAX_VALUE + 1) >>> 6];
+
+    /**
+     * 敏感词前两个字符的哈希位图
+     */
+    private final long[] bigrams = new long[1 << (BIGRAM_BITS - 6)];
+
+    /**
+     * 经过预过滤的位置数量
+     */
+    private final LongAdder checked = new LongAdder();
+
+    /**
+     * 首字符位图过滤掉的位置数量
+     */
+    private final LongAdder firstCharRejected = new LongAdder();
+
+    /**
+     * 二元组位图过滤掉的位置数量
+     */
+    private final LongAdder bigramRejected = new LongAdder();
+
+    private WordPrefilter() {
+    }
+
+    /**
+     * 根据字典树构建预过滤器
+     *
+     * @param trie 紧凑字典树
+     * @return {@link WordPrefilter }
+     */
+    public static WordPrefilter build(CompactWordTrie trie) {
+        WordPrefilter prefilter = new WordPrefilter();
+        for (int e = trie.edgeFrom(ROOT), to = trie.edgeTo(ROOT); e < to; e++) {
+            char first = trie.edgeChar(e);
+            int state = trie.edgeTarget(e);
+            set(prefilter.firstChars, first);
+            if (trie.wordIndex(state) != NONE) {
+                set(prefilter.singleChars, first);
+            }
+            for (int e2 = trie.edgeFrom(state), to2 = trie.edgeTo(state); e2 < to2; e2++) {
+                set(prefilter.bigrams, bigram(first, trie.edgeChar(e2)));
+            }
+        }
+        return prefilter;
+    }
+
+    /**
+     * 是否可能作为敏感词的首字符
+     *
+     * @param c 归一化后的字符
+     * @return boolean
+     */
+    public boolean mayStart(char c) {
+        return get(firstChars, c);
+    }
+
+    /**
+     * 首字符通过后，结合下一个字符判断是否可能作为敏感词的开头
+     *
+     * @param c    归一化后的字符
+     * @param next 归一化后的下一个字符，跳过字符按“可能”处理
+     * @return boolean
+     */
+    public boolean mayStart(char c, char next) {
+        return next == WordNormalizer.SKIP || get(singleChars, c) || get(bigrams, bigram(c, next));
+    }
+
+    /**
+     * 是否为单字符敏感词，用于文本最后一个字符
+     *
+     * @param c 归一化后的字符
+     * @return boolean
+     */
+    public boolean singleChar(char c) {
+        return get(singleChars, c);
+    }
+
+    /**
+     * 汇总一次扫描的统计数据
+     *
+     * @param checkedCount           经过预过滤的位置数量
+     * @param firstCharRejectedCount 首字符位图过滤掉的位置数量
+     * @param bigramRejectedCount    二元组位图过滤掉的位置数量
+     */
+    void record(int checkedCount, int firstCharRejectedCount, int bigramRejectedCount) {
+        if (checkedCount == 0) {
+            return;
+        }
+        checked.add(checkedCount);
+        firstCharRejected.add(firstCharRejectedCount);
+        bigramRejected.add(bigramRejectedCount);
+    }
+
+    /**
+     * 经过预过滤的位置数量
+     *
+     * @return long
+     */
+    public long checked() {
+        return checked.sum();
+    }
+
+    /**
+     * 首字符位图过滤掉的位置数量
+     *
+     * @return long
+     */
+    public long firstCharRejected() {
+        return firstCharRejected.sum();
+    }
+
+    /**
+     * 二元组位图过滤掉的位置数量
+     *
+     * @return long
+     */
+    public long bigramRejected() {
+        return bigramRejected.sum();
+    }
+
+    /**
+     * 过滤率，即无需进入字典树查找的位置占比
+     *
+     * @return double
+     */
+    public double rejectRate() {
+        long checkedCount = checked();
+        return checkedCount == 0 ? 0 : (double) (firstCharRejected() + bigramRejected()) / checkedCount;
+    }
+
+    private static int bigram(char first, char second) {
+        return (((first << 16) | second) * 0x9E3779B1) >>> (Integer.SIZE - BIGRAM_BITS);
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static boolean get(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+}
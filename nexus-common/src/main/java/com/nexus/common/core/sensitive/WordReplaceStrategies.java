@@ -0,0 +1,74 @@
+package com.nexus.common.core.sensitive;
+
+/**
+ * 敏感词替换策略实例
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class WordReplaceStrategies {
+
+    private WordReplaceStrategies() {
+    }
+
+    /**
+     * 逐字符替换，每个字符替换为一次替换字符串
+     *
+     * @param replaceStr 替换字符串
+     * @return {@link WordReplaceStrategy }
+     */
+    public static WordReplaceStrategy mask(String replaceStr) {
+        if (replaceStr.length() == 1) {
+            char mask = replaceStr.charAt(0);
+            return (out, text, start, end) -> {
+                for (int i = start; i < end; i++) {
+                    out.append(mask);
+                }
+            };
+        }
+        return (out, text, start, end) -> {
+            for (int i = start; i < end; i++) {
+                out.append(replaceStr);
+            }
+        };
+    }
+
+    /**
+     * 整体替换为固定字符串
+     *
+     * @param replacement 替换字符串
+     * @return {@link WordReplaceStrategy }
+     */
+    public static WordReplaceStrategy fixed(String replacement) {
+        return (out, text, start, end) -> out.append(replacement);
+    }
+
+    /**
+     * 保留首尾字符，中间字符逐个替换，长度不超过 2 的敏感词全部替换
+     *
+     * @param replaceStr 替换字符串
+     * @return {@link WordReplaceStrategy }
+     */
+    public static WordReplaceStrategy keepEnds(String replaceStr) {
+        WordReplaceStrategy mask = mask(replaceStr);
+        return (out, text, start, end) -> {
+            if (end - start <= 2) {
+                mask.replace(out, text, start, end);
+                return;
+            }
+            out.append(text.charAt(start));
+            mask.replace(out, text, start + 1, end - 1);
+            out.append(text.charAt(end - 1));
+        };
+    }
+
+    /**
+     * 直接删除敏感词
+     *
+     * @return {@link WordReplaceStrategy }
+     */
+    public static WordReplaceStrategy remove() {
+        return (out, text, start, end) -> {
+        };
+    }
+}
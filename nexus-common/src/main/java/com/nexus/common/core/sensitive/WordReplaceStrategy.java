@@ -0,0 +1,21 @@
+package com.nexus.common.core.sensitive;
+
+/**
+ * 敏感词替换策略
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@FunctionalInterface
+public interface WordReplaceStrategy {
+
+    /**
+     * 将文本中 [start, end) 区间的敏感词替换后写入输出
+     *
+     * @param out   输出
+     * @param text  原文本
+     * @param start 开始位置（包含）
+     * @param end   结束位置（不包含）
+     */
+    void replace(StringBuilder out, CharSequence text, int start, int end);
+}
@@ -0,0 +1,103 @@
+package com.nexus.common.core.sensitive;
+
+import java.util.function.IntFunction;
+
+/**
+ * 敏感词替换器
+ * <p>
+ * 在匹配过程中按命中顺序把替换结果直接写入一个预分配的 {@link StringBuilder}，重叠的命中会合并为一个区间，
+ * 文本没有命中时不会创建任何缓冲区，直接返回原文本
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+class WordReplacer implements WordMatchHandler {
+
+    /**
+     * 原文本
+     */
+    private final String text;
+
+    /**
+     * 根据敏感词下标获取替换策略
+     */
+    private final IntFunction<WordReplaceStrategy> strategyResolver;
+
+    /**
+     * 输出，首次命中时创建
+     */
+    private StringBuilder out;
+
+    /**
+     * 原文本中已写入输出的位置
+     */
+    private int copied;
+
+    /**
+     * 待写入的命中区间开始位置，-1 表示没有待写入的区间
+     */
+    private int spanStart = -1;
+
+    /**
+     * 待写入的命中区间结束位置
+     */
+    private int spanEnd;
+
+    /**
+     * 待写入的命中区间中最长的敏感词下标，用于决定替换策略
+     */
+    private int spanWord;
+
+    WordReplacer(String text, IntFunction<WordReplaceStrategy> strategyResolver) {
+        this.text = text;
+        this.strategyResolver = strategyResolver;
+    }
+
+    @Override
+    public boolean hit(int wordIndex, int start, int end) {
+        if (spanStart >= 0 && start < spanEnd) {
+            // 与待写入区间重叠，合并区间
+            if (end - start > spanEnd - spanStart) {
+                spanWord = wordIndex;
+            }
+            spanStart = Math.max(Math.min(spanStart, start), copied);
+            spanEnd = Math.max(spanEnd, end);
+            return true;
+        }
+        flush();
+        // 已写入输出的部分不再重复替换
+        spanStart = Math.max(start, copied);
+        spanEnd = end;
+        spanWord = wordIndex;
+        return true;
+    }
+
+    /**
+     * 写入待写入的命中区间
+     */
+    private void flush() {
+        if (spanStart < 0) {
+            return;
+        }
+        if (out == null) {
+            out = new StringBuilder(text.length() + 16);
+        }
+        out.append(text, copied, spanStart);
+        strategyResolver.apply(spanWord).replace(out, text, spanStart, spanEnd);
+        copied = spanEnd;
+        spanStart = -1;
+    }
+
+    /**
+     * 获取替换结果
+     *
+     * @return {@link String }
+     */
+    String result() {
+        flush();
+        if (out == null) {
+            return text;
+        }
+        return out.append(text, copied, text.length()).toString();
+    }
+}
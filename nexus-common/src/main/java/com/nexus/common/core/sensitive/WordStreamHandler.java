@@ -0,0 +1,21 @@
+package com.nexus.common.core.sensitive;
+
+/**
+ * 流式扫描命中处理器
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@FunctionalInterface
+public interface WordStreamHandler {
+
+    /**
+     * 命中敏感词
+     *
+     * @param word   敏感词（归一化后）
+     * @param offset 命中在整个输入中的开始位置
+     * @param length 命中在原文中的长度（包含夹杂的特殊字符）
+     * @return boolean 是否继续扫描
+     */
+    boolean hit(String word, long offset, int length);
+}
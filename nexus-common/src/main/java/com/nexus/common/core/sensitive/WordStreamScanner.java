@@ -0,0 +1,266 @@
+package com.nexus.common.core.sensitive;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+
+import static com.nexus.common.core.sensitive.CompactWordTrie.NONE;
+import static com.nexus.common.core.sensitive.CompactWordTrie.ROOT;
+
+/**
+ * 敏感词流式扫描器
+ * <p>
+ * 基于 AC 自动机逐块扫描 {@link Reader} / {@link CharBuffer} 等分块输入，自动机状态和最近有效字符的位置在块之间延续，
+ * 跨越块边界的敏感词同样能够命中，命中位置为在整个输入中的位置。与 {@link SensitiveWord#findAll} 和 {@link SensitiveWord#replace} 一样
+ * 从左到右回调不重叠的最长命中，尚未确定的命中同样在块之间延续，输入结束后需要调用 {@link #finish()} 回调最后的命中。
+ * 扫描器绑定创建时的字典快照，不可被多个线程同时使用
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public class WordStreamScanner {
+
+    /**
+     * 读取 {@link Reader} 时的缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * 部分匹配允许跨越的最大字符数，敏感词中间夹杂过多特殊字符时放弃当前部分匹配，保证缓冲内存有上限
+     */
+    static final int MAX_PENDING = 4096;
+
+    /**
+     * 字典快照
+     */
+    private final WordDictionary dictionary;
+
+    /**
+     * AC 自动机
+     */
+    private final WordAutomaton automaton;
+
+    /**
+     * 字典树
+     */
+    private final CompactWordTrie trie;
+
+    /**
+     * 预过滤器
+     */
+    private final WordPrefilter prefilter;
+
+    /**
+     * 尚未确定的命中，确定后回调命中处理器
+     */
+    private final WordAutomaton.LongestMatches matches;
+
+    /**
+     * 最近有效字符在整个输入中的位置（环形缓冲区）
+     */
+    private final long[] positions;
+
+    /**
+     * 环形缓冲区下标掩码
+     */
+    private final int mask;
+
+    /**
+     * 当前状态
+     */
+    private int state = ROOT;
+
+    /**
+     * 已扫描的字符数量
+     */
+    private long offset;
+
+    /**
+     * 已扫描的有效字符数量
+     */
+    private long count;
+
+    /**
+     * 是否已停止扫描
+     */
+    private boolean stopped;
+
+    WordStreamScanner(WordDictionary dictionary, SpanHandler handler) {
+        this.dictionary = dictionary;
+        this.automaton = dictionary.automaton();
+        this.trie = dictionary.trie();
+        this.prefilter = dictionary.prefilter();
+        this.matches = new WordAutomaton.LongestMatches(trie.maxDepth(), (wordIndex, start, end) -> {
+            dictionary.hitCounters().increment(wordIndex);
+            return handler.hit(wordIndex, start, end);
+        });
+        this.positions = new long[Integer.highestOneBit(Math.max(trie.maxDepth(), 1)) << 1];
+        this.mask = positions.length - 1;
+    }
+
+    /**
+     * 创建扫描器
+     *
+     * @param dictionary 字典快照
+     * @param handler    命中处理器
+     */
+    public WordStreamScanner(WordDictionary dictionary, WordStreamHandler handler) {
+        this(dictionary, (SpanHandler) (wordIndex, start, end) -> handler.hit(dictionary.word(wordIndex), start, (int) (end - start)));
+    }
+
+    /**
+     * 扫描一块输入
+     *
+     * @param chunk 输入块
+     * @return boolean 是否继续扫描，处理器要求停止后不再处理后续输入
+     */
+    public boolean feed(CharSequence chunk) {
+        int length = chunk.length();
+        for (int i = 0; i < length && !stopped; i++) {
+            next(chunk.charAt(i));
+        }
+        return !stopped;
+    }
+
+    /**
+     * 扫描一块输入
+     *
+     * @param chars  字符数组
+     * @param off    开始位置
+     * @param length 长度
+     * @return boolean 是否继续扫描
+     */
+    public boolean feed(char[] chars, int off, int length) {
+        for (int i = off, end = off + length; i < end && !stopped; i++) {
+            next(chars[i]);
+        }
+        return !stopped;
+    }
+
+    /**
+     * 扫描缓冲区中剩余的字符，扫描后缓冲区位置移动到末尾
+     *
+     * @param buffer 字符缓冲区
+     * @return boolean 是否继续扫描
+     */
+    public boolean feed(CharBuffer buffer) {
+        while (buffer.hasRemaining() && !stopped) {
+            next(buffer.get());
+        }
+        return !stopped;
+    }
+
+    /**
+     * 扫描 {@link Reader} 直到结束或处理器要求停止，不关闭 {@link Reader}
+     *
+     * @param reader 输入
+     * @return long 已扫描的字符数量
+     * @throws IOException IOException
+     */
+    public long scan(Reader reader) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while (!stopped && (read = reader.read(buffer)) != -1) {
+            feed(buffer, 0, read);
+        }
+        finish();
+        return offset;
+    }
+
+    /**
+     * 输入结束，回调尚未确定的命中
+     *
+     * @return boolean 是否继续扫描
+     */
+    public boolean finish() {
+        if (!stopped && !matches.settle(count)) {
+            stopped = true;
+        }
+        return !stopped;
+    }
+
+    /**
+     * 扫描一个字符
+     *
+     * @param ch 字符
+     */
+    private void next(char ch) {
+        long position = offset++;
+        char c = WordNormalizer.fold(ch);
+        if (c == WordNormalizer.SKIP) {
+            if (state != ROOT && offset - pendingStart() > MAX_PENDING) {
+                state = ROOT;
+                settle();
+            }
+            return;
+        }
+        positions[(int) (count & mask)] = position;
+        count++;
+        // 下一个字符可能位于后续输入块中，流式扫描只使用首字符位图
+        if (state != ROOT || prefilter.mayStart(c)) {
+            state = automaton.transition(state, c);
+            int hit = trie.wordIndex(state) != NONE ? state : automaton.outputLink(state);
+            for (; hit != NONE; hit = automaton.outputLink(hit)) {
+                int depth = trie.depth(hit);
+                matches.offer(count - depth, count, trie.wordIndex(hit), positions[(int) ((count - depth) & mask)], offset);
+            }
+        }
+        settle();
+    }
+
+    /**
+     * 回调起始位置早于当前状态对应后缀的命中，之后不会再出现从这些位置开始的命中
+     */
+    private void settle() {
+        if (!matches.settle(count - trie.depth(state))) {
+            stopped = true;
+        }
+    }
+
+    /**
+     * 后续命中可能的最早开始位置，该位置之前的输入不会再出现新的命中
+     *
+     * @return long
+     */
+    long pendingStart() {
+        if (state == ROOT) {
+            return offset;
+        }
+        return positions[(int) ((count - trie.depth(state)) & mask)];
+    }
+
+    /**
+     * 已扫描的字符数量
+     *
+     * @return long
+     */
+    public long offset() {
+        return offset;
+    }
+
+    /**
+     * 获取字典快照
+     *
+     * @return {@link WordDictionary }
+     */
+    public WordDictionary dictionary() {
+        return dictionary;
+    }
+
+    /**
+     * 命中区间处理器
+     */
+    @FunctionalInterface
+    interface SpanHandler {
+
+        /**
+         * 命中敏感词
+         *
+         * @param wordIndex 敏感词下标
+         * @param start     命中在整个输入中的开始位置（包含）
+         * @param end       命中在整个输入中的结束位置（不包含）
+         * @return boolean 是否继续扫描
+         */
+        boolean hit(int wordIndex, long start, long end);
+    }
+}
@@ -0,0 +1,161 @@
+package com.nexus.common.core.sensitive;
+
+import com.nexus.common.core.domain.vo.SensitiveWordHitCountVo;
+import com.nexus.common.core.domain.vo.SensitiveWordTelemetryVo;
+import com.nexus.common.core.metrics.Log2Histogram;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 敏感词扫描统计
+ * <p>
+ * 记录扫描次数、扫描耗时分布和文本长度分布，结合字典快照上的 {@link WordHitCounters} 生成统计快照。
+ * 定时生成的快照保存在有界的历史队列中，用于观察命中趋势、清理长期未命中的敏感词和评估自动机规模
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Slf4j
+public class WordTelemetry {
+
+    /**
+     * 保留的历史快照数量，按 5 分钟一次约为 1 天
+     */
+    private static final int HISTORY_SIZE = 288;
+
+    /**
+     * 历史快照中保留的高频敏感词数量
+     */
+    private static final int HISTORY_TOP = 10;
+
+    /**
+     * 扫描次数
+     */
+    private final LongAdder scanCount = new LongAdder();
+
+    /**
+     * 扫描耗时分布（纳秒）
+     */
+    private final Log2Histogram latency = new Log2Histogram();
+
+    /**
+     * 文本长度分布
+     */
+    private final Log2Histogram length = new Log2Histogram();
+
+    /**
+     * 历史快照
+     */
+    private final Deque<SensitiveWordTelemetryVo> history = new ArrayDeque<>(HISTORY_SIZE);
+
+    /**
+     * 记录一次扫描
+     *
+     * @param textLength 文本长度
+     * @param nanos      扫描耗时（纳秒）
+     */
+    void record(long textLength, long nanos) {
+        scanCount.increment();
+        latency.record(nanos);
+        length.record(textLength);
+    }
+
+    /**
+     * 生成统计快照
+     *
+     * @param dictionary 敏感词字典快照
+     * @param top        返回命中次数最多的敏感词数量
+     * @return {@link SensitiveWordTelemetryVo }
+     */
+    public SensitiveWordTelemetryVo snapshot(WordDictionary dictionary, int top) {
+        WordHitCounters counters = dictionary.hitCounters();
+        // 小顶堆保留命中次数最多的 top 个敏感词
+        PriorityQueue<long[]> heap = new PriorityQueue<>(Comparator.comparingLong(entry -> entry[1]));
+        long hitCount = 0;
+        int hitWordCount = 0;
+        for (int i = 0, size = counters.size(); i < size; i++) {
+            long hits = counters.get(i);
+            if (hits == 0) {
+                continue;
+            }
+            hitCount += hits;
+            hitWordCount++;
+            if (heap.size() < top) {
+                heap.add(new long[]{i, hits});
+            } else if (top > 0 && heap.peek()[1] < hits) {
+                heap.poll();
+                heap.add(new long[]{i, hits});
+            }
+        }
+        List<SensitiveWordHitCountVo> topWords = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            long[] entry = heap.poll();
+            topWords.add(new SensitiveWordHitCountVo(dictionary.word((int) entry[0]), dictionary.category((int) entry[0]), entry[1]));
+        }
+        Collections.reverse(topWords);
+        return new SensitiveWordTelemetryVo(LocalDateTime.now(), dictionary.version(), dictionary.wordCount(),
+                scanCount.sum(), hitCount, hitWordCount, dictionary.wordCount() - hitWordCount,
+                latency.mean() / 1000, micros(latency.percentile(0.5)), micros(latency.percentile(0.9)),
+                micros(latency.percentile(0.99)), micros(latency.max()),
+                length.mean(), length.percentile(0.5), length.percentile(0.9), length.percentile(0.99), length.max(),
+                topWords);
+    }
+
+    /**
+     * 生成统计快照并放入历史队列，超出容量时丢弃最早的快照
+     *
+     * @param dictionary 敏感词字典快照
+     * @return {@link SensitiveWordTelemetryVo }
+     */
+    public SensitiveWordTelemetryVo takeSnapshot(WordDictionary dictionary) {
+        SensitiveWordTelemetryVo snapshot = snapshot(dictionary, HISTORY_TOP);
+        synchronized (history) {
+            if (history.size() >= HISTORY_SIZE) {
+                history.removeFirst();
+            }
+            history.addLast(snapshot);
+        }
+        log.info("敏感词扫描统计，版本：{}，扫描次数：{}，命中次数：{}，命中敏感词 {} 个，未命中敏感词 {} 个，耗时 P50/P99/MAX：{}/{}/{} μs，文本长度 P50/P99/MAX：{}/{}/{}",
+                snapshot.getVersion(), snapshot.getScanCount(), snapshot.getHitCount(), snapshot.getHitWordCount(), snapshot.getDeadWordCount(),
+                snapshot.getLatencyP50(), snapshot.getLatencyP99(), snapshot.getLatencyMax(),
+                snapshot.getLengthP50(), snapshot.getLengthP99(), snapshot.getLengthMax());
+        return snapshot;
+    }
+
+    /**
+     * 历史快照，按时间升序
+     *
+     * @return {@link List }<{@link SensitiveWordTelemetryVo }>
+     */
+    public List<SensitiveWordTelemetryVo> history() {
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+
+    /**
+     * 从未命中的敏感词，计数随字典快照迁移，统计范围为进程启动以来
+     *
+     * @param dictionary 敏感词字典快照
+     * @param limit      最大返回数量
+     * @return {@link List }<{@link SensitiveWordHitCountVo }>
+     */
+    public List<SensitiveWordHitCountVo> deadWords(WordDictionary dictionary, int limit) {
+        WordHitCounters counters = dictionary.hitCounters();
+        List<SensitiveWordHitCountVo> deadWords = new ArrayList<>();
+        for (int i = 0, size = counters.size(); i < size && deadWords.size() < limit; i++) {
+            if (counters.get(i) == 0) {
+                deadWords.add(new SensitiveWordHitCountVo(dictionary.word(i), dictionary.category(i), 0L));
+            }
+        }
+        return deadWords;
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
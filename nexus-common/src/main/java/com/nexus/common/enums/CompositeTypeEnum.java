@@ -15,6 +15,21 @@ public enum CompositeTypeEnum {
 
     UNIT,
     ACTIVATION,
-    CONDITIONAL
+    CONDITIONAL;
 
+    /**
+     * 解析复合类型，支持枚举名称和 easy-rules 规则组类名（UnitRuleGroup、ActivationRuleGroup、ConditionalRuleGroup），不区分大小写
+     *
+     * @param compositeType 复合类型
+     * @return {@link CompositeTypeEnum }
+     */
+    public static CompositeTypeEnum of(String compositeType) {
+        String type = compositeType == null ? "" : compositeType.trim();
+        for (CompositeTypeEnum value : values()) {
+            if (value.name().equalsIgnoreCase(type) || (value.name() + "RuleGroup").equalsIgnoreCase(type)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("不支持的复合类型：" + compositeType);
+    }
 }
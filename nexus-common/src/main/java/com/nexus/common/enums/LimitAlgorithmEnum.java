@@ -0,0 +1,45 @@
+package com.nexus.common.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 限流算法枚举
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Getter
+@AllArgsConstructor
+public enum LimitAlgorithmEnum {
+
+    /**
+     * 固定窗口计数，窗口边界处最多允许 2 倍的突发
+     */
+    FIXED_WINDOW("fixed"),
+
+    /**
+     * 滑动窗口日志，记录窗口内每次请求的时间，精确但占用内存与请求数成正比
+     */
+    SLIDING_LOG("log"),
+
+    /**
+     * 滑动窗口计数，按上一窗口计数加权估算，每个 key 只保存两个计数
+     */
+    SLIDING_WINDOW("sliding"),
+
+    /**
+     * 令牌桶，按 count / period 的速率补充令牌，最多积累 count 个
+     */
+    TOKEN_BUCKET("bucket"),
+
+    /**
+     * 通用信元速率算法（GCRA），效果与令牌桶一致，每个 key 只保存一个理论到达时间
+     */
+    GCRA("gcra");
+
+    /**
+     * 限流 key 后缀，不同算法的数据结构不同，使用不同的 key
+     */
+    private final String keySuffix;
+}
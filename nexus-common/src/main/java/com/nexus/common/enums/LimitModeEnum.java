@@ -0,0 +1,36 @@
+package com.nexus.common.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 限流模式枚举
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Getter
+@AllArgsConstructor
+public enum LimitModeEnum {
+
+    /**
+     * 每次请求都在 Redis 中按限流算法计数，全局精确
+     */
+    DISTRIBUTED,
+
+    /**
+     * 两级限流：节点从 Redis 令牌桶批量租用许可，在本地扣减，许可不足时异步补充；Redis 响应慢或不可用时退化为节点本地限流
+     */
+    HYBRID,
+
+    /**
+     * 并发限流：count 为同时执行的最大数量，每个节点使用本地信号量，名额已满时按 queueCapacity、queueTimeout 排队或直接拒绝
+     */
+    CONCURRENCY,
+
+    /**
+     * 集群并发限流：先经过本地信号量，再在 Redis 中租用执行名额，count 为全部节点同时执行的最大数量，
+     * period 为租约有效期（秒），执行期间自动续期，节点宕机时租约到期后名额自动释放
+     */
+    CLUSTER_CONCURRENCY
+}
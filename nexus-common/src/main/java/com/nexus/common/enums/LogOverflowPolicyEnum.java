@@ -0,0 +1,30 @@
+package com.nexus.common.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 异步日志队列溢出策略枚举
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Getter
+@AllArgsConstructor
+public enum LogOverflowPolicyEnum {
+
+    /**
+     * 阻塞请求线程等待队列空出位置，超过等待时间后丢弃当前日志
+     */
+    BLOCK,
+
+    /**
+     * 丢弃队列中最旧的日志，写入当前日志
+     */
+    DROP_OLDEST,
+
+    /**
+     * 写入本地溢出文件，队列空闲后由写入线程重新写入数据库
+     */
+    SPILL
+}
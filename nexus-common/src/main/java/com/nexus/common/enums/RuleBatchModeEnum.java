@@ -0,0 +1,21 @@
+package com.nexus.common.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 规则引擎-批量求值模式枚举
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Getter
+@AllArgsConstructor
+public enum RuleBatchModeEnum {
+
+    ORDERED("ordered", "有序：提前终止时以输入顺序中第一条满足终止条件的记录为界，之前的记录全部求值，之后的记录全部丢弃"),
+    UNORDERED("unordered", "无序：任意分片遇到终止条件后所有分片尽快停止，结果只包含已经求值的记录");
+
+    private final String code;
+    private final String info;
+}
@@ -0,0 +1,21 @@
+package com.nexus.common.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 规则引擎-表达式语言枚举
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Getter
+@AllArgsConstructor
+public enum RuleDialectEnum {
+
+    MVEL("mvel", "MVEL 表达式"),
+    SPEL("spel", "SpEL 表达式");
+
+    private final String code;
+    private final String info;
+}
@@ -0,0 +1,36 @@
+package com.nexus.common.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 敏感词匹配模式枚举
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Getter
+@AllArgsConstructor
+public enum SensitiveMatchModeEnum {
+
+    AC("ac", "AC 自动机，单次线性扫描匹配所有敏感词"),
+    TRIE("trie", "字典树，从每个位置回溯匹配最长敏感词");
+
+    private final String code;
+    private final String info;
+
+    /**
+     * 根据编码获取匹配模式，未匹配时默认使用 AC 自动机
+     *
+     * @param code 编码
+     * @return {@link SensitiveMatchModeEnum }
+     */
+    public static SensitiveMatchModeEnum of(String code) {
+        for (SensitiveMatchModeEnum mode : values()) {
+            if (mode.getCode().equalsIgnoreCase(code)) {
+                return mode;
+            }
+        }
+        return AC;
+    }
+}
@@ -125,6 +125,30 @@ public class FileUtils extends FileUtil {
         return contents;
     }
 
+    /**
+     * 获取 resources 目录下的指定文件后缀的所有文件资源
+     * jar 包中可用
+     * @param directoryPath 目录路径，示例：classpath*:/xxx 或者 /xxx(如果不加 classpath*: ，默认会自动拼接上 classpath*: )
+     * @param suffix        文件后缀
+     * @return {@link List }<{@link Resource }>
+     * @throws IOException IOException
+     */
+    public static List<Resource> getResources(String directoryPath, String suffix) throws IOException {
+        // 递归匹配目录下所有指定后缀文件
+        String pattern = directoryPath + "/**/*." + suffix;
+        if (!pattern.startsWith("classpath*:")) {
+            pattern = "classpath*:" + pattern;
+        }
+        Resource[] resources = resourcePatternResolver.getResources(pattern);
+        List<Resource> contents = new ArrayList<>();
+        for (Resource resource : resources) {
+            if (resource.isReadable() && !isDirectory(resource)) {
+                contents.add(resource);
+            }
+        }
+        return contents;
+    }
+
     /**
      * 判断资源是否为目录（JAR包内目录表现为以'/'结尾）
      *
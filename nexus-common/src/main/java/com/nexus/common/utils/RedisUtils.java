@@ -1,10 +1,12 @@
 package com.nexus.common.utils;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.data.redis.core.script.RedisScript;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 
@@ -23,6 +25,12 @@ public class RedisUtils {
      */
     private static final RedisTemplate<String, Object> staticRedisTemplate = SpringUtils.getBean("redisTemplate", RedisTemplate.class);
 
+    /**
+     * 释放锁脚本，只创建一次，SHA1 只计算一次
+     */
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
     private RedisUtils() {
     }
 
@@ -324,12 +332,23 @@ public class RedisUtils {
      * @param script  脚本
      * @param keyList 密钥列表
      * @param args    可选参数列表
-     * @return {@link Long }
+     * @return {@link T } 脚本返回值
      */
-    public static Long execute(RedisScript<Long> script, List<String> keyList, Object... args) {
+    public static <T> T execute(RedisScript<T> script, List<String> keyList, Object... args) {
         return staticRedisTemplate.execute(script, keyList, args);
     }
 
+    /**
+     * 预加载脚本，之后执行脚本时直接通过 EVALSHA 调用，不再传输脚本内容
+     *
+     * @param script 脚本
+     * @return {@link String } 脚本 SHA1
+     */
+    public static String scriptLoad(RedisScript<?> script) {
+        return staticRedisTemplate.execute((RedisCallback<String>) connection ->
+                connection.scriptingCommands().scriptLoad(script.getScriptAsString().getBytes(StandardCharsets.UTF_8)));
+    }
+
     // --------------------------- HyperLogLog ---------------------------
 
     /**
@@ -396,11 +415,7 @@ public class RedisUtils {
      * @return 是否释放成功
      */
     public static Boolean unlock(String key, Object value) {
-        String script = "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
-        DefaultRedisScript<Long> redisScript = new DefaultRedisScript<>();
-        redisScript.setScriptText(script);
-        redisScript.setResultType(Long.class);
-        Long result = staticRedisTemplate.execute(redisScript, Collections.singletonList(key), value);
+        Long result = staticRedisTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(key), value);
         return result != null && result == 1;
     }
 }
@@ -1,10 +1,7 @@
 package com.nexus.common.utils;
 
 
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.SpelCompilerMode;
-import org.springframework.expression.spel.SpelParserConfiguration;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
+import com.nexus.common.core.rule.RuleExpressionCache;
 
 import java.util.regex.Pattern;
 
@@ -31,11 +28,7 @@ public class SpELUtils {
         if (!SAFE_PATTERN.matcher(expression).matches()) {
             throw new IllegalArgumentException("非法表达式");
         }
-
-        ExpressionParser parser = new SpelExpressionParser(
-                new SpelParserConfiguration(SpelCompilerMode.OFF, null)
-        );
-        return parser.parseExpression(expression)
+        return RuleExpressionCache.spel(expression).compiledExpression()
                 .getValue(Integer.class);
     }
 
@@ -48,10 +41,7 @@ public class SpELUtils {
         if (!SAFE_PATTERN.matcher(expression).matches()) {
             throw new IllegalArgumentException("非法表达式");
         }
-        ExpressionParser parser = new SpelExpressionParser(
-                new SpelParserConfiguration(SpelCompilerMode.OFF, null)
-        );
-        return parser.parseExpression(expression)
+        return RuleExpressionCache.spel(expression).compiledExpression()
                 .getValue(Double.class);
     }
 }
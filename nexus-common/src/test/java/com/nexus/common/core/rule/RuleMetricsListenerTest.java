@@ -0,0 +1,70 @@
+package com.nexus.common.core.rule;
+
+import com.nexus.common.core.domain.vo.RuleMetricsVo;
+import com.nexus.common.core.domain.vo.RuleSetMetricsVo;
+import org.jeasy.rules.api.Facts;
+import org.jeasy.rules.api.Rule;
+import org.jeasy.rules.core.RuleBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 规则执行统计测试
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+class RuleMetricsListenerTest {
+
+    @Test
+    void throwingConditionCountedOnce() {
+        RuleSetMetricsVo metrics = fire("metrics-test-error", false);
+        assertEquals(2, metrics.getEvaluationCount());
+        assertEquals(1, metrics.getFailureCount());
+        assertEquals(0, metrics.getSkippedCount());
+        RuleMetricsVo failing = rule(metrics, "failing");
+        assertEquals(1, failing.getEvaluationCount());
+        assertEquals(1, failing.getEvaluationErrorCount());
+        assertEquals(0, failing.getTriggeredCount());
+        assertEquals(1, rule(metrics, "passing").getAppliedCount());
+    }
+
+    @Test
+    void throwingConditionCountedOnceWhenSkippingRemainingRules() {
+        RuleSetMetricsVo metrics = fire("metrics-test-skip", true);
+        assertEquals(1, metrics.getEvaluationCount());
+        assertEquals(1, metrics.getSkippedCount());
+        RuleMetricsVo failing = rule(metrics, "failing");
+        assertEquals(1, failing.getEvaluationCount());
+        assertEquals(1, failing.getEvaluationErrorCount());
+    }
+
+    private static RuleSetMetricsVo fire(String name, boolean skipOnFirstNonTriggeredRule) {
+        Rule failing = new RuleBuilder().name("failing").priority(1)
+                .when(facts -> {
+                    throw new IllegalStateException("condition failed");
+                })
+                .then(facts -> {
+                })
+                .build();
+        Rule passing = new RuleBuilder().name("passing").priority(2)
+                .when(facts -> true)
+                .then(facts -> {
+                })
+                .build();
+        RuleMetrics.reset(name);
+        RuleSet ruleSet = RuleSet.builder(name)
+                .rule(failing)
+                .rule(passing)
+                .skipOnFirstNonTriggeredRule(skipOnFirstNonTriggeredRule)
+                .metrics(true)
+                .build();
+        ruleSet.fire(new Facts());
+        return RuleMetrics.snapshot(name, 10);
+    }
+
+    private static RuleMetricsVo rule(RuleSetMetricsVo metrics, String name) {
+        return metrics.getRules().stream().filter(rule -> name.equals(rule.getName())).findFirst().orElseThrow();
+    }
+}
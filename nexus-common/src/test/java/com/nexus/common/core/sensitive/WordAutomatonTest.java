@@ -0,0 +1,94 @@
+package com.nexus.common.core.sensitive;
+
+import com.nexus.common.enums.SensitiveMatchModeEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AC 自动机匹配测试，与字典树逐位置回溯的结果比较
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+class WordAutomatonTest {
+
+    @Test
+    void overlappingWordsMatchLeftmostLongest() {
+        WordDictionary dict = dictionary("ab", "abc", "bcd", "cd");
+        assertEquals(List.of("abc@1-4"), hits(dict, "xabcd", SensitiveMatchModeEnum.AC));
+        assertEquals(hits(dict, "xabcd", SensitiveMatchModeEnum.TRIE), hits(dict, "xabcd", SensitiveMatchModeEnum.AC));
+    }
+
+    @Test
+    void shorterWordAfterFailedLongerWord() {
+        // 从 0 开始的 abcdef 不成立时取 ab，之后从 2 开始还能命中 cd
+        WordDictionary dict = dictionary("abcdef", "ab", "cd");
+        assertEquals(List.of("ab@0-2", "cd@2-4"), hits(dict, "abcdeX", SensitiveMatchModeEnum.AC));
+        assertEquals(hits(dict, "abcdeX", SensitiveMatchModeEnum.TRIE), hits(dict, "abcdeX", SensitiveMatchModeEnum.AC));
+    }
+
+    @Test
+    void overlappingScanStillReportsAllMatches() {
+        WordDictionary dict = dictionary("ab", "abc", "bcd", "cd");
+        List<String> hits = new ArrayList<>();
+        dict.automaton().match("xabcd", dict.prefilter(), (wordIndex, start, end) ->
+                hits.add(dict.word(wordIndex) + "@" + start + "-" + end));
+        assertEquals(List.of("ab@1-3", "abc@1-4", "bcd@2-5", "cd@3-5"), hits);
+    }
+
+    @Test
+    void randomTextsMatchTrie() {
+        Random random = new Random(20261018);
+        String alphabet = "abcd";
+        // 混入大写、全角和跳过字符，两种模式都应在归一化后的文本上得到相同的命中和原文位置
+        String noise = "abcdABＡｂ*，x ";
+        for (int round = 0; round < 500; round++) {
+            Set<String> words = new HashSet<>();
+            int wordCount = 1 + random.nextInt(20);
+            while (words.size() < wordCount) {
+                words.add(randomString(random, alphabet, 1 + random.nextInt(5)));
+            }
+            WordDictionary dict = dictionary(words.toArray(new String[0]));
+            for (int i = 0; i < 20; i++) {
+                String text = randomString(random, i % 2 == 0 ? alphabet : noise, random.nextInt(60));
+                List<String> expected = hits(dict, text, SensitiveMatchModeEnum.TRIE);
+                assertEquals(expected, hits(dict, text, SensitiveMatchModeEnum.AC), () -> words + " / " + text);
+                assertEquals(expected.isEmpty() ? null : expected.get(0), firstHit(dict, text, SensitiveMatchModeEnum.AC));
+            }
+        }
+    }
+
+    private static WordDictionary dictionary(String... words) {
+        Map<String, String> wordCategories = new HashMap<>();
+        for (String word : words) {
+            wordCategories.put(word, CompactWordTrie.DEFAULT_CATEGORY);
+        }
+        return WordDictionary.build(1, wordCategories);
+    }
+
+    private static List<String> hits(WordDictionary dict, String text, SensitiveMatchModeEnum matchMode) {
+        List<String> hits = new ArrayList<>();
+        dict.match(text, matchMode, (wordIndex, start, end) -> hits.add(dict.word(wordIndex) + "@" + start + "-" + end));
+        return hits;
+    }
+
+    private static String firstHit(WordDictionary dict, String text, SensitiveMatchModeEnum matchMode) {
+        String[] first = new String[1];
+        dict.match(text, matchMode, (wordIndex, start, end) -> {
+            first[0] = dict.word(wordIndex) + "@" + start + "-" + end;
+            return false;
+        });
+        return first[0];
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package com.nexus.common.core.sensitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 敏感词替换输出流测试，流式替换与 {@link SensitiveWord#replace} 的结果一致
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+class WordMaskingWriterTest {
+
+    @Test
+    void overlappingWordsMaskLikeReplace() throws IOException {
+        SensitiveWord sensitiveWord = SensitiveWord.newInstance().init(List.of("ab", "bc"));
+        assertEquals("**c", sensitiveWord.replace("abc"));
+        assertEquals("**c", mask(sensitiveWord, "abc", 1));
+        assertEquals("**c", mask(sensitiveWord, "abc", 3));
+    }
+
+    @Test
+    void randomChunksMatchReplace() throws IOException {
+        Random random = new Random(20261018);
+        for (int round = 0; round < 300; round++) {
+            Set<String> words = new HashSet<>();
+            int wordCount = 1 + random.nextInt(15);
+            while (words.size() < wordCount) {
+                words.add(randomString(random, "abcd", 1 + random.nextInt(5)));
+            }
+            SensitiveWord sensitiveWord = SensitiveWord.newInstance().init(words);
+            for (int i = 0; i < 10; i++) {
+                String text = "x" + randomString(random, "abcdAＢ*， x", random.nextInt(80));
+                String expected = sensitiveWord.replace(text);
+                int chunkSize = 1 + random.nextInt(8);
+                assertEquals(expected, mask(sensitiveWord, text, chunkSize), () -> words + " / " + text + " / " + chunkSize);
+            }
+        }
+    }
+
+    @Test
+    void streamScannerMatchesFindAll() throws IOException {
+        SensitiveWord sensitiveWord = SensitiveWord.newInstance().init(List.of("ab", "bc", "abcd", "cd"));
+        String text = "abcabcdbc";
+        List<String> hits = new ArrayList<>();
+        sensitiveWord.scan(new StringReader(text), (word, offset, length) -> hits.add(word + "@" + offset));
+        assertEquals(List.of("ab@0", "abcd@3", "bc@7"), hits);
+        assertEquals(new LinkedHashSet<>(List.of("ab", "abcd", "bc")), sensitiveWord.findAll(text));
+    }
+
+    private static String mask(SensitiveWord sensitiveWord, String text, int chunkSize) throws IOException {
+        StringWriter out = new StringWriter();
+        try (Writer writer = sensitiveWord.maskingWriter(out)) {
+            for (int i = 0; i < text.length(); i += chunkSize) {
+                writer.write(text, i, Math.min(chunkSize, text.length() - i));
+            }
+        }
+        return out.toString();
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,156 @@
+package com.nexus.common.core.sensitive;
+
+import com.nexus.common.enums.SensitiveMatchModeEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 敏感词预过滤器测试，经过预过滤的扫描结果与不经过预过滤的逐位置匹配一致
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+class WordPrefilterTest {
+
+    /**
+     * 敏感词字符，包含大写和全角字符，归一化后与小写半角字符相同
+     */
+    private static final String WORD_CHARS = "abcdeAＢ";
+
+    /**
+     * 文本字符，额外包含跳过字符和不在敏感词中的字符
+     */
+    private static final String TEXT_CHARS = "abcdeABＣｄ*，。 \txyz";
+
+    @Test
+    void prefilterNeverDropsMatches() {
+        Random random = new Random(20261018);
+        long rejected = 0;
+        for (int round = 0; round < 500; round++) {
+            Set<String> words = new HashSet<>();
+            int wordCount = 1 + random.nextInt(15);
+            while (words.size() < wordCount) {
+                String word = randomString(random, WORD_CHARS, 1 + random.nextInt(4));
+                // 敏感词中间夹杂跳过字符，归一化时去掉
+                if (word.length() > 1 && random.nextInt(4) == 0) {
+                    word = word.charAt(0) + "*" + word.substring(1);
+                }
+                words.add(word);
+            }
+            WordDictionary dict = dictionary(words);
+            for (int i = 0; i < 20; i++) {
+                String text = randomString(random, TEXT_CHARS, random.nextInt(80));
+                List<String> longest = unfilteredLongest(dict, text);
+                assertEquals(longest, hits(dict, text, SensitiveMatchModeEnum.TRIE), () -> words + " / " + text);
+                assertEquals(longest, hits(dict, text, SensitiveMatchModeEnum.AC), () -> words + " / " + text);
+                List<String> all = new ArrayList<>();
+                dict.automaton().match(text, dict.prefilter(), (wordIndex, start, end) -> all.add(hit(dict, wordIndex, start, end)));
+                assertEquals(unfilteredAll(dict, text), all, () -> words + " / " + text);
+            }
+            rejected += dict.prefilter().firstCharRejected() + dict.prefilter().bigramRejected();
+        }
+        assertTrue(rejected > 0);
+    }
+
+    @Test
+    void singleCharWordAtEndAndBeforeSkipChar() {
+        WordDictionary dict = dictionary(Set.of("a", "bc"));
+        assertEquals(List.of("a@2-3"), hits(dict, "xxa", SensitiveMatchModeEnum.AC));
+        assertEquals(List.of("a@2-3"), hits(dict, "xxa", SensitiveMatchModeEnum.TRIE));
+        assertEquals(List.of("bc@0-3"), hits(dict, "b*c", SensitiveMatchModeEnum.AC));
+        assertEquals(List.of("bc@0-3"), hits(dict, "b*c", SensitiveMatchModeEnum.TRIE));
+        assertEquals(List.of("bc@1-4"), hits(dict, "xＢ c", SensitiveMatchModeEnum.AC));
+        assertEquals(List.of("bc@1-4"), hits(dict, "xＢ c", SensitiveMatchModeEnum.TRIE));
+    }
+
+    /**
+     * 不经过预过滤，从每个有效字符开始在字典树中查找最长命中，命中后从命中结束位置继续
+     */
+    private static List<String> unfilteredLongest(WordDictionary dict, String text) {
+        CompactWordTrie trie = dict.trie();
+        List<String> hits = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) {
+            if (WordNormalizer.fold(text.charAt(i)) == WordNormalizer.SKIP) {
+                continue;
+            }
+            int matched = CompactWordTrie.NONE;
+            int matchedEnd = i;
+            int state = CompactWordTrie.ROOT;
+            for (int j = i; j < text.length() && state != CompactWordTrie.NONE; j++) {
+                char c = WordNormalizer.fold(text.charAt(j));
+                if (c == WordNormalizer.SKIP) {
+                    continue;
+                }
+                state = trie.child(state, c);
+                if (state != CompactWordTrie.NONE && trie.wordIndex(state) != CompactWordTrie.NONE) {
+                    matched = state;
+                    matchedEnd = j + 1;
+                }
+            }
+            if (matched != CompactWordTrie.NONE) {
+                hits.add(hit(dict, trie.wordIndex(matched), i, matchedEnd));
+                i = matchedEnd - 1;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * 不经过预过滤，找出所有命中（包含重叠命中），按结束位置排序，结束位置相同时较长的在前
+     */
+    private static List<String> unfilteredAll(WordDictionary dict, String text) {
+        CompactWordTrie trie = dict.trie();
+        List<int[]> matches = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) {
+            if (WordNormalizer.fold(text.charAt(i)) == WordNormalizer.SKIP) {
+                continue;
+            }
+            int state = CompactWordTrie.ROOT;
+            for (int j = i; j < text.length() && state != CompactWordTrie.NONE; j++) {
+                char c = WordNormalizer.fold(text.charAt(j));
+                if (c == WordNormalizer.SKIP) {
+                    continue;
+                }
+                state = trie.child(state, c);
+                if (state != CompactWordTrie.NONE && trie.wordIndex(state) != CompactWordTrie.NONE) {
+                    matches.add(new int[]{trie.wordIndex(state), i, j + 1});
+                }
+            }
+        }
+        matches.sort(Comparator.<int[]>comparingInt(match -> match[2]).thenComparingInt(match -> match[1]));
+        List<String> hits = new ArrayList<>();
+        for (int[] match : matches) {
+            hits.add(hit(dict, match[0], match[1], match[2]));
+        }
+        return hits;
+    }
+
+    private static List<String> hits(WordDictionary dict, String text, SensitiveMatchModeEnum matchMode) {
+        List<String> hits = new ArrayList<>();
+        dict.match(text, matchMode, (wordIndex, start, end) -> hits.add(hit(dict, wordIndex, start, end)));
+        return hits;
+    }
+
+    private static String hit(WordDictionary dict, int wordIndex, int start, int end) {
+        return dict.word(wordIndex) + "@" + start + "-" + end;
+    }
+
+    private static WordDictionary dictionary(Set<String> words) {
+        Map<String, String> wordCategories = new HashMap<>();
+        for (String word : words) {
+            wordCategories.put(word, CompactWordTrie.DEFAULT_CATEGORY);
+        }
+        return WordDictionary.build(1, wordCategories);
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
@@ -2,6 +2,7 @@ package com.nexus.framework.aspect;
 
 
 import cn.hutool.http.useragent.UserAgent;
+import com.nexus.common.core.base.LoginUser;
 import com.nexus.common.core.domain.vo.LoginVo;
 import com.nexus.common.core.helper.LoginHelper;
 import com.nexus.common.core.view.Result;
@@ -12,7 +13,7 @@ import com.nexus.common.utils.TokenUtils;
 import com.nexus.common.utils.UserAgentUtils;
 import com.nexus.common.annotation.LoginLog;
 import com.nexus.system.domain.SysLoginLog;
-import com.nexus.system.service.SysLoginLogService;
+import com.nexus.framework.log.AsyncLogWriters;
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
@@ -35,7 +36,7 @@ import java.time.LocalDateTime;
 public class LoginLogAspect {
 
     @Resource
-    private SysLoginLogService sysLoginLogService;
+    private AsyncLogWriters asyncLogWriters;
 
     @Around("@annotation(loginLog)")
     public Object loginLog(ProceedingJoinPoint proceedingJoinPoint, LoginLog loginLog) throws Throwable {
@@ -49,7 +50,10 @@ public class LoginLogAspect {
         String token = loginVo.getToken();
         // 获取request
         HttpServletRequest request = LoginHelper.getRequest();
-        String userId = (String) TokenUtils.getValueFromToken(token, "userId");
+        // 登录时已缓存登录用户，不需要再校验token
+        LoginUser loginUser = LoginHelper.getLoginUserByToken(token);
+        Long userId = ObjectUtils.isNotNull(loginUser) && ObjectUtils.isNotNull(loginUser.getUserId())
+                ? loginUser.getUserId() : Long.valueOf(TokenUtils.getValueFromToken(token, "userId"));
         Integer loginType = loginVo.getLoginType();
         if (ObjectUtils.isNull(loginType)) {
             loginType = loginLog.loginType().getCode();
@@ -61,14 +65,14 @@ public class LoginLogAspect {
         String osVersion = userAgent.getOsVersion();
         // 保存日志信息
         SysLoginLog login = new SysLoginLog();
-        login.setUserId(Long.parseLong(userId));
+        login.setUserId(userId);
         login.setBrowserName(browserName);
         login.setOsName(platformName + osVersion);
         login.setLoginIp(IpUtils.getIpAddress(request));
         login.setLoginType(loginType);
         login.setLoginPlatform(loginLog.loginPlatform().getCode());
         login.setLoginTime(LocalDateTime.now());
-        sysLoginLogService.save(login);
+        asyncLogWriters.loginLog(login);
         return proceed;
     }
 }
@@ -1,15 +1,18 @@
 package com.nexus.framework.aspect;
 
+import com.nexus.common.core.base.LoginPrincipal;
+import com.nexus.common.core.helper.LoginContextHolder;
 import com.nexus.common.utils.IpUtils;
 import com.nexus.common.utils.ObjectUtils;
 import com.nexus.common.utils.StringUtils;
-import com.nexus.common.utils.TokenUtils;
 import com.nexus.common.annotation.OperationLog;
 import com.nexus.system.domain.SysOperationLog;
 import com.nexus.system.domain.vo.SysUserVo;
-import com.nexus.system.service.SysOperationLogService;
 import com.nexus.system.service.SysUserService;
-import io.swagger.v3.oas.annotations.tags.Tag;
+import com.nexus.framework.log.AsyncLogWriters;
+import com.nexus.framework.log.AuditSerializer;
+import com.nexus.framework.web.RouteMetadata;
+import com.nexus.framework.web.RouteMetadataRegistry;
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
@@ -19,14 +22,11 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
-import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.time.LocalDateTime;
 
 
 /**
@@ -41,9 +41,13 @@ import java.util.Map;
 public class OperationLogAspect {
 
     @Resource
-    private SysOperationLogService sysOperationLogService;
+    private AsyncLogWriters asyncLogWriters;
     @Resource
     private SysUserService sysUserService;
+    @Resource
+    private RouteMetadataRegistry routeMetadataRegistry;
+    @Resource
+    private AuditSerializer auditSerializer;
 
     /**
      * 切面
@@ -59,24 +63,20 @@ public class OperationLogAspect {
         // 获取注解标注的方法
         Method method = signature.getMethod();
 
-        // 获取注解标注的方法所在的类
-        Object target = proceedingJoinPoint.getTarget();
-        RequestMapping requestMapping = target.getClass().getAnnotation(RequestMapping.class);
-        Tag tag = target.getClass().getAnnotation(Tag.class);
+        // 获取接口路由元数据，请求路径、请求方式和模块名在启动时已经解析
+        RouteMetadata route = routeMetadataRegistry.get(method, proceedingJoinPoint.getTarget().getClass());
 
         // 获取request
         HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest();
-        // 获取token
-        String token = request.getHeader("Authorization");
-
-        // 获取用户id和用户名
-        Long userId = Long.parseLong((String) TokenUtils.getValueFromToken(token, "userId"));
-        String username = (String) TokenUtils.getValueFromToken(token, "userName");
-        if (StringUtils.isBlank(username)) {
+        // 获取用户id和用户名，访问控制过滤器已校验token并保存了登录主体
+        LoginPrincipal principal = LoginContextHolder.get();
+        Long userId = ObjectUtils.isNotNull(principal) ? principal.getUserId() : null;
+        String username = ObjectUtils.isNotNull(principal) ? principal.getDisplayName() : null;
+        if (ObjectUtils.isNotNull(userId) && StringUtils.isBlank(username)) {
+            // 登录信息缓存中不存在时才查询用户
             SysUserVo sysUserVo = sysUserService.queryVoById(userId);
-            username = sysUserVo.getNickName();
-            if (StringUtils.isBlank(username)) {
-                username = sysUserVo.getUsername();
+            if (ObjectUtils.isNotNull(sysUserVo)) {
+                username = StringUtils.isNotBlank(sysUserVo.getNickName()) ? sysUserVo.getNickName() : sysUserVo.getUsername();
             }
         }
 
@@ -84,20 +84,18 @@ public class OperationLogAspect {
         String ipAddress = IpUtils.getIpAddress(request);
 
         // 获取基础模块请求路径
-        String baseUrl = requestMapping.value()[0];
+        String baseUrl = route.baseUrl();
 
         // 获取模块名
         String module = operationLog.module();
-        if (ObjectUtils.isNotNull(tag) && StringUtils.isNotBlank(tag.name())) {
-            module = tag.name();
+        if (StringUtils.isNotBlank(route.module())) {
+            module = route.module();
         }
 
-        // 处理被日志注解标注的方法的注解参数，获取部分请求路径和请求方式
-        Map<String, String> requestUrlAndRequestType = this.getRequestUrlAndRequestType(method);
         // 请求地址
-        String url = requestUrlAndRequestType.get("url");
+        String url = route.path();
         // 请求方式
-        String requestType = requestUrlAndRequestType.get("requestType");
+        String requestType = route.requestMethod();
 
         if(StringUtils.isBlank(url)){
             url = operationLog.requestUrl();
@@ -107,6 +105,9 @@ public class OperationLogAspect {
             requestType = operationLog.requestType();
         }
 
+        // 上传文件在请求结束后删除，先保存文件信息
+        Object[] args = auditSerializer.snapshot(proceedingJoinPoint.getArgs());
+
         // 环绕后通知，获取响应结果
         Object result = proceedingJoinPoint.proceed();
 
@@ -121,9 +122,12 @@ public class OperationLogAspect {
         log.setRequestType(requestType);
         log.setRequestUrl(baseUrl + url);
         log.setRequestMethod(method.toString());
-        log.setRequestParams(Arrays.asList(proceedingJoinPoint.getArgs()).toString());
-        log.setRequestResult(result.toString());
-        sysOperationLogService.save(log);
+        log.setCreateTime(LocalDateTime.now());
+        // 放入异步队列，请求参数和响应结果由写入线程按长度限制序列化后批量写入
+        asyncLogWriters.operationLog(log, sysOperationLog -> {
+            sysOperationLog.setRequestParams(auditSerializer.serializeArgs(args));
+            sysOperationLog.setRequestResult(auditSerializer.serialize(result));
+        });
         return result;
 
         //log.info("被增强的方法所在的类：" + proceedingJoinPoint.getTarget());
@@ -138,49 +142,4 @@ public class OperationLogAspect {
         //log.info("方法返回结果" + method.invoke(proceedingJoinPoint.getTarget(),proceedingJoinPoint.getArgs()));
     }
 
-    /**
-     * 获取请求url和请求类型
-     *
-     * @return {@link Map}<{@link String},{@link String}>
-     */
-    private Map<String, String> getRequestUrlAndRequestType(Method method) {
-        String requestType = "";
-        String url = "";
-        if (method.isAnnotationPresent(GetMapping.class)) {
-            requestType = RequestMethod.valueOf("GET").name();
-            GetMapping getMapping = method.getAnnotation(GetMapping.class);
-            if (getMapping.value().length > 0) {
-                url = getMapping.value()[0];
-            }
-        } else if (method.isAnnotationPresent(PostMapping.class)) {
-            requestType = RequestMethod.valueOf("POST").name();
-            PostMapping postMapping = method.getAnnotation(PostMapping.class);
-            if (postMapping.value().length > 0) {
-                url = postMapping.value()[0];
-            }
-        } else if (method.isAnnotationPresent(DeleteMapping.class)) {
-            requestType = RequestMethod.valueOf("DELETE").name();
-            DeleteMapping deleteMapping = method.getAnnotation(DeleteMapping.class);
-            if (deleteMapping.value().length > 0) {
-                url = deleteMapping.value()[0];
-            }
-        } else if (method.isAnnotationPresent(PutMapping.class)) {
-            requestType = RequestMethod.valueOf("PUT").name();
-            PutMapping putMapping = method.getAnnotation(PutMapping.class);
-            if (putMapping.value().length > 0) {
-                url = putMapping.value()[0];
-            }
-        } else if (method.isAnnotationPresent(RequestMapping.class)) {
-            RequestMapping annotation = method.getAnnotation(RequestMapping.class);
-            requestType = annotation.method()[0].name();
-            if (annotation.value().length > 0) {
-                url = annotation.value()[0];
-            }
-        }
-        HashMap<String, String> map = new HashMap<>();
-        map.put("url",url);
-        map.put("requestType",requestType);
-        return map;
-    }
-
 }
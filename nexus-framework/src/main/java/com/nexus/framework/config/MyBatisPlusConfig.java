@@ -1,6 +1,11 @@
 package com.nexus.framework.config;
 
+import com.baomidou.mybatisplus.annotation.FieldFill;
 import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.injector.DefaultSqlInjector;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.extension.injector.methods.InsertBatchSomeColumn;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.OptimisticLockerInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
@@ -10,6 +15,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import java.util.List;
+
 
 /**
  * MyBatisPlus 配置类
@@ -36,6 +43,24 @@ public class MyBatisPlusConfig {
     }
 
 
+    /**
+     * SQL 注入器，为所有映射器增加多行 INSERT 批量插入方法 insertBatchSomeColumn
+     *
+     * @return {@link DefaultSqlInjector}
+     */
+    @Bean
+    public DefaultSqlInjector sqlInjector() {
+        return new DefaultSqlInjector() {
+            @Override
+            public List<AbstractMethod> getMethodList(org.apache.ibatis.session.Configuration configuration, Class<?> mapperClass, TableInfo tableInfo) {
+                List<AbstractMethod> methodList = super.getMethodList(configuration, mapperClass, tableInfo);
+                // 只在更新时填充的字段不参与插入
+                methodList.add(new InsertBatchSomeColumn(field -> field.getFieldFill() != FieldFill.UPDATE));
+                return methodList;
+            }
+        };
+    }
+
     @Bean
     public MybatisPlusInterceptor mybatisPlusInterceptor() {
         // MyBatisPlus 拦截器
@@ -22,8 +22,13 @@ public class MyMetaObjectHandle implements MetaObjectHandler {
     @Override
     public void insertFill(MetaObject metaObject) {
         log.info("====> 插入自动填充");
-        this.setFieldValByName("createTime", LocalDateTime.now(), metaObject);
-        this.setFieldValByName("updateTime", LocalDateTime.now(), metaObject);
+        // 已经设置的时间不覆盖，异步批量写入的日志保留产生时的时间
+        if (this.getFieldValByName("createTime", metaObject) == null) {
+            this.setFieldValByName("createTime", LocalDateTime.now(), metaObject);
+        }
+        if (this.getFieldValByName("updateTime", metaObject) == null) {
+            this.setFieldValByName("updateTime", LocalDateTime.now(), metaObject);
+        }
     }
 
     @Override
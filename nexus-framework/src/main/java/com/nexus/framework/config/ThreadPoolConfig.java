@@ -45,4 +45,22 @@ public class ThreadPoolConfig {
 
         return threadPoolTaskExecutor;
     }
+
+    /**
+     * 敏感词批量检测线程池，扫描为纯计算任务，线程数与 CPU 核数一致，队列满时由调用线程执行
+     *
+     * @return {@link Executor }
+     */
+    @Bean("sensitiveWordExecutor")
+    public Executor getSensitiveWordExecutor() {
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(CPU_COUNT);
+        threadPoolTaskExecutor.setMaxPoolSize(CPU_COUNT);
+        threadPoolTaskExecutor.setQueueCapacity(CPU_COUNT * 16);
+        threadPoolTaskExecutor.setThreadNamePrefix("sensitiveWordExecutor-");
+        threadPoolTaskExecutor.setKeepAliveSeconds(keepAliveTime);
+        threadPoolTaskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        threadPoolTaskExecutor.initialize();
+        return threadPoolTaskExecutor;
+    }
 }
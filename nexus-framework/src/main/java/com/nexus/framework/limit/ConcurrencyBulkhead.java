@@ -0,0 +1,197 @@
+package com.nexus.framework.limit;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 并发限流中一个限流 key 在本节点的隔离舱
+ * <p>
+ * 本地信号量限制本节点同时执行的数量，排队人数单独计数，超过排队容量直接拒绝，避免等待的线程占满容器线程池。
+ * 集群模式下同时保存本节点持有的 Redis 租约标识，由后台线程定期续期。时间均为 {@link System#nanoTime()}
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+final class ConcurrencyBulkhead {
+
+    /**
+     * 显示名称
+     */
+    private final String name;
+
+    /**
+     * 同时执行的最大数量
+     */
+    private final int maxConcurrency;
+
+    /**
+     * 租约有效期（秒），只有集群模式使用
+     */
+    private final int ttl;
+
+    /**
+     * 是否在 Redis 中租用名额
+     */
+    private final boolean cluster;
+
+    /**
+     * 本地执行名额
+     */
+    private final Semaphore semaphore;
+
+    /**
+     * 排队等待的请求数量
+     */
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    /**
+     * 同时执行数量的峰值
+     */
+    private final AtomicInteger peak = new AtomicInteger();
+
+    /**
+     * 本节点持有的 Redis 租约标识
+     */
+    private final Set<String> leases = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    /**
+     * 最近一次续期时间
+     */
+    private volatile long renewedAt;
+
+    /**
+     * 最近一次访问时间，只用于清理长期未使用的隔离舱，不要求可见性
+     */
+    private long lastAccess;
+
+    ConcurrencyBulkhead(String name, int maxConcurrency, int ttl, boolean cluster, long now) {
+        this.name = name;
+        this.maxConcurrency = maxConcurrency;
+        this.ttl = ttl;
+        this.cluster = cluster;
+        this.semaphore = new Semaphore(maxConcurrency);
+        this.renewedAt = now;
+        this.lastAccess = now;
+    }
+
+    /**
+     * 进入等待队列
+     *
+     * @param capacity 排队容量
+     * @return boolean 队列已满时返回 false
+     */
+    boolean enqueue(int capacity) {
+        int current;
+        do {
+            current = waiting.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!waiting.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    void dequeue() {
+        waiting.decrementAndGet();
+    }
+
+    /**
+     * 记录一次成功获取名额
+     *
+     * @param now 当前时间
+     */
+    void onAcquired(long now) {
+        lastAccess = now;
+        acquired.increment();
+        peak.accumulateAndGet(inFlight(), Math::max);
+    }
+
+    void onRejected(long now) {
+        lastAccess = now;
+        rejected.increment();
+    }
+
+    void onTimeout(long now) {
+        lastAccess = now;
+        timedOut.increment();
+    }
+
+    /**
+     * 是否长期未使用
+     *
+     * @param now  当前时间
+     * @param idle 空闲时间
+     * @return boolean
+     */
+    boolean idle(long now, long idle) {
+        return now - lastAccess > idle && inFlight() == 0 && waiting.get() == 0 && leases.isEmpty();
+    }
+
+    /**
+     * 本节点正在执行的数量
+     *
+     * @return int
+     */
+    int inFlight() {
+        return maxConcurrency - semaphore.availablePermits();
+    }
+
+    String name() {
+        return name;
+    }
+
+    int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    int ttl() {
+        return ttl;
+    }
+
+    boolean cluster() {
+        return cluster;
+    }
+
+    Semaphore semaphore() {
+        return semaphore;
+    }
+
+    Set<String> leases() {
+        return leases;
+    }
+
+    int waiting() {
+        return waiting.get();
+    }
+
+    int peak() {
+        return peak.get();
+    }
+
+    long acquired() {
+        return acquired.sum();
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+
+    long timedOut() {
+        return timedOut.sum();
+    }
+
+    long renewedAt() {
+        return renewedAt;
+    }
+
+    void renewedAt(long renewedAt) {
+        this.renewedAt = renewedAt;
+    }
+}
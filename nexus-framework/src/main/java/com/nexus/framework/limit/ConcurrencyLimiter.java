@@ -0,0 +1,335 @@
+package com.nexus.framework.limit;
+
+import com.nexus.common.core.domain.vo.LimitConcurrencyVo;
+import com.nexus.common.enums.LimitModeEnum;
+import com.nexus.common.utils.RedisUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 并发限流器（隔离舱）
+ * <p>
+ * 按限流 key 限制同时执行的数量，防止导出、打包下载等慢接口的突发请求占满容器线程和数据库连接。
+ * 本地模式只使用信号量；集群模式先通过本地信号量，再在 Redis 有序集合中租用名额，租约带有效期，
+ * 执行期间每 limit.concurrency.renew-interval 检查一次，超过有效期三分之一的租约批量续期，节点宕机后租约到期自动释放。
+ * 名额已满时按注解的 queueCapacity 排队，最多等待 queueTimeout 毫秒，超过排队容量直接拒绝，不占用等待线程。
+ * <p>
+ * Redis 不可用时在 limit.concurrency.fallback-duration 内只使用本地信号量，此时全局最多 节点数 × count 个同时执行
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Slf4j
+@Component
+public class ConcurrencyLimiter {
+
+    /**
+     * Redis 租约 key 的后缀
+     */
+    private static final String KEY_SUFFIX = ":concurrency";
+
+    /**
+     * 等待集群名额时重试间隔的上限（毫秒）
+     */
+    private static final long MAX_BACKOFF = 200;
+
+    /**
+     * 租约续期检查间隔（毫秒）
+     */
+    @Value("${limit.concurrency.renew-interval:1000}")
+    private long renewInterval;
+
+    /**
+     * Redis 不可用时只使用本地信号量的持续时间（毫秒）
+     */
+    @Value("${limit.concurrency.fallback-duration:5000}")
+    private long fallbackDuration;
+
+    /**
+     * 限流 key 和本节点隔离舱
+     */
+    private final Map<String, ConcurrencyBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * 本节点标识，租约标识为 节点标识:序号
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * 只使用本地信号量的截止时间
+     */
+    private volatile long degradedUntil = System.nanoTime();
+
+    /**
+     * 续期、释放和清理线程
+     */
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "limit-concurrency");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void init() {
+        executor.scheduleWithFixedDelay(this::renew, renewInterval, renewInterval, TimeUnit.MILLISECONDS);
+        // 清理长期未使用的隔离舱，按 IP 限流时 key 数量随访问 IP 增长
+        executor.scheduleWithFixedDelay(this::evict, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 获取执行名额
+     *
+     * @param name           显示名称
+     * @param key            限流 key
+     * @param maxConcurrency 同时执行的最大数量
+     * @param ttl            租约有效期（秒），只有集群模式使用
+     * @param cluster        是否在 Redis 中租用名额
+     * @param queueCapacity  最多排队等待的请求数量
+     * @param queueTimeout   排队等待的最长时间（毫秒）
+     * @return {@link ConcurrencyPermit } 名额已满且无法排队或排队超时时返回 null
+     */
+    public ConcurrencyPermit acquire(String name, String key, int maxConcurrency, int ttl, boolean cluster,
+                                     int queueCapacity, long queueTimeout) {
+        if (maxConcurrency <= 0 || (cluster && ttl <= 0)) {
+            throw new IllegalArgumentException("并发数和租约有效期必须大于 0：" + name);
+        }
+        long now = System.nanoTime();
+        long deadline = now + TimeUnit.MILLISECONDS.toNanos(Math.max(queueTimeout, 0));
+        ConcurrencyBulkhead bulkhead;
+        while (true) {
+            bulkhead = bulkheads.get(key);
+            if (bulkhead == null) {
+                bulkhead = bulkheads.computeIfAbsent(key, k -> new ConcurrencyBulkhead(name, maxConcurrency, ttl, cluster, now));
+            }
+            if (!acquireLocal(bulkhead, queueCapacity, queueTimeout, now)) {
+                return null;
+            }
+            // 获取名额前隔离舱可能已被清理，名额只能记在注册表中的隔离舱上，否则新旧隔离舱各自放行
+            if (bulkheads.get(key) == bulkhead) {
+                break;
+            }
+            bulkhead.semaphore().release();
+        }
+        if (!bulkhead.cluster() || degraded()) {
+            bulkhead.onAcquired(System.nanoTime());
+            return new ConcurrencyPermit(this, bulkhead, null, null);
+        }
+        String redisKey = key + KEY_SUFFIX;
+        String leaseId = nodeId + ":" + sequence.incrementAndGet();
+        try {
+            if (!acquireCluster(bulkhead, redisKey, leaseId, queueCapacity, deadline)) {
+                bulkhead.semaphore().release();
+                return null;
+            }
+        } catch (RuntimeException e) {
+            degrade(e.getMessage());
+            bulkhead.onAcquired(System.nanoTime());
+            return new ConcurrencyPermit(this, bulkhead, null, null);
+        }
+        bulkhead.leases().add(leaseId);
+        bulkhead.onAcquired(System.nanoTime());
+        return new ConcurrencyPermit(this, bulkhead, redisKey, leaseId);
+    }
+
+    /**
+     * 获取本地信号量，名额已满时排队等待
+     */
+    private boolean acquireLocal(ConcurrencyBulkhead bulkhead, int queueCapacity, long queueTimeout, long now) {
+        if (bulkhead.semaphore().tryAcquire()) {
+            return true;
+        }
+        if (queueCapacity <= 0 || queueTimeout <= 0 || !bulkhead.enqueue(queueCapacity)) {
+            bulkhead.onRejected(now);
+            return false;
+        }
+        try {
+            if (bulkhead.semaphore().tryAcquire(queueTimeout, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            bulkhead.onTimeout(System.nanoTime());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            bulkhead.onRejected(System.nanoTime());
+            return false;
+        } finally {
+            bulkhead.dequeue();
+        }
+    }
+
+    /**
+     * 在 Redis 中租用名额，全局名额已满时按退避间隔重试到截止时间
+     */
+    private boolean acquireCluster(ConcurrencyBulkhead bulkhead, String redisKey, String leaseId, int queueCapacity, long deadline) {
+        boolean queued = false;
+        long backoff = 10;
+        try {
+            while (true) {
+                List<Long> result = RedisUtils.execute(LimitScripts.concurrencyAcquire(), Collections.singletonList(redisKey),
+                        bulkhead.maxConcurrency(), bulkhead.ttl(), leaseId);
+                if (result.get(0) == 1) {
+                    return true;
+                }
+                long now = System.nanoTime();
+                if (!queued) {
+                    if (queueCapacity <= 0 || !bulkhead.enqueue(queueCapacity)) {
+                        bulkhead.onRejected(now);
+                        return false;
+                    }
+                    queued = true;
+                }
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - now);
+                if (remaining <= 0) {
+                    bulkhead.onTimeout(now);
+                    return false;
+                }
+                try {
+                    Thread.sleep(Math.min(backoff, remaining));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    bulkhead.onRejected(System.nanoTime());
+                    return false;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF);
+            }
+        } finally {
+            if (queued) {
+                bulkhead.dequeue();
+            }
+        }
+    }
+
+    /**
+     * 释放执行名额，Redis 租约在后台线程中释放，失败时等待租约到期
+     *
+     * @param bulkhead 隔离舱
+     * @param redisKey Redis 限流 key
+     * @param leaseId  租约标识
+     */
+    void release(ConcurrencyBulkhead bulkhead, String redisKey, String leaseId) {
+        if (leaseId != null) {
+            bulkhead.leases().remove(leaseId);
+            try {
+                executor.execute(() -> {
+                    try {
+                        RedisUtils.execute(LimitScripts.concurrencyRelease(), Collections.singletonList(redisKey), leaseId);
+                    } catch (RuntimeException e) {
+                        log.debug("并发限流租约释放失败，等待到期：{}，{}", leaseId, e.getMessage());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // 应用正在关闭，租约到期后自动释放
+            }
+        }
+        bulkhead.semaphore().release();
+    }
+
+    /**
+     * 续期本节点持有的租约
+     */
+    private void renew() {
+        long now = System.nanoTime();
+        bulkheads.forEach((key, bulkhead) -> {
+            if (!bulkhead.cluster() || bulkhead.leases().isEmpty()
+                    || now - bulkhead.renewedAt() < TimeUnit.SECONDS.toNanos(bulkhead.ttl()) / 3) {
+                return;
+            }
+            List<Object> args = new ArrayList<>(bulkhead.leases().size() + 1);
+            args.add(bulkhead.ttl());
+            args.addAll(bulkhead.leases());
+            if (args.size() == 1) {
+                return;
+            }
+            try {
+                List<Long> result = RedisUtils.execute(LimitScripts.concurrencyRenew(), Collections.singletonList(key + KEY_SUFFIX), args.toArray());
+                bulkhead.renewedAt(now);
+                if (result.get(0) < args.size() - 1) {
+                    log.warn("并发限流租约已过期：{}，续期 {} 个，持有 {} 个", bulkhead.name(), result.get(0), args.size() - 1);
+                }
+            } catch (RuntimeException e) {
+                degrade(e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 只使用本地信号量
+     *
+     * @param reason 原因
+     */
+    private void degrade(String reason) {
+        long now = System.nanoTime();
+        boolean degraded = now - degradedUntil < 0;
+        degradedUntil = now + TimeUnit.MILLISECONDS.toNanos(fallbackDuration);
+        if (!degraded) {
+            log.warn("Redis 并发限流不可用，{} 毫秒内只使用本地并发限流：{}", fallbackDuration, reason);
+        }
+    }
+
+    /**
+     * 清理长期未使用的隔离舱，只清理没有占用名额、没有排队和没有集群租约的隔离舱。
+     * 在 computeIfPresent 中重新判断，与同一个 key 的 computeIfAbsent 互斥
+     */
+    private void evict() {
+        for (String key : bulkheads.keySet()) {
+            bulkheads.computeIfPresent(key, (k, bulkhead) -> bulkhead.idle(System.nanoTime(), TimeUnit.MINUTES.toNanos(10)) ? null : bulkhead);
+        }
+    }
+
+    /**
+     * 是否只使用本地信号量
+     *
+     * @return boolean
+     */
+    public boolean degraded() {
+        return System.nanoTime() - degradedUntil < 0;
+    }
+
+    /**
+     * 获取并发限流占用情况
+     *
+     * @param top 返回正在执行数量最多的 key 数量
+     * @return {@link List }<{@link LimitConcurrencyVo }>
+     */
+    public List<LimitConcurrencyVo> metrics(int top) {
+        // 先取快照再排序，避免排序过程中数值变化
+        List<Map.Entry<String, LimitConcurrencyVo>> snapshot = new ArrayList<>();
+        bulkheads.forEach((key, bulkhead) -> snapshot.add(Map.entry(key, new LimitConcurrencyVo(bulkhead.name(),
+                (bulkhead.cluster() ? LimitModeEnum.CLUSTER_CONCURRENCY : LimitModeEnum.CONCURRENCY).name(),
+                bulkhead.maxConcurrency(), bulkhead.inFlight(), bulkhead.waiting(), bulkhead.peak(), null,
+                bulkhead.acquired(), bulkhead.rejected(), bulkhead.timedOut()))));
+        snapshot.sort(Comparator.comparing((Map.Entry<String, LimitConcurrencyVo> entry) -> entry.getValue().getInFlight())
+                .thenComparing(entry -> entry.getValue().getWaiting())
+                .thenComparing(entry -> entry.getValue().getRejectedCount())
+                .reversed());
+        List<LimitConcurrencyVo> metrics = new ArrayList<>();
+        for (Map.Entry<String, LimitConcurrencyVo> entry : snapshot.subList(0, Math.min(top, snapshot.size()))) {
+            LimitConcurrencyVo vo = entry.getValue();
+            if (LimitModeEnum.CLUSTER_CONCURRENCY.name().equals(vo.getMode())) {
+                try {
+                    List<Long> result = RedisUtils.execute(LimitScripts.concurrencyCount(),
+                            Collections.singletonList(entry.getKey() + KEY_SUFFIX));
+                    vo.setClusterInFlight(result.get(0));
+                } catch (RuntimeException e) {
+                    log.debug("并发限流租约统计失败：{}，{}", vo.getName(), e.getMessage());
+                }
+            }
+            metrics.add(vo);
+        }
+        return metrics;
+    }
+}
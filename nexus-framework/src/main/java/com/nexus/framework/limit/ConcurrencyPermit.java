@@ -0,0 +1,44 @@
+package com.nexus.framework.limit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 并发限流的执行名额，调用结束后必须释放，重复释放无效
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public final class ConcurrencyPermit {
+
+    private final ConcurrencyLimiter limiter;
+
+    private final ConcurrencyBulkhead bulkhead;
+
+    /**
+     * Redis 限流 key，本地模式或 Redis 不可用时为 null
+     */
+    private final String redisKey;
+
+    /**
+     * Redis 租约标识，本地模式或 Redis 不可用时为 null
+     */
+    private final String leaseId;
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    ConcurrencyPermit(ConcurrencyLimiter limiter, ConcurrencyBulkhead bulkhead, String redisKey, String leaseId) {
+        this.limiter = limiter;
+        this.bulkhead = bulkhead;
+        this.redisKey = redisKey;
+        this.leaseId = leaseId;
+    }
+
+    /**
+     * 释放执行名额
+     */
+    public void release() {
+        if (released.compareAndSet(false, true)) {
+            limiter.release(bulkhead, redisKey, leaseId);
+        }
+    }
+}
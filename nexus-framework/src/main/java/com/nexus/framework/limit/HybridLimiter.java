@@ -0,0 +1,245 @@
+package com.nexus.framework.limit;
+
+import com.nexus.common.enums.LimitAlgorithmEnum;
+import com.nexus.common.utils.RedisUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * 两级限流器
+ * <p>
+ * 节点每次从 Redis 令牌桶（与 {@link LimitAlgorithmEnum#TOKEN_BUCKET} 共用同一个 key）租用一批许可，在本地扣减，
+ * 剩余许可不足一半时在后台线程补充，大多数请求不需要访问 Redis。租用只从全局令牌桶中扣除，Redis 正常时全局通过量不会超过限额，
+ * 误差是被各节点持有但未用完的许可：每个节点最多 limit.hybrid.lease-ratio × count 个，租约到期（limit.hybrid.lease-ttl）后作废。
+ * <p>
+ * 租用耗时超过 limit.hybrid.slow-threshold 或失败时，在 limit.hybrid.fallback-duration 内退化为本地限流，
+ * 每个节点按 limit.hybrid.local-ratio × count 的配额限流，此时全局最多超出 节点数 × local-ratio 倍
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Slf4j
+@Component
+public class HybridLimiter {
+
+    /**
+     * 每次租用的许可数量占 count 的比例
+     */
+    @Value("${limit.hybrid.lease-ratio:0.1}")
+    private double leaseRatio;
+
+    /**
+     * 租约有效期（毫秒）
+     */
+    @Value("${limit.hybrid.lease-ttl:1000}")
+    private long leaseTtl;
+
+    /**
+     * 退化为本地限流时，每个节点的配额占 count 的比例
+     */
+    @Value("${limit.hybrid.local-ratio:1.0}")
+    private double localRatio;
+
+    /**
+     * 租用耗时超过该值（毫秒）时视为 Redis 响应慢，请求线程最多等待这么久
+     */
+    @Value("${limit.hybrid.slow-threshold:20}")
+    private long slowThreshold;
+
+    /**
+     * 退化为本地限流的持续时间（毫秒）
+     */
+    @Value("${limit.hybrid.fallback-duration:5000}")
+    private long fallbackDuration;
+
+    /**
+     * 限流 key 和本节点租约
+     */
+    private final Map<String, LimitLease> leases = new ConcurrentHashMap<>();
+
+    /**
+     * 本地限流截止时间
+     */
+    private volatile long degradedUntil = System.nanoTime();
+
+    /**
+     * 租用和清理线程
+     */
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "limit-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void init() {
+        // 清理长期未使用的租约，按 IP 限流时 key 数量随访问 IP 增长
+        executor.scheduleWithFixedDelay(this::evict, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 获取一次访问许可
+     *
+     * @param key    限流 key
+     * @param count  时间范围内最多访问次数
+     * @param period 时间范围（秒）
+     * @return {@link LimitResult }
+     */
+    public LimitResult acquire(String key, int count, int period) {
+        if (count <= 0 || period <= 0) {
+            throw new IllegalArgumentException("限流次数和时间范围必须大于 0：" + key);
+        }
+        long now = System.nanoTime();
+        LimitLease lease = leases.get(key);
+        if (lease == null) {
+            lease = leases.computeIfAbsent(key, k -> new LimitLease(count, period, (int) Math.max(1, Math.ceil(count * leaseRatio)),
+                    (int) Math.max(1, Math.round(count * localRatio)), now));
+        }
+        if (now - degradedUntil < 0) {
+            return local(lease, now);
+        }
+        if (lease.tryTake(now)) {
+            if (lease.available() * 2 <= lease.batch()) {
+                refill(key, lease);
+            }
+            return new LimitResult(true, lease.available(), 0);
+        }
+        long blocked = lease.blockedUntil() - now;
+        if (blocked > 0) {
+            return new LimitResult(false, 0, TimeUnit.NANOSECONDS.toMillis(blocked) + 1);
+        }
+        // 许可用完，等待租用完成
+        try {
+            long retryAfter = refill(key, lease).get(slowThreshold, TimeUnit.MILLISECONDS);
+            if (lease.tryTake(System.nanoTime())) {
+                return new LimitResult(true, lease.available(), 0);
+            }
+            return new LimitResult(false, 0, Math.max(retryAfter, 1));
+        } catch (TimeoutException e) {
+            degrade("租用许可超过 " + slowThreshold + " 毫秒");
+        } catch (ExecutionException e) {
+            degrade(e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return local(lease, now);
+    }
+
+    /**
+     * 本地限流
+     */
+    private LimitResult local(LimitLease lease, long now) {
+        long wait = lease.tryLocal(now);
+        return wait == 0 ? new LimitResult(true, 0, 0) : new LimitResult(false, 0, TimeUnit.NANOSECONDS.toMillis(wait) + 1);
+    }
+
+    /**
+     * 补充许可，同一个 key 同时只有一个租用请求
+     *
+     * @param key   限流 key
+     * @param lease 租约
+     * @return {@link CompletableFuture }<{@link Long }> 租用到许可时为 0，否则为需要等待的毫秒数
+     */
+    private CompletableFuture<Long> refill(String key, LimitLease lease) {
+        while (true) {
+            CompletableFuture<Long> refilling = lease.refilling().get();
+            if (refilling != null) {
+                return refilling;
+            }
+            CompletableFuture<Long> future = new CompletableFuture<>();
+            if (lease.refilling().compareAndSet(null, future)) {
+                try {
+                    executor.execute(() -> lease(key, lease, future));
+                } catch (RejectedExecutionException e) {
+                    lease.refilling().set(null);
+                    future.completeExceptionally(e);
+                }
+                return future;
+            }
+        }
+    }
+
+    /**
+     * 从 Redis 令牌桶租用许可
+     */
+    private void lease(String key, LimitLease lease, CompletableFuture<Long> future) {
+        long start = System.nanoTime();
+        try {
+            List<Long> result = RedisUtils.execute(LimitScripts.lease(),
+                    Collections.singletonList(RedisLimiter.redisKey(LimitAlgorithmEnum.TOKEN_BUCKET, key)),
+                    lease.count(), lease.period(), lease.batch());
+            long now = System.nanoTime();
+            long granted = result.get(0);
+            if (granted > 0) {
+                lease.grant(granted, now, TimeUnit.MILLISECONDS.toNanos(leaseTtl));
+            } else {
+                lease.block(now + TimeUnit.MILLISECONDS.toNanos(result.get(2)));
+            }
+            lease.refilling().set(null);
+            future.complete(granted > 0 ? 0L : result.get(2));
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(now - start);
+            if (elapsed > slowThreshold) {
+                degrade("租用许可耗时 " + elapsed + " 毫秒");
+            }
+        } catch (RuntimeException e) {
+            lease.refilling().set(null);
+            future.completeExceptionally(e);
+            degrade(e.getMessage());
+        }
+    }
+
+    /**
+     * 退化为本地限流
+     *
+     * @param reason 原因
+     */
+    private void degrade(String reason) {
+        long now = System.nanoTime();
+        boolean degraded = now - degradedUntil < 0;
+        degradedUntil = now + TimeUnit.MILLISECONDS.toNanos(fallbackDuration);
+        if (!degraded) {
+            log.warn("Redis 限流响应异常，{} 毫秒内使用本地限流：{}", fallbackDuration, reason);
+        }
+    }
+
+    /**
+     * 清理长期未使用且已到期的租约，在 computeIfPresent 中重新判断，与同一个 key 的 computeIfAbsent 互斥
+     */
+    private void evict() {
+        for (String key : leases.keySet()) {
+            leases.computeIfPresent(key, (k, lease) ->
+                    lease.idle(System.nanoTime(), TimeUnit.SECONDS.toNanos(Math.max(lease.period(), 60))) ? null : lease);
+        }
+    }
+
+    /**
+     * 是否正在使用本地限流
+     *
+     * @return boolean
+     */
+    public boolean degraded() {
+        return System.nanoTime() - degradedUntil < 0;
+    }
+
+    /**
+     * 本节点持有租约的 key 数量
+     *
+     * @return int
+     */
+    public int leaseCount() {
+        return leases.size();
+    }
+}
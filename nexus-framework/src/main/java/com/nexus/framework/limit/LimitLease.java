@@ -0,0 +1,186 @@
+package com.nexus.framework.limit;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 两级限流中一个限流 key 在本节点的租约
+ * <p>
+ * 保存从 Redis 令牌桶租用、尚未使用的许可，扣减只有一次 CAS，没有锁；租约到期后剩余许可作废，避免长期占用全局配额。
+ * 同时保存一个本地 GCRA 限流器，Redis 不可用时按本节点的配额限流。时间均为 {@link System#nanoTime()}
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+final class LimitLease {
+
+    /**
+     * 时间范围内最多访问次数
+     */
+    private final int count;
+
+    /**
+     * 时间范围（秒）
+     */
+    private final int period;
+
+    /**
+     * 每次租用的许可数量
+     */
+    private final int batch;
+
+    /**
+     * 剩余许可
+     */
+    private final AtomicLong permits = new AtomicLong();
+
+    /**
+     * 租约到期时间
+     */
+    private volatile long expireAt;
+
+    /**
+     * Redis 令牌桶耗尽时，在此时间之前直接拒绝，不再访问 Redis
+     */
+    private volatile long blockedUntil;
+
+    /**
+     * 进行中的租用，同一个 key 同时只有一个
+     */
+    private final AtomicReference<CompletableFuture<Long>> refilling = new AtomicReference<>();
+
+    /**
+     * 本地限流器的理论到达时间
+     */
+    private final AtomicLong tat;
+
+    /**
+     * 本地限流器的许可间隔
+     */
+    private final long localInterval;
+
+    /**
+     * 本地限流器的时间范围
+     */
+    private final long localWindow;
+
+    /**
+     * 最近一次访问时间，只用于清理长期未使用的租约，不要求可见性
+     */
+    private long lastAccess;
+
+    LimitLease(int count, int period, int batch, int localPermits, long now) {
+        this.count = count;
+        this.period = period;
+        this.batch = batch;
+        this.expireAt = now;
+        this.blockedUntil = now;
+        this.localWindow = period * 1_000_000_000L;
+        this.localInterval = Math.max(1, localWindow / Math.max(1, localPermits));
+        this.tat = new AtomicLong(now);
+        this.lastAccess = now;
+    }
+
+    /**
+     * 扣减一个已租用的许可
+     *
+     * @param now 当前时间
+     * @return boolean 租约未到期且有剩余许可时返回 true
+     */
+    boolean tryTake(long now) {
+        lastAccess = now;
+        if (now - expireAt >= 0) {
+            return false;
+        }
+        long available;
+        do {
+            available = permits.get();
+            if (available <= 0) {
+                return false;
+            }
+        } while (!permits.compareAndSet(available, available - 1));
+        return true;
+    }
+
+    /**
+     * 增加租用到的许可，原租约已到期时剩余许可作废
+     *
+     * @param granted 租用到的许可数量
+     * @param now     当前时间
+     * @param ttl     租约有效期
+     */
+    void grant(long granted, long now, long ttl) {
+        if (now - expireAt >= 0) {
+            permits.set(granted);
+        } else {
+            permits.addAndGet(granted);
+        }
+        expireAt = now + ttl;
+    }
+
+    /**
+     * Redis 令牌桶耗尽，在指定时间之前直接拒绝
+     *
+     * @param until 截止时间
+     */
+    void block(long until) {
+        blockedUntil = until;
+    }
+
+    /**
+     * 本地限流
+     *
+     * @param now 当前时间
+     * @return long 允许访问时返回 0，否则返回需要等待的纳秒数
+     */
+    long tryLocal(long now) {
+        lastAccess = now;
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + localInterval;
+            long allowAt = next - localWindow;
+            if (allowAt - now > 0) {
+                return allowAt - now;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 是否长期未使用
+     *
+     * @param now  当前时间
+     * @param idle 空闲时间
+     * @return boolean
+     */
+    boolean idle(long now, long idle) {
+        return now - lastAccess > idle && now - expireAt > 0 && refilling.get() == null;
+    }
+
+    long available() {
+        return Math.max(permits.get(), 0);
+    }
+
+    long blockedUntil() {
+        return blockedUntil;
+    }
+
+    AtomicReference<CompletableFuture<Long>> refilling() {
+        return refilling;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int period() {
+        return period;
+    }
+
+    int batch() {
+        return batch;
+    }
+}
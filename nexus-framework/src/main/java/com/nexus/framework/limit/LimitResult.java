@@ -0,0 +1,57 @@
+package com.nexus.framework.limit;
+
+/**
+ * 限流结果
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public final class LimitResult {
+
+    /**
+     * 是否允许访问
+     */
+    private final boolean allowed;
+
+    /**
+     * 剩余访问次数
+     */
+    private final long remaining;
+
+    /**
+     * 被拒绝时需要等待的毫秒数，允许访问时为 0
+     */
+    private final long retryAfterMillis;
+
+    public LimitResult(boolean allowed, long remaining, long retryAfterMillis) {
+        this.allowed = allowed;
+        this.remaining = Math.max(remaining, 0);
+        this.retryAfterMillis = Math.max(retryAfterMillis, 0);
+    }
+
+    public boolean allowed() {
+        return allowed;
+    }
+
+    public long remaining() {
+        return remaining;
+    }
+
+    public long retryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    /**
+     * 需要等待的秒数，向上取整，用于 Retry-After 响应头
+     *
+     * @return long
+     */
+    public long retryAfterSeconds() {
+        return (retryAfterMillis + 999) / 1000;
+    }
+
+    @Override
+    public String toString() {
+        return "LimitResult{allowed=" + allowed + ", remaining=" + remaining + ", retryAfterMillis=" + retryAfterMillis + "}";
+    }
+}
@@ -0,0 +1,356 @@
+package com.nexus.framework.limit;
+
+import com.nexus.common.enums.LimitAlgorithmEnum;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 限流 Lua 脚本
+ * <p>
+ * 每种算法一个脚本，在一次原子调用中完成判断和计数。脚本参数统一为 ARGV[1] 最大访问次数、ARGV[2] 时间范围（秒），
+ * 返回 {是否允许（1/0）, 剩余次数, 需要等待的毫秒数}。除固定窗口外都使用 Redis 服务器时间，多个节点之间不受本地时钟偏差影响。
+ * 脚本实例全局唯一，SHA1 只计算一次，执行时先尝试 EVALSHA
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public final class LimitScripts {
+
+    /**
+     * 读取 Redis 服务器时间（微秒）。Redis 5 之前调用 TIME 后写入需要先开启命令复制
+     */
+    private static final String NOW = """
+            if redis.replicate_commands then
+                redis.replicate_commands()
+            end
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            """;
+
+    /**
+     * 固定窗口计数，key 与原先的限流计数兼容
+     */
+    private static final String FIXED_WINDOW = """
+            local limit = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2]) * 1000
+            local count = tonumber(redis.call('get', KEYS[1]) or '0')
+            if count >= limit then
+                local ttl = redis.call('pttl', KEYS[1])
+                if ttl < 0 then
+                    redis.call('pexpire', KEYS[1], window)
+                    ttl = window
+                end
+                return {0, 0, ttl}
+            end
+            count = redis.call('incr', KEYS[1])
+            if count == 1 then
+                redis.call('pexpire', KEYS[1], window)
+            end
+            return {1, limit - count, 0}
+            """;
+
+    /**
+     * 滑动窗口日志：有序集合保存窗口内每次请求的时间（微秒）
+     */
+    private static final String SLIDING_LOG = NOW + """
+            local limit = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2]) * 1000000
+            redis.call('zremrangebyscore', KEYS[1], '-inf', string.format('%.0f', now - window))
+            local count = redis.call('zcard', KEYS[1])
+            if count >= limit then
+                local oldest = redis.call('zrange', KEYS[1], 0, 0, 'WITHSCORES')
+                local retry = window
+                if oldest[2] then
+                    retry = tonumber(oldest[2]) + window - now
+                end
+                return {0, 0, math.ceil(retry / 1000)}
+            end
+            local score = string.format('%.0f', now)
+            redis.call('zadd', KEYS[1], score, score .. '-' .. count)
+            redis.call('pexpire', KEYS[1], math.ceil(window / 1000))
+            return {1, limit - count - 1, 0}
+            """;
+
+    /**
+     * 滑动窗口计数：哈希保存当前窗口编号 w、当前窗口计数 c 和上一窗口计数 p，
+     * 上一窗口计数按未过去的比例加权
+     */
+    private static final String SLIDING_WINDOW = NOW + """
+            local limit = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2]) * 1000
+            now = math.floor(now / 1000)
+            local current = math.floor(now / window)
+            local elapsed = now - current * window
+            local state = redis.call('hmget', KEYS[1], 'w', 'c', 'p')
+            local count = tonumber(state[2]) or 0
+            local previous = tonumber(state[3]) or 0
+            if tonumber(state[1]) ~= current then
+                if tonumber(state[1]) == current - 1 then
+                    previous = count
+                else
+                    previous = 0
+                end
+                count = 0
+            end
+            local weighted = previous * (window - elapsed) / window + count
+            if weighted + 1 > limit then
+                local retry
+                if count + 1 <= limit then
+                    retry = window - (limit - count - 1) * window / previous - elapsed
+                else
+                    retry = window - elapsed
+                    if count > 0 then
+                        retry = retry + math.max(0, window - (limit - 1) * window / count)
+                    end
+                end
+                return {0, 0, math.max(1, math.ceil(retry))}
+            end
+            count = count + 1
+            redis.call('hmset', KEYS[1], 'w', current, 'c', count, 'p', previous)
+            redis.call('pexpire', KEYS[1], window * 2)
+            return {1, math.floor(limit - weighted - 1), 0}
+            """;
+
+    /**
+     * 令牌桶：哈希保存剩余令牌 tokens 和上次补充时间 ts（毫秒），读取时按经过的时间补充
+     */
+    private static final String TOKEN_BUCKET = NOW + """
+            local capacity = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2]) * 1000
+            local rate = capacity / window
+            now = math.floor(now / 1000)
+            local state = redis.call('hmget', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1])
+            local ts = tonumber(state[2])
+            if tokens == nil or ts == nil then
+                tokens = capacity
+                ts = now
+            end
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+            if tokens < 1 then
+                return {0, 0, math.ceil((1 - tokens) / rate)}
+            end
+            tokens = tokens - 1
+            redis.call('hmset', KEYS[1], 'tokens', tokens, 'ts', now)
+            redis.call('pexpire', KEYS[1], window)
+            return {1, math.floor(tokens), 0}
+            """;
+
+    /**
+     * 令牌桶批量租用：与 {@link #TOKEN_BUCKET} 使用同一个 key 和数据结构，ARGV[3] 为希望租用的许可数量，
+     * 返回 {实际租用数量, 剩余令牌, 需要等待的毫秒数}，令牌不足一个时租用数量为 0
+     */
+    private static final String LEASE = NOW + """
+            local capacity = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2]) * 1000
+            local requested = tonumber(ARGV[3])
+            local rate = capacity / window
+            now = math.floor(now / 1000)
+            local state = redis.call('hmget', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1])
+            local ts = tonumber(state[2])
+            if tokens == nil or ts == nil then
+                tokens = capacity
+                ts = now
+            end
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+            local granted = math.min(requested, math.floor(tokens))
+            if granted < 1 then
+                return {0, 0, math.ceil((1 - tokens) / rate)}
+            end
+            tokens = tokens - granted
+            redis.call('hmset', KEYS[1], 'tokens', tokens, 'ts', now)
+            redis.call('pexpire', KEYS[1], window)
+            return {granted, math.floor(tokens), 0}
+            """;
+
+    /**
+     * GCRA：只保存理论到达时间 TAT（微秒），允许最多 count 次的突发
+     */
+    private static final String GCRA = NOW + """
+            local limit = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2]) * 1000000
+            local interval = window / limit
+            local tat = tonumber(redis.call('get', KEYS[1]) or '0')
+            if tat < now then
+                tat = now
+            end
+            local newTat = tat + interval
+            local allowAt = newTat - window
+            if allowAt > now then
+                return {0, 0, math.ceil((allowAt - now) / 1000)}
+            end
+            redis.call('set', KEYS[1], string.format('%.0f', newTat), 'PX', math.ceil((newTat - now) / 1000))
+            return {1, math.floor((now - allowAt) / interval), 0}
+            """;
+
+    /**
+     * 并发租约：有序集合保存租约标识和到期时间（毫秒），先清理到期的租约再判断名额。
+     * ARGV[1] 最大并发数、ARGV[2] 租约有效期（秒）、ARGV[3] 租约标识，返回 {是否租用到（1/0）, 剩余名额, 0}
+     */
+    private static final String CONCURRENCY_ACQUIRE = NOW + """
+            local limit = tonumber(ARGV[1])
+            local ttl = tonumber(ARGV[2]) * 1000
+            now = math.floor(now / 1000)
+            redis.call('zremrangebyscore', KEYS[1], '-inf', now)
+            local count = redis.call('zcard', KEYS[1])
+            if count >= limit then
+                return {0, 0, 0}
+            end
+            redis.call('zadd', KEYS[1], now + ttl, ARGV[3])
+            redis.call('pexpire', KEYS[1], ttl)
+            return {1, limit - count - 1, 0}
+            """;
+
+    /**
+     * 并发租约续期：ARGV[1] 租约有效期（秒），ARGV[2..n] 租约标识，只续期仍然存在的租约，返回 {续期数量}
+     */
+    private static final String CONCURRENCY_RENEW = NOW + """
+            local ttl = tonumber(ARGV[1]) * 1000
+            now = math.floor(now / 1000)
+            local renewed = 0
+            for i = 2, #ARGV do
+                if redis.call('zscore', KEYS[1], ARGV[i]) then
+                    redis.call('zadd', KEYS[1], now + ttl, ARGV[i])
+                    renewed = renewed + 1
+                end
+            end
+            if renewed > 0 then
+                redis.call('pexpire', KEYS[1], ttl)
+            end
+            return {renewed}
+            """;
+
+    /**
+     * 并发租约释放：ARGV[1] 租约标识，返回 {释放数量}
+     */
+    private static final String CONCURRENCY_RELEASE = """
+            return {redis.call('zrem', KEYS[1], ARGV[1])}
+            """;
+
+    /**
+     * 并发租约统计：清理到期的租约，返回 {未到期的租约数量}
+     */
+    private static final String CONCURRENCY_COUNT = NOW + """
+            redis.call('zremrangebyscore', KEYS[1], '-inf', math.floor(now / 1000))
+            return {redis.call('zcard', KEYS[1])}
+            """;
+
+    /**
+     * 算法和脚本
+     */
+    private static final Map<LimitAlgorithmEnum, RedisScript<List<Long>>> SCRIPTS = new EnumMap<>(LimitAlgorithmEnum.class);
+
+    /**
+     * 令牌桶批量租用脚本
+     */
+    private static final RedisScript<List<Long>> LEASE_SCRIPT = of(LEASE);
+
+    /**
+     * 并发租约脚本
+     */
+    private static final RedisScript<List<Long>> CONCURRENCY_ACQUIRE_SCRIPT = of(CONCURRENCY_ACQUIRE);
+    private static final RedisScript<List<Long>> CONCURRENCY_RENEW_SCRIPT = of(CONCURRENCY_RENEW);
+    private static final RedisScript<List<Long>> CONCURRENCY_RELEASE_SCRIPT = of(CONCURRENCY_RELEASE);
+    private static final RedisScript<List<Long>> CONCURRENCY_COUNT_SCRIPT = of(CONCURRENCY_COUNT);
+
+    static {
+        SCRIPTS.put(LimitAlgorithmEnum.FIXED_WINDOW, of(FIXED_WINDOW));
+        SCRIPTS.put(LimitAlgorithmEnum.SLIDING_LOG, of(SLIDING_LOG));
+        SCRIPTS.put(LimitAlgorithmEnum.SLIDING_WINDOW, of(SLIDING_WINDOW));
+        SCRIPTS.put(LimitAlgorithmEnum.TOKEN_BUCKET, of(TOKEN_BUCKET));
+        SCRIPTS.put(LimitAlgorithmEnum.GCRA, of(GCRA));
+    }
+
+    private LimitScripts() {
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static RedisScript<List<Long>> of(String script) {
+        return (RedisScript) RedisScript.of(script, List.class);
+    }
+
+    /**
+     * 获取限流脚本
+     *
+     * @param algorithm 限流算法
+     * @return {@link RedisScript }<{@link List }<{@link Long }>>
+     */
+    public static RedisScript<List<Long>> script(LimitAlgorithmEnum algorithm) {
+        return SCRIPTS.get(algorithm);
+    }
+
+    /**
+     * 获取令牌桶批量租用脚本，参数为 ARGV[1] 最大访问次数、ARGV[2] 时间范围（秒）、ARGV[3] 希望租用的许可数量
+     *
+     * @return {@link RedisScript }<{@link List }<{@link Long }>>
+     */
+    public static RedisScript<List<Long>> lease() {
+        return LEASE_SCRIPT;
+    }
+
+    /**
+     * 获取并发租约脚本，参数为 ARGV[1] 最大并发数、ARGV[2] 租约有效期（秒）、ARGV[3] 租约标识
+     *
+     * @return {@link RedisScript }<{@link List }<{@link Long }>>
+     */
+    public static RedisScript<List<Long>> concurrencyAcquire() {
+        return CONCURRENCY_ACQUIRE_SCRIPT;
+    }
+
+    /**
+     * 获取并发租约续期脚本，参数为 ARGV[1] 租约有效期（秒）、ARGV[2..n] 租约标识
+     *
+     * @return {@link RedisScript }<{@link List }<{@link Long }>>
+     */
+    public static RedisScript<List<Long>> concurrencyRenew() {
+        return CONCURRENCY_RENEW_SCRIPT;
+    }
+
+    /**
+     * 获取并发租约释放脚本，参数为 ARGV[1] 租约标识
+     *
+     * @return {@link RedisScript }<{@link List }<{@link Long }>>
+     */
+    public static RedisScript<List<Long>> concurrencyRelease() {
+        return CONCURRENCY_RELEASE_SCRIPT;
+    }
+
+    /**
+     * 获取并发租约统计脚本
+     *
+     * @return {@link RedisScript }<{@link List }<{@link Long }>>
+     */
+    public static RedisScript<List<Long>> concurrencyCount() {
+        return CONCURRENCY_COUNT_SCRIPT;
+    }
+
+    /**
+     * 获取全部限流脚本
+     *
+     * @return {@link Map }<{@link LimitAlgorithmEnum }, {@link RedisScript }<{@link List }<{@link Long }>>>
+     */
+    public static Map<LimitAlgorithmEnum, RedisScript<List<Long>>> scripts() {
+        return Map.copyOf(SCRIPTS);
+    }
+
+    /**
+     * 获取全部脚本，包括批量租用和并发租约脚本，用于预加载
+     *
+     * @return {@link Map }<{@link String }, {@link RedisScript }<{@link List }<{@link Long }>>>
+     */
+    public static Map<String, RedisScript<List<Long>>> all() {
+        Map<String, RedisScript<List<Long>>> all = new LinkedHashMap<>();
+        SCRIPTS.forEach((algorithm, script) -> all.put(algorithm.name(), script));
+        all.put("LEASE", LEASE_SCRIPT);
+        all.put("CONCURRENCY_ACQUIRE", CONCURRENCY_ACQUIRE_SCRIPT);
+        all.put("CONCURRENCY_RENEW", CONCURRENCY_RENEW_SCRIPT);
+        all.put("CONCURRENCY_RELEASE", CONCURRENCY_RELEASE_SCRIPT);
+        all.put("CONCURRENCY_COUNT", CONCURRENCY_COUNT_SCRIPT);
+        return all;
+    }
+}
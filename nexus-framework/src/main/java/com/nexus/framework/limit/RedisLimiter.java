@@ -0,0 +1,65 @@
+package com.nexus.framework.limit;
+
+import com.nexus.common.enums.LimitAlgorithmEnum;
+import com.nexus.common.utils.RedisUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Redis 限流器
+ * <p>
+ * 启动时通过 SCRIPT LOAD 预加载全部限流脚本，之后每次限流只发送 EVALSHA 和脚本 SHA1；
+ * Redis 重启或执行 SCRIPT FLUSH 后 RedisTemplate 会在收到 NOSCRIPT 时自动回退到 EVAL 并重新加载
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Slf4j
+@Component
+public class RedisLimiter implements SmartInitializingSingleton {
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        LimitScripts.all().forEach((name, script) -> {
+            try {
+                RedisUtils.scriptLoad(script);
+            } catch (RuntimeException e) {
+                // Redis 暂时不可用时不影响启动，第一次执行时再加载
+                log.warn("限流脚本预加载失败：{}，{}", name, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 获取一次访问许可
+     *
+     * @param algorithm 限流算法
+     * @param key       限流 key
+     * @param count     时间范围内最多访问次数
+     * @param period    时间范围（秒）
+     * @return {@link LimitResult }
+     */
+    public LimitResult acquire(LimitAlgorithmEnum algorithm, String key, int count, int period) {
+        if (count <= 0 || period <= 0) {
+            throw new IllegalArgumentException("限流次数和时间范围必须大于 0：" + key);
+        }
+        List<Long> result = RedisUtils.execute(LimitScripts.script(algorithm), Collections.singletonList(redisKey(algorithm, key)), count, period);
+        return new LimitResult(result.get(0) == 1, result.get(1), result.get(2));
+    }
+
+    /**
+     * 限流算法在 Redis 中使用的 key
+     *
+     * @param algorithm 限流算法
+     * @param key       限流 key
+     * @return {@link String }
+     */
+    static String redisKey(LimitAlgorithmEnum algorithm, String key) {
+        // 固定窗口沿用原先的 key，已有的计数继续有效
+        return algorithm == LimitAlgorithmEnum.FIXED_WINDOW ? key : key + ":" + algorithm.getKeySuffix();
+    }
+}
@@ -0,0 +1,719 @@
+package com.nexus.framework.log;
+
+import com.alibaba.fastjson2.JSON;
+import com.nexus.common.core.domain.vo.AsyncLogWriterVo;
+import com.nexus.common.enums.LogOverflowPolicyEnum;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * 异步批量日志写入器
+ * <p>
+ * 请求线程只把日志放入有界无锁环形队列，由一个写入线程取出，攒够 batchSize 条或最早一条等待超过 flushInterval 时批量写入数据库。
+ * 队列满时按溢出策略阻塞、丢弃最旧的日志或写入本地溢出文件；溢出文件在队列空闲时由写入线程重新写入，
+ * 重新写入按批次推进，失败时只保留未写入的部分，保证每条日志至少写入一次。
+ * <p>
+ * 开启预写文件（{@link #journal}）后日志先追加到 {@link LogJournal}，再放入队列，队列满时溢出策略不再生效：
+ * 队列满时日志只保存在预写文件中，写入线程按序号发现缺口后从预写文件读取。数据库不可用时写入线程持续重试当前批次，
+ * 请求线程不受影响；重启后从确认序号之后继续写入，重试和恢复的批次先按主键去掉已经写入的日志，不会重复。
+ * 预写文件达到大小上限时按溢出策略处理新日志：阻塞等待空间、丢弃新日志或写入溢出文件。
+ * <p>
+ * 提交时可以附带补全操作（{@link #write(Object, Consumer)}），例如序列化请求参数，由写入线程在写入前执行，不占用请求线程；
+ * 预写模式下补全操作在调用线程中执行，补全并追加到预写文件后才返回，进程崩溃时不会丢失已提交的日志
+ * <p>
+ * 写入器未启动或已关闭时直接在调用线程中写入
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Slf4j
+public class AsyncLogWriter<E> {
+
+    /**
+     * 写入溢出文件失败或重新写入失败后，下一次重新写入的间隔
+     */
+    private static final long REPLAY_BACKOFF = TimeUnit.SECONDS.toNanos(5);
+
+    /**
+     * 丢弃日志时告警的最小间隔
+     */
+    private static final long WARN_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * 预写模式下数据库写入失败后重试间隔的上限
+     */
+    private static final long MAX_RETRY_BACKOFF = TimeUnit.SECONDS.toNanos(30);
+
+    private final String name;
+
+    private final Class<E> type;
+
+    /**
+     * 批量写入数据库
+     */
+    private final Consumer<List<E>> sink;
+
+    private final LogRingBuffer<Entry<E>> buffer;
+
+    private final int batchSize;
+
+    /**
+     * 最长攒批时间（纳秒）
+     */
+    private final long flushInterval;
+
+    private final LogOverflowPolicyEnum overflowPolicy;
+
+    /**
+     * 阻塞策略下最长等待时间（纳秒）
+     */
+    private final long blockTimeout;
+
+    /**
+     * 溢出文件，写入线程重新写入时先改名为 {@link #replayFile}，新的溢出写入新文件
+     */
+    private final Path spillFile;
+
+    private final Path replayFile;
+
+    private final Object spillLock = new Object();
+
+    /**
+     * 预写文件，未开启时为 null
+     */
+    private LogJournal journal;
+
+    /**
+     * 去掉已经写入数据库的日志
+     */
+    private UnaryOperator<List<E>> deduplicator;
+
+    /**
+     * 预写文件刷盘间隔（纳秒）
+     */
+    private long forceInterval;
+
+    /**
+     * 追加预写文件和放入队列在同一把锁内完成，保证队列中的序号递增
+     */
+    private final Object journalLock = new Object();
+
+    private volatile boolean running;
+
+    /**
+     * 已关闭，在关闭时清空队列之前设置，之后放入队列的日志由放入的线程写入
+     */
+    private volatile boolean closed;
+
+    private Thread writer;
+
+    private long nextReplayAt = System.nanoTime();
+
+    private volatile long lastWarnAt = System.nanoTime() - WARN_INTERVAL;
+
+    private final AtomicInteger peakQueueDepth = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder journalRejected = new LongAdder();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushNanosTotal = new AtomicLong();
+    private final AtomicLong flushNanosMax = new AtomicLong();
+    private volatile long flushNanosLast;
+
+    /**
+     * @param name           名称，同时用作线程名和溢出文件名
+     * @param type           日志类型，用于读取溢出文件
+     * @param sink           批量写入数据库
+     * @param capacity       队列容量
+     * @param batchSize      每批最多写入数量
+     * @param flushInterval  最长攒批时间（毫秒）
+     * @param overflowPolicy 溢出策略
+     * @param blockTimeout   阻塞策略下最长等待时间（毫秒）
+     * @param spillDir       溢出文件目录
+     */
+    public AsyncLogWriter(String name, Class<E> type, Consumer<List<E>> sink, int capacity, int batchSize, long flushInterval,
+                          LogOverflowPolicyEnum overflowPolicy, long blockTimeout, Path spillDir) {
+        this.name = name;
+        this.type = type;
+        this.sink = sink;
+        this.buffer = new LogRingBuffer<>(capacity);
+        this.batchSize = Math.max(batchSize, 1);
+        this.flushInterval = TimeUnit.MILLISECONDS.toNanos(Math.max(flushInterval, 1));
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeout = TimeUnit.MILLISECONDS.toNanos(Math.max(blockTimeout, 0));
+        this.spillFile = spillDir.resolve(name + ".spill");
+        this.replayFile = spillDir.resolve(name + ".spill.replay");
+    }
+
+    /**
+     * 开启预写文件，需要在 {@link #start()} 之前调用
+     *
+     * @param dir           目录
+     * @param segmentSize   分段大小（字节）
+     * @param maxSegments   最多保留的分段数量
+     * @param forceInterval 刷盘间隔（毫秒）
+     * @param deduplicator  去掉已经写入数据库的日志，用于重试和恢复的批次
+     * @throws IOException 打开预写文件失败
+     */
+    public synchronized void journal(Path dir, int segmentSize, int maxSegments, long forceInterval,
+                                     UnaryOperator<List<E>> deduplicator) throws IOException {
+        LogJournal journal = new LogJournal(dir, segmentSize, maxSegments);
+        journal.open();
+        this.journal = journal;
+        this.deduplicator = deduplicator;
+        this.forceInterval = TimeUnit.MILLISECONDS.toNanos(Math.max(forceInterval, 1));
+    }
+
+    /**
+     * 启动写入线程
+     */
+    public synchronized void start() {
+        if (writer != null) {
+            return;
+        }
+        running = true;
+        writer = new Thread(journal == null ? this::run : this::runJournal, "async-log-" + name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 停止接收新日志，写完队列中剩余的日志后退出
+     *
+     * @param timeout 最长等待时间（毫秒）
+     */
+    public synchronized void shutdown(long timeout) {
+        if (writer == null) {
+            return;
+        }
+        closed = true;
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("异步日志写入线程未在 {} 毫秒内退出：{}，队列剩余 {} 条", timeout, name, buffer.size());
+            return;
+        }
+        if (journal != null) {
+            // 未写入的日志保留在预写文件中，下次启动时写入
+            journal.force();
+            return;
+        }
+        // 写入线程退出前刚放入队列的日志
+        drainClosed();
+    }
+
+    /**
+     * 关闭后在调用线程中写入队列中剩余的日志，写入失败时按溢出策略写入溢出文件或丢弃
+     */
+    private void drainClosed() {
+        List<E> rest = new ArrayList<>();
+        Entry<E> entry;
+        while ((entry = buffer.poll()) != null) {
+            rest.add(entry.complete());
+        }
+        if (rest.isEmpty() || flush(rest)) {
+            return;
+        }
+        if (overflowPolicy == LogOverflowPolicyEnum.SPILL) {
+            spill(rest);
+        } else {
+            dropped(rest.size());
+        }
+    }
+
+    /**
+     * 提交一条日志
+     *
+     * @param element 日志
+     */
+    public void write(E element) {
+        write(element, null);
+    }
+
+    /**
+     * 提交一条日志，写入前执行补全操作
+     *
+     * @param element   日志
+     * @param completer 补全操作，为 null 时不执行
+     */
+    public void write(E element, Consumer<? super E> completer) {
+        submitted.increment();
+        Entry<E> entry = new Entry<>(0, element, completer);
+        if (!running) {
+            flush(List.of(entry.complete()));
+            return;
+        }
+        if (journal != null) {
+            writeJournal(entry.complete());
+            return;
+        }
+        if (buffer.offer(entry)) {
+            offered();
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK -> block(entry);
+            case DROP_OLDEST -> dropOldest(entry);
+            default -> spill(List.of(entry.complete()));
+        }
+    }
+
+    /**
+     * 追加到预写文件后放入队列，队列满时只保存在预写文件中
+     */
+    private void writeJournal(E element) {
+        byte[] payload = JSON.toJSONBytes(element);
+        long deadline = System.nanoTime() + blockTimeout;
+        boolean queued;
+        try {
+            while (true) {
+                try {
+                    synchronized (journalLock) {
+                        long seq = journal.append(payload);
+                        queued = buffer.offer(new Entry<>(seq, element, null));
+                        journal.publish(seq);
+                    }
+                    break;
+                } catch (LogJournal.JournalFullException e) {
+                    // 阻塞策略下等待写入线程确认并删除分段
+                    if (overflowPolicy != LogOverflowPolicyEnum.BLOCK || System.nanoTime() - deadline >= 0) {
+                        journalFull(element, e);
+                        return;
+                    }
+                    LockSupport.unpark(writer);
+                    LockSupport.parkNanos(1_000_000);
+                }
+            }
+        } catch (IOException e) {
+            log.error("日志预写文件追加失败，直接写入数据库：{}，{}", name, e.getMessage());
+            flush(List.of(element));
+            return;
+        }
+        if (queued) {
+            offered();
+        } else {
+            spilled.increment();
+        }
+    }
+
+    /**
+     * 预写文件已满：溢出策略为写入溢出文件时写入溢出文件，否则丢弃新日志，已经在预写文件中的日志不能丢弃
+     */
+    private void journalFull(E element, IOException e) {
+        journalRejected.increment();
+        if (overflowPolicy == LogOverflowPolicyEnum.SPILL) {
+            spill(List.of(element));
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - lastWarnAt >= WARN_INTERVAL) {
+            lastWarnAt = now;
+            log.warn("{}，丢弃新日志：{}", e.getMessage(), name);
+        }
+        dropped(1);
+    }
+
+    private void offered() {
+        if (closed && journal == null) {
+            // 放入队列前写入器已关闭，关闭时的清空可能已经结束，由当前线程写入
+            drainClosed();
+            return;
+        }
+        int size = buffer.size();
+        peakQueueDepth.accumulateAndGet(size, Math::max);
+        if (size >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * 等待队列空出位置，超时后丢弃
+     */
+    private void block(Entry<E> entry) {
+        long deadline = System.nanoTime() + blockTimeout;
+        LockSupport.unpark(writer);
+        while (!buffer.offer(entry)) {
+            if (System.nanoTime() - deadline >= 0) {
+                dropped(1);
+                return;
+            }
+            LockSupport.parkNanos(100_000);
+        }
+        offered();
+    }
+
+    /**
+     * 丢弃队列中最旧的日志
+     */
+    private void dropOldest(Entry<E> entry) {
+        while (!buffer.offer(entry)) {
+            if (buffer.poll() != null) {
+                dropped(1);
+            }
+        }
+        offered();
+    }
+
+    private void dropped(int count) {
+        dropped.add(count);
+        long now = System.nanoTime();
+        if (now - lastWarnAt >= WARN_INTERVAL) {
+            lastWarnAt = now;
+            log.warn("异步日志队列已满，丢弃日志：{}，累计丢弃 {} 条", name, dropped.sum());
+        }
+    }
+
+    /**
+     * 写入溢出文件，每行一条 JSON
+     */
+    private void spill(List<E> elements) {
+        synchronized (spillLock) {
+            try {
+                Files.createDirectories(spillFile.getParent());
+                try (BufferedWriter out = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (E element : elements) {
+                        out.write(JSON.toJSONString(element));
+                        out.newLine();
+                    }
+                }
+                spilled.add(elements.size());
+                return;
+            } catch (IOException e) {
+                log.error("异步日志写入溢出文件失败：{}，{}", spillFile, e.getMessage());
+            }
+        }
+        dropped(elements.size());
+    }
+
+    /**
+     * 写入线程：按数量或时间批量写入，队列空闲时重新写入溢出文件
+     */
+    private void run() {
+        List<E> batch = new ArrayList<>(batchSize);
+        long deadline = 0;
+        while (running || buffer.size() > 0 || !batch.isEmpty()) {
+            Entry<E> entry;
+            while (batch.size() < batchSize && (entry = buffer.poll()) != null) {
+                if (batch.isEmpty()) {
+                    deadline = System.nanoTime() + flushInterval;
+                }
+                batch.add(entry.complete());
+            }
+            long now = System.nanoTime();
+            if (batch.size() >= batchSize || (!batch.isEmpty() && (now - deadline >= 0 || !running))) {
+                if (!flush(batch) && overflowPolicy == LogOverflowPolicyEnum.SPILL) {
+                    spill(batch);
+                }
+                batch.clear();
+            } else if (batch.isEmpty()) {
+                if (running) {
+                    replay(now);
+                    LockSupport.parkNanos(this, flushInterval);
+                } else {
+                    // 生产者已占位但尚未发布
+                    Thread.onSpinWait();
+                }
+            } else {
+                LockSupport.parkNanos(this, deadline - now);
+            }
+        }
+    }
+
+    /**
+     * 预写模式的写入线程：按序号从队列取出日志，队列中缺少的序号从预写文件读取，写入成功后确认序号
+     */
+    private void runJournal() {
+        List<E> batch = new ArrayList<>(batchSize);
+        long nextSeq = journal.ackedSeq() + 1;
+        long batchFirstSeq = nextSeq;
+        long deadline = 0;
+        long forcedAt = System.nanoTime();
+        Entry<E> held = null;
+        while (true) {
+            while (batch.size() < batchSize) {
+                if (held == null) {
+                    held = buffer.poll();
+                }
+                if (held != null && held.seq < nextSeq) {
+                    // 已经从预写文件读取过
+                    held = null;
+                    continue;
+                }
+                if (batch.isEmpty()) {
+                    deadline = System.nanoTime() + flushInterval;
+                    batchFirstSeq = nextSeq;
+                }
+                if (held != null && held.seq == nextSeq) {
+                    batch.add(held.element);
+                    held = null;
+                    nextSeq++;
+                    continue;
+                }
+                // 队列为空或出现缺口，缺少的日志只在预写文件中
+                long upTo = held != null ? held.seq - 1 : journal.lastSeq();
+                if (upTo < nextSeq) {
+                    break;
+                }
+                nextSeq = journal.read(nextSeq, Math.min(upTo, nextSeq + batchSize - batch.size() - 1), (seq, payload) -> {
+                    try {
+                        batch.add(JSON.parseObject(payload, type));
+                        replayed.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                        log.error("日志预写文件中序号 {} 的记录无法解析，已跳过：{}，{}", seq, name, e.getMessage());
+                    }
+                });
+            }
+            long now = System.nanoTime();
+            if (!batch.isEmpty() && (batch.size() >= batchSize || now - deadline >= 0 || !running)) {
+                boolean written = flushJournal(batch, batchFirstSeq <= journal.recoveredSeq(), nextSeq - 1);
+                batch.clear();
+                if (!written) {
+                    break;
+                }
+            } else if (batch.isEmpty()) {
+                // 缺失或无法解析的记录已跳过
+                journal.ack(nextSeq - 1);
+                if (!running) {
+                    break;
+                }
+                // 预写文件已满时写入溢出文件的日志
+                replay(now);
+                LockSupport.parkNanos(this, flushInterval);
+            } else {
+                LockSupport.parkNanos(this, deadline - now);
+            }
+            if (now - forcedAt >= forceInterval) {
+                journal.force();
+                forcedAt = now;
+            }
+        }
+        journal.force();
+    }
+
+    /**
+     * 预写模式下批量写入数据库，失败时持续重试，重试前去掉已经写入的日志
+     *
+     * @param batch     日志
+     * @param uncertain 是否可能已经写入过（恢复的日志）
+     * @param lastSeq   批次最后一条日志的序号
+     * @return boolean 写入成功返回 true，关闭时仍未写入成功返回 false，日志保留在预写文件中
+     */
+    private boolean flushJournal(List<E> batch, boolean uncertain, long lastSeq) {
+        long backoff = TimeUnit.MILLISECONDS.toNanos(100);
+        while (true) {
+            List<E> remaining = batch;
+            if (uncertain && deduplicator != null) {
+                try {
+                    remaining = deduplicator.apply(batch);
+                } catch (RuntimeException e) {
+                    log.error("异步日志去重查询失败：{}，{}", name, e.getMessage());
+                    remaining = null;
+                }
+            }
+            if (remaining != null && (remaining.isEmpty() || flush(remaining))) {
+                journal.ack(lastSeq);
+                return true;
+            }
+            if (!running) {
+                return false;
+            }
+            uncertain = true;
+            LockSupport.parkNanos(this, backoff);
+            backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF);
+        }
+    }
+
+    /**
+     * 批量写入数据库
+     *
+     * @param batch 日志
+     * @return boolean 是否写入成功
+     */
+    private boolean flush(List<E> batch) {
+        long start = System.nanoTime();
+        try {
+            sink.accept(batch);
+        } catch (RuntimeException e) {
+            failed.addAndGet(batch.size());
+            log.error("异步日志批量写入失败：{}，数量 {}，{}", name, batch.size(), e.getMessage());
+            return false;
+        }
+        long elapsed = System.nanoTime() - start;
+        written.addAndGet(batch.size());
+        flushCount.incrementAndGet();
+        flushNanosTotal.addAndGet(elapsed);
+        flushNanosMax.accumulateAndGet(elapsed, Math::max);
+        flushNanosLast = elapsed;
+        return true;
+    }
+
+    /**
+     * 重新写入溢出文件，失败时把未写入的部分写回重新写入文件，等待下一次
+     *
+     * @param now 当前时间
+     */
+    private void replay(long now) {
+        if (now - nextReplayAt < 0) {
+            return;
+        }
+        try {
+            synchronized (spillLock) {
+                if (Files.notExists(replayFile)) {
+                    if (Files.notExists(spillFile)) {
+                        return;
+                    }
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            List<E> batch = new ArrayList<>(batchSize);
+            List<String> lines = new ArrayList<>(batchSize);
+            try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        batch.add(JSON.parseObject(line, type));
+                        lines.add(line);
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                        log.warn("异步日志溢出文件内容无法解析，已跳过：{}，{}", name, e.getMessage());
+                        continue;
+                    }
+                    if (batch.size() >= batchSize) {
+                        if (!flush(batch)) {
+                            keep(lines, reader);
+                            nextReplayAt = now + REPLAY_BACKOFF;
+                            return;
+                        }
+                        replayed.addAndGet(batch.size());
+                        batch.clear();
+                        lines.clear();
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    if (!flush(batch)) {
+                        keep(lines, reader);
+                        nextReplayAt = now + REPLAY_BACKOFF;
+                        return;
+                    }
+                    replayed.addAndGet(batch.size());
+                }
+            }
+            Files.delete(replayFile);
+            log.info("异步日志溢出文件已重新写入：{}", name);
+        } catch (IOException e) {
+            nextReplayAt = now + REPLAY_BACKOFF;
+            log.error("异步日志溢出文件重新写入失败：{}，{}", replayFile, e.getMessage());
+        }
+    }
+
+    /**
+     * 只保留未写入的部分：当前批次和文件剩余内容
+     */
+    private void keep(List<String> lines, BufferedReader reader) throws IOException {
+        Path temp = replayFile.resolveSibling(replayFile.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (String line : lines) {
+                out.write(line);
+                out.newLine();
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                out.write(line);
+                out.newLine();
+            }
+        }
+        Files.move(temp, replayFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 获取写入统计
+     *
+     * @return {@link AsyncLogWriterVo }
+     */
+    public AsyncLogWriterVo stats() {
+        long flushes = flushCount.get();
+        long pending = 0;
+        for (Path file : List.of(spillFile, replayFile)) {
+            try {
+                pending += Files.exists(file) ? Files.size(file) : 0;
+            } catch (IOException ignored) {
+                // 文件正在改名
+            }
+        }
+        return new AsyncLogWriterVo(name, overflowPolicy.name(), buffer.capacity(), buffer.size(), peakQueueDepth.get(),
+                submitted.sum(), written.get(), dropped.sum(), spilled.sum(), replayed.get(), failed.get(), flushes,
+                flushes == 0 ? 0 : flushNanosTotal.get() / 1_000_000.0 / flushes,
+                TimeUnit.NANOSECONDS.toMillis(flushNanosMax.get()), TimeUnit.NANOSECONDS.toMillis(flushNanosLast), pending,
+                journal == null ? null : journal.lastSeq() - journal.ackedSeq(), journal == null ? null : journal.segmentCount(),
+                journal == null ? null : journalRejected.sum());
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * 队列元素：预写序号、日志和补全操作，未开启预写文件时序号为 0
+     */
+    private static final class Entry<E> {
+
+        private final long seq;
+
+        private final E element;
+
+        private final Consumer<? super E> completer;
+
+        private Entry(long seq, E element, Consumer<? super E> completer) {
+            this.seq = seq;
+            this.element = element;
+            this.completer = completer;
+        }
+
+        /**
+         * 执行补全操作，失败时仍然写入日志
+         *
+         * @return {@link E } 日志
+         */
+        private E complete() {
+            if (completer != null) {
+                try {
+                    completer.accept(element);
+                } catch (RuntimeException e) {
+                    log.warn("异步日志补全失败：{}", e.getMessage());
+                }
+            }
+            return element;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.nexus.framework.log;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+import com.nexus.common.core.base.BaseEntity;
+import com.nexus.common.core.domain.vo.AsyncLogWriterVo;
+import com.nexus.common.core.mapper.BaseMapperPlus;
+import com.nexus.common.enums.LogOverflowPolicyEnum;
+import com.nexus.system.domain.SysLoginLog;
+import com.nexus.system.domain.SysOperationLog;
+import com.nexus.system.mapper.SysLoginLogMapper;
+import com.nexus.system.mapper.SysOperationLogMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 操作日志和登录日志的异步写入器
+ * <p>
+ * 两种日志各有一个队列和写入线程，使用多行 INSERT 批量写入。log.async.enabled 为 false 时在请求线程中逐条写入。
+ * 应用关闭时先写完队列中的日志，再关闭数据源。
+ * <p>
+ * log.async.journal.enabled 为 true 时日志先写入本地预写文件，数据库慢或不可用时不影响请求，恢复后按顺序补写。
+ * 主键在提交时生成，重试和重启恢复的批次写入前按主键查询，去掉已经写入的日志
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Slf4j
+@Component
+public class AsyncLogWriters {
+
+    @Value("${log.async.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 队列容量
+     */
+    @Value("${log.async.capacity:8192}")
+    private int capacity;
+
+    /**
+     * 每批最多写入数量
+     */
+    @Value("${log.async.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * 最长攒批时间（毫秒）
+     */
+    @Value("${log.async.flush-interval:1000}")
+    private long flushInterval;
+
+    /**
+     * 队列满时的溢出策略
+     */
+    @Value("${log.async.overflow-policy:SPILL}")
+    private LogOverflowPolicyEnum overflowPolicy;
+
+    /**
+     * 阻塞策略下请求线程最长等待时间（毫秒）
+     */
+    @Value("${log.async.block-timeout:100}")
+    private long blockTimeout;
+
+    /**
+     * 溢出文件目录
+     */
+    @Value("${log.async.spill-dir:${java.io.tmpdir}/nexus/log-spill}")
+    private String spillDir;
+
+    /**
+     * 关闭时等待写完队列的最长时间（毫秒）
+     */
+    @Value("${log.async.shutdown-timeout:10000}")
+    private long shutdownTimeout;
+
+    @Value("${log.async.journal.enabled:false}")
+    private boolean journalEnabled;
+
+    /**
+     * 预写文件目录，每种日志一个子目录
+     */
+    @Value("${log.async.journal.dir:${user.dir}/data/log-journal}")
+    private String journalDir;
+
+    /**
+     * 预写文件分段大小（MB）
+     */
+    @Value("${log.async.journal.segment-size:8}")
+    private int journalSegmentSize;
+
+    /**
+     * 每种日志的预写文件大小上限（MB），达到上限后按溢出策略处理新日志
+     */
+    @Value("${log.async.journal.max-size:1024}")
+    private int journalMaxSize;
+
+    /**
+     * 预写文件刷盘间隔（毫秒），断电时最多丢失这段时间内的日志
+     */
+    @Value("${log.async.journal.force-interval:1000}")
+    private long journalForceInterval;
+
+    @Resource
+    private IdentifierGenerator identifierGenerator;
+
+    @Resource
+    private SysOperationLogMapper sysOperationLogMapper;
+    @Resource
+    private SysLoginLogMapper sysLoginLogMapper;
+
+    private AsyncLogWriter<SysOperationLog> operationLogWriter;
+
+    private AsyncLogWriter<SysLoginLog> loginLogWriter;
+
+    @PostConstruct
+    public void init() throws IOException {
+        operationLogWriter = new AsyncLogWriter<>("operation-log", SysOperationLog.class, batch -> {
+            // 多行 INSERT 会写入所有字段，未设置的删除标识不能依赖数据库默认值
+            batch.forEach(operationLog -> {
+                if (operationLog.getDeleted() == null) {
+                    operationLog.setDeleted(0);
+                }
+            });
+            sysOperationLogMapper.insertBatchSomeColumn(batch);
+        }, capacity, batchSize, flushInterval, overflowPolicy, blockTimeout, Path.of(spillDir));
+        loginLogWriter = new AsyncLogWriter<>("login-log", SysLoginLog.class, sysLoginLogMapper::insertBatchSomeColumn,
+                capacity, batchSize, flushInterval, overflowPolicy, blockTimeout, Path.of(spillDir));
+        if (enabled && journalEnabled) {
+            int segmentSize = journalSegmentSize * 1024 * 1024;
+            int maxSegments = Math.max(journalMaxSize / Math.max(journalSegmentSize, 1), 2);
+            operationLogWriter.journal(Path.of(journalDir, "operation-log"), segmentSize, maxSegments, journalForceInterval,
+                    batch -> withoutExisting(batch, sysOperationLogMapper));
+            loginLogWriter.journal(Path.of(journalDir, "login-log"), segmentSize, maxSegments, journalForceInterval,
+                    batch -> withoutExisting(batch, sysLoginLogMapper));
+        }
+        if (enabled) {
+            operationLogWriter.start();
+            loginLogWriter.start();
+            log.info("异步日志写入已启动，队列容量：{}，批量：{}，溢出策略：{}", capacity, batchSize, overflowPolicy);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        operationLogWriter.shutdown(shutdownTimeout);
+        loginLogWriter.shutdown(shutdownTimeout);
+    }
+
+    /**
+     * 提交操作日志
+     *
+     * @param operationLog 操作日志
+     */
+    public void operationLog(SysOperationLog operationLog) {
+        operationLog(operationLog, null);
+    }
+
+    /**
+     * 提交操作日志，请求参数和响应结果等耗时的内容由写入线程在写入前补全，开启预写文件时在调用线程中补全
+     *
+     * @param operationLog 操作日志
+     * @param completer    补全操作
+     */
+    public void operationLog(SysOperationLog operationLog, Consumer<SysOperationLog> completer) {
+        assignId(operationLog);
+        operationLogWriter.write(operationLog, completer);
+    }
+
+    /**
+     * 提交登录日志
+     *
+     * @param loginLog 登录日志
+     */
+    public void loginLog(SysLoginLog loginLog) {
+        assignId(loginLog);
+        loginLogWriter.write(loginLog);
+    }
+
+    /**
+     * 提交时生成主键，重试和恢复时按主键判断是否已经写入
+     */
+    private void assignId(BaseEntity entity) {
+        if (entity.getId() == null) {
+            entity.setId(identifierGenerator.nextId(entity).longValue());
+        }
+    }
+
+    /**
+     * 去掉已经写入数据库的日志
+     *
+     * @param batch  日志
+     * @param mapper 映射器
+     * @return {@link List }<{@link T }>
+     */
+    private <T extends BaseEntity> List<T> withoutExisting(List<T> batch, BaseMapperPlus<T, ?> mapper) {
+        List<Long> ids = batch.stream().map(BaseEntity::getId).filter(Objects::nonNull).toList();
+        if (ids.isEmpty()) {
+            return batch;
+        }
+        Set<Long> existing = mapper.selectObjs(new QueryWrapper<T>().select("id").in("id", ids)).stream()
+                .map(id -> ((Number) id).longValue())
+                .collect(Collectors.toSet());
+        if (existing.isEmpty()) {
+            return batch;
+        }
+        log.info("异步日志重试时跳过已写入的日志 {} 条", existing.size());
+        return batch.stream().filter(entity -> !existing.contains(entity.getId())).toList();
+    }
+
+    /**
+     * 获取写入统计
+     *
+     * @return {@link List }<{@link AsyncLogWriterVo }>
+     */
+    public List<AsyncLogWriterVo> stats() {
+        return List.of(operationLogWriter.stats(), loginLogWriter.stats());
+    }
+}
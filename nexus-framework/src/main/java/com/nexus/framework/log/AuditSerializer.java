@@ -0,0 +1,556 @@
+package com.nexus.framework.log;
+
+import com.nexus.common.annotation.Desensitization;
+import com.nexus.common.enums.DesensitizationTypeEnum;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 操作日志的请求参数和响应结果序列化
+ * <p>
+ * 边遍历边写入，按 UTF-8 字节数限制总长度和单个字段的长度，超过总长度后停止遍历，不会先生成完整的字符串。
+ * 集合、数组和 Map 只输出前 maxItems 项和总数，文件和字节数组只输出类型和大小，请求、响应和流只输出类型名。
+ * 字段名或 Map 的键包含 redactKeys 中任一关键字时输出 ******，标注了 {@link Desensitization} 的字段按脱敏类型输出
+ * <p>
+ * 序列化在写入线程中执行，请求线程只调用 {@link #snapshot(Object[])} 保存上传文件的信息，请求结束后文件会被删除
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Component
+public class AuditSerializer {
+
+    private static final String REDACTED = "******";
+
+    /**
+     * 只输出类型名的参数
+     */
+    private static final List<Class<?>> OPAQUE_TYPES = List.of(ServletRequest.class, ServletResponse.class, HttpSession.class,
+            InputStream.class, OutputStream.class, Reader.class, Writer.class, Errors.class, InputStreamSource.class);
+
+    /**
+     * 总长度上限（字节）
+     */
+    @Value("${log.audit.max-total-bytes:8192}")
+    private int maxTotalBytes;
+
+    /**
+     * 单个字段长度上限（字节）
+     */
+    @Value("${log.audit.max-field-bytes:1024}")
+    private int maxFieldBytes;
+
+    /**
+     * 集合、数组和 Map 最多输出的项数
+     */
+    @Value("${log.audit.max-items:10}")
+    private int maxItems;
+
+    /**
+     * 最大嵌套层数
+     */
+    @Value("${log.audit.max-depth:5}")
+    private int maxDepth;
+
+    /**
+     * 需要隐藏的字段名关键字，不区分大小写
+     */
+    @Value("${log.audit.redact-keys:password,passwd,secret,token,authorization,credential}")
+    private String[] redactKeys;
+
+    /**
+     * 每个类需要输出的字段
+     */
+    private final ClassValue<Property[]> properties = new ClassValue<>() {
+        @Override
+        protected Property[] computeValue(Class<?> type) {
+            return resolveProperties(type);
+        }
+    };
+
+    /**
+     * 在请求线程中保存参数：上传文件只保留文件名、大小和类型，请求、响应和流只保留类型名，其他参数保留引用
+     *
+     * @param args 方法参数
+     * @return {@link Object[] }
+     */
+    public Object[] snapshot(Object[] args) {
+        Object[] snapshot = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            snapshot[i] = snapshotValue(args[i]);
+        }
+        return snapshot;
+    }
+
+    private Object snapshotValue(Object value) {
+        if (value instanceof MultipartFile file) {
+            return FileSummary.of(file);
+        }
+        if (value instanceof MultipartFile[] files) {
+            return Arrays.stream(files).map(FileSummary::of).toList();
+        }
+        if (value instanceof Collection<?> collection && !collection.isEmpty()
+                && collection.stream().allMatch(MultipartFile.class::isInstance)) {
+            return collection.stream().map(file -> FileSummary.of((MultipartFile) file)).toList();
+        }
+        if (value != null && isOpaque(value.getClass())) {
+            return new Placeholder(value.getClass());
+        }
+        return value;
+    }
+
+    /**
+     * 序列化方法参数，所有参数共用总长度
+     *
+     * @param args {@link #snapshot(Object[])} 保存的参数
+     * @return {@link String }
+     */
+    public String serializeArgs(Object[] args) {
+        Output out = new Output(maxTotalBytes);
+        out.append("[");
+        for (int i = 0; i < args.length && !out.full(); i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            write(out, args[i], 0, new IdentityHashMap<>());
+        }
+        out.append("]");
+        return out.finish();
+    }
+
+    /**
+     * 序列化单个对象
+     *
+     * @param value 对象
+     * @return {@link String }
+     */
+    public String serialize(Object value) {
+        Output out = new Output(maxTotalBytes);
+        write(out, value, 0, new IdentityHashMap<>());
+        return out.finish();
+    }
+
+    /**
+     * 写入一个值，集合、Map 和对象写入子项时每个子项受单个字段长度限制
+     *
+     * @param path 当前路径上的对象，用于发现循环引用
+     */
+    private void write(Output out, Object value, int depth, IdentityHashMap<Object, Boolean> path) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        Class<?> type = value.getClass();
+        if (value instanceof CharSequence text) {
+            // 只截取需要的部分，避免超长字符串整体复制
+            int length = Math.min(text.length(), maxFieldBytes + 1);
+            writeLeaf(out, text.subSequence(0, length).toString(), true);
+            return;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            writeLeaf(out, value.toString(), false);
+            return;
+        }
+        if (value instanceof Enum<?> constant) {
+            writeLeaf(out, constant.name(), true);
+            return;
+        }
+        if (value instanceof Character || value instanceof TemporalAccessor || value instanceof Date) {
+            writeLeaf(out, value.toString(), true);
+            return;
+        }
+        if (value instanceof Placeholder placeholder) {
+            out.append(placeholder.text());
+            return;
+        }
+        if (value instanceof MultipartFile file) {
+            value = FileSummary.of(file);
+            type = FileSummary.class;
+        } else if (isOpaque(type)) {
+            out.append(new Placeholder(type).text());
+            return;
+        }
+        if (type == byte[].class || type == char[].class) {
+            out.append(type.getComponentType().getName() + "[" + Array.getLength(value) + "]");
+            return;
+        }
+        if (depth >= maxDepth) {
+            out.append(type.getSimpleName() + "{…}");
+            return;
+        }
+        if (path.put(value, Boolean.TRUE) != null) {
+            out.append("(循环引用)");
+            return;
+        }
+        try {
+            if (type.isArray()) {
+                writeArray(out, value, depth, path);
+            } else if (value instanceof Collection<?> collection) {
+                writeItems(out, collection.iterator(), collection.size(), depth, path);
+            } else if (value instanceof Map<?, ?> map) {
+                writeMap(out, map, depth, path);
+            } else if (isPlatformType(type)) {
+                writeLeaf(out, value.toString(), true);
+            } else {
+                writeBean(out, value, depth, path);
+            }
+        } finally {
+            path.remove(value);
+        }
+    }
+
+    private void writeArray(Output out, Object array, int depth, IdentityHashMap<Object, Boolean> path) {
+        int length = Array.getLength(array);
+        if (array instanceof Object[] elements) {
+            writeItems(out, Arrays.asList(elements).iterator(), length, depth, path);
+            return;
+        }
+        List<Object> head = new ArrayList<>(Math.min(length, maxItems));
+        for (int i = 0; i < length && i < maxItems; i++) {
+            head.add(Array.get(array, i));
+        }
+        writeItems(out, head.iterator(), length, depth, path);
+    }
+
+    private void writeItems(Output out, Iterator<?> iterator, int size, int depth, IdentityHashMap<Object, Boolean> path) {
+        out.append("[");
+        int count = 0;
+        while (iterator.hasNext() && count < maxItems && !out.full()) {
+            Object item = iterator.next();
+            if (count++ > 0) {
+                out.append(", ");
+            }
+            writeField(out, item, depth + 1, path);
+        }
+        if (size > count) {
+            out.append((count > 0 ? ", " : "") + "…(共 " + size + " 项)");
+        }
+        out.append("]");
+    }
+
+    private void writeMap(Output out, Map<?, ?> map, int depth, IdentityHashMap<Object, Boolean> path) {
+        out.append("{");
+        int count = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (count >= maxItems || out.full()) {
+                break;
+            }
+            if (count++ > 0) {
+                out.append(", ");
+            }
+            String key = String.valueOf(entry.getKey());
+            writeLeaf(out, key, true);
+            out.append(": ");
+            if (isRedacted(key)) {
+                out.append("\"" + REDACTED + "\"");
+            } else {
+                writeField(out, entry.getValue(), depth + 1, path);
+            }
+        }
+        if (map.size() > count) {
+            out.append((count > 0 ? ", " : "") + "…(共 " + map.size() + " 项)");
+        }
+        out.append("}");
+    }
+
+    private void writeBean(Output out, Object bean, int depth, IdentityHashMap<Object, Boolean> path) {
+        Property[] beanProperties = properties.get(bean.getClass());
+        if (beanProperties == null) {
+            // 无法反射读取字段
+            writeLeaf(out, bean.toString(), true);
+            return;
+        }
+        out.append("{");
+        for (int i = 0; i < beanProperties.length && !out.full(); i++) {
+            Property property = beanProperties[i];
+            if (i > 0) {
+                out.append(", ");
+            }
+            out.append("\"" + property.name() + "\": ");
+            Object value;
+            try {
+                value = property.field().get(bean);
+            } catch (IllegalAccessException | RuntimeException e) {
+                out.append("(读取失败)");
+                continue;
+            }
+            if (property.redacted() && value != null) {
+                out.append("\"" + REDACTED + "\"");
+            } else if (property.desensitization() != null && value instanceof String text) {
+                writeLeaf(out, desensitize(property.desensitization(), text), true);
+            } else {
+                writeField(out, value, depth + 1, path);
+            }
+        }
+        out.append("}");
+    }
+
+    /**
+     * 写入子项，超过单个字段长度时截断
+     */
+    private void writeField(Output out, Object value, int depth, IdentityHashMap<Object, Boolean> path) {
+        int limit = out.limit;
+        int marks = out.marks;
+        out.limit = (int) Math.min(limit, (long) out.bytes + maxFieldBytes);
+        boolean cut;
+        try {
+            write(out, value, depth, path);
+        } finally {
+            cut = out.bytes >= out.limit && out.limit < limit;
+            out.limit = limit;
+        }
+        // 子项内部已经标记过截断时不再重复标记
+        if (cut && out.marks == marks) {
+            out.mark("…");
+        }
+    }
+
+    /**
+     * 写入字符串或数字，超过单个字段长度时截断
+     */
+    private void writeLeaf(Output out, String text, boolean quoted) {
+        int limit = out.limit;
+        out.limit = (int) Math.min(limit, (long) out.bytes + maxFieldBytes);
+        boolean cut;
+        try {
+            // 超过总长度时由结尾的截断标记说明
+            cut = !out.append(quoted ? quote(text) : text) && !out.full();
+        } finally {
+            out.limit = limit;
+        }
+        if (cut) {
+            out.mark(quoted ? "…\"" : "…");
+        }
+    }
+
+    private static String desensitize(DesensitizationTypeEnum desensitization, String text) {
+        try {
+            return desensitization.getDesensitization().apply(text);
+        } catch (RuntimeException e) {
+            return REDACTED;
+        }
+    }
+
+    private boolean isRedacted(String name) {
+        String lowerCase = name.toLowerCase(Locale.ROOT);
+        for (String key : redactKeys) {
+            if (!key.isBlank() && lowerCase.contains(key.trim().toLowerCase(Locale.ROOT))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isOpaque(Class<?> type) {
+        for (Class<?> opaqueType : OPAQUE_TYPES) {
+            if (opaqueType.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * JDK 和容器中的类型不反射读取字段，直接使用 toString
+     */
+    private static boolean isPlatformType(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jakarta.")
+                || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+
+    /**
+     * 解析类及父类的实例字段，无法访问时返回 null
+     */
+    private Property[] resolveProperties(Class<?> type) {
+        List<Property> result = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                if (!field.trySetAccessible()) {
+                    return null;
+                }
+                Desensitization desensitization = field.getAnnotation(Desensitization.class);
+                result.add(new Property(field.getName(), field, isRedacted(field.getName()),
+                        desensitization == null ? null : desensitization.desensitizationType()));
+            }
+        }
+        return result.toArray(new Property[0]);
+    }
+
+    private static String quote(String text) {
+        StringBuilder builder = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> builder.append(c < 0x20 ? ' ' : c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    /**
+     * 字段和脱敏方式
+     */
+    private record Property(String name, Field field, boolean redacted, DesensitizationTypeEnum desensitization) {
+    }
+
+    /**
+     * 上传文件的信息
+     */
+    private record FileSummary(String name, String originalFilename, long size, String contentType) {
+
+        static FileSummary of(MultipartFile file) {
+            if (file == null) {
+                return null;
+            }
+            long size;
+            try {
+                size = file.getSize();
+            } catch (RuntimeException e) {
+                size = -1;
+            }
+            return new FileSummary(file.getName(), file.getOriginalFilename(), size, file.getContentType());
+        }
+    }
+
+    /**
+     * 只输出类型名的参数
+     */
+    private record Placeholder(String text) {
+
+        Placeholder(Class<?> type) {
+            this("<" + type.getSimpleName() + ">");
+        }
+    }
+
+    /**
+     * 按 UTF-8 字节数计数的输出，达到上限后忽略后续写入
+     */
+    private static final class Output {
+
+        private static final String TRUNCATED = " …(已截断)";
+
+        /**
+         * 为字段截断标记预留的长度
+         */
+        private static final int RESERVED = 32;
+
+        private final StringBuilder builder = new StringBuilder();
+
+        /**
+         * 总长度上限，预留截断标记的长度
+         */
+        private final int total;
+
+        /**
+         * 当前字段的上限
+         */
+        private int limit;
+
+        private int bytes;
+
+        /**
+         * 已写入的截断标记数量
+         */
+        private int marks;
+
+        private Output(int maxBytes) {
+            this.total = Math.max(maxBytes - utf8Length(TRUNCATED) - RESERVED, 16);
+            this.limit = total;
+        }
+
+        boolean full() {
+            return bytes >= total;
+        }
+
+        /**
+         * 写入文本，超过上限的部分丢弃
+         *
+         * @return boolean 是否完整写入
+         */
+        boolean append(String text) {
+            if (bytes >= limit) {
+                return text.isEmpty();
+            }
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                int size;
+                if (Character.isHighSurrogate(c) && i + 1 < text.length()) {
+                    size = 4;
+                } else {
+                    size = c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+                }
+                if (bytes + size > limit) {
+                    bytes = limit;
+                    return false;
+                }
+                builder.append(c);
+                if (size == 4) {
+                    builder.append(text.charAt(++i));
+                }
+                bytes += size;
+            }
+            return true;
+        }
+
+        /**
+         * 写入截断标记，不受当前字段上限限制，总长度中已预留标记的长度
+         */
+        void mark(String text) {
+            if (bytes < total) {
+                builder.append(text);
+                bytes += utf8Length(text);
+                marks++;
+            }
+        }
+
+        String finish() {
+            if (full()) {
+                builder.append(TRUNCATED);
+            }
+            return builder.toString();
+        }
+
+        private static int utf8Length(String text) {
+            int length = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                length += c < 0x80 ? 1 : c < 0x800 ? 2 : Character.isSurrogate(c) ? 2 : 3;
+            }
+            return length;
+        }
+    }
+}
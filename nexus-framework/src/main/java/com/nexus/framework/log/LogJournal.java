@@ -0,0 +1,421 @@
+package com.nexus.framework.log;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * 本地日志预写文件
+ * <p>
+ * 日志先追加到内存映射的分段文件，再由写入线程写入数据库，写入成功后记录确认序号，已全部确认的分段文件直接删除。
+ * 每条记录的格式为 [长度 int][CRC32C int][序号 long][内容]，校验范围是序号和内容，长度为 0 表示分段结束。
+ * 确认序号保存在 ack 文件中，同样带校验。重启时逐条校验，遇到不完整或校验失败的记录即视为该分段的末尾，
+ * 确认序号之后的记录重新写入数据库。进程崩溃时已追加的记录都在页缓存中不会丢失，
+ * 操作系统崩溃或断电时最多丢失最近一次刷盘（{@link #force()}）之后的记录
+ * <p>
+ * 分段数量达到上限时不再创建新分段，追加抛出 {@link JournalFullException}，由调用方按溢出策略处理
+ * <p>
+ * 追加由调用方加锁串行执行；读取、确认和刷盘只在写入线程中执行
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Slf4j
+final class LogJournal {
+
+    /**
+     * 记录头长度
+     */
+    private static final int HEADER = 16;
+
+    private static final String SUFFIX = ".log";
+
+    private final Path dir;
+
+    private final int segmentSize;
+
+    /**
+     * 最多保留的分段数量
+     */
+    private final int maxSegments;
+
+    /**
+     * 起始序号和分段
+     */
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+    /**
+     * 确认序号文件：[序号 long][校验 long]
+     */
+    private MappedByteBuffer ackBuffer;
+
+    private volatile long ackedSeq;
+
+    /**
+     * 已追加的最大序号，追加线程写完记录后才更新
+     */
+    private volatile long lastSeq;
+
+    /**
+     * 打开时已存在的最大序号，这些记录可能已经写入数据库但未确认
+     */
+    private long recoveredSeq;
+
+    /**
+     * 当前追加的分段
+     */
+    private volatile Segment active;
+
+    /**
+     * 需要刷盘的最早分段的起始序号，之前的分段已经不再追加并且刷过盘，只有刷盘线程修改
+     */
+    private long forcedFrom;
+
+    /**
+     * 读取位置缓存：下一条记录的序号、所在分段和位置，写入线程按顺序读取时不需要从分段开头扫描
+     */
+    private Segment readSegment;
+    private int readPosition;
+    private long readSeq;
+
+    /**
+     * @param dir         目录
+     * @param segmentSize 分段大小（字节）
+     * @param maxSegments 最多保留的分段数量
+     */
+    LogJournal(Path dir, int segmentSize, int maxSegments) {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.maxSegments = Math.max(maxSegments, 2);
+    }
+
+    /**
+     * 打开预写文件，校验已有记录
+     *
+     * @throws IOException 读写文件失败
+     */
+    void open() throws IOException {
+        Files.createDirectories(dir);
+        try (FileChannel channel = FileChannel.open(dir.resolve("ack"), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ackBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, 16);
+        }
+        long seq = ackBuffer.getLong(0);
+        ackedSeq = ackBuffer.getLong(8) == checksum(seq) ? seq : 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    long base = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+                    segments.put(base, Segment.open(file, base, 0));
+                } catch (NumberFormatException e) {
+                    log.warn("忽略无法识别的日志预写文件：{}", file);
+                }
+            }
+        }
+        long last = ackedSeq;
+        for (Segment segment : segments.values()) {
+            long end = segment.recover();
+            if (end >= segment.base) {
+                if (segment.base != last + 1 && last > ackedSeq) {
+                    log.warn("日志预写文件序号不连续：{} 之后是 {}", last, segment.base);
+                }
+                last = Math.max(last, end);
+            }
+        }
+        // 确认序号之前的分段已经没有用
+        deleteAcked();
+        lastSeq = last;
+        recoveredSeq = last;
+        active = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        if (last > ackedSeq) {
+            log.info("日志预写文件 {} 中有 {} 条未确认的记录，将重新写入", dir, last - ackedSeq);
+        }
+    }
+
+    /**
+     * 追加一条记录，追加后需要调用 {@link #publish(long)} 才对写入线程可见
+     *
+     * @param payload 内容
+     * @return long 序号
+     * @throws JournalFullException 分段数量已达到上限
+     * @throws IOException          创建分段失败
+     */
+    long append(byte[] payload) throws IOException {
+        long seq = lastSeq + 1;
+        int length = HEADER + payload.length;
+        if (active == null || active.capacity() - active.writePosition < length) {
+            if (segments.size() >= maxSegments) {
+                throw new JournalFullException(dir, maxSegments);
+            }
+            active = Segment.open(dir.resolve(String.format("%020d", seq) + SUFFIX), seq, Math.max(segmentSize, length + HEADER));
+            segments.put(seq, active);
+        }
+        MappedByteBuffer buffer = active.buffer;
+        int position = active.writePosition;
+        buffer.putLong(position + 8, seq);
+        buffer.put(position + HEADER, payload);
+        buffer.putInt(position + 4, checksum(seq, payload));
+        // 长度最后写入，长度不为 0 表示记录完整
+        buffer.putInt(position, payload.length);
+        active.writePosition = position + length;
+        return seq;
+    }
+
+    /**
+     * 发布已追加的记录
+     *
+     * @param seq 序号
+     */
+    void publish(long seq) {
+        lastSeq = seq;
+    }
+
+    /**
+     * 按顺序读取记录
+     *
+     * @param from     起始序号
+     * @param to       结束序号（包含）
+     * @param consumer 序号和内容
+     * @return long 下一条未读取的序号，记录缺失时跳过缺失的部分
+     */
+    long read(long from, long to, BiConsumer<Long, byte[]> consumer) {
+        long seq = from;
+        while (seq <= to) {
+            // 读取位置在目标之后、分段已删除或目标在其他分段时重新定位，目标在当前分段的后面时向后扫描
+            if (readSegment == null || readSeq > seq || segments.get(readSegment.base) != readSegment
+                    || (readSeq < seq && !Objects.equals(segments.floorKey(seq), readSegment.base))) {
+                Map.Entry<Long, Segment> entry = segments.floorEntry(seq);
+                if (entry == null) {
+                    Map.Entry<Long, Segment> next = segments.ceilingEntry(seq);
+                    long skipTo = next == null ? to + 1 : Math.min(next.getKey(), to + 1);
+                    log.error("日志预写文件缺失序号 {} 到 {} 的记录", seq, skipTo - 1);
+                    seq = skipTo;
+                    continue;
+                }
+                readSegment = entry.getValue();
+                readPosition = 0;
+                readSeq = readSegment.base;
+            }
+            MappedByteBuffer buffer = readSegment.buffer;
+            int length = readPosition + HEADER <= buffer.capacity() ? buffer.getInt(readPosition) : 0;
+            if (length <= 0) {
+                // 当前分段已读完，转到下一个分段
+                Map.Entry<Long, Segment> next = segments.higherEntry(readSegment.base);
+                if (next == null) {
+                    log.error("日志预写文件缺失序号 {} 到 {} 的记录", seq, to);
+                    readSegment = null;
+                    return to + 1;
+                }
+                if (next.getKey() > seq) {
+                    log.error("日志预写文件缺失序号 {} 到 {} 的记录", seq, Math.min(next.getKey() - 1, to));
+                    seq = Math.min(next.getKey(), to + 1);
+                }
+                readSegment = next.getValue();
+                readPosition = 0;
+                readSeq = readSegment.base;
+                continue;
+            }
+            long recordSeq = buffer.getLong(readPosition + 8);
+            if (recordSeq > to) {
+                log.error("日志预写文件缺失序号 {} 到 {} 的记录", seq, to);
+                readSegment = null;
+                return to + 1;
+            }
+            if (recordSeq >= seq) {
+                byte[] payload = new byte[length];
+                buffer.get(readPosition + HEADER, payload);
+                consumer.accept(recordSeq, payload);
+                seq = recordSeq + 1;
+            }
+            readPosition += HEADER + length;
+            readSeq = recordSeq + 1;
+        }
+        return seq;
+    }
+
+    /**
+     * 确认序号之前的记录已经写入数据库，删除已全部确认的分段
+     *
+     * @param seq 序号
+     */
+    void ack(long seq) {
+        if (seq <= ackedSeq) {
+            return;
+        }
+        ackBuffer.putLong(0, seq);
+        ackBuffer.putLong(8, checksum(seq));
+        ackedSeq = seq;
+        deleteAcked();
+    }
+
+    /**
+     * 删除已全部确认的分段，当前追加的分段保留
+     */
+    private void deleteAcked() {
+        while (true) {
+            Map.Entry<Long, Segment> first = segments.firstEntry();
+            Map.Entry<Long, Segment> second = first == null ? null : segments.higherEntry(first.getKey());
+            if (second == null || second.getKey() - 1 > ackedSeq) {
+                return;
+            }
+            segments.remove(first.getKey());
+            try {
+                // 映射在垃圾回收时释放，删除文件不影响仍在读取的映射
+                Files.deleteIfExists(first.getValue().file);
+            } catch (IOException e) {
+                log.warn("日志预写文件删除失败：{}，{}", first.getValue().file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 刷盘，上次刷盘之后切换出去的分段和当前分段都会刷盘
+     */
+    void force() {
+        // 先取当前分段，之后新建的分段起始序号更大，下次刷盘时包含在内
+        Segment current = active;
+        if (current != null) {
+            for (Segment segment : segments.tailMap(forcedFrom).values()) {
+                segment.buffer.force();
+            }
+            forcedFrom = current.base;
+        }
+        if (ackBuffer != null) {
+            ackBuffer.force();
+        }
+    }
+
+    long ackedSeq() {
+        return ackedSeq;
+    }
+
+    long lastSeq() {
+        return lastSeq;
+    }
+
+    long recoveredSeq() {
+        return recoveredSeq;
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * 分段数量达到上限
+     */
+    static final class JournalFullException extends IOException {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        JournalFullException(Path dir, int maxSegments) {
+            super("日志预写文件已达到 " + maxSegments + " 个分段的上限：" + dir);
+        }
+    }
+
+    private static int checksum(long seq, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        for (int i = 56; i >= 0; i -= 8) {
+            crc.update((int) (seq >>> i));
+        }
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static long checksum(long seq) {
+        return ~Long.rotateLeft(seq, 17) ^ 0x5DEECE66DL;
+    }
+
+    /**
+     * 分段文件
+     */
+    private static final class Segment {
+
+        private final Path file;
+
+        /**
+         * 第一条记录的序号
+         */
+        private final long base;
+
+        private final MappedByteBuffer buffer;
+
+        /**
+         * 下一条记录的位置，只有追加线程修改
+         */
+        private int writePosition;
+
+        private Segment(Path file, long base, MappedByteBuffer buffer) {
+            this.file = file;
+            this.base = base;
+            this.buffer = buffer;
+        }
+
+        /**
+         * 打开或创建分段文件
+         *
+         * @param size 新建时的大小，为 0 时使用已有文件的大小
+         */
+        static Segment open(Path file, long base, int size) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long length = size > 0 ? size : channel.size();
+                return new Segment(file, base, channel.map(FileChannel.MapMode.READ_WRITE, 0, length));
+            }
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        /**
+         * 逐条校验，找到最后一条完整的记录，之后的内容清零
+         *
+         * @return long 最后一条完整记录的序号，没有记录时为 base - 1
+         */
+        long recover() {
+            int position = 0;
+            long expected = base;
+            boolean broken = false;
+            while (position + HEADER <= buffer.capacity()) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + HEADER + length > buffer.capacity()) {
+                    break;
+                }
+                long seq = buffer.getLong(position + 8);
+                byte[] payload = new byte[length];
+                buffer.get(position + HEADER, payload);
+                if (seq != expected || buffer.getInt(position + 4) != checksum(seq, payload)) {
+                    log.warn("日志预写文件 {} 在位置 {} 的记录不完整，之后的内容已丢弃", file, position);
+                    broken = true;
+                    break;
+                }
+                position += HEADER + length;
+                expected++;
+            }
+            if (broken) {
+                // 清除不完整记录之后的旧内容，避免之后追加的记录与旧内容拼接成看似完整的记录
+                for (int i = position; i < buffer.capacity(); i++) {
+                    buffer.put(i, (byte) 0);
+                }
+            } else if (position + HEADER <= buffer.capacity()) {
+                buffer.putInt(position, 0);
+            }
+            writePosition = position;
+            return expected - 1;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.nexus.framework.shiro;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.nexus.common.core.base.LoginPrincipal;
+import com.nexus.common.core.helper.LoginContextHolder;
 import com.nexus.common.enums.AdminEnum;
 import com.nexus.common.enums.PermissionStateEnum;
 import com.nexus.common.utils.CollectionUtils;
@@ -71,9 +73,9 @@ public class CustomerRealm extends AuthorizingRealm {
         String token = (String) principals.getPrimaryPrincipal();
         SimpleAuthorizationInfo simpleAuthorizationInfo = new SimpleAuthorizationInfo();
         try {
-            if (ObjectUtils.isNotNull(TokenUtils.checkToken(token))) {
+            Long userId = this.getUserId(token);
+            if (ObjectUtils.isNotNull(userId)) {
                 log.info("====> 开始进行授权");
-                Long userId = Long.parseLong((String) TokenUtils.getValueFromToken(token, "userId"));
                 // 1. 查询角色列表
                 List<SysRoleVo> roleList = sysUserRoleService.queryRoleListByUserId(userId);
                 if (CollectionUtils.isEmpty(roleList)) {
@@ -116,6 +118,21 @@ public class CustomerRealm extends AuthorizingRealm {
     }
 
 
+    /**
+     * 获取用户 ID，当前请求的令牌已由访问控制过滤器校验过时直接使用登录主体
+     *
+     * @param token 令牌
+     * @return {@link Long}
+     */
+    private Long getUserId(String token) {
+        LoginPrincipal principal = LoginContextHolder.get();
+        if (ObjectUtils.isNotNull(principal) && token.equals(principal.getToken())) {
+            return principal.getUserId();
+        }
+        return Long.parseLong(TokenUtils.getValueFromToken(token, "userId"));
+    }
+
+
     /**
      * 认证
      *
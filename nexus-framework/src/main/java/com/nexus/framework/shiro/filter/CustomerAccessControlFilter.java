@@ -2,11 +2,15 @@ package com.nexus.framework.shiro.filter;
 
 import cn.hutool.json.JSONUtil;
 import com.alibaba.druid.support.json.JSONUtils;
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.nexus.common.annotation.Pass;
+import com.nexus.common.core.base.LoginPrincipal;
+import com.nexus.common.core.helper.LoginContextHolder;
 import com.nexus.common.core.view.Result;
 import com.nexus.common.enums.HttpCodeEnum;
 import com.nexus.common.utils.CollectionUtils;
 import com.nexus.common.utils.ObjectUtils;
+import com.nexus.common.utils.TokenUtils;
 import com.nexus.framework.config.ShiroConfig;
 import com.nexus.framework.shiro.CustomerAuthenticationToken;
 import jakarta.servlet.ServletContext;
@@ -86,6 +90,10 @@ public class CustomerAccessControlFilter extends BasicHttpAuthenticationFilter {
             res.setStatus(HttpStatus.OK.value());
             return false;
         }
+        // 携带token时只校验一次，保存当前请求的登录主体，放行接口同样保存
+        if (isLoginAttempt(request, response)) {
+            LoginContextHolder.set(this.resolvePrincipal(req.getHeader("Authorization")));
+        }
         // 判断是否添加放行注解
         if(this.isPass(request)){
             return true;
@@ -104,6 +112,36 @@ public class CustomerAccessControlFilter extends BasicHttpAuthenticationFilter {
         return false;
     }
 
+    /**
+     * 请求结束时清除登录主体
+     *
+     * @param request   请求
+     * @param response  响应
+     * @param exception 异常
+     * @throws Exception
+     */
+    @Override
+    public void afterCompletion(ServletRequest request, ServletResponse response, Exception exception) throws Exception {
+        LoginContextHolder.clear();
+        super.afterCompletion(request, response, exception);
+    }
+
+    /**
+     * 校验token并获取登录主体，登录用户在第一次使用时才从登录信息缓存中获取
+     *
+     * @param token 令牌
+     * @return {@link LoginPrincipal } token无效时返回 null，是否允许访问仍由登录认证和授权决定
+     */
+    private LoginPrincipal resolvePrincipal(String token) {
+        Long userId;
+        try {
+            userId = Long.parseLong(TokenUtils.checkToken(token).getClaim("userId").asString());
+        } catch (JWTVerificationException | NumberFormatException e) {
+            return null;
+        }
+        return new LoginPrincipal(userId, token);
+    }
+
     /**
      * 是否是放行接口
      *
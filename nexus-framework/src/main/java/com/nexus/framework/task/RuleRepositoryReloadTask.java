@@ -0,0 +1,26 @@
+package com.nexus.framework.task;
+
+import com.nexus.common.core.helper.RuleHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 规则仓库重新加载定时任务
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Component
+public class RuleRepositoryReloadTask {
+
+    /**
+     * 定时检查规则来源，只重新构建内容发生变化的规则集，默认 1 分钟一次，可通过 rule.repository.reload-interval（毫秒）调整。
+     * 未配置 rule.repository.source 时不加载
+     */
+    @Scheduled(fixedDelayString = "${rule.repository.reload-interval:60000}")
+    public void reload() {
+        if (RuleHelper.ruleRepositoryEnabled()) {
+            RuleHelper.reloadRules();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.nexus.framework.task;
+
+import com.nexus.common.core.helper.SensitiveWordHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 敏感词扫描统计定时任务
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Component
+public class SensitiveWordTelemetryTask {
+
+    /**
+     * 定时生成敏感词扫描统计快照，默认 5 分钟一次，可通过 sensitive.telemetry-interval（毫秒）调整
+     */
+    @Scheduled(initialDelayString = "${sensitive.telemetry-interval:300000}", fixedDelayString = "${sensitive.telemetry-interval:300000}")
+    public void snapshot() {
+        SensitiveWordHelper.snapshotTelemetry();
+    }
+}
@@ -0,0 +1,160 @@
+package com.nexus.framework.web;
+
+import cn.hutool.crypto.digest.MD5;
+import com.nexus.common.annotation.Limit;
+import com.nexus.common.enums.LimitTypeEnum;
+import com.nexus.common.utils.StringUtils;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.lang.reflect.Method;
+
+/**
+ * 接口路由元数据
+ * <p>
+ * 请求地址、请求方式、模块名和限流 key 在启动时根据控制器方法的注解计算一次，切面每次请求只需要读取。
+ * 请求地址和限流 key 的格式与原先在切面中逐次解析注解时一致，已有的限流计数不受影响
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+public final class RouteMetadata {
+
+    /**
+     * 控制器方法
+     */
+    private final Method method;
+
+    /**
+     * 类上 @RequestMapping 的请求路径
+     */
+    private final String baseUrl;
+
+    /**
+     * 方法上映射注解的请求路径
+     */
+    private final String path;
+
+    /**
+     * 请求方式，未指定时为空字符串
+     */
+    private final String requestMethod;
+
+    /**
+     * 类上 @Tag 的模块名，未标注时为 null
+     */
+    private final String module;
+
+    /**
+     * 默认限流 key：方法名 + 请求方式 + 请求地址
+     */
+    private final String defaultKey;
+
+    /**
+     * 限流注解，方法未标注时为 null
+     */
+    private final Limit limit;
+
+    /**
+     * 限流 key 的摘要，按 IP 限流时为 null
+     */
+    private final String limitKey;
+
+    /**
+     * 按 IP 限流时 IP 之前的部分：前缀 + 默认 key + ":"
+     */
+    private final String limitKeyPrefix;
+
+    private RouteMetadata(Method method, Class<?> beanType) {
+        this.method = method;
+        RequestMapping classMapping = AnnotatedElementUtils.findMergedAnnotation(beanType, RequestMapping.class);
+        this.baseUrl = classMapping != null && classMapping.value().length > 0 ? classMapping.value()[0] : "";
+        // GetMapping、PostMapping 等都合并为 RequestMapping
+        RequestMapping methodMapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        this.path = methodMapping != null && methodMapping.value().length > 0 ? methodMapping.value()[0] : "";
+        this.requestMethod = methodMapping != null && methodMapping.method().length > 0 ? methodMapping.method()[0].name() : "";
+        Tag tag = AnnotationUtils.findAnnotation(beanType, Tag.class);
+        this.module = tag != null && StringUtils.isNotBlank(tag.name()) ? tag.name() : null;
+        this.defaultKey = method.getName() + ":" + requestMethod.toLowerCase() + ":" + url();
+        this.limit = AnnotationUtils.findAnnotation(method, Limit.class);
+        if (limit == null) {
+            this.limitKey = null;
+            this.limitKeyPrefix = null;
+        } else if (limit.limitType() == LimitTypeEnum.IP) {
+            this.limitKey = null;
+            this.limitKeyPrefix = limit.prefix() + defaultKey + ":";
+        } else {
+            String key = limit.limitType() == LimitTypeEnum.CUSTOM && StringUtils.isNotBlank(limit.key()) ? limit.key() : defaultKey;
+            this.limitKey = MD5.create().digestHex(limit.prefix() + key + limit.suffix());
+            this.limitKeyPrefix = null;
+        }
+    }
+
+    /**
+     * 根据控制器方法计算路由元数据
+     *
+     * @param method   控制器方法
+     * @param beanType 控制器类型
+     * @return {@link RouteMetadata }
+     */
+    public static RouteMetadata of(Method method, Class<?> beanType) {
+        return new RouteMetadata(method, beanType);
+    }
+
+    public Method method() {
+        return method;
+    }
+
+    /**
+     * 请求地址：类上的请求路径 + 方法上的请求路径
+     *
+     * @return {@link String }
+     */
+    public String url() {
+        return baseUrl + path;
+    }
+
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public String requestMethod() {
+        return requestMethod;
+    }
+
+    public String module() {
+        return module;
+    }
+
+    public String defaultKey() {
+        return defaultKey;
+    }
+
+    public Limit limit() {
+        return limit;
+    }
+
+    /**
+     * 获取限流 key
+     *
+     * @param ip 请求 IP，只有按 IP 限流时使用
+     * @return {@link String } 方法未标注限流注解时返回 null
+     */
+    public String limitKey(String ip) {
+        if (limitKeyPrefix == null) {
+            return limitKey;
+        }
+        return MD5.create().digestHex(limitKeyPrefix + ip + limit.suffix());
+    }
+
+    @Override
+    public String toString() {
+        return requestMethod + " " + url() + " -> " + method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+    }
+}
@@ -0,0 +1,67 @@
+package com.nexus.framework.web;
+
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 接口路由元数据注册表
+ * <p>
+ * 启动时遍历 {@link RequestMappingHandlerMapping} 中的全部控制器方法，为每个方法计算一次 {@link RouteMetadata}，
+ * 切面每次请求只做一次哈希表查找。未在请求映射中注册的方法（例如切面标注在非控制器方法上）在第一次访问时计算并缓存
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+@Slf4j
+@Component
+public class RouteMetadataRegistry implements SmartInitializingSingleton {
+
+    /**
+     * 控制器方法和路由元数据
+     */
+    private final Map<Method, RouteMetadata> routes = new ConcurrentHashMap<>();
+
+    @Resource(name = "requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping requestMappingHandlerMapping;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (HandlerMethod handlerMethod : requestMappingHandlerMapping.getHandlerMethods().values()) {
+            routes.putIfAbsent(handlerMethod.getMethod(), RouteMetadata.of(handlerMethod.getMethod(), handlerMethod.getBeanType()));
+        }
+        log.info("接口路由元数据初始化完成，接口数量：{}", routes.size());
+    }
+
+    /**
+     * 获取路由元数据
+     *
+     * @param method      方法
+     * @param targetClass 方法所在的类
+     * @return {@link RouteMetadata }
+     */
+    public RouteMetadata get(Method method, Class<?> targetClass) {
+        RouteMetadata route = routes.get(method);
+        if (route != null) {
+            return route;
+        }
+        return routes.computeIfAbsent(method, key -> RouteMetadata.of(key, ClassUtils.getUserClass(targetClass)));
+    }
+
+    /**
+     * 已注册的接口数量
+     *
+     * @return int
+     */
+    public int size() {
+        return routes.size();
+    }
+}
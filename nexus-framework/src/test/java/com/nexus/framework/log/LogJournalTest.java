@@ -0,0 +1,176 @@
+package com.nexus.framework.log;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 日志预写文件测试
+ *
+ * @author wk
+ * @date 2026/10/18
+ */
+class LogJournalTest {
+
+    /**
+     * 记录头长度
+     */
+    private static final int HEADER = 16;
+
+    /**
+     * 每条记录 9 字节内容，加记录头 25 字节，64 字节的分段可以放 2 条
+     */
+    private static final int SMALL_SEGMENT = 64;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reopenAfterRollover() throws IOException {
+        LogJournal journal = open(SMALL_SEGMENT, 100);
+        append(journal, 1, 10);
+        assertEquals(5, journal.segmentCount());
+
+        LogJournal reopened = open(SMALL_SEGMENT, 100);
+        assertEquals(0, reopened.ackedSeq());
+        assertEquals(10, reopened.lastSeq());
+        assertEquals(10, reopened.recoveredSeq());
+        assertEquals(5, reopened.segmentCount());
+        assertEquals(payloads(1, 10), read(reopened, 1, 10));
+
+        // 重新打开后在最后一个分段之后继续追加
+        append(reopened, 11, 12);
+        assertEquals(payloads(1, 12), read(open(SMALL_SEGMENT, 100), 1, 12));
+    }
+
+    @Test
+    void tornTailRecord() throws IOException {
+        LogJournal journal = open(1024, 100);
+        append(journal, 1, 3);
+        // 追加到一半时崩溃：长度已写入，校验和内容没有写完
+        writeAt(segmentFile(1), 3 * (HEADER + 9), ByteBuffer.allocate(HEADER).putInt(9).putInt(0).putLong(4).flip());
+
+        LogJournal reopened = open(1024, 100);
+        assertEquals(3, reopened.lastSeq());
+        append(reopened, 4, 5);
+
+        LogJournal again = open(1024, 100);
+        assertEquals(5, again.lastSeq());
+        assertEquals(payloads(1, 5), read(again, 1, 5));
+    }
+
+    @Test
+    void checksumMismatch() throws IOException {
+        LogJournal journal = open(1024, 100);
+        append(journal, 1, 5);
+        // 第 3 条记录的内容损坏，之后的记录全部丢弃
+        int position = 2 * (HEADER + 9) + HEADER;
+        writeAt(segmentFile(1), position, ByteBuffer.wrap(new byte[]{'x'}));
+
+        LogJournal reopened = open(1024, 100);
+        assertEquals(2, reopened.lastSeq());
+        assertEquals(payloads(1, 2), read(reopened, 1, 5));
+
+        // 后续追加的记录不会与旧内容拼接
+        append(reopened, 3, 3);
+        LogJournal again = open(1024, 100);
+        assertEquals(3, again.lastSeq());
+        assertEquals(payloads(1, 3), read(again, 1, 3));
+    }
+
+    @Test
+    void ackDeletesAcknowledgedSegments() throws IOException {
+        LogJournal journal = open(SMALL_SEGMENT, 100);
+        append(journal, 1, 10);
+        assertEquals(5, segmentFiles());
+
+        // 分段起始序号为 1、3、5、7、9，确认到 6 后前三个分段已全部确认
+        journal.ack(6);
+        assertEquals(2, journal.segmentCount());
+        assertEquals(2, segmentFiles());
+        assertEquals(payloads(7, 10), read(journal, 7, 10));
+
+        LogJournal reopened = open(SMALL_SEGMENT, 100);
+        assertEquals(6, reopened.ackedSeq());
+        assertEquals(10, reopened.lastSeq());
+
+        // 全部确认后只保留当前追加的分段
+        reopened.ack(10);
+        assertEquals(1, reopened.segmentCount());
+        assertEquals(1, segmentFiles());
+    }
+
+    @Test
+    void appendFailsWhenSegmentLimitReached() throws IOException {
+        LogJournal journal = open(SMALL_SEGMENT, 2);
+        append(journal, 1, 4);
+        assertThrows(LogJournal.JournalFullException.class, () -> journal.append(payload(5)));
+        assertEquals(4, journal.lastSeq());
+
+        // 确认后删除分段，可以继续追加
+        journal.ack(4);
+        append(journal, 5, 5);
+        assertEquals(payloads(5, 5), read(journal, 5, 5));
+    }
+
+    private LogJournal open(int segmentSize, int maxSegments) throws IOException {
+        LogJournal journal = new LogJournal(dir, segmentSize, maxSegments);
+        journal.open();
+        return journal;
+    }
+
+    private static void append(LogJournal journal, int from, int to) throws IOException {
+        for (int i = from; i <= to; i++) {
+            long seq = journal.append(payload(i));
+            assertEquals(i, seq);
+            journal.publish(seq);
+        }
+        journal.force();
+    }
+
+    private static List<String> read(LogJournal journal, long from, long to) {
+        List<String> result = new ArrayList<>();
+        journal.read(from, to, (seq, payload) -> result.add(new String(payload, StandardCharsets.UTF_8)));
+        return result;
+    }
+
+    private static byte[] payload(int seq) {
+        return String.format("record-%02d", seq).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> payloads(int from, int to) {
+        List<String> result = new ArrayList<>();
+        for (int i = from; i <= to; i++) {
+            result.add(new String(payload(i), StandardCharsets.UTF_8));
+        }
+        return result;
+    }
+
+    private Path segmentFile(long base) {
+        return dir.resolve(String.format("%020d", base) + ".log");
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).count();
+        }
+    }
+
+    private static void writeAt(Path file, long position, ByteBuffer content) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(content, position);
+        }
+    }
+}